@@ -0,0 +1,365 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.query;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.isis.applib.services.repository.RepositoryService;
+
+/**
+ * A {@link Predicate} over the properties of a domain object, expressed in a form that an object store can
+ * translate into its own query language.
+ *
+ * <p>
+ * When passed to {@link RepositoryService#allMatches(Class, Predicate, long...)} or
+ * {@link RepositoryService#uniqueMatch(Class, Predicate)}, the criteria are pushed down to the object store (for
+ * JDO, as a JDOQL filter), rather than being evaluated client-side against every instance.  They can also be
+ * used directly, using {@link QueryFindByCriteria}.
+ *
+ * <p>
+ * For example:
+ * <pre>
+ * repositoryService.allMatches(Customer.class,
+ *      Criteria.allOf(
+ *          Criteria.where("lastName").eq("Smith"),
+ *          Criteria.where("age").ge(18)));
+ * </pre>
+ *
+ * <p>
+ * Property names are those of the domain object's (persisted) properties, as known to the metamodel.
+ *
+ * <p>
+ * Nulls are treated as by the object store (that is, as by SQL): any comparison involving a <tt>null</tt>, other
+ * than {@link Property#isNull()} and {@link Property#isNotNull()}, is neither satisfied nor unsatisfied but
+ * <i>unknown</i>, as is its {@link #not(Criteria) negation}.  So, for example, neither <tt>where("lastName").ne("Smith")</tt>
+ * nor <tt>not(where("lastName").eq("Smith"))</tt> is satisfied by an object whose <tt>lastName</tt> is <tt>null</tt>.
+ * The same criteria therefore select the same objects whether evaluated in memory (using {@link #test(Object)}) or
+ * by the object store.
+ */
+public abstract class Criteria<T> implements Predicate<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // -- FACTORIES
+
+    /**
+     * Starts a {@link Comparison} against the named property.
+     */
+    public static <T> Property<T> where(final String propertyName) {
+        return new Property<>(propertyName);
+    }
+
+    /**
+     * Satisfied only if all of the provided criteria are.
+     */
+    @SafeVarargs
+    public static <T> Criteria<T> allOf(final Criteria<T>... criteria) {
+        return new Junction<>(true, Arrays.asList(criteria));
+    }
+
+    /**
+     * Satisfied if any of the provided criteria are.
+     */
+    @SafeVarargs
+    public static <T> Criteria<T> anyOf(final Criteria<T>... criteria) {
+        return new Junction<>(false, Arrays.asList(criteria));
+    }
+
+    /**
+     * Satisfied only if the provided criteria are not.
+     */
+    public static <T> Criteria<T> not(final Criteria<T> criteria) {
+        return new Negation<>(criteria);
+    }
+
+    // -- CONSTRUCTOR
+
+    Criteria() {
+        // only the nested subclasses
+    }
+
+    // -- EVALUATION
+
+    /**
+     * Satisfied only if the criteria evaluate to <tt>true</tt> (rather than <tt>false</tt> or unknown).
+     */
+    @Override
+    public final boolean test(final T domainObject) {
+        return evaluate(domainObject) == Boolean.TRUE;
+    }
+
+    /**
+     * @return <tt>null</tt> if unknown, ie involving a comparison with a <tt>null</tt>.
+     */
+    abstract Boolean evaluate(final T domainObject);
+
+    // -- PROPERTY
+
+    public static class Property<T> {
+
+        private final String propertyName;
+
+        Property(final String propertyName) {
+            this.propertyName = Objects.requireNonNull(propertyName);
+        }
+
+        public Criteria<T> eq(final Object value) {
+            return new Comparison<>(propertyName, Operator.EQ, value);
+        }
+
+        public Criteria<T> ne(final Object value) {
+            return new Comparison<>(propertyName, Operator.NE, value);
+        }
+
+        public Criteria<T> lt(final Comparable<?> value) {
+            return new Comparison<>(propertyName, Operator.LT, value);
+        }
+
+        public Criteria<T> le(final Comparable<?> value) {
+            return new Comparison<>(propertyName, Operator.LE, value);
+        }
+
+        public Criteria<T> gt(final Comparable<?> value) {
+            return new Comparison<>(propertyName, Operator.GT, value);
+        }
+
+        public Criteria<T> ge(final Comparable<?> value) {
+            return new Comparison<>(propertyName, Operator.GE, value);
+        }
+
+        public Criteria<T> startsWith(final String prefix) {
+            return new Comparison<>(propertyName, Operator.STARTS_WITH, prefix);
+        }
+
+        public Criteria<T> isNull() {
+            return eq(null);
+        }
+
+        public Criteria<T> isNotNull() {
+            return ne(null);
+        }
+    }
+
+    // -- COMPARISON
+
+    public enum Operator {
+        EQ("=="),
+        NE("!="),
+        LT("<"),
+        LE("<="),
+        GT(">"),
+        GE(">="),
+        STARTS_WITH("startsWith");
+
+        private final String symbol;
+
+        Operator(final String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    /**
+     * Compares a single property against a value; a <tt>null</tt> value with {@link Operator#EQ} or
+     * {@link Operator#NE} tests for the property being (or not being) <tt>null</tt>.
+     */
+    public static final class Comparison<T> extends Criteria<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String propertyName;
+        private final Operator operator;
+        private final Object value;
+
+        Comparison(final String propertyName, final Operator operator, final Object value) {
+            this.propertyName = propertyName;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        Boolean evaluate(final T domainObject) {
+            final Object propertyValue = valueOf(domainObject, propertyName);
+            if(value == null && (operator == Operator.EQ || operator == Operator.NE)) {
+                // ie isNull() or isNotNull()
+                return (propertyValue == null) == (operator == Operator.EQ);
+            }
+            if(propertyValue == null || value == null) {
+                return null;
+            }
+            switch (operator) {
+            case EQ:
+                return propertyValue.equals(value);
+            case NE:
+                return !propertyValue.equals(value);
+            case STARTS_WITH:
+                return propertyValue instanceof String && ((String) propertyValue).startsWith((String) value);
+            default:
+                @SuppressWarnings("unchecked")
+                final int comparison = ((Comparable<Object>) propertyValue).compareTo(value);
+                return operator == Operator.LT ? comparison < 0
+                     : operator == Operator.LE ? comparison <= 0
+                     : operator == Operator.GT ? comparison > 0
+                     : comparison >= 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return operator == Operator.STARTS_WITH
+                    ? propertyName + ".startsWith(" + value + ")"
+                    : propertyName + " " + operator.getSymbol() + " " + value;
+        }
+    }
+
+    // -- JUNCTION
+
+    public static final class Junction<T> extends Criteria<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean conjunction;
+        private final List<Criteria<T>> operands;
+
+        Junction(final boolean conjunction, final List<Criteria<T>> operands) {
+            this.conjunction = conjunction;
+            this.operands = Collections.unmodifiableList(operands);
+        }
+
+        /**
+         * <tt>true</tt> if all {@link #getOperands() operands} must be satisfied, <tt>false</tt> if any.
+         */
+        public boolean isConjunction() {
+            return conjunction;
+        }
+
+        public List<Criteria<T>> getOperands() {
+            return operands;
+        }
+
+        @Override
+        Boolean evaluate(final T domainObject) {
+            boolean unknown = false;
+            for (final Criteria<T> operand : operands) {
+                final Boolean result = operand.evaluate(domainObject);
+                if(result == null) {
+                    unknown = true;
+                } else if(result != conjunction) {
+                    return !conjunction;
+                }
+            }
+            return unknown ? null : conjunction;
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream()
+                    .map(Object::toString)
+                    .collect(Collectors.joining(conjunction ? " && " : " || ", "(", ")"));
+        }
+    }
+
+    // -- NEGATION
+
+    public static final class Negation<T> extends Criteria<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Criteria<T> operand;
+
+        Negation(final Criteria<T> operand) {
+            this.operand = Objects.requireNonNull(operand);
+        }
+
+        public Criteria<T> getOperand() {
+            return operand;
+        }
+
+        @Override
+        Boolean evaluate(final T domainObject) {
+            final Boolean result = operand.evaluate(domainObject);
+            return result != null ? !result : null;
+        }
+
+        @Override
+        public String toString() {
+            return "!(" + operand + ")";
+        }
+    }
+
+    // -- HELPERS
+
+    /**
+     * Client-side evaluation, via the property's <tt>getXxx()</tt> (or <tt>isXxx()</tt>) method.
+     */
+    private static Object valueOf(final Object domainObject, final String propertyName) {
+        final String capitalized = Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        final Method getter = getterFor(domainObject.getClass(), capitalized);
+        if(getter == null) {
+            throw new IllegalArgumentException(String.format(
+                    "No such property '%s' for %s", propertyName, domainObject.getClass().getName()));
+        }
+        try {
+            return getter.invoke(domainObject);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        } catch (InvocationTargetException e) {
+            final Throwable targetException = e.getTargetException();
+            throw targetException instanceof RuntimeException
+                    ? (RuntimeException) targetException
+                    : new IllegalStateException(targetException);
+        }
+    }
+
+    private static Method getterFor(final Class<?> cls, final String capitalized) {
+        for (final String prefix : new String[] { "get", "is" }) {
+            try {
+                return cls.getMethod(prefix + capitalized);
+            } catch (NoSuchMethodException e) {
+                // try next
+            }
+        }
+        return null;
+    }
+
+}
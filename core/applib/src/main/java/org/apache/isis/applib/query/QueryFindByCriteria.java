@@ -0,0 +1,49 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.query;
+
+/**
+ * All instances of the specified type (including subtypes) that satisfy the provided {@link Criteria}, which
+ * the object store translates into its own query language.
+ *
+ * <p>
+ * The range (if any) is applied to the matching instances.
+ */
+public class QueryFindByCriteria<T> extends QueryAbstract<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Criteria<? super T> criteria;
+
+    public QueryFindByCriteria(final Class<T> type, final Criteria<? super T> criteria, final long ... range) {
+        super(type, range);
+        this.criteria = criteria;
+    }
+
+    public Criteria<? super T> getCriteria() {
+        return criteria;
+    }
+
+    @Override
+    public String getDescription() {
+        return getResultTypeName() + " (matching " + criteria + ")";
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.audit;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+/**
+ * An immutable record of a single property of an auditable entity having changed, as passed in batches to
+ * {@link AuditerService2#auditAll(java.util.List)}.
+ *
+ * <p>
+ * Holds the same information as the arguments of {@link AuditerService#audit(UUID, int, String, Bookmark, String, String, String, String, String, Timestamp)}.
+ */
+public final class AuditEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final UUID interactionId;
+    private final int sequence;
+    private final String targetClassName;
+    private final Bookmark target;
+    private final String memberIdentifier;
+    private final String propertyName;
+    private final String preValue;
+    private final String postValue;
+    private final String user;
+    private final Timestamp timestamp;
+
+    public AuditEntry(
+            final UUID interactionId, final int sequence,
+            final String targetClassName, final Bookmark target,
+            final String memberIdentifier, final String propertyName,
+            final String preValue, final String postValue,
+            final String user, final Timestamp timestamp) {
+        this.interactionId = interactionId;
+        this.sequence = sequence;
+        this.targetClassName = targetClassName;
+        this.target = target;
+        this.memberIdentifier = memberIdentifier;
+        this.propertyName = propertyName;
+        this.preValue = preValue;
+        this.postValue = postValue;
+        this.user = user;
+        this.timestamp = timestamp;
+    }
+
+    public UUID getInteractionId() {
+        return interactionId;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public String getTargetClassName() {
+        return targetClassName;
+    }
+
+    public Bookmark getTarget() {
+        return target;
+    }
+
+    public String getMemberIdentifier() {
+        return memberIdentifier;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public String getPreValue() {
+        return preValue;
+    }
+
+    public String getPostValue() {
+        return postValue;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public Timestamp getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Passes this entry to {@link AuditerService#audit(UUID, int, String, Bookmark, String, String, String, String, String, Timestamp)}.
+     */
+    public void auditTo(final AuditerService auditerService) {
+        auditerService.audit(
+                interactionId, sequence, targetClassName, target, memberIdentifier, propertyName,
+                preValue, postValue, user, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return interactionId + "," + sequence + ": " +
+                target + " by " + user + ", " + propertyName + ": " + preValue + " -> " + postValue;
+    }
+
+}
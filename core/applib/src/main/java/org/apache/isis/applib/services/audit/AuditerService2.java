@@ -0,0 +1,58 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.audit;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+/**
+ * Extends {@link AuditerService} so that the changes can be received in batches.
+ *
+ * <p>
+ * If asynchronous auditing is enabled (<tt>isis.services.audit.async</tt>), the batches are delivered by a background
+ * thread, once the transaction that made the changes has committed; each batch may then hold the changes of several
+ * transactions.  Otherwise the changes of each transaction are delivered as a single batch, as it commits.
+ */
+public interface AuditerService2 extends AuditerService {
+
+    @Programmatic
+    void auditAll(final List<AuditEntry> auditEntries);
+
+    /**
+     * Delegates to {@link #auditAll(List)}.
+     */
+    @Programmatic
+    @Override
+    default void audit(
+            final UUID interactionId, final int sequence,
+            final String targetClassName, final Bookmark target,
+            final String memberIdentifier, final String propertyName,
+            final String preValue, final String postValue,
+            final String user, final Timestamp timestamp) {
+        auditAll(Collections.singletonList(new AuditEntry(
+                interactionId, sequence, targetClassName, target, memberIdentifier, propertyName,
+                preValue, postValue, user, timestamp)));
+    }
+
+}
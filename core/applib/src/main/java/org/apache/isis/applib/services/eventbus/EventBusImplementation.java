@@ -16,6 +16,8 @@
  */
 package org.apache.isis.applib.services.eventbus;
 
+import java.util.Collections;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.apache.isis.applib.internal.context._Plugin;
@@ -65,6 +67,21 @@ public interface EventBusImplementation {
 	 * @since 2.0.0
 	 */
 	<T> void removeEventListener(EventListener<T> eventListener);
+
+	/**
+	 * The types of event that the provided subscriber (as passed to {@link #register(Object)}) will be notified of,
+	 * including any of their subtypes.
+	 *
+	 * <p>
+	 *     Used by {@link org.apache.isis.applib.services.eventbus.EventBusService#hasSubscribersFor(Class)}.  The
+	 *     default implementation returns {@link Object}, meaning that the subscriber is assumed to be interested in
+	 *     every event.
+	 * </p>
+	 * @since 2.0.0
+	 */
+	default Set<Class<?>> eventTypesSubscribedBy(final Object subscriber) {
+		return Collections.singleton(Object.class);
+	}
 	
 	// -- EVENT LISTENER
 	
@@ -26,6 +26,7 @@
 import javax.annotation.PreDestroy;
 
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.collections._Maps;
 import org.apache.isis.applib.internal.collections._Sets;
 import org.apache.isis.applib.services.eventbus.EventBusImplementation.EventListener;
 
@@ -162,6 +163,7 @@ protected void doRegister(Object domainService) {
             subscribers.add(domainService);
         } else {
             eventBusImplementation.register(domainService);
+            indexSubscriber(domainService, eventBusImplementation.eventTypesSubscribedBy(domainService));
         }
     }
 
@@ -226,15 +228,20 @@ protected boolean hasPosted() {
     protected EventBusImplementation eventBusImplementation;
     
     public <T> EventListener<T> addEventListener(final Class<T> targetType, Consumer<T> onEvent) {
-    	return Optional.ofNullable(getEventBusImplementation())
+    	final EventListener<T> eventListener = Optional.ofNullable(getEventBusImplementation())
     			.map(impl->impl.addEventListener(targetType, onEvent))
     			.orElse(null);
+    	if(eventListener!=null) {
+    		indexSubscriber(eventListener, Collections.singleton(targetType));
+    	}
+    	return eventListener;
 	}
 
     public <T> void removeEventListener(EventListener<T> eventListener) {
     	// do not trigger setupEventBus() 
     	if(eventBusImplementation!=null) {
     		eventBusImplementation.removeEventListener(eventListener);
+    		unindexSubscriber(eventListener);
     	}
 	}
     
@@ -282,6 +289,7 @@ protected void setupEventBus() {
 
         for (Object subscriber : this.registeredSubscribers) {
             eventBusImplementation.register(subscriber);
+            indexSubscriber(subscriber, eventBusImplementation.eventTypesSubscribedBy(subscriber));
         }
     }
 
@@ -293,6 +301,62 @@ protected void teardownEventBus() {
         }
 
         this.eventBusImplementation = null;
+        eventTypesBySubscriber.clear();
+        hasSubscribersByEventType = _Maps.newConcurrentHashMap();
+    }
+
+    
+
+    // -- hasSubscribersFor
+
+    /**
+     * The event types that each registered subscriber (or {@link #addEventListener(Class, Consumer) event listener})
+     * will be notified of, as reported by the {@link EventBusImplementation}.
+     */
+    private final Map<Object, Set<Class<?>>> eventTypesBySubscriber = _Maps.newConcurrentHashMap();
+
+    /**
+     * Lazily populated from {@link #eventTypesBySubscriber}; replaced (rather than cleared) whenever the
+     * subscribers change, so that a lookup racing with that change cannot leave a stale entry behind.
+     */
+    private volatile Map<Class<?>, Boolean> hasSubscribersByEventType = _Maps.newConcurrentHashMap();
+
+    /**
+     * Whether an event of the specified type (or any of its supertypes) would be received by any subscriber.
+     *
+     * <p>
+     *     Allows callers to avoid instantiating events that no-one is interested in; in particular the domain events
+     *     posted for the hide, disable and validate phases of every object member that is rendered.
+     * </p>
+     */
+    @Programmatic
+    public boolean hasSubscribersFor(final Class<?> eventType) {
+        if(getEventBusImplementation() == null) {
+            return false;
+        }
+        return hasSubscribersByEventType.computeIfAbsent(eventType, this::isSubscribedTo);
+    }
+
+    private boolean isSubscribedTo(final Class<?> eventType) {
+        for (final Set<Class<?>> subscribedTypes : eventTypesBySubscriber.values()) {
+            for (final Class<?> subscribedType : subscribedTypes) {
+                if(subscribedType.isAssignableFrom(eventType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void indexSubscriber(final Object subscriber, final Set<Class<?>> eventTypes) {
+        eventTypesBySubscriber.put(subscriber, eventTypes);
+        hasSubscribersByEventType = _Maps.newConcurrentHashMap();
+    }
+
+    private void unindexSubscriber(final Object subscriber) {
+        if(eventTypesBySubscriber.remove(subscriber) != null) {
+            hasSubscribersByEventType = _Maps.newConcurrentHashMap();
+        }
     }
 
     
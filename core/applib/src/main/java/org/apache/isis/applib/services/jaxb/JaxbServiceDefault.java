@@ -29,6 +29,7 @@
 import org.apache.isis.applib.domain.DomainObjectList;
 import org.apache.isis.applib.services.metamodel.MetaModelService;
 import org.apache.isis.applib.services.registry.ServiceRegistry;
+import org.apache.isis.applib.util.JaxbUtil;
 import org.apache.isis.schema.utils.jaxbadapters.PersistentEntitiesAdapter;
 import org.apache.isis.schema.utils.jaxbadapters.PersistentEntityAdapter;
 
@@ -64,13 +65,9 @@ protected JAXBContext jaxbContextFor(final Object domainObject) {
         final Class<?> domainClass = domainObject.getClass();
         if(domainObject instanceof DomainObjectList) {
             DomainObjectList list = (DomainObjectList) domainObject;
-            try {
-                final String elementObjectType = list.getElementObjectType();
-                final Class<?> elementType = metaModelService5.fromObjectType(elementObjectType);
-                return JAXBContext.newInstance(domainClass, elementType);
-            } catch (JAXBException e) {
-                throw new RuntimeException(e);
-            }
+            final String elementObjectType = list.getElementObjectType();
+            final Class<?> elementType = metaModelService5.fromObjectType(elementObjectType);
+            return JaxbUtil.jaxbContextFor(domainClass, elementType);
         }
         return super.jaxbContextFor(domainObject);
     }
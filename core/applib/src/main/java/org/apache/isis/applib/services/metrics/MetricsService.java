@@ -57,6 +57,67 @@ public interface MetricsService {
     @Programmatic
     int numberObjectsDirtied();
 
+    /**
+     * The phases of an interaction that are timed, if <tt>isis.services.metrics.phases</tt> is set.
+     *
+     * <p>
+     *     Timings are inclusive, so (for example) the time spent in a {@link #QUERY} includes the time spent
+     *     {@link #ADAPTER_MAPPING mapping} the objects loaded.
+     * </p>
+     */
+    enum Phase {
+        /**
+         * Executing queries against the object store.
+         */
+        QUERY,
+        /**
+         * Mapping pojos to the framework's internal adapters (eg as they are loaded).
+         */
+        ADAPTER_MAPPING,
+        /**
+         * Posting domain events to their subscribers.
+         */
+        DOMAIN_EVENT,
+        /**
+         * Evaluating the title of domain objects.
+         */
+        TITLE,
+        /**
+         * Capturing the changes to be audited, when a transaction is about to commit.
+         */
+        AUDIT,
+        /**
+         * Publishing the objects changed, when a transaction is about to commit.
+         */
+        PUBLISH,
+        /**
+         * Flushing changes to the object store.
+         */
+        FLUSH,
+        /**
+         * Handling the request (as a whole) by a viewer.
+         */
+        REQUEST
+    }
+
+    /**
+     * The time (in nanoseconds) spent so far in this interaction in the specified {@link Phase phase}, or
+     * <tt>0</tt> if phases are not being timed (or, by default, if not supported by the implementation).
+     */
+    @Programmatic
+    default long nanosSpentIn(Phase phase) {
+        return 0L;
+    }
+
+    /**
+     * The number of times that the specified {@link Phase phase} has so far been entered in this interaction, or
+     * <tt>0</tt> if phases are not being timed (or, by default, if not supported by the implementation).
+     */
+    @Programmatic
+    default int numberOfTimesIn(Phase phase) {
+        return 0;
+    }
+
 
 }
 
@@ -0,0 +1,165 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.services.paging;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.query.QueryDefault;
+import org.apache.isis.applib.services.repository.RepositoryService;
+
+/**
+ * This service (API and implementation) provides access to the page of a list (the collection of an object or the
+ * list returned by an action) that has been requested by the client of the current interaction, for example using
+ * the Restful Objects viewer's <tt>x-ro-page</tt> and <tt>x-ro-page-size</tt> query parameters.
+ *
+ * <p>
+ * By default the viewer windows the requested page out of the full list.  Domain code that knows that the list it
+ * returns is (exactly) the result of a single query can instead push the page down into that query, using
+ * {@link #getRange()} or {@link #applyTo(QueryDefault)}, so that only that page is fetched.
+ * </p>
+ *
+ * <p>
+ * This implementation has no UI and there is only one implementation (this class) in applib, so it is annotated with
+ * {@link DomainService}.  This means that it is automatically registered and available for use; no further
+ * configuration is required.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+@RequestScoped
+public class PagingContext {
+
+    private int page;
+    private int pageSize;
+    private List<String> sortBy = Collections.emptyList();
+    private boolean pushedDown;
+
+    /**
+     * <b>NOT API</b>: intended to be called only by the framework.
+     *
+     * @param page - 1-based
+     */
+    @Programmatic
+    public void setPage(final int page, final int pageSize) {
+        if(page < 1 || pageSize < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "page (%d) and pageSize (%d) must both be positive", page, pageSize));
+        }
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * <b>NOT API</b>: intended to be called only by the framework.
+     *
+     * @param sortBy - property ids, each optionally prefixed with <tt>-</tt> to sort descending
+     */
+    @Programmatic
+    public void setSortBy(final List<String> sortBy) {
+        this.sortBy = sortBy != null ? Collections.unmodifiableList(sortBy) : Collections.<String>emptyList();
+    }
+
+    /**
+     * Whether a page has been requested.
+     */
+    @Programmatic
+    public boolean isPagingRequested() {
+        return page > 0;
+    }
+
+    /**
+     * The requested page, 1-based; <tt>0</tt> if none requested.
+     */
+    @Programmatic
+    public int getPage() {
+        return page;
+    }
+
+    @Programmatic
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * The index of the first element of the requested page.
+     */
+    @Programmatic
+    public long getStart() {
+        return isPagingRequested() ? (long) (page - 1) * pageSize : 0;
+    }
+
+    /**
+     * The ids of the properties by which the list should be sorted (before it is paged, if it is), each optionally
+     * prefixed with <tt>-</tt> for descending order; empty if no sorting requested.
+     */
+    @Programmatic
+    public List<String> getSortBy() {
+        return sortBy;
+    }
+
+    /**
+     * The range to pass to {@link RepositoryService#allInstances(Class, long...)} (or similar) so that the query
+     * fetches just the requested page, plus one more element (so that the viewer can tell if there is a next page).
+     *
+     * <p>
+     * Calling this method indicates that the domain code will return the result of that query, exactly; the
+     * viewer will not then window the list itself.  If no page has been requested, or if the list is to be
+     * {@link #getSortBy() sorted} (which the viewer can only do in memory), then returns an empty range (so that
+     * all elements are fetched).
+     * </p>
+     */
+    @Programmatic
+    public long[] getRange() {
+        if(!isPagingRequested() || !sortBy.isEmpty()) {
+            return new long[0];
+        }
+        pushedDown = true;
+        return new long[] { getStart(), pageSize + 1 };
+    }
+
+    /**
+     * As per {@link #getRange()}, applying the range to the provided {@link QueryDefault} (if appropriate).
+     */
+    @Programmatic
+    public <T> QueryDefault<T> applyTo(final QueryDefault<T> query) {
+        final long[] range = getRange();
+        return range.length == 0
+                ? query
+                : query.withStart(range[0]).withCount(range[1]);
+    }
+
+    /**
+     * <b>NOT API</b>: whether the domain code has pushed the requested page down into its query (using
+     * {@link #getRange()} or {@link #applyTo(QueryDefault)}).
+     */
+    @Programmatic
+    public boolean isPushedDown() {
+        return pushedDown;
+    }
+
+}
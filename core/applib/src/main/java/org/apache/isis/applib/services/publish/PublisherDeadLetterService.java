@@ -0,0 +1,47 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.services.publish;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.iactn.Interaction;
+
+/**
+ * SPI, called when publishing asynchronously (<tt>isis.services.publish.async</tt>), once a {@link PublisherService}
+ * has failed to publish an execution or set of changed objects on every attempt.
+ *
+ * <p>
+ *     Implementations might, for example, persist the {@link Interaction.Execution#getDto() DTO} so that it can be
+ *     republished later.  If no implementation is registered then the failure is just logged.
+ * </p>
+ */
+public interface PublisherDeadLetterService {
+
+    @Programmatic
+    void onFailure(
+            final PublisherService publisherService,
+            final Interaction.Execution<?, ?> execution,
+            final Exception cause);
+
+    @Programmatic
+    void onFailure(
+            final PublisherService publisherService,
+            final PublishedObjects publishedObjects,
+            final Exception cause);
+}
@@ -118,6 +118,21 @@ public T getResult() {
 
 	public <T> T execute(Callable<T> callable, Class<?> callingClass, String methodName, Object... keys);
 
+	/**
+	 * As {@link #execute(Callable, Class, String, Object...)}, but if <tt>isis.services.queryResultsCache.shared</tt>
+	 * is set then the result is also cached in an application-scoped tier, shared across requests (eg for reference
+	 * data), until any instance of the specified types (or of the types of any entities in the result) is
+	 * created, updated or deleted.
+	 *
+	 * <p>
+	 * The result must be <tt>null</tt>, a value, a persistent entity, or a {@link java.util.List} or
+	 * {@link java.util.Set} of these; otherwise it is cached only for the duration of the interaction.
+	 */
+	public default <T> T executeShared(
+			Callable<T> callable, Class<?>[] dependsOn, Class<?> callingClass, String methodName, Object... keys) {
+		return execute(callable, callingClass, methodName, keys);
+	}
+
 	public void resetForNextTransaction();
 	
 }
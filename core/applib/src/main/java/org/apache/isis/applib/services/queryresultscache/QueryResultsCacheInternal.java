@@ -53,6 +53,21 @@ public <T> T execute(
         return executeWithCaching(callable, cacheKey);
     }
 
+    @Programmatic
+    @Override
+    public <T> T executeShared(
+            final Callable<T> callable,
+            final Class<?>[] dependsOn,
+            final Class<?> callingClass,
+            final String methodName,
+            final Object... keys) {
+        if(shared == null || !shared.isEnabled()) {
+            return execute(callable, callingClass, methodName, keys);
+        }
+        final Key cacheKey = new Key(callingClass, methodName, keys);
+        return execute(() -> shared.execute(callable, cacheKey, dependsOn), cacheKey);
+    }
+
     @Programmatic
     private <T> T execute(final Callable<T> callable, final Key cacheKey) {
         if(control.isFixturesInstalling()) {
@@ -134,4 +149,7 @@ public void resetForNextTransaction() {
     @Inject
     protected QueryResultCacheControl control;
 
+    @Inject
+    protected QueryResultsCacheShared shared;
+
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.services.queryresultscache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Not API: the application-scoped tier of the {@link QueryResultsCache}, shared across transactions and requests,
+ * consulted by {@link QueryResultsCache#executeShared(Callable, Class[], Class, String, Object...)}.
+ *
+ * <p>
+ * Implemented by the framework.
+ */
+public interface QueryResultsCacheShared {
+
+    public boolean isEnabled();
+
+    /**
+     * Returns the (snapshot of the) cached result for the key if any, otherwise calls the callable and (if possible)
+     * caches a snapshot of its result, invalidated when any instance of the specified types is changed.
+     */
+    public <T> T execute(Callable<T> callable, QueryResultsCache.Key cacheKey, Class<?>... dependsOn) throws Exception;
+
+}
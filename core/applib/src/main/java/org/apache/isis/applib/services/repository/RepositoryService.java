@@ -21,8 +21,10 @@
 
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.query.Criteria;
 import org.apache.isis.applib.query.Query;
 
 public interface RepositoryService {
@@ -134,9 +136,17 @@ public interface RepositoryService {
      * </p>
      *
      * <p>
-     * This method is useful during exploration/prototyping, but - because the filtering is performed client-side -
-     * this method is only really suitable for initial development/prototyping, or for classes with very few
-     * instances.  Use {@link #allMatches(Query)} for production code.
+     * If the predicate is a {@link Criteria}, then it is pushed down to (and the range applied by) the object
+     * store.  Otherwise the filtering is performed client-side as the instances are traversed, which is only
+     * really suitable for initial development/prototyping, or for classes with few instances.  Use
+     * {@link #allMatches(Query)} (or {@link Criteria}) for production code.
+     * </p>
+     *
+     * <p>
+     * Note that although (in the latter case) the instances are traversed using a cursor, every instance traversed
+     * is still loaded into (and retained by) the persistence context for the rest of the transaction, unless
+     * eviction of streamed entities is enabled (using <tt>isis.persistor.datanucleus.streaming.evictBatchSize</tt>,
+     * disabled by default).  So the memory used is still proportional to the number of instances of the type.
      * </p>
      *
      * @see #allMatches(Class, Predicate, long...)
@@ -163,6 +173,33 @@ public interface RepositoryService {
     @Programmatic
     <T> List<T> allMatches(Query<T> query);
 
+    /**
+     * As {@link #allMatches(Query)}, but returning the matching instances as a {@link Stream} that traverses the
+     * underlying query results lazily, as a cursor, rather than loading them all into memory up-front.
+     *
+     * <p>
+     *     The stream must be consumed within the current transaction, and should be {@link Stream#close() closed}
+     *     (eg using try-with-resources) once no longer required, to release the underlying query resources.
+     *     If no transaction is in progress, then the results are loaded eagerly (as per {@link #allMatches(Query)}).
+     * </p>
+     *
+     * <p>
+     *     This method is intended for queries returning a large number of instances, eg for reporting or batch
+     *     processing.  If the object store is configured to evict streamed instances (for DataNucleus,
+     *     <tt>isis.persistor.datanucleus.streaming.evictBatchSize</tt>), then those already traversed are evicted
+     *     in batches as the stream advances.  Each instance should therefore be finished with before moving on;
+     *     any that are held on to (eg collected) are hollow once evicted, so are re-fetched on next access.
+     * </p>
+     *
+     * <p>
+     *     The default implementation simply streams the (eagerly loaded) results of {@link #allMatches(Query)}.
+     * </p>
+     */
+    @Programmatic
+    default <T> Stream<T> stream(final Query<T> query) {
+        return allMatches(query).stream();
+    }
+
     /**
      * Find the only instance of the specified type (including subtypes) that
      * has the specified title.
@@ -172,9 +209,9 @@ public interface RepositoryService {
      * is more that one instances a run-time exception will be thrown.
      *
      * <p>
-     * This method is useful during exploration/prototyping, but - because the filtering is performed client-side -
-     * this method is only really suitable for initial development/prototyping, or for classes with very few
-     * instances.  Use {@link #uniqueMatch(Query)} for production code.
+     * As for {@link #allMatches(Class, Predicate, long...)}, if the predicate is a {@link Criteria} then it is
+     * pushed down to the object store; otherwise the filtering is performed client-side, and so is only really
+     * suitable for initial development/prototyping.  Use {@link #uniqueMatch(Query)} for production code.
      * </p>
      */
     @Programmatic
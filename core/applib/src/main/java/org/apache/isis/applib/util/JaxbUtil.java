@@ -22,21 +22,32 @@
 import java.io.StringReader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.Source;
 
 import org.apache.isis.applib.internal.base._Casts;
 import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.internal.context._Context;
 import org.apache.isis.applib.internal.resources._Resource;
 
 
 /**
- * Helper methods for converting {@link javax.xml.bind.annotation.XmlRootElement}-annotated class to-and-from XML.  
- * Intended primarily for test use only (the {@link JAXBContext} is not cached).
+ * Helper methods for converting {@link javax.xml.bind.annotation.XmlRootElement}-annotated class to-and-from XML.
+ *
+ * <p>
+ * {@link JAXBContext}s are cached (per class, or per set of classes) for the lifetime of the application, and the
+ * {@link Marshaller}s and {@link Unmarshaller}s created from them are pooled, so can also be used by framework code
+ * on hot paths (such as the publishing of interactions).
+ * </p>
  *
  * <p>
  * For example usage, see <a href="https://github.com/isisaddons/isis-module-publishmq">Isis addons' publishmq module</a> 
@@ -50,13 +61,7 @@ private JaxbUtil(){}
     public static <T> T fromXml(
             final Reader reader,
             final Class<T> dtoClass) {
-        Unmarshaller un = null;
-        try {
-            un = jaxbContextFor(dtoClass).createUnmarshaller();
-            return _Casts.uncheckedCast(un.unmarshal(reader));
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        return _Casts.uncheckedCast(fromXml(jaxbContextFor(dtoClass), reader));
     }
 
     public static <T> T fromXml(
@@ -76,28 +81,163 @@ public static <T> String toXml(final T dto) {
     }
 
     public static <T> void toXml(final T dto, final Writer writer) {
+        toXml(jaxbContextFor(dto.getClass()), dto, writer);
+    }
+
+    // -- CONTEXTS
+
+    public static <T> JAXBContext jaxbContextFor(final Class<T> dtoClass)  {
+        final Registry registry = registry();
+        return registry.contextByClass.computeIfAbsent(dtoClass, __ -> registry.pooled(contextOf(dtoClass)));
+    }
+
+    /**
+     * As {@link #jaxbContextFor(Class)}, but for a context that must know about several classes (for example, a
+     * list type and the type of its elements); cached against the (ordered) set of classes.
+     */
+    public static JAXBContext jaxbContextFor(final Class<?> dtoClass, final Class<?>... otherClasses)  {
+        if(otherClasses.length == 0) {
+            return jaxbContextFor(dtoClass);
+        }
+        final Class<?>[] classes = new Class<?>[otherClasses.length + 1];
+        classes[0] = dtoClass;
+        System.arraycopy(otherClasses, 0, classes, 1, otherClasses.length);
+        final Registry registry = registry();
+        return registry.contextByClasses.computeIfAbsent(
+                Arrays.asList(classes), __ -> registry.pooled(contextOf(classes)));
+    }
+
+    private static JAXBContext contextOf(final Class<?>... classes) {
         try {
-            final Class<?> aClass = dto.getClass();
-            final Marshaller m = jaxbContextFor(aClass).createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(dto, writer);
+            return JAXBContext.newInstance(classes);
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private static Map<Class<?>, JAXBContext> jaxbContextByClass = _Maps.newConcurrentHashMap();
+    // -- POOLED MARSHALLERS
 
-    public static <T> JAXBContext jaxbContextFor(final Class<T> dtoClass)  {
-    	return jaxbContextByClass.computeIfAbsent(dtoClass, JaxbUtil::contextOf );
+    /**
+     * Marshals the object (or {@link javax.xml.bind.JAXBElement}) as formatted XML, using a pooled
+     * {@link Marshaller} of the provided context (if obtained from {@link #jaxbContextFor(Class)}).
+     */
+    public static void toXml(final JAXBContext jaxbContext, final Object dto, final Writer writer) {
+        toXml(jaxbContext, dto, writer, true);
+    }
+
+    /**
+     * As {@link #toXml(JAXBContext, Object, Writer)}, but optionally unformatted (for XML only ever read by a
+     * machine).
+     */
+    public static void toXml(
+            final JAXBContext jaxbContext,
+            final Object dto,
+            final Writer writer,
+            final boolean formattedOutput) {
+        final Pool pool = registry().poolByContext.get(jaxbContext);
+        final Queue<Marshaller> idle = pool == null ? null
+                : formattedOutput ? pool.formattedMarshallers : pool.unformattedMarshallers;
+        try {
+            Marshaller marshaller = idle != null ? idle.poll() : null;
+            if(marshaller == null) {
+                marshaller = jaxbContext.createMarshaller();
+                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
+            }
+            marshaller.marshal(dto, writer);
+            if(idle != null) {
+                idle.offer(marshaller);
+            }
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private static <T> JAXBContext contextOf(final Class<T> dtoClass) {
-    	try {
-            return JAXBContext.newInstance(dtoClass);
+    /**
+     * Unmarshals the XML using a pooled {@link Unmarshaller} of the provided context (if obtained from
+     * {@link #jaxbContextFor(Class)}).
+     */
+    public static Object fromXml(final JAXBContext jaxbContext, final Reader reader) {
+        final Queue<Unmarshaller> idle = idleUnmarshallersOf(jaxbContext);
+        try {
+            final Unmarshaller unmarshaller = borrowUnmarshaller(jaxbContext, idle);
+            final Object dto = unmarshaller.unmarshal(reader);
+            if(idle != null) {
+                idle.offer(unmarshaller);
+            }
+            return dto;
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
     }
-    
+
+    /**
+     * Unmarshals the XML as the declared type (whether or not it is a root element), using a pooled
+     * {@link Unmarshaller} of the provided context (if obtained from {@link #jaxbContextFor(Class)}).
+     */
+    public static <T> T fromXml(final JAXBContext jaxbContext, final Source source, final Class<T> declaredType) {
+        final Queue<Unmarshaller> idle = idleUnmarshallersOf(jaxbContext);
+        try {
+            final Unmarshaller unmarshaller = borrowUnmarshaller(jaxbContext, idle);
+            final T dto = unmarshaller.unmarshal(source, declaredType).getValue();
+            if(idle != null) {
+                idle.offer(unmarshaller);
+            }
+            return dto;
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Queue<Unmarshaller> idleUnmarshallersOf(final JAXBContext jaxbContext) {
+        final Pool pool = registry().poolByContext.get(jaxbContext);
+        return pool != null ? pool.unmarshallers : null;
+    }
+
+    private static Unmarshaller borrowUnmarshaller(
+            final JAXBContext jaxbContext,
+            final Queue<Unmarshaller> idle) throws JAXBException {
+        final Unmarshaller unmarshaller = idle != null ? idle.poll() : null;
+        return unmarshaller != null ? unmarshaller : jaxbContext.createUnmarshaller();
+    }
+
+    // -- REGISTRY
+
+    /*
+     * Marshallers and unmarshallers are not thread-safe, so are borrowed from the pool of their context for the
+     * duration of a single call (a new one being created if none is idle), and returned afterwards unless the call
+     * failed.  Each pool holds on to at most POOL_SIZE idle instances.
+     *
+     * The contexts and their pools are application-scoped, so are released (along with the classes they reference)
+     * when the application shuts down; contexts not obtained from this registry are never pooled.
+     */
+    private static final int POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private static final class Pool {
+        private final Queue<Marshaller> formattedMarshallers = new ArrayBlockingQueue<>(POOL_SIZE);
+        private final Queue<Marshaller> unformattedMarshallers = new ArrayBlockingQueue<>(POOL_SIZE);
+        private final Queue<Unmarshaller> unmarshallers = new ArrayBlockingQueue<>(POOL_SIZE);
+    }
+
+    private static final class Registry implements AutoCloseable {
+        private final Map<Class<?>, JAXBContext> contextByClass = _Maps.newConcurrentHashMap();
+        private final Map<List<Class<?>>, JAXBContext> contextByClasses = _Maps.newConcurrentHashMap();
+        private final Map<JAXBContext, Pool> poolByContext = _Maps.newConcurrentHashMap();
+
+        private JAXBContext pooled(final JAXBContext jaxbContext) {
+            poolByContext.put(jaxbContext, new Pool());
+            return jaxbContext;
+        }
+
+        @Override
+        public void close() {
+            contextByClass.clear();
+            contextByClasses.clear();
+            poolByContext.clear();
+        }
+    }
+
+    private static Registry registry() {
+        return _Context.computeIfAbsent(Registry.class, __ -> new Registry());
+    }
+
 }
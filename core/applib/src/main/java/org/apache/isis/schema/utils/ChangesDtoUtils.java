@@ -28,8 +28,6 @@
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import org.apache.isis.applib.internal.resources._Resource;
 
@@ -43,21 +41,12 @@ public static void init() {
     }
 
     // -- marshalling
-    static JAXBContext jaxbContext;
     static JAXBContext getJaxbContext() {
-        if(jaxbContext == null) {
-            jaxbContext = JaxbUtil.jaxbContextFor(ChangesDto.class);
-        }
-        return jaxbContext;
+        return JaxbUtil.jaxbContextFor(ChangesDto.class);
     }
 
     public static ChangesDto fromXml(final Reader reader) {
-        try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (ChangesDto) un.unmarshal(reader);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        return (ChangesDto) JaxbUtil.fromXml(getJaxbContext(), reader);
     }
 
     public static ChangesDto fromXml(final String xml) {
@@ -80,13 +69,7 @@ public static String toXml(final ChangesDto changesDto) {
     }
 
     public static void toXml(final ChangesDto changesDto, final Writer writer) {
-        try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(changesDto, writer);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        JaxbUtil.toXml(getJaxbContext(), changesDto, writer);
     }
     
 
@@ -26,9 +26,6 @@
 import java.nio.charset.Charset;
 
 import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import org.apache.isis.applib.internal.resources._Resource;
 import org.apache.isis.applib.util.JaxbUtil;
@@ -46,21 +43,12 @@ public static void init() {
     }
 
     // -- marshalling
-    static JAXBContext jaxbContext;
     static JAXBContext getJaxbContext() {
-        if(jaxbContext == null) {
-            jaxbContext = JaxbUtil.jaxbContextFor(CommandDto.class);
-        }
-        return jaxbContext;
+        return JaxbUtil.jaxbContextFor(CommandDto.class);
     }
 
     public static CommandDto fromXml(final Reader reader) {
-        try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (CommandDto) un.unmarshal(reader);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        return (CommandDto) JaxbUtil.fromXml(getJaxbContext(), reader);
     }
 
     public static CommandDto fromXml(final String xml) {
@@ -83,13 +71,7 @@ public static String toXml(final CommandDto commandDto) {
     }
 
     public static void toXml(final CommandDto commandDto, final Writer writer) {
-        try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(commandDto, writer);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        JaxbUtil.toXml(getJaxbContext(), commandDto, writer);
     }
 
     
@@ -31,8 +31,6 @@
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import org.apache.isis.applib.internal.base._NullSafe;
 import org.apache.isis.applib.internal.collections._Lists;
@@ -62,21 +60,12 @@ public static void init() {
 
 
 	// -- marshalling
-	static JAXBContext jaxbContext;
 	static JAXBContext getJaxbContext() {
-		if(jaxbContext == null) {
-			jaxbContext = JaxbUtil.jaxbContextFor(InteractionDto.class);
-		}
-		return jaxbContext;
+		return JaxbUtil.jaxbContextFor(InteractionDto.class);
 	}
 
 	public static InteractionDto fromXml(final Reader reader) {
-		try {
-			final Unmarshaller un = getJaxbContext().createUnmarshaller();
-			return (InteractionDto) un.unmarshal(reader);
-		} catch (JAXBException e) {
-			throw new RuntimeException(e);
-		}
+		return (InteractionDto) JaxbUtil.fromXml(getJaxbContext(), reader);
 	}
 
 	public static InteractionDto fromXml(final String xml) {
@@ -99,13 +88,7 @@ public static String toXml(final InteractionDto interactionDto) {
 	}
 
 	public static void toXml(final InteractionDto interactionDto, final Writer writer) {
-		try {
-			final Marshaller m = getJaxbContext().createMarshaller();
-			m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			m.marshal(interactionDto, writer);
-		} catch (JAXBException e) {
-			throw new RuntimeException(e);
-		}
+		JaxbUtil.toXml(getJaxbContext(), interactionDto, writer);
 	}
 	
 
@@ -23,9 +23,6 @@
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.namespace.QName;
 import javax.xml.transform.stream.StreamSource;
 
@@ -45,28 +42,17 @@ public static <T extends MemberExecutionDto> T clone(final T dto) {
     }
 
     private static <T> T clone(final T dto, final Class<T> dtoClass) {
-        try {
-            JAXBContext jaxbContext = jaxbContextFor(dtoClass);
+        final JAXBContext jaxbContext = jaxbContextFor(dtoClass);
 
-            final Marshaller marshaller = jaxbContext.createMarshaller();
+        final QName name = new QName("", dtoClass.getSimpleName());
+        final JAXBElement<T> jaxbElement = new JAXBElement<>(name, dtoClass, null, dto);
+        final StringWriter stringWriter = new StringWriter();
 
-            final QName name = new QName("", dtoClass.getSimpleName());
-            final JAXBElement<T> jaxbElement = new JAXBElement<>(name, dtoClass, null, dto);
-            final StringWriter stringWriter = new StringWriter();
+        JaxbUtil.toXml(jaxbContext, jaxbElement, stringWriter, false);
 
-            marshaller.marshal(jaxbElement, stringWriter);
+        final StringReader reader = new StringReader(stringWriter.toString());
 
-            final StringReader reader = new StringReader(stringWriter.toString());
-
-            final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-
-            final JAXBElement<T> root = unmarshaller.unmarshal(new StreamSource(reader), dtoClass);
-
-            return root.getValue();
-
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        return JaxbUtil.fromXml(jaxbContext, new StreamSource(reader), dtoClass);
     }
 
     private static <T> JAXBContext jaxbContextFor(final Class<T> dtoClass)  {
@@ -0,0 +1,140 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.applib.query;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CriteriaTest {
+
+    @Rule
+    public ExpectedException thrown= ExpectedException.none();
+
+    public static class Customer {
+        private final String lastName;
+        private final int age;
+        private final boolean active;
+        Customer(final String lastName, final int age, final boolean active) {
+            this.lastName = lastName;
+            this.age = age;
+            this.active = active;
+        }
+        public String getLastName() {
+            return lastName;
+        }
+        public int getAge() {
+            return age;
+        }
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    private final Customer smith = new Customer("Smith", 40, true);
+    private final Customer jones = new Customer("Jones", 17, false);
+    private final Customer anon = new Customer(null, 30, true);
+
+    @Test
+    public void comparisons() throws Exception {
+        assertThat(Criteria.where("lastName").eq("Smith").test(smith), is(true));
+        assertThat(Criteria.where("lastName").ne("Smith").test(smith), is(false));
+        assertThat(Criteria.where("age").ge(18).test(smith), is(true));
+        assertThat(Criteria.where("age").ge(18).test(jones), is(false));
+        assertThat(Criteria.where("age").lt(18).test(jones), is(true));
+        assertThat(Criteria.where("active").eq(true).test(smith), is(true));
+        assertThat(Criteria.where("lastName").startsWith("Jo").test(jones), is(true));
+    }
+
+    @Test
+    public void nulls() throws Exception {
+        assertThat(Criteria.where("lastName").isNull().test(anon), is(true));
+        assertThat(Criteria.where("lastName").isNotNull().test(anon), is(false));
+        assertThat(Criteria.where("lastName").gt("A").test(anon), is(false));
+        assertThat(Criteria.where("lastName").startsWith("S").test(anon), is(false));
+    }
+
+    @Test
+    public void junctionsAndNegation() throws Exception {
+        final Criteria<Object> activeAdult = Criteria.allOf(
+                Criteria.where("active").eq(true),
+                Criteria.where("age").ge(18));
+        assertThat(activeAdult.test(smith), is(true));
+        assertThat(activeAdult.test(jones), is(false));
+
+        final Criteria<Object> smithOrJones = Criteria.anyOf(
+                Criteria.where("lastName").eq("Smith"),
+                Criteria.where("lastName").eq("Jones"));
+        assertThat(smithOrJones.test(jones), is(true));
+        assertThat(smithOrJones.test(anon), is(false));
+
+        assertThat(Criteria.not(smithOrJones).test(smith), is(false));
+        assertThat(Criteria.not(Criteria.where("age").lt(18)).test(smith), is(true));
+    }
+
+    @Test
+    public void nulls_areUnknown_asForJdoql() throws Exception {
+        // as for "lastName != :p", which does not match a null lastName
+        assertThat(Criteria.where("lastName").ne("Smith").test(anon), is(false));
+        assertThat(Criteria.where("lastName").eq("Smith").test(anon), is(false));
+
+        // as for "!(lastName == :p)"
+        assertThat(Criteria.not(Criteria.where("lastName").eq("Smith")).test(anon), is(false));
+        assertThat(Criteria.not(Criteria.where("lastName").startsWith("S")).test(anon), is(false));
+        assertThat(Criteria.<Object>not(Criteria.anyOf(
+                Criteria.where("lastName").eq("Smith"),
+                Criteria.where("lastName").eq("Jones"))).test(anon), is(false));
+
+        // but null tests are known
+        assertThat(Criteria.not(Criteria.where("lastName").isNull()).test(anon), is(false));
+        assertThat(Criteria.not(Criteria.where("lastName").isNotNull()).test(anon), is(true));
+    }
+
+    @Test
+    public void nulls_inJunctions() throws Exception {
+        final Criteria<Object> unknown = Criteria.where("lastName").eq("Smith");
+        final Criteria<Object> satisfied = Criteria.where("active").eq(true);
+        final Criteria<Object> unsatisfied = Criteria.where("active").eq(false);
+
+        // unknown || true == true
+        assertThat(Criteria.anyOf(unknown, satisfied).test(anon), is(true));
+        // unknown || false == unknown, and so its negation is unknown too
+        assertThat(Criteria.anyOf(unknown, unsatisfied).test(anon), is(false));
+        assertThat(Criteria.not(Criteria.anyOf(unknown, unsatisfied)).test(anon), is(false));
+        // unknown && false == false, and so its negation is true
+        assertThat(Criteria.allOf(unknown, unsatisfied).test(anon), is(false));
+        assertThat(Criteria.not(Criteria.allOf(unknown, unsatisfied)).test(anon), is(true));
+    }
+
+    @Test
+    public void description() throws Exception {
+        final Criteria<Object> criteria = Criteria.allOf(
+                Criteria.where("lastName").startsWith("S"),
+                Criteria.not(Criteria.where("age").lt(18)));
+        assertThat(criteria.toString(), is("(lastName.startsWith(S) && !(age < 18))"));
+    }
+
+    @Test
+    public void unknownProperty() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        Criteria.where("firstName").eq("Fred").test(smith);
+    }
+
+}
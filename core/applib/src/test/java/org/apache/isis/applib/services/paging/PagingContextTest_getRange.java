@@ -0,0 +1,71 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.services.paging;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PagingContextTest_getRange {
+
+    private PagingContext pagingContext;
+
+    @Before
+    public void setUp() throws Exception {
+        pagingContext = new PagingContext();
+    }
+
+    @Test
+    public void whenNoPageRequested() throws Exception {
+        assertThat(pagingContext.getRange().length, is(0));
+        assertThat(pagingContext.isPushedDown(), is(false));
+    }
+
+    @Test
+    public void whenPageRequested() throws Exception {
+        pagingContext.setPage(3, 10);
+
+        final long[] range = pagingContext.getRange();
+
+        assertThat(range.length, is(2));
+        assertThat(range[0], is(20L));
+        assertThat(range[1], is(11L));
+        assertThat(pagingContext.isPushedDown(), is(true));
+    }
+
+    @Test
+    public void whenSortRequested() throws Exception {
+        pagingContext.setPage(3, 10);
+        pagingContext.setSortBy(Collections.singletonList("-name"));
+
+        assertThat(pagingContext.getRange().length, is(0));
+        assertThat(pagingContext.isPushedDown(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPageNotPositive() throws Exception {
+        pagingContext.setPage(0, 10);
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.util;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.internal.context._Context;
+import org.apache.isis.applib.layout.component.FieldSet;
+import org.apache.isis.applib.layout.component.PropertyLayoutData;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class JaxbUtilTest {
+
+    @Test
+    public void context_isCachedPerSetOfClasses() throws Exception {
+        final JAXBContext context = JaxbUtil.jaxbContextFor(FieldSet.class, PropertyLayoutData.class);
+
+        assertThat(JaxbUtil.jaxbContextFor(FieldSet.class, PropertyLayoutData.class), is(sameInstance(context)));
+        assertThat(JaxbUtil.jaxbContextFor(FieldSet.class), is(sameInstance(JaxbUtil.jaxbContextFor(FieldSet.class))));
+        assertThat(JaxbUtil.jaxbContextFor(FieldSet.class), is(not(sameInstance(context))));
+    }
+
+    @Test
+    public void roundtrip_reusingPooledMarshallers() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            final FieldSet fieldSet = new FieldSet("Details " + i);
+            fieldSet.getProperties().add(new PropertyLayoutData("name" + i));
+
+            final String xml = JaxbUtil.toXml(fieldSet);
+            final FieldSet roundtripped = JaxbUtil.fromXml(new StringReader(xml), FieldSet.class);
+
+            assertThat(roundtripped.getName(), is("Details " + i));
+            assertThat(roundtripped.getProperties().get(0).getId(), is("name" + i));
+        }
+    }
+
+    @Test
+    public void roundtrip_asDeclaredType() throws Exception {
+        final JAXBContext context = JaxbUtil.jaxbContextFor(PropertyLayoutData.class);
+        final JAXBElement<PropertyLayoutData> element = new JAXBElement<>(
+                new QName("", "copy"), PropertyLayoutData.class, null, new PropertyLayoutData("name"));
+
+        final StringWriter writer = new StringWriter();
+        JaxbUtil.toXml(context, element, writer);
+        final PropertyLayoutData roundtripped = JaxbUtil.fromXml(
+                context, new StreamSource(new StringReader(writer.toString())), PropertyLayoutData.class);
+
+        assertThat(roundtripped.getId(), is("name"));
+    }
+
+    @Test
+    public void toXml_unformatted() throws Exception {
+        final JAXBContext context = JaxbUtil.jaxbContextFor(FieldSet.class);
+        final FieldSet fieldSet = new FieldSet("Details");
+        fieldSet.getProperties().add(new PropertyLayoutData("name"));
+
+        final StringWriter formatted = new StringWriter();
+        JaxbUtil.toXml(context, fieldSet, formatted);
+        final StringWriter unformatted = new StringWriter();
+        JaxbUtil.toXml(context, fieldSet, unformatted, false);
+
+        assertThat(formatted.toString(), containsString("\n"));
+        assertThat(unformatted.toString(), not(containsString("\n")));
+        assertThat(JaxbUtil.fromXml(context, new StringReader(unformatted.toString())), is(notNullValue()));
+    }
+
+    @Test
+    public void roundtrip_withContextNotFromCache() throws Exception {
+        final JAXBContext context = JAXBContext.newInstance(FieldSet.class);
+
+        final StringWriter writer = new StringWriter();
+        JaxbUtil.toXml(context, new FieldSet("Details"), writer);
+        final FieldSet roundtripped = (FieldSet) JaxbUtil.fromXml(context, new StringReader(writer.toString()));
+
+        assertThat(roundtripped.getName(), is("Details"));
+    }
+
+    @Test
+    public void contexts_areReleasedOnShutdown() throws Exception {
+        final JAXBContext context = JaxbUtil.jaxbContextFor(FieldSet.class);
+
+        _Context.clear();
+
+        assertThat(JaxbUtil.jaxbContextFor(FieldSet.class), is(not(sameInstance(context))));
+    }
+
+}
@@ -22,6 +22,8 @@
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
+import org.apache.isis.applib.internal._Constants;
+
 public class MethodExtensions {
 
     private MethodExtensions() {
@@ -40,7 +42,7 @@ public static Object invoke(final Method method, final Object object) {
 
     public static Object invoke(final Method method, final Object object, final Object[] arguments) {
         try {
-            Object[] defaultAnyPrimitive = defaultAnyPrimitive(method.getParameterTypes(), arguments);
+            Object[] defaultAnyPrimitive = defaultAnyPrimitive(MethodInvocationPreprocessor.parameterTypesOf(method), arguments);
             return MethodInvocationPreprocessor.invoke(method, object, defaultAnyPrimitive);
         } catch (Exception e) {
         	return ThrowableExtensions.handleInvocationException(e, method.getName());
@@ -51,9 +53,16 @@ private static Object[] defaultAnyPrimitive(Class<?>[] parameterTypes, Object[]
         if(parameterTypes == null || arguments == null || parameterTypes.length != arguments.length) {
             return arguments;
         }
-        final Object[] argumentsWithPrimitivesDefaulted = new Object[arguments.length];
-        for(int i=0; i<argumentsWithPrimitivesDefaulted.length; i++) {
-            argumentsWithPrimitivesDefaulted[i] = valueIfPrimitiveThenDefaulted(parameterTypes[i], arguments[i]);
+        // copied only if any argument needs defaulting
+        Object[] argumentsWithPrimitivesDefaulted = arguments;
+        for(int i=0; i<arguments.length; i++) {
+            final Object argument = valueIfPrimitiveThenDefaulted(parameterTypes[i], arguments[i]);
+            if(argument != arguments[i]) {
+                if(argumentsWithPrimitivesDefaulted == arguments) {
+                    argumentsWithPrimitivesDefaulted = arguments.clone();
+                }
+                argumentsWithPrimitivesDefaulted[i] = argument;
+            }
         }
         return argumentsWithPrimitivesDefaulted;
     }
@@ -80,7 +89,10 @@ public static Object invokeStatic(final Method method) {
 
     
     public static Object[] getNullOrDefaultArgs(final Method method) {
-        final Class<?>[] paramTypes = method.getParameterTypes();
+        final Class<?>[] paramTypes = MethodInvocationPreprocessor.parameterTypesOf(method);
+        if (paramTypes.length == 0) {
+            return _Constants.emptyObjects;
+        }
         final Object[] parameters = new Object[paramTypes.length];
         for (int i = 0; i < parameters.length; i++) {
             parameters[i] = ClassExtensions.getNullOrDefault(paramTypes[i]);
@@ -19,17 +19,26 @@
 
 package org.apache.isis.core.commons.lang;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.isis.applib.internal.base._Casts;
 import org.apache.isis.applib.internal.base._NullSafe;
 import org.apache.isis.applib.internal.collections._Arrays;
 import org.apache.isis.applib.internal.collections._Collections;
+import org.apache.isis.applib.internal.context._Context;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 
 /**
  * Utility for method invocation pre-processing.
@@ -40,27 +49,184 @@
  * <p>
  * By now we do this for collection parameter types List, Set, SortedSet, Collection and Arrays.
  * </p>
+ * <p>
+ * Unless {@link SpecificationLoader#isMethodHandlesEnabled() disabled}, the method is then invoked through a
+ * {@link MethodHandle} (created once per method, and cached) rather than by reflection; the JIT is able to
+ * optimize the former far better.  If no method handle can be created for a method (eg it is not accessible),
+ * then that method is always invoked by reflection.
+ * </p>
+ * <p>
+ * The method handles are cached against the method's declaring class (using a {@link ClassValue}), so do not
+ * prevent the domain classes (and their classloader) from being garbage collected once the application is
+ * undeployed.
+ * </p>
  */
 public class MethodInvocationPreprocessor {
 
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final ClassValue<ConcurrentMap<Method, Invoker>> invokersByDeclaringClass =
+			new ClassValue<ConcurrentMap<Method, Invoker>>() {
+				@Override
+				protected ConcurrentMap<Method, Invoker> computeValue(final Class<?> declaringClass) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	/**
+	 * Of type <tt>(Throwable)Object</tt>, always throwing an {@link InvocationTargetException}.
+	 */
+	private static final MethodHandle THROW_INVOCATION_TARGET_EXCEPTION;
+	static {
+		try {
+			THROW_INVOCATION_TARGET_EXCEPTION = LOOKUP.findStatic(
+					MethodInvocationPreprocessor.class, "throwInvocationTargetException",
+					MethodType.methodType(Object.class, Throwable.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * Whether methods are invoked through {@link MethodHandle}s, else by reflection, as configured for the
+	 * {@link SpecificationLoader} of the running application (if any).
+	 */
+	private static boolean isMethodHandlesEnabled() {
+		final SpecificationLoader specificationLoader = _Context.getIfAny(SpecificationLoader.class);
+		return specificationLoader == null || specificationLoader.isMethodHandlesEnabled();
+	}
+
+	/**
+	 * Discards the method handles cached for the methods declared by the specified class.
+	 */
+	public static void invalidate(final Class<?> declaringClass) {
+		invokersByDeclaringClass.remove(declaringClass);
+	}
+
 	public static Object invoke(Method method, Object targetPojo, Object[] executionParameters) 
 			throws IllegalAccessException, InvocationTargetException {
+		return invoke(method, targetPojo, executionParameters, isMethodHandlesEnabled());
+	}
+
+	static Object invoke(
+			final Method method,
+			final Object targetPojo,
+			final Object[] executionParameters,
+			final boolean methodHandlesEnabled) throws IllegalAccessException, InvocationTargetException {
+
+		final Invoker invoker = invokerFor(method);
 
 		if (_NullSafe.isEmpty(executionParameters)) {
-			return method.invoke(targetPojo, executionParameters);
+			return invoker.invoke(targetPojo, executionParameters, methodHandlesEnabled);
 		}
 		
-		final Class<?>[] parameterTypes = method.getParameterTypes();
-		final Object[] adaptedExecutionParameters = new Object[executionParameters.length]; 
-		
-		int i=0;
+		final Class<?>[] parameterTypes = invoker.parameterTypes;
+		// copied only if any parameter needs adapting
+		Object[] adaptedExecutionParameters = executionParameters;
 		
-		for(Object param : executionParameters) {
-			adaptedExecutionParameters[i] = adapt(param, parameterTypes[i]);
-			++i;
+		for(int i = 0; i < executionParameters.length; i++) {
+			final Object param = executionParameters[i];
+			final Object adaptedParam = adapt(param, parameterTypes[i]);
+			if(adaptedParam != param) {
+				if(adaptedExecutionParameters == executionParameters) {
+					adaptedExecutionParameters = executionParameters.clone();
+				}
+				adaptedExecutionParameters[i] = adaptedParam;
+			}
 		}
 		
-		return method.invoke(targetPojo, adaptedExecutionParameters);
+		return invoker.invoke(targetPojo, adaptedExecutionParameters, methodHandlesEnabled);
+	}
+
+	/**
+	 * As {@link Method#getParameterTypes()}, but without copying; the returned array must not be modified.
+	 */
+	static Class<?>[] parameterTypesOf(final Method method) {
+		return invokerFor(method).parameterTypes;
+	}
+
+	private static Invoker invokerFor(final Method method) {
+		final ConcurrentMap<Method, Invoker> invokerByMethod = invokersByDeclaringClass.get(method.getDeclaringClass());
+		final Invoker invoker = invokerByMethod.get(method);
+		return invoker != null ? invoker : invokerByMethod.computeIfAbsent(method, Invoker::new);
+	}
+
+	@SuppressWarnings("unused") // looked up reflectively
+	private static Object throwInvocationTargetException(final Throwable targetException)
+			throws InvocationTargetException {
+		throw new InvocationTargetException(targetException);
+	}
+
+	// -- INVOKER
+
+	private static class Invoker {
+
+		private final Method method;
+		private final Class<?>[] parameterTypes;
+		private final boolean isStatic;
+		/**
+		 * Of type <tt>(Object target, Object[] args)Object</tt>; <tt>null</tt> if could not be created.
+		 */
+		private final MethodHandle methodHandle;
+
+		Invoker(final Method method) {
+			this.method = method;
+			this.parameterTypes = method.getParameterTypes();
+			this.isStatic = Modifier.isStatic(method.getModifiers());
+			this.methodHandle = createMethodHandle(method, parameterTypes.length, isStatic);
+		}
+
+		private static MethodHandle createMethodHandle(
+				final Method method, final int parameterCount, final boolean isStatic) {
+			try {
+				MethodHandle mh = LOOKUP.unreflect(method).asFixedArity();
+
+				// only exceptions thrown by the method itself are wrapped, as for reflection; any thrown by the
+				// adaptations below (a receiver or arguments of the wrong type) are not.
+				final MethodType type = mh.type();
+				final MethodHandle handler = MethodHandles.dropArguments(
+						THROW_INVOCATION_TARGET_EXCEPTION.asType(
+								MethodType.methodType(type.returnType(), Throwable.class)),
+						1, type.parameterList());
+				mh = MethodHandles.catchException(mh, Throwable.class, handler);
+
+				if(isStatic) {
+					mh = MethodHandles.dropArguments(mh, 0, Object.class);
+				}
+				return mh.asType(mh.type().generic()).asSpreader(Object[].class, parameterCount);
+			} catch (IllegalAccessException | RuntimeException e) {
+				// fall back to reflection
+				return null;
+			}
+		}
+
+		Object invoke(
+				final Object targetPojo,
+				final Object[] executionParameters,
+				final boolean methodHandlesEnabled) throws IllegalAccessException, InvocationTargetException {
+			if(methodHandle == null || !methodHandlesEnabled) {
+				return method.invoke(targetPojo, executionParameters);
+			}
+			if(targetPojo == null && !isStatic) {
+				// no receiver, as for reflection
+				throw new NullPointerException();
+			}
+			try {
+				return (Object) methodHandle.invokeExact(targetPojo, executionParameters);
+			} catch (InvocationTargetException e) {
+				// thrown by the method itself
+				throw e;
+			} catch (NullPointerException | ClassCastException | WrongMethodTypeException | IllegalArgumentException e) {
+				// a receiver or arguments of the wrong type (or number), or a null argument for a primitive parameter;
+				// as for reflection
+				throw new IllegalArgumentException(e);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				// not expected, all checked exceptions of the method are wrapped
+				throw new IllegalStateException(e);
+			}
+		}
 	}
 
 	// -- OBJECT ADAPTER
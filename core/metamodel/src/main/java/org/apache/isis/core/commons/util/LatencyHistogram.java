@@ -0,0 +1,151 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies (or any other non-negative <tt>long</tt> values), recorded in nanoseconds.
+ *
+ * <p>
+ *     Values are counted in log-linear buckets (as per HdrHistogram): each power of two is divided into
+ *     {@value #SUB_BUCKETS} equal sub-buckets, so percentiles are accurate to within about 6%, whatever the
+ *     magnitude of the values, using a fixed (and small) amount of memory.  Recording is a handful of atomic
+ *     increments, so can safely be called from many threads concurrently.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * Values below this are counted exactly, one bucket per value.
+     */
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS << 1;
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    // -- record
+
+    public void record(final long value) {
+        final long nonNegative = Math.max(value, 0L);
+        counts.incrementAndGet(bucketFor(nonNegative));
+        count.incrementAndGet();
+        total.addAndGet(nonNegative);
+        max.accumulateAndGet(nonNegative, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since the provided {@link System#nanoTime()}.
+     */
+    public void recordSince(final long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    static int bucketFor(final long value) {
+        if(value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        final int msb = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (msb - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * The largest value that would be counted in the bucket.
+     */
+    static long highestValueIn(final int bucket) {
+        if(bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        final int msb = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        final int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        final int shift = msb - SUB_BUCKET_BITS;
+        final long lowest = ((long) (SUB_BUCKETS + subBucket)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    // -- count, mean, max, percentiles
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * In nanoseconds.
+     */
+    public double getMean() {
+        final long n = count.get();
+        return n == 0 ? 0 : (double) total.get() / n;
+    }
+
+    /**
+     * In nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * The value (in nanoseconds) that the given percentage of recorded values are less than or equal to.
+     *
+     * @param percentile - between 0 and 100, eg <tt>99.9</tt>.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long n = count.get();
+        if(n == 0) {
+            return 0;
+        }
+        final long threshold = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * n));
+        long cumulative = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            cumulative += counts.get(bucket);
+            if(cumulative >= threshold) {
+                return Math.min(highestValueIn(bucket), max.get());
+            }
+        }
+        // only if concurrently recorded values have not yet been counted
+        return max.get();
+    }
+
+    // -- convenience
+
+    public double getMeanMillis() {
+        return getMean() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMillisAtPercentile(final double percentile) {
+        return (double) getValueAtPercentile(percentile) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms",
+                getCount(), getMeanMillis(), getMillisAtPercentile(50), getMillisAtPercentile(99),
+                (double) getMax() / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+}
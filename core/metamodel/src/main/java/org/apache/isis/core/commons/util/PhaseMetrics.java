@@ -0,0 +1,156 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.util;
+
+import java.util.Arrays;
+
+import org.apache.isis.applib.internal.context._Context;
+import org.apache.isis.applib.services.metrics.MetricsService.Phase;
+
+/**
+ * Times the {@link Phase phases} of each interaction, both per interaction (per thread, read by the
+ * {@link org.apache.isis.applib.services.metrics.MetricsService}) and across all interactions (as a
+ * {@link LatencyHistogram} per phase).
+ *
+ * <p>
+ *     Used as:
+ * <pre>
+ * final long startedAt = PhaseMetrics.start();
+ * try {
+ *     ...
+ * } finally {
+ *     PhaseMetrics.stop(Phase.QUERY, startedAt);
+ * }
+ * </pre>
+ *     The timings are held by an instance that is {@link #enable() enabled} for the application (an application
+ *     scoped singleton on the {@link _Context}), so are discarded when the application shuts down.  When not enabled
+ *     (the default) this costs just a lookup on the {@link _Context}.
+ * </p>
+ */
+public final class PhaseMetrics {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+
+    /**
+     * For each phase, the nanos spent and number of times entered, in the current thread's interaction.
+     */
+    private final ThreadLocal<long[]> interaction = ThreadLocal.withInitial(() -> new long[2 * PHASES.length]);
+
+    private volatile boolean enabled = true;
+
+    private PhaseMetrics() {
+        for (int i = 0; i < PHASES.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    // -- enable, disable
+
+    /**
+     * Starts timing (with empty histograms) for the current application.
+     */
+    public static PhaseMetrics enable() {
+        final PhaseMetrics phaseMetrics = new PhaseMetrics();
+        _Context.put(PhaseMetrics.class, phaseMetrics, true);
+        return phaseMetrics;
+    }
+
+    /**
+     * Stops timing; the histograms are retained (until the application's {@link _Context} is cleared).
+     */
+    public void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return current() != null;
+    }
+
+    /**
+     * @return the enabled instance for the current application, or <tt>null</tt> if none.
+     */
+    private static PhaseMetrics current() {
+        final PhaseMetrics phaseMetrics = _Context.getIfAny(PhaseMetrics.class);
+        return phaseMetrics != null && phaseMetrics.enabled ? phaseMetrics : null;
+    }
+
+    // -- start, stop
+
+    /**
+     * @return the time that the phase started (in nanos), or <tt>0</tt> if not enabled.
+     */
+    public static long start() {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * @param startedAt - as returned by {@link #start()}; if <tt>0</tt> then does nothing.
+     */
+    public static void stop(final Phase phase, final long startedAt) {
+        if(startedAt == 0L) {
+            return;
+        }
+        final PhaseMetrics phaseMetrics = current();
+        if(phaseMetrics == null) {
+            return;
+        }
+        final long nanos = System.nanoTime() - startedAt;
+        final int i = phase.ordinal();
+        phaseMetrics.histograms[i].record(nanos);
+        final long[] current = phaseMetrics.interaction.get();
+        current[2 * i] += nanos;
+        current[2 * i + 1]++;
+    }
+
+    // -- interaction
+
+    /**
+     * Called at the start of each interaction (session).
+     */
+    public static void resetInteraction() {
+        final PhaseMetrics phaseMetrics = current();
+        if(phaseMetrics == null) {
+            return;
+        }
+        Arrays.fill(phaseMetrics.interaction.get(), 0L);
+    }
+
+    public static long getInteractionNanos(final Phase phase) {
+        final PhaseMetrics phaseMetrics = current();
+        return phaseMetrics != null ? phaseMetrics.interaction.get()[2 * phase.ordinal()] : 0L;
+    }
+
+    public static long getInteractionCount(final Phase phase) {
+        final PhaseMetrics phaseMetrics = current();
+        return phaseMetrics != null ? phaseMetrics.interaction.get()[2 * phase.ordinal() + 1] : 0L;
+    }
+
+    // -- histograms
+
+    /**
+     * Across all interactions, since {@link #enable() enabled}.
+     */
+    public LatencyHistogram getHistogram(final Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+}
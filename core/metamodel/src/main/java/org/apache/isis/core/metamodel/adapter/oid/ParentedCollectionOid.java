@@ -175,7 +175,6 @@ public boolean equals(final ParentedCollectionOid other) {
 
     @Override
     public int hashCode() {
-        cacheState();
         return cachedHashCode;
     }
 
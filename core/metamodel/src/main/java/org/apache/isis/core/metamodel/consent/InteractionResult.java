@@ -23,6 +23,8 @@
 import java.util.Collections;
 import java.util.List;
 
+import com.google.common.base.Supplier;
+
 import org.apache.isis.applib.services.wrapper.events.InteractionEvent;
 
 public class InteractionResult {
@@ -41,14 +43,31 @@ enum State {
         ADVISING, ADVISED
     }
 
-    private final InteractionEvent interactionEvent;
-    private final StringBuilder reasonBuf = new StringBuilder();
-    private final List<InteractionAdvisor> advisors = new ArrayList<InteractionAdvisor>();
+    private final Supplier<? extends InteractionEvent> interactionEventSupplier;
+    private InteractionEvent interactionEvent;
+    // both created lazily, on the first veto; most interactions are never vetoed
+    private StringBuilder reasonBuf;
+    private List<InteractionAdvisor> advisors;
 
     private State state = State.ADVISING;
 
     public InteractionResult(final InteractionEvent interactionEvent) {
+        this(interactionEvent, null);
+    }
+
+    private InteractionResult(
+            final InteractionEvent interactionEvent,
+            final Supplier<? extends InteractionEvent> interactionEventSupplier) {
         this.interactionEvent = interactionEvent;
+        this.interactionEventSupplier = interactionEventSupplier;
+    }
+
+    /**
+     * The {@link InteractionEvent} is only obtained from the supplier if and when it is
+     * {@link #getInteractionEvent() requested}; most results are only ever checked for a veto.
+     */
+    public static InteractionResult withEventFrom(final Supplier<? extends InteractionEvent> interactionEventSupplier) {
+        return new InteractionResult(null, interactionEventSupplier);
     }
 
     /**
@@ -64,6 +83,9 @@ public InteractionResult(final InteractionEvent interactionEvent) {
      * @return
      */
     public InteractionEvent getInteractionEvent() {
+        if (interactionEvent == null && interactionEventSupplier != null) {
+            interactionEvent = interactionEventSupplier.get();
+        }
         if (state == State.ADVISING) {
             interactionEvent.advised(getReason(), getAdvisorClass());
             state = State.ADVISED;
@@ -83,6 +105,10 @@ public void advise(final String reason, final InteractionAdvisor facet) {
         if (reason == null) {
             return;
         }
+        if (reasonBuf == null) {
+            reasonBuf = new StringBuilder();
+            advisors = new ArrayList<InteractionAdvisor>();
+        }
         if (isVetoing()) {
             reasonBuf.append("; ");
         }
@@ -95,7 +121,7 @@ public boolean isVetoing() {
     }
 
     public boolean isNotVetoing() {
-        return reasonBuf.length() == 0;
+        return reasonBuf == null || reasonBuf.length() == 0;
     }
 
     /**
@@ -106,7 +132,7 @@ public boolean isNotVetoing() {
      * @see #getAdvisorFacets()
      */
     public InteractionAdvisor getAdvisor() {
-        return advisors.size() >= 1 ? advisors.get(0) : null;
+        return advisors != null && advisors.size() >= 1 ? advisors.get(0) : null;
     }
 
     /**
@@ -117,7 +143,9 @@ public InteractionAdvisor getAdvisor() {
      * @see #getAdvisor()
      */
     public List<InteractionAdvisor> getAdvisorFacets() {
-        return Collections.unmodifiableList(advisors);
+        return advisors != null
+                ? Collections.unmodifiableList(advisors)
+                : Collections.<InteractionAdvisor>emptyList();
     }
 
     public Consent createConsent() {
@@ -141,11 +169,11 @@ public String getReason() {
 
     @Override
     public String toString() {
-        return String.format("%s: %s: %s (%d facets advised)", interactionEvent, state, toStringInterpret(reasonBuf), advisors.size());
+        return String.format("%s: %s: %s (%d facets advised)", interactionEvent, state, toStringInterpret(), getAdvisorFacets().size());
     }
 
-    private String toStringInterpret(final StringBuilder reasonBuf) {
-        if (getReason().length() == 0) {
+    private String toStringInterpret() {
+        if (isNotVetoing()) {
             return "allowed";
         } else {
             return "vetoed";
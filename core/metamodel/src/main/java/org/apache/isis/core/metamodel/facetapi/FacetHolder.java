@@ -70,6 +70,18 @@ public interface FacetHolder {
      */
     List<Facet> getFacets(Predicate<Facet> predicate);
 
+    /**
+     * Returns all {@link Facet}s that are {@link FacetUtil#isA(Class) of the specified type}, typically an
+     * {@link org.apache.isis.core.metamodel.interactions.InteractionAdvisor interaction advisor} interface.
+     *
+     * <p>
+     * Equivalent to {@link #getFacets(Predicate)}, but implementations may cache the result (so it should be
+     * treated as read-only).
+     */
+    default List<Facet> getFacetsOfType(final Class<?> type) {
+        return getFacets(FacetUtil.isA(type));
+    }
+
     /**
      * Adds the facet, extracting its {@link Facet#facetType() type} as the key.
      * 
@@ -19,18 +19,28 @@
 
 package org.apache.isis.core.metamodel.facetapi;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.Maps;
 
 /**
  * For base subclasses or, more likely, to help write tests.
  */
 public class FacetHolderImpl implements FacetHolder {
 
-    private final Map<Class<? extends Facet>, Facet> facetsByClass = new HashMap<Class<? extends Facet>, Facet>();
+    /**
+     * Concurrent, so that facets can be read while (other) specs are being introspected on other threads.
+     */
+    private final Map<Class<? extends Facet>, Facet> facetsByClass = Maps.newConcurrentMap();
+
+    /**
+     * Caches {@link #getFacetsOfType(Class)}; replaced (rather than cleared) whenever a facet is added or removed, so
+     * that a concurrent reader can never repopulate it from the superseded facets.
+     */
+    private volatile Map<Class<?>, List<Facet>> facetsByType = Maps.newConcurrentMap();
 
     @Override
     public boolean containsFacet(final Class<? extends Facet> facetType) {
@@ -63,9 +73,13 @@ public void addFacet(final MultiTypedFacet facet) {
     }
 
     private void addFacet(final Class<? extends Facet> facetType, final Facet facet) {
+        if (facet == null) {
+            return;
+        }
         final Facet existingFacet = getFacet(facetType);
         if (existingFacet == null || existingFacet.isNoop()) {
             facetsByClass.put(facetType, facet);
+            invalidateFacetsByType();
             return;
         }
         if (!facet.alwaysReplace()) {
@@ -76,16 +90,23 @@ private void addFacet(final Class<? extends Facet> facetType, final Facet facet)
         }
         facet.setUnderlyingFacet(existingFacet);
         facetsByClass.put(facetType, facet);
+        invalidateFacetsByType();
     }
 
     @Override
     public void removeFacet(final Facet facet) {
         FacetUtil.removeFacet(facetsByClass, facet);
+        invalidateFacetsByType();
     }
 
     @Override
     public void removeFacet(final Class<? extends Facet> facetType) {
         FacetUtil.removeFacet(facetsByClass, facetType);
+        invalidateFacetsByType();
+    }
+
+    private void invalidateFacetsByType() {
+        facetsByType = Maps.newConcurrentMap();
     }
 
     @Override
@@ -104,4 +125,15 @@ public List<Facet> getFacets(final Predicate<Facet> predicate) {
         return FacetUtil.getFacets(facetsByClass, predicate);
     }
 
+    @Override
+    public List<Facet> getFacetsOfType(final Class<?> type) {
+        final Map<Class<?>, List<Facet>> facetsByType = this.facetsByType;
+        List<Facet> facets = facetsByType.get(type);
+        if(facets == null) {
+            facets = Collections.unmodifiableList(getFacets(FacetUtil.isA(type)));
+            facetsByType.put(type, facets);
+        }
+        return facets;
+    }
+
 }
@@ -132,6 +132,22 @@ public static List<Facet> getFacets(final Map<Class<? extends Facet>, Facet> fac
         return filteredFacets;
     }
 
+    /**
+     * Matches facets that are of the specified type, or that {@link DecoratingFacet decorate} a facet of that type.
+     */
+    public static Predicate<Facet> isA(final Class<?> superClass) {
+        return new Predicate<Facet>() {
+            @Override
+            public boolean apply(final Facet facet) {
+                if (facet instanceof DecoratingFacet) {
+                    final DecoratingFacet<?> decoratingFacet = (DecoratingFacet<?>) facet;
+                    return apply(decoratingFacet.getDecoratedFacet());
+                }
+                return superClass.isAssignableFrom(facet.getClass());
+            }
+        };
+    }
+
     public static void removeFacet(final Map<Class<? extends Facet>, Facet> facetsByClass, final Facet facet) {
         removeFacet(facetsByClass, facet.facetType());
     }
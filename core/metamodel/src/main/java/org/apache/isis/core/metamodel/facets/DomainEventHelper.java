@@ -36,6 +36,8 @@
 import org.apache.isis.applib.events.domain.PropertyDomainEvent;
 import org.apache.isis.applib.services.command.Command;
 import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.metrics.MetricsService;
+import org.apache.isis.core.commons.util.PhaseMetrics;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facetapi.IdentifiedHolder;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
@@ -65,6 +67,9 @@ public ActionDomainEvent<?> postEventForAction(
             final Command command,
             final ObjectAdapter resultAdapter) {
 
+        if(!isSubscribed(phase, eventType)) {
+            return null;
+        }
         try {
             final ActionDomainEvent<?> event;
 
@@ -110,13 +115,22 @@ public ActionDomainEvent<?> postEventForAction(
                 }
             }
 
-            getEventBusService().post(event);
+            postToEventBus(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
         }
     }
 
+    private void postToEventBus(final AbstractDomainEvent<?> event) {
+        final long startedAt = PhaseMetrics.start();
+        try {
+            getEventBusService().post(event);
+        } finally {
+            PhaseMetrics.stop(MetricsService.Phase.DOMAIN_EVENT, startedAt);
+        }
+    }
+
     private static <T> List<T> immutableList(final Iterable<T> iterable) {
         return Collections.unmodifiableList(Lists.newArrayList(iterable));
     }
@@ -183,6 +197,9 @@ private static List<Object> asList(final Object[] arguments) {
             final Object oldValue,
             final Object newValue) {
 
+        if(!isSubscribed(phase, eventType)) {
+            return null;
+        }
         try {
             final PropertyDomainEvent<?, ?> event;
             final Object source = ObjectAdapter.Util.unwrap(targetAdapter);
@@ -201,7 +218,7 @@ private static List<Object> asList(final Object[] arguments) {
             // just in case the actual new value held by the object is different from that applied
             setEventNewValue(event, newValue);
 
-            this.getEventBusService().post(event);
+            postToEventBus(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -272,6 +289,9 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
             final ObjectAdapter targetAdapter,
             final CollectionDomainEvent.Of of,
             final Object reference) {
+        if(!isSubscribed(phase, eventType)) {
+            return null;
+        }
         try {
             final CollectionDomainEvent<?, ?> event;
             if (existingEvent != null && phase.isExecuted()) {
@@ -286,7 +306,7 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
 
             event.setEventPhase(phase);
 
-            getEventBusService().post(event);
+            postToEventBus(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -393,6 +413,17 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
     
 
 
+    // -- isSubscribed
+
+    /**
+     * Events for the HIDE, DISABLE and VALIDATE phases are only ever consulted for a veto, so there is no need to
+     * create (let alone post) one if no subscriber would receive it.  Events for the EXECUTING and EXECUTED phases
+     * are always created, because they are also associated with the command and returned to the caller.
+     */
+    private boolean isSubscribed(final AbstractDomainEvent.Phase phase, final Class<?> eventType) {
+        return phase.isExecutingOrLater() || getEventBusService().hasSubscribersFor(eventType);
+    }
+
     // -- eventBusService
 
     private EventBusService getEventBusService() {
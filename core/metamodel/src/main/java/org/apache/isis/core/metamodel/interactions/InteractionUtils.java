@@ -25,9 +25,9 @@
 
 import org.apache.isis.core.metamodel.consent.InteractionResult;
 import org.apache.isis.core.metamodel.consent.InteractionResultSet;
-import org.apache.isis.core.metamodel.facetapi.DecoratingFacet;
 import org.apache.isis.core.metamodel.facetapi.Facet;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facetapi.FacetUtil;
 
 public final class InteractionUtils {
 
@@ -35,20 +35,20 @@ private InteractionUtils() {
     }
 
     public static InteractionResult isVisibleResult(final FacetHolder facetHolder, final VisibilityContext<?> context) {
-        final InteractionResult result = new InteractionResult(context.createInteractionEvent());
-        final List<Facet> facets = facetHolder.getFacets(isA(HidingInteractionAdvisor.class));
-        for (final Facet facet : facets) {
-            final HidingInteractionAdvisor advisor = (HidingInteractionAdvisor) facet;
+        final InteractionResult result = InteractionResult.withEventFrom(context::createInteractionEvent);
+        final List<Facet> facets = facetHolder.getFacetsOfType(HidingInteractionAdvisor.class);
+        for (int i = 0; i < facets.size(); i++) {
+            final HidingInteractionAdvisor advisor = (HidingInteractionAdvisor) facets.get(i);
             result.advise(advisor.hides(context), advisor);
         }
         return result;
     }
 
     public static InteractionResult isUsableResult(final FacetHolder facetHolder, final UsabilityContext<?> context) {
-        final InteractionResult result = new InteractionResult(context.createInteractionEvent());
-        final List<Facet> facets = facetHolder.getFacets(isA(DisablingInteractionAdvisor.class));
-        for (final Facet facet : facets) {
-            final DisablingInteractionAdvisor advisor = (DisablingInteractionAdvisor) facet;
+        final InteractionResult result = InteractionResult.withEventFrom(context::createInteractionEvent);
+        final List<Facet> facets = facetHolder.getFacetsOfType(DisablingInteractionAdvisor.class);
+        for (int i = 0; i < facets.size(); i++) {
+            final DisablingInteractionAdvisor advisor = (DisablingInteractionAdvisor) facets.get(i);
             final String disables = advisor.disables(context);
             result.advise(disables, advisor);
         }
@@ -56,10 +56,10 @@ public static InteractionResult isUsableResult(final FacetHolder facetHolder, fi
     }
 
     public static InteractionResult isValidResult(final FacetHolder facetHolder, final ValidityContext<?> context) {
-        final InteractionResult result = new InteractionResult(context.createInteractionEvent());
-        final List<Facet> facets = facetHolder.getFacets(isA(ValidatingInteractionAdvisor.class));
-        for (final Facet facet : facets) {
-            final ValidatingInteractionAdvisor advisor = (ValidatingInteractionAdvisor) facet;
+        final InteractionResult result = InteractionResult.withEventFrom(context::createInteractionEvent);
+        final List<Facet> facets = facetHolder.getFacetsOfType(ValidatingInteractionAdvisor.class);
+        for (int i = 0; i < facets.size(); i++) {
+            final ValidatingInteractionAdvisor advisor = (ValidatingInteractionAdvisor) facets.get(i);
             result.advise(advisor.invalidates(context), advisor);
         }
         return result;
@@ -70,15 +70,6 @@ public static InteractionResultSet isValidResultSet(final FacetHolder facetHolde
     }
 
     static Predicate<Facet> isA(final Class<?> superClass) {
-        return new Predicate<Facet>() {
-            @Override
-            public boolean apply(final Facet facet) {
-                if (facet instanceof DecoratingFacet) {
-                    final DecoratingFacet<?> decoratingFacet = (DecoratingFacet<?>) facet;
-                    return apply(decoratingFacet.getDecoratedFacet());
-                }
-                return superClass.isAssignableFrom(facet.getClass());
-            }
-        };
+        return FacetUtil.isA(superClass);
     }
 }
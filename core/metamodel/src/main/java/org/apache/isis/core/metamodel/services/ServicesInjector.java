@@ -16,13 +16,17 @@
  */
 package org.apache.isis.core.metamodel.services;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -77,10 +81,18 @@ public class ServicesInjector implements ApplicationScopedComponent {
      * If no key, not yet searched for type; otherwise the corresponding value is a {@link List} of all
      * services that are assignable to the type.  It's possible that this is an empty list.
      */
-    private final Map<Class<?>, List<Object>> servicesAssignableToType = _Maps.newHashMap();
-    private final Map<Class<?>, Object> serviceByConcreteType = _Maps.newHashMap();
-    private final Map<Class<?>, Method[]> methodsByClassCache = _Maps.newHashMap();
-    private final Map<Class<?>, Field[]> fieldsByClassCache = _Maps.newHashMap();
+    private final Map<Class<?>, List<Object>> servicesAssignableToType = _Maps.newConcurrentHashMap();
+    /**
+     * Lazily built, and only published once fully populated.
+     */
+    private volatile Map<Class<?>, Object> serviceByConcreteType;
+    /**
+     * Keyed by the concrete class of the objects being injected into; invalidated whenever the registered
+     * services change.
+     */
+    private final Map<Class<?>, InjectionPlan> injectionPlanByClass = _Maps.newConcurrentHashMap();
+    private final AtomicLong injectionPlansBuilt = new AtomicLong();
+    private final AtomicLong injectionsPerformed = new AtomicLong();
 
     private final InjectorMethodEvaluator injectorMethodEvaluator;
     private final boolean autowireSetters;
@@ -140,17 +152,21 @@ public <T> void replaceService(final T existingService, final T replacementServi
 
         // invalidate
         servicesAssignableToType.clear();
-        serviceByConcreteType.clear();
+        serviceByConcreteType = null;
+        invalidateInjectionPlans();
         autowire();
     }
 
     public boolean isRegisteredService(final Class<?> cls) {
         // lazily construct cache
-        if(serviceByConcreteType.isEmpty()) {
+        Map<Class<?>, Object> serviceByConcreteType = this.serviceByConcreteType;
+        if(serviceByConcreteType == null) {
+            serviceByConcreteType = _Maps.newHashMap();
             for (Object service : services) {
                 final Class<?> concreteType = service.getClass();
                 serviceByConcreteType.put(concreteType, service);
             }
+            this.serviceByConcreteType = serviceByConcreteType;
         }
         return serviceByConcreteType.containsKey(cls);
     }
@@ -162,6 +178,7 @@ public <T> void addFallbackIfRequired(final Class<T> serviceClass, final T servi
             // FixtureScriptsDefault so that appears it top of prototyping menu; not
             // more flexible than this currently just because of YAGNI).
             services.add(0, serviceInstance);
+            invalidateInjectionPlans();
         }
     }
 
@@ -242,39 +259,70 @@ public void injectInto(final Object candidate) {
         }
     }
 
+    // -- METRICS
+
+    /**
+     * The number of per-class injection plans built so far (one per concrete class injected into, unless
+     * invalidated by a change to the registered services).
+     */
+    @Programmatic
+    public long getInjectionPlansBuilt() {
+        return injectionPlansBuilt.get();
+    }
+
+    /**
+     * The number of objects that have had services injected into them so far.
+     */
+    @Programmatic
+    public long getInjectionsPerformed() {
+        return injectionsPerformed.get();
+    }
+
     // -- HELPERS
 
     private void injectServices(final Object object, final List<Object> services) {
+        final InjectionPlan injectionPlan =
+                injectionPlanByClass.computeIfAbsent(object.getClass(), cls->newInjectionPlan(cls, services));
+        injectionPlan.injectInto(object);
+        injectionsPerformed.incrementAndGet();
+    }
 
-        final Class<?> cls = object.getClass();
+    private InjectionPlan newInjectionPlan(final Class<?> cls, final List<Object> services) {
+        final List<Injection> injections = _Lists.newArrayList();
 
-        autowireViaFields(object, services, cls);
+        planViaFields(cls, services, injections);
 
         if(autowireSetters) {
-            autowireViaPrefixedMethods(object, services, cls, "set");
+            planViaPrefixedMethods(cls, services, "set", injections);
         }
         if(autowireInject) {
-            autowireViaPrefixedMethods(object, services, cls, "inject");
+            planViaPrefixedMethods(cls, services, "inject", injections);
         }
+
+        injectionPlansBuilt.incrementAndGet();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("built injection plan for {}: {} injection(s)", cls.getName(), injections.size());
+        }
+        return new InjectionPlan(injections);
     }
 
-    private void autowireViaFields(final Object object, final List<Object> services, final Class<?> cls) {
-    	
-    	_NullSafe.stream(fieldsByClassCache.computeIfAbsent(cls, __->cls.getDeclaredFields()))
-    	.filter(isAnnotatedForInjection())
-    	.forEach(field->autowire(object, field, services));
+    private void planViaFields(final Class<?> cls, final List<Object> services, final List<Injection> injections) {
+
+        _NullSafe.stream(cls.getDeclaredFields())
+        .filter(isAnnotatedForInjection())
+        .forEach(field->plan(field, services, injections));
 
         // recurse up the object's class hierarchy
         final Class<?> superclass = cls.getSuperclass();
         if(superclass != null) {
-            autowireViaFields(object, services, superclass);
+            planViaFields(superclass, services, injections);
         }
     }
 
-    private void autowire(
-            final Object object,
+    private void plan(
             final Field field,
-            final List<Object> services) {
+            final List<Object> services,
+            final List<Injection> injections) {
 
         final Class<?> typeToBeInjected = field.getType();
         // don't think that type can ever be null,
@@ -285,91 +333,147 @@ private void autowire(
 
         // inject matching services into a field of type Collection<T> if a generic type T is present
         final Class<?> elementType = _Collections.inferElementTypeIfAny(field);
-		if(elementType!=null) {
-			@SuppressWarnings("unchecked")
-			final Class<? extends Collection<Object>> collectionTypeToBeInjected =
-        			(Class<? extends Collection<Object>>) typeToBeInjected;
-        	
-        	 final Collection<Object> collectionOfServices = _NullSafe.stream(services)
-                      .filter(_NullSafe::isPresent)
-                      .filter(isOfType(elementType))
-                      .collect(_Collections.toUnmodifiableOfType(collectionTypeToBeInjected));
-             
-             invokeInjectorField(field, object, collectionOfServices);
-		}
-        
+        if(elementType!=null) {
+            @SuppressWarnings("unchecked")
+            final Class<? extends Collection<Object>> collectionTypeToBeInjected =
+                    (Class<? extends Collection<Object>>) typeToBeInjected;
+
+            final Collection<Object> collectionOfServices = _NullSafe.stream(services)
+                    .filter(_NullSafe::isPresent)
+                    .filter(isOfType(elementType))
+                    .collect(_Collections.toUnmodifiableOfType(collectionTypeToBeInjected));
+
+            injections.add(Injection.viaField(field, collectionOfServices));
+        }
+
         for (final Object service : services) {
             final Class<?> serviceClass = service.getClass();
             if(typeToBeInjected.isAssignableFrom(serviceClass)) {
-                invokeInjectorField(field, object, service);
+                injections.add(Injection.viaField(field, service));
                 return;
             }
         }
     }
 
-    private void autowireViaPrefixedMethods(
-            final Object object,
-            final List<Object> services,
+    private void planViaPrefixedMethods(
             final Class<?> cls,
-            final String prefix) {
-    	
-    	_NullSafe.stream(methodsByClassCache.computeIfAbsent(cls, __->cls.getMethods()))
-    	.filter(nameStartsWith(prefix))
-    	.forEach(prefixedMethod->autowire(object, prefixedMethod, services));
+            final List<Object> services,
+            final String prefix,
+            final List<Injection> injections) {
+
+        _NullSafe.stream(cls.getMethods())
+        .filter(nameStartsWith(prefix))
+        .forEach(prefixedMethod->plan(prefixedMethod, services, injections));
     }
 
-    private void autowire(
-            final Object object,
+    private void plan(
             final Method prefixedMethod,
-            final List<Object> services) {
-    	
+            final List<Object> services,
+            final List<Injection> injections) {
+
         for (final Object service : services) {
             final Class<?> serviceClass = service.getClass();
             final boolean isInjectorMethod = injectorMethodEvaluator.isInjectorMethodFor(prefixedMethod, serviceClass);
             if(isInjectorMethod) {
-                prefixedMethod.setAccessible(true);
-                invokeInjectorMethod(prefixedMethod, object, service);
+                injections.add(Injection.viaMethod(prefixedMethod, service));
                 return;
             }
         }
     }
 
-    private static void invokeMethod(final Method method, final Object target, final Object[] parameters) {
-        try {
-            method.invoke(target, parameters);
-        } catch (final SecurityException | IllegalAccessException e) {
-            throw new MetaModelException(String.format("Cannot access the %s method in %s", method.getName(), target.getClass().getName()));
-        } catch (final IllegalArgumentException e1) {
-            throw new MetaModelException(e1);
-        } catch (final InvocationTargetException e) {
-            final Throwable targetException = e.getTargetException();
-            if (targetException instanceof RuntimeException) {
-                throw (RuntimeException) targetException;
-            } else {
-                throw new MetaModelException(targetException);
+    /**
+     * Discards all {@link InjectionPlan}s, eg because the set of registered services has changed.
+     */
+    private void invalidateInjectionPlans() {
+        injectionPlanByClass.clear();
+    }
+
+    // -- INJECTION PLAN
+
+    /**
+     * The {@link Injection}s to perform on every instance of a particular class, in order: annotated fields
+     * (walking up the class hierarchy), then <tt>setXxx(...)</tt> methods, then <tt>injectXxx(...)</tt> methods.
+     */
+    private static final class InjectionPlan {
+
+        private final Injection[] injections;
+
+        private InjectionPlan(final List<Injection> injections) {
+            this.injections = injections.toArray(new Injection[injections.size()]);
+        }
+
+        void injectInto(final Object target) {
+            for (final Injection injection : injections) {
+                injection.injectInto(target);
             }
         }
     }
 
-    private static void invokeInjectorField(final Field field, final Object target, final Object parameter) {
-        try {
+    /**
+     * A single field or method of a class, bound to the service (or collection of services) to inject into it.
+     */
+    private static final class Injection {
+
+        private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private static final MethodHandle FIELD_SET;
+        static {
+            try {
+                FIELD_SET = LOOKUP.findVirtual(Field.class, "set", SETTER_TYPE);
+            } catch (final NoSuchMethodException | IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        static Injection viaField(final Field field, final Object service) {
             field.setAccessible(true);
-            field.set(target, parameter);
-        } catch (final IllegalArgumentException e) {
-            throw new MetaModelException(e);
-        } catch (final IllegalAccessException e) {
-            throw new MetaModelException(String.format("Cannot access the %s field in %s", field.getName(), target.getClass().getName()));
+            MethodHandle setter;
+            try {
+                setter = LOOKUP.unreflectSetter(field);
+            } catch (final IllegalAccessException e) {
+                // eg a final field; fall back to (accessible) reflection
+                setter = FIELD_SET.bindTo(field);
+            }
+            return new Injection("field", field, setter.asType(SETTER_TYPE), service);
         }
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("injected {} into {}", parameter, new ToString(target));
+
+        static Injection viaMethod(final Method method, final Object service) {
+            method.setAccessible(true);
+            final MethodHandle setter;
+            try {
+                setter = LOOKUP.unreflect(method).asFixedArity();
+            } catch (final IllegalAccessException e) {
+                throw new MetaModelException(String.format("Cannot access the %s method in %s", method.getName(), method.getDeclaringClass().getName()));
+            }
+            return new Injection("method", method, setter.asType(SETTER_TYPE), service);
         }
-    }
 
-    private static void invokeInjectorMethod(final Method method, final Object target, final Object parameter) {
-        final Object[] parameters = new Object[] { parameter };
-        invokeMethod(method, target, parameters);
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("injected {} into {}", parameter, new ToString(target));
+        private final String memberType;
+        private final Member member;
+        private final MethodHandle setter;
+        private final Object service;
+
+        private Injection(final String memberType, final Member member, final MethodHandle setter, final Object service) {
+            this.memberType = memberType;
+            this.member = member;
+            this.setter = setter;
+            this.service = service;
+        }
+
+        void injectInto(final Object target) {
+            try {
+                setter.invokeExact(target, service);
+            } catch (final IllegalAccessException e) {
+                throw new MetaModelException(String.format("Cannot access the %s %s in %s", member.getName(), memberType, target.getClass().getName()));
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new MetaModelException(e);
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("injected {} into {}", service, new ToString(target));
+            }
         }
     }
 
@@ -430,10 +534,11 @@ private void locateAndCache(final Class<?> serviceClass) {
             return;
         }
 
-        final List<Object> matchingServices = _Lists.newArrayList();
-        addAssignableTo(serviceClass, services, matchingServices);
-
-        servicesAssignableToType.put(serviceClass, matchingServices);
+        servicesAssignableToType.computeIfAbsent(serviceClass, __ -> {
+            final List<Object> matchingServices = _Lists.newArrayList();
+            addAssignableTo(serviceClass, services, matchingServices);
+            return matchingServices;
+        });
     }
 
     private static void addAssignableTo(final Class<?> type, final List<Object> candidates, final List<Object> filteredServicesAndContainer) {
@@ -105,6 +105,7 @@
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
 import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -353,6 +354,11 @@ public void visit(final CollectionLayoutData collectionLayoutData) {
                         new MemberOrderFacetXml(groupName, sequence, translationService, oneToManyAssociation));
             }
         });
+
+        // the spec caches its members pre-sorted by member order, so must be told that this may have changed
+        if(objectSpec instanceof ObjectSpecificationAbstract) {
+            ((ObjectSpecificationAbstract) objectSpec).invalidateMemberIndexes();
+        }
     }
 
 
@@ -17,6 +17,7 @@
 package org.apache.isis.core.metamodel.services.persistsession;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.Query;
@@ -162,6 +163,19 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     <T> List<ObjectAdapter> allMatchingQuery(Query<T> query);
 
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * As per {@link #allMatchingQuery(Query)}, but returning the pojos themselves; the adapters of entities
+     * may (if so configured) only be created once actually required.
+     *
+     * <p>
+     * Called by <tt>RepositoryServiceInternalDefault</tt>.
+     */
+    @Programmatic
+    <T> List<T> allPojosMatchingQuery(Query<T> query);
+
     /**
      * Provided by <tt>PersistenceSession</tt> when used by framework.
      *
@@ -171,6 +185,32 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     <T> ObjectAdapter firstMatchingQuery(Query<T> query);
 
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * As per {@link #allMatchingQuery(Query)}, but traversing the results lazily; the returned {@link Stream}
+     * should be closed once consumed.
+     *
+     * <p>
+     * Called by <tt>RepositoryServiceInternalDefault</tt>.
+     */
+    @Programmatic
+    <T> Stream<ObjectAdapter> streamMatchingQuery(Query<T> query);
+
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * Evicts pojos (obtained from {@link #streamMatchingQuery(Query)}) that are no longer required, also discarding
+     * their adapters.  Any that are dirty are left untouched.
+     *
+     * <p>
+     * Called by <tt>RepositoryServiceInternalDefault</tt>.
+     */
+    @Programmatic
+    void evictStreamed(List<?> pojos);
+
     void executeWithinTransaction(TransactionalClosure transactionalClosure);
 
 
@@ -33,6 +33,20 @@ void publishAction(
     @Programmatic
     void publishProperty(final Interaction.Execution execution);
 
+    /**
+     * Called once the transaction has committed; if publishing asynchronously, hands over the executions and
+     * changed objects captured during the transaction to be published.
+     */
+    @Programmatic
+    void publishCommitted();
+
+    /**
+     * Called if the transaction is aborted; if publishing asynchronously, discards anything captured during the
+     * transaction.
+     */
+    @Programmatic
+    void discardUncommitted();
+
 
     interface Block<T> {
         T exec();
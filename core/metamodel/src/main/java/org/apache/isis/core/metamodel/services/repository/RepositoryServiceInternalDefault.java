@@ -27,15 +27,17 @@
 
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.isis.applib.PersistFailedException;
 import org.apache.isis.applib.RepositoryException;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
-import org.apache.isis.applib.internal.base._NullSafe;
+import org.apache.isis.applib.query.Criteria;
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.query.QueryFindAllInstances;
+import org.apache.isis.applib.query.QueryFindByCriteria;
 import org.apache.isis.applib.services.factory.FactoryService;
 import org.apache.isis.applib.services.repository.RepositoryService;
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
@@ -49,13 +51,26 @@
 )
 public class RepositoryServiceInternalDefault implements RepositoryService {
 
+    /**
+     * The number of instances that {@link #allMatches(Class, Predicate, long...)} traverses but does not match
+     * (when filtering client-side) after which they are evicted, so that the scan does not hold on to the whole
+     * extent.  A value of 0 disables eviction.
+     */
+    public static final String KEY_SCAN_EVICT_BATCH_SIZE = "isis.services.repository.scanEvictBatchSize";
+    public static final int SCAN_EVICT_BATCH_SIZE_DEFAULT = 100;
+
     private boolean autoFlush;
+    private int scanEvictBatchSize = SCAN_EVICT_BATCH_SIZE_DEFAULT;
 
     @Programmatic
     @PostConstruct
     public void init(Map<String, String> properties) {
         final boolean disableAutoFlush = Boolean.parseBoolean(properties.get(KEY_DISABLE_AUTOFLUSH));
         this.autoFlush = !disableAutoFlush;
+        final String scanEvictBatchSize = properties.get(KEY_SCAN_EVICT_BATCH_SIZE);
+        this.scanEvictBatchSize = scanEvictBatchSize != null
+                ? Integer.parseInt(scanEvictBatchSize.trim())
+                : SCAN_EVICT_BATCH_SIZE_DEFAULT;
     }
 
 
@@ -152,9 +167,39 @@ public <T> List<T> allInstances(final Class<T> type, long... range) {
     @Programmatic
 	@Override
 	public <T> List<T> allMatches(Class<T> ofType, final Predicate<? super T> predicate, long... range) {
-		return _NullSafe.stream(allInstances(ofType, range))
-				.filter(predicate)
-				.collect(Collectors.toCollection(ArrayList::new));
+		if(predicate instanceof Criteria) {
+			// pushed down to the object store
+			@SuppressWarnings("unchecked")
+			final Criteria<? super T> criteria = (Criteria<? super T>) predicate;
+			return allMatches(new QueryFindByCriteria<>(ofType, criteria, range));
+		}
+		// otherwise filter as the instances are traversed, applying the range only to those that match, and
+		// evicting (in batches) those that do not
+		final List<Object> unmatched = new ArrayList<>();
+		try(final Stream<T> instances = stream(new QueryFindAllInstances<T>(ofType))) {
+			final Predicate<T> matching = instance -> {
+				if(predicate.test(instance)) {
+					return true;
+				}
+				if(scanEvictBatchSize > 0) {
+					unmatched.add(instance);
+					if(unmatched.size() >= scanEvictBatchSize) {
+						persistenceSessionServiceInternal.evictStreamed(unmatched);
+						unmatched.clear();
+					}
+				}
+				return false;
+			};
+			return withinRange(instances.filter(matching), range)
+					.collect(Collectors.toCollection(ArrayList::new));
+		}
+	}
+
+	private static <T> Stream<T> withinRange(final Stream<T> stream, final long... range) {
+		final long start = range.length > 0 ? range[0] : 0;
+		final long count = range.length > 1 ? range[1] : 0;
+		final Stream<T> fromStart = start > 0 ? stream.skip(start) : stream;
+		return count > 0 ? fromStart.limit(count) : fromStart;
 	}
 
     @Programmatic
@@ -167,8 +212,22 @@ public <T> List<T> allMatches(final Query<T> query) {
     }
 
     <T> List<T> submitQuery(final Query<T> query) {
-        final List<ObjectAdapter> allMatching = persistenceSessionServiceInternal.allMatchingQuery(query);
-        return ObjectAdapter.Util.unwrapT(allMatching);
+        return persistenceSessionServiceInternal.allPojosMatchingQuery(query);
+    }
+
+    @Programmatic
+    @Override
+    public <T> Stream<T> stream(final Query<T> query) {
+        if(autoFlush) {
+            transactionService.flushTransaction();
+        }
+        return submitStream(query);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Stream<T> submitStream(final Query<T> query) {
+        final Stream<ObjectAdapter> matching = persistenceSessionServiceInternal.streamMatchingQuery(query);
+        return matching.map(adapter -> (T) ObjectAdapter.Util.unwrap(adapter));
     }
     
 
@@ -29,6 +29,7 @@
 import org.apache.isis.applib.internal.resources._Resource;
 import org.apache.isis.applib.services.swagger.SwaggerService;
 import org.apache.isis.core.metamodel.services.swagger.internal.SwaggerSpecGenerator;
+import org.apache.isis.core.metamodel.specloader.MetamodelDerivedCache;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,9 +68,41 @@ public String generateSwaggerSpec(
             final Visibility visibility,
             final Format format) {
 
-        final SwaggerSpecGenerator swaggerSpecGenerator = new SwaggerSpecGenerator(specificationLoader);
-        final String swaggerSpec = swaggerSpecGenerator.generate(basePath, visibility, format);
-        return swaggerSpec;
+        // the spec is derived only from the metamodel, so is generated just the once (until the metamodel changes)
+        return swaggerSpecs.computeIfAbsent(specificationLoader, new SpecKey(visibility, format), key -> {
+            final SwaggerSpecGenerator swaggerSpecGenerator = new SwaggerSpecGenerator(specificationLoader);
+            return swaggerSpecGenerator.generate(basePath, visibility, format);
+        });
+    }
+
+    private final MetamodelDerivedCache<SpecKey, String> swaggerSpecs =
+            new MetamodelDerivedCache<>(Visibility.values().length * Format.values().length);
+
+    private static final class SpecKey {
+        private final Visibility visibility;
+        private final Format format;
+
+        private SpecKey(final Visibility visibility, final Format format) {
+            this.visibility = visibility;
+            this.format = format;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final SpecKey other = (SpecKey) o;
+            return visibility == other.visibility && format == other.format;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * visibility.hashCode() + format.hashCode();
+        }
     }
 
     @javax.inject.Inject
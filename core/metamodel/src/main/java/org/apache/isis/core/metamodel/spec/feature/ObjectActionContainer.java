@@ -61,6 +61,10 @@ public interface ObjectActionContainer {
     /**
      * Returns an array of actions of the specified type, including or excluding
      * contributed actions as required.
+     *
+     * <p>
+     *     The returned list should be treated as read-only.
+     * </p>
      */
     List<ObjectAction> getObjectActions(ActionType type, Contributed contributee, Predicate<ObjectAction> predicate);
 
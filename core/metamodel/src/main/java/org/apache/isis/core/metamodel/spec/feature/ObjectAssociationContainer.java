@@ -39,6 +39,10 @@ public interface ObjectAssociationContainer {
     /**
      * Return all the fields that exist in an object of this specification,
      * although they need not all be accessible or visible.
+     *
+     * <p>
+     *     The returned list should be treated as read-only.
+     * </p>
      */
     List<ObjectAssociation> getAssociations(Contributed contributed);
 
@@ -0,0 +1,92 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Caches values that are derived only from the metamodel (for example, rendered representations of domain types, or
+ * the swagger spec), holding onto them until the metamodel changes, as per
+ * {@link SpecificationLoader#getMetamodelVersion()}.
+ *
+ * <p>
+ * If a new key would exceed the maximum number of entries, then the cache is simply cleared first.
+ */
+public class MetamodelDerivedCache<K, V> {
+
+    private static final class Entry<V> {
+        private final SpecificationLoader specificationLoader;
+        private final long metamodelVersion;
+        private final V value;
+
+        private Entry(final SpecificationLoader specificationLoader, final long metamodelVersion, final V value) {
+            this.specificationLoader = specificationLoader;
+            this.metamodelVersion = metamodelVersion;
+            this.value = value;
+        }
+
+        private boolean isCurrentFor(final SpecificationLoader specificationLoader) {
+            return this.specificationLoader == specificationLoader
+                    && this.metamodelVersion == specificationLoader.getMetamodelVersion();
+        }
+    }
+
+    private final ConcurrentMap<K, Entry<V>> entries = Maps.newConcurrentMap();
+    private final int maxEntries;
+
+    public MetamodelDerivedCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cached value for the key if it was derived from the current metamodel of the provided
+     * {@link SpecificationLoader}, otherwise (re)computes and caches it.
+     *
+     * <p>
+     * Concurrent callers may each compute the same value; the computation is assumed to be free of side-effects.
+     */
+    public V computeIfAbsent(
+            final SpecificationLoader specificationLoader,
+            final K key,
+            final Function<? super K, ? extends V> computation) {
+
+        final Entry<V> entry = entries.get(key);
+        if(entry != null && entry.isCurrentFor(specificationLoader)) {
+            return entry.value;
+        }
+
+        // read before computing, so that if the metamodel changes meanwhile then the value is recomputed next time
+        final long metamodelVersion = specificationLoader.getMetamodelVersion();
+        final V value = computation.apply(key);
+        if(entry == null && entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(key, new Entry<>(specificationLoader, metamodelVersion, value));
+        return value;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+}
@@ -21,12 +21,24 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import javax.ws.rs.HEAD;
 
 import com.google.common.base.Function;
+import com.google.common.base.Functions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,11 +47,13 @@
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.context._Context;
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.ensure.Assert;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.commons.lang.ClassUtil;
+import org.apache.isis.core.commons.lang.MethodInvocationPreprocessor;
 import org.apache.isis.core.metamodel.facetapi.Facet;
 import org.apache.isis.core.metamodel.facets.FacetFactory;
 import org.apache.isis.core.metamodel.facets.object.autocomplete.AutoCompleteFacet;
@@ -58,6 +72,7 @@
 import org.apache.isis.core.metamodel.specloader.specimpl.dflt.ObjectSpecificationDefault;
 import org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList;
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidator;
+import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidatorComposite;
 import org.apache.isis.core.metamodel.specloader.validator.ValidationFailures;
 import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
 
@@ -88,6 +103,27 @@ public class SpecificationLoader implements ApplicationScopedComponent {
 
     private final static Logger LOG = LoggerFactory.getLogger(SpecificationLoader.class);
 
+    /**
+     * If set, then the specifications for services, mixins and entities are introspected in parallel (by a
+     * {@link ForkJoinPool}) during {@link #init()}, and the metamodel is also {@link #validate() validated}
+     * in parallel.
+     */
+    public static final String PARALLELIZE_KEY = "isis.reflector.introspector.parallelize";
+    public static final boolean PARALLELIZE_DEFAULT = false;
+
+    /**
+     * The number of threads to use if {@link #PARALLELIZE_KEY parallelized}; defaults to the number of
+     * available processors.
+     */
+    public static final String PARALLELISM_KEY = "isis.reflector.introspector.parallelism";
+
+    /**
+     * Whether domain object methods (accessors, supporting methods, action bodies etc.) are invoked through
+     * (cached) method handles rather than by reflection; see {@link MethodInvocationPreprocessor}.
+     */
+    public static final String METHOD_HANDLES_KEY = "isis.reflector.invoker.methodHandles";
+    public static final boolean METHOD_HANDLES_DEFAULT = true;
+
     // -- constructor, fields
     private final ClassSubstitutor classSubstitutor = new ClassSubstitutor();
 
@@ -115,6 +151,10 @@ public SpecificationLoader(
 
         this.facetProcessor = new FacetProcessor(programmingModel);
         this.postProcessor = new PostProcessor(programmingModel, servicesInjector);
+
+        this.parallelize = configuration.getBoolean(PARALLELIZE_KEY, PARALLELIZE_DEFAULT);
+        this.parallelism = configuration.getInteger(PARALLELISM_KEY, Runtime.getRuntime().availableProcessors());
+        this.methodHandles = configuration.getBoolean(METHOD_HANDLES_KEY, METHOD_HANDLES_DEFAULT);
     }
 
     @Override
@@ -151,8 +191,15 @@ public void init() {
         postProcessor.init();
         metaModelValidator.init(this);
 
-        loadSpecificationsForServices();
-        loadSpecificationsForMixins();
+        // application-scoped (so cleared on shutdown); consulted by MethodInvocationPreprocessor
+        _Context.put(SpecificationLoader.class, this, true);
+
+        if(parallelize) {
+            loadSpecificationsInParallel();
+        } else {
+            loadSpecificationsForServices();
+            loadSpecificationsForMixins();
+        }
         cacheBySpecId();
 
         initialized = true;
@@ -160,21 +207,129 @@ public void init() {
 
     private void loadSpecificationsForServices() {
         for (final Class<?> serviceClass : allServiceClasses()) {
-            final DomainService domainService = serviceClass.getAnnotation(DomainService.class);
-            final NatureOfService nature = domainService != null ? domainService.nature() : NatureOfService.DOMAIN;
-            // will 'markAsService'
-            internalLoadSpecification(serviceClass, nature);
+            loadSpecificationForService(serviceClass);
         }
     }
 
+    private void loadSpecificationForService(final Class<?> serviceClass) {
+        final DomainService domainService = serviceClass.getAnnotation(DomainService.class);
+        final NatureOfService nature = domainService != null ? domainService.nature() : NatureOfService.DOMAIN;
+        // will 'markAsService'
+        internalLoadSpecification(serviceClass, nature);
+    }
+
     private void loadSpecificationsForMixins() {
+        for (final Class<?> mixinType : mixinTypes()) {
+            internalLoadSpecification(mixinType);
+        }
+    }
+
+    private static Set<Class<?>> mixinTypes() {
         final Set<Class<?>> mixinTypes = AppManifest.Registry.instance().getMixinTypes();
-        if(mixinTypes == null) {
-            return;
+        return mixinTypes != null ? mixinTypes : Collections.<Class<?>>emptySet();
+    }
+
+    private static Set<Class<?>> persistenceCapableTypes() {
+        final Set<Class<?>> persistenceCapableTypes = AppManifest.Registry.instance().getPersistenceCapableTypes();
+        return persistenceCapableTypes != null ? persistenceCapableTypes : Collections.<Class<?>>emptySet();
+    }
+
+    
+
+    // -- parallel introspection
+
+    private final boolean parallelize;
+    private final int parallelism;
+    private final boolean methodHandles;
+
+    /**
+     * Whether domain object methods are invoked through method handles, as per {@link #METHOD_HANDLES_KEY}.
+     */
+    @Programmatic
+    public boolean isMethodHandlesEnabled() {
+        return methodHandles;
+    }
+
+    /**
+     * Used only if {@link #PARALLELIZE_KEY parallelized}, to decorate each validation task before it is run
+     * on a worker thread.
+     */
+    private Function<Runnable, Runnable> validationTaskDecorator = Functions.identity();
+
+    /**
+     * Allows the runtime to provide the context (eg a session) that some {@link MetaModelValidator}s
+     * require when they are run on a worker thread.
+     */
+    @Programmatic
+    public void setValidationTaskDecorator(final Function<Runnable, Runnable> validationTaskDecorator) {
+        this.validationTaskDecorator = validationTaskDecorator;
+    }
+
+    @Programmatic
+    public boolean isParallelized() {
+        return parallelize;
+    }
+
+    /**
+     * Introspects services, then mixins, then entities, in each case fanning the types out across a
+     * {@link ForkJoinPool}.
+     *
+     * <p>
+     * Dependencies between specs (eg superclasses, or the types of properties) are resolved by the regular
+     * loading mechanism: whichever worker thread first requires a spec introspects it, while any other worker
+     * thread needing it concurrently is handed the same instance.
+     * </p>
+     */
+    private void loadSpecificationsInParallel() {
+
+        // primes the caches up-front rather than have the worker threads race to do so.
+        facetProcessor.cacheIfRequired();
+
+        final ForkJoinPool pool = newForkJoinPool("isis-introspector");
+        try {
+            final long start = System.currentTimeMillis();
+
+            invokeAll(pool, "services", allServiceClasses(), this::loadSpecificationForService);
+            invokeAll(pool, "mixins", mixinTypes(), this::internalLoadSpecification);
+            invokeAll(pool, "entities", persistenceCapableTypes(), this::internalLoadSpecification);
+
+            LOG.info("introspected {} specifications in {}ms (parallelism: {})",
+                    cache.allSpecifications().size(), System.currentTimeMillis() - start, parallelism);
+        } finally {
+            pool.shutdown();
         }
-        for (final Class<?> mixinType : mixinTypes) {
-            internalLoadSpecification(mixinType);
+    }
+
+    private static void invokeAll(
+            final ForkJoinPool pool,
+            final String phase,
+            final Collection<Class<?>> types,
+            final Consumer<Class<?>> loader) {
+
+        final long start = System.currentTimeMillis();
+
+        final List<ForkJoinTask<?>> tasks = Lists.newArrayList();
+        for (final Class<?> type : types) {
+            tasks.add(pool.submit(() -> loader.accept(type)));
         }
+        for (final ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        LOG.info("introspected {} {} in {}ms", types.size(), phase, System.currentTimeMillis() - start);
+    }
+
+    private ForkJoinPool newForkJoinPool(final String threadNamePrefix) {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(threadNamePrefix + "-" + threadNumber.incrementAndGet());
+            // as for the thread performing the bootstrapping (eg the webapp's classloader)
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, false);
     }
 
     private void cacheBySpecId() {
@@ -207,6 +362,20 @@ public void shutdown() {
         initialized = false;
 
         cache.clear();
+        metamodelVersion.incrementAndGet();
+    }
+
+    // -- metamodelVersion
+
+    private final AtomicLong metamodelVersion = new AtomicLong();
+
+    /**
+     * Changes whenever a specification is introspected or {@link #invalidateCache(Class) invalidated}, so that
+     * anything derived from (only) the metamodel can be cached until then; see {@link MetamodelDerivedCache}.
+     */
+    @Programmatic
+    public long getMetamodelVersion() {
+        return metamodelVersion.get();
     }
 
     
@@ -230,14 +399,20 @@ public void invalidateCache(final Class<?> cls) {
 
         ObjectSpecification spec = loadSpecification(substitutedType);
         while(spec != null) {
+            if(spec instanceof ObjectSpecificationAbstract) {
+                // subtypes may have resolved (inherited) facets from this spec
+                ((ObjectSpecificationAbstract) spec).invalidateResolvedFacets();
+            }
             final Class<?> type = spec.getCorrespondingClass();
             cache.remove(type.getName());
+            MethodInvocationPreprocessor.invalidate(type);
             if(spec.containsDoOpFacet(ObjectSpecIdFacet.class)) {
                 // umm.  Some specs do not have an ObjectSpecIdFacet...
                 recache(spec);
             }
             spec = spec.superclass();
         }
+        metamodelVersion.incrementAndGet();
     }
 
 
@@ -262,12 +437,46 @@ public void validateAndAssert() {
     @Programmatic
     public ValidationFailures validate() {
         if(validationFailures == null) {
-            validationFailures = new ValidationFailures();
-            metaModelValidator.validate(validationFailures);
+            final ValidationFailures validationFailures = new ValidationFailures();
+            if(parallelize) {
+                validateInParallel(validationFailures);
+            } else {
+                metaModelValidator.validate(validationFailures);
+            }
+            this.validationFailures = validationFailures;
         }
         return validationFailures;
     }
 
+    /**
+     * Runs each of the (top-level) validators of the {@link MetaModelValidatorComposite} concurrently.
+     */
+    private void validateInParallel(final ValidationFailures validationFailures) {
+
+        final List<MetaModelValidator> validators =
+                metaModelValidator instanceof MetaModelValidatorComposite
+                        ? ((MetaModelValidatorComposite) metaModelValidator).getValidators()
+                        : Collections.singletonList(metaModelValidator);
+
+        final ForkJoinPool pool = newForkJoinPool("isis-validator");
+        try {
+            final long start = System.currentTimeMillis();
+
+            final List<ForkJoinTask<?>> tasks = Lists.newArrayList();
+            for (final MetaModelValidator validator : validators) {
+                tasks.add(pool.submit(validationTaskDecorator.apply(() -> validator.validate(validationFailures))));
+            }
+            for (final ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+
+            LOG.info("validated {} specifications using {} validators in {}ms",
+                    cache.allSpecifications().size(), validators.size(), System.currentTimeMillis() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     
 
 
@@ -339,32 +548,179 @@ private ObjectSpecification loadSpecificationForSubstitutedClass(final Class<?>
 
         final String typeName = type.getName();
         final ObjectSpecification spec = cache.get(typeName);
-        if (spec != null) {
+        if (spec != null && isIntrospected(spec)) {
+            // fast path, no locks or futures involved.
             return spec;
         }
 
-        return loadSpecificationForSubstitutedClassSynchronized(type, nature);
+        return loadSpecificationForSubstitutedClassConcurrently(type, nature);
     }
 
-    private synchronized ObjectSpecification loadSpecificationForSubstitutedClassSynchronized(
+    /**
+     * Ensures that any given class is only introspected once, without serializing the loading of unrelated
+     * classes.
+     *
+     * <p>
+     * The first thread to {@link Introspection#claim() claim} the {@link Introspection} for the class does the work;
+     * any other thread that asks for the same class waits on that introspection's future
+     * (see {@link Introspection#awaitSpecification()}).
+     * </p>
+     */
+    private ObjectSpecification loadSpecificationForSubstitutedClassConcurrently(
             final Class<?> type,
             final NatureOfService natureOfService) {
 
         final String typeName = type.getName();
-        final ObjectSpecification spec = cache.get(typeName);
-        if (spec != null) {
-            // because caller isn't synchronized.
-            return spec;
+
+        final Introspection introspection = introspectionsByClassName.computeIfAbsent(typeName, __ -> {
+            final ObjectSpecification spec = cache.get(typeName);
+            return spec != null && isIntrospected(spec)
+                    ? null // because was completed by some other thread after we checked the cache.
+                    : new Introspection(createSpecification(type, natureOfService));
+        });
+        if(introspection == null) {
+            final ObjectSpecification spec = cache.get(typeName);
+            return spec != null
+                    ? spec
+                    : loadSpecificationForSubstitutedClass(type, natureOfService); // invalidated in the meantime
+        }
+
+        if(!introspection.claim()) {
+            return introspection.awaitSpecification();
         }
-        final ObjectSpecification specification = createSpecification(type, natureOfService);
 
-        // put into the cache prior to introspecting, to prevent
-        // infinite loops
-        cache.cache(typeName, specification);
+        try {
+            return introspection.introspect(typeName);
+        } finally {
+            introspectionsByClassName.remove(typeName, introspection);
+        }
+    }
 
-        introspectIfRequired(specification);
+    private static boolean isIntrospected(final ObjectSpecification spec) {
+        return !(spec instanceof ObjectSpecificationAbstract) ||
+                ((ObjectSpecificationAbstract) spec).getIntrospectionState() ==
+                        ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED;
+    }
 
-        return specification;
+    /**
+     * Those classes currently being introspected, keyed by class name.
+     *
+     * <p>
+     * Entries are removed once introspected; thereafter the spec is obtained directly from the {@link #cache}.
+     * </p>
+     */
+    private final ConcurrentMap<String, Introspection> introspectionsByClassName = Maps.newConcurrentMap();
+
+    /**
+     * The {@link Introspection} (if any) that each thread is currently waiting on, used to detect threads that
+     * (transitively) wait on each other.
+     */
+    private final ConcurrentMap<Thread, Introspection> introspectionAwaitedByThread = Maps.newConcurrentMap();
+
+    /**
+     * The (single) introspection of some class, shared with any other thread requesting the same class.
+     */
+    private class Introspection {
+
+        private final ObjectSpecification specification;
+        private final CompletableFuture<ObjectSpecification> future = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile Thread owner;
+
+        private Introspection(final ObjectSpecification specification) {
+            this.specification = specification;
+        }
+
+        /**
+         * @return <tt>true</tt> if the calling thread is the one to {@link #introspect(String) perform} this introspection.
+         */
+        boolean claim() {
+            if(!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            owner = Thread.currentThread();
+            return true;
+        }
+
+        ObjectSpecification introspect(final String typeName) {
+            try {
+                // put into the cache prior to introspecting, to prevent
+                // infinite loops
+                cache.cache(typeName, specification);
+
+                introspectIfRequired(specification);
+                metamodelVersion.incrementAndGet();
+
+                future.complete(specification);
+                return specification;
+            } catch(final RuntimeException | Error ex) {
+                // so that a subsequent request will try again.
+                cache.remove(typeName);
+                future.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        /**
+         * If the calling thread is the one performing this introspection (that is, the class references itself,
+         * directly or indirectly) then the spec is returned immediately, even though it is not yet fully introspected;
+         * this is how cyclic references between types are resolved.
+         *
+         * <p>
+         * Otherwise, blocks until the introspection has completed; unless the thread performing it is itself
+         * (transitively) waiting on an introspection being performed by the calling thread.  Such a cycle of waits
+         * can only arise from a cyclic reference between types, so it is resolved in the same way, by returning the
+         * partially introspected spec.
+         * </p>
+         */
+        ObjectSpecification awaitSpecification() {
+            final Thread currentThread = Thread.currentThread();
+            if(owner == currentThread) {
+                return specification;
+            }
+            introspectionAwaitedByThread.put(currentThread, this);
+            try {
+                // of two threads that come to wait on each other, the later to register sees the cycle
+                if(isPerformedByThreadAwaiting(currentThread)) {
+                    return specification;
+                }
+                return future.get();
+            } catch (final ExecutionException ex) {
+                final Throwable cause = ex.getCause();
+                if(cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if(cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IsisException(cause);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IsisException(ex);
+            } finally {
+                introspectionAwaitedByThread.remove(currentThread);
+            }
+        }
+
+        /**
+         * Whether the thread performing this introspection is the given thread, or is waiting (directly or via
+         * further threads) on an introspection that the given thread is performing.
+         */
+        private boolean isPerformedByThreadAwaiting(final Thread thread) {
+            final Set<Introspection> visited = Sets.newIdentityHashSet();
+            Introspection introspection = this;
+            while(introspection != null && visited.add(introspection)) {
+                final Thread introspectionOwner = introspection.owner;
+                if(introspectionOwner == null) {
+                    return false;
+                }
+                if(introspectionOwner == thread) {
+                    return true;
+                }
+                introspection = introspectionAwaitedByThread.get(introspectionOwner);
+            }
+            return false;
+        }
     }
 
     /**
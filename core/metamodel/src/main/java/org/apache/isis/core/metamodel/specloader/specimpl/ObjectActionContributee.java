@@ -238,6 +238,11 @@ public List<Facet> getFacets(Predicate<Facet> predicate) {
         return facetHolder.getFacets(predicate);
     }
 
+    @Override
+    public List<Facet> getFacetsOfType(Class<?> type) {
+        return facetHolder.getFacetsOfType(type);
+    }
+
     @Override
     public void addFacet(Facet facet) {
         facetHolder.addFacet(facet);
@@ -19,6 +19,7 @@
 
 package org.apache.isis.core.metamodel.specloader.specimpl;
 
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -246,6 +247,12 @@ public List<Facet> getFacets(final Predicate<Facet> predicate) {
         return facetHolder != null ? facetHolder.getFacets(predicate) : Lists.<Facet> newArrayList();
     }
 
+    @Override
+    public List<Facet> getFacetsOfType(final Class<?> type) {
+        final FacetHolder facetHolder = getFacetHolder();
+        return facetHolder != null ? facetHolder.getFacetsOfType(type) : Collections.<Facet> emptyList();
+    }
+
     @Override
     public void addFacet(final Facet facet) {
         final FacetHolder facetHolder = getFacetHolder();
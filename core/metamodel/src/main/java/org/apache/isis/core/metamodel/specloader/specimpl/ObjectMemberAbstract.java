@@ -155,6 +155,11 @@ public List<Facet> getFacets(final Predicate<Facet> predicate) {
         return getFacetHolder().getFacets(predicate);
     }
 
+    @Override
+    public List<Facet> getFacetsOfType(final Class<?> type) {
+        return getFacetHolder().getFacetsOfType(type);
+    }
+
     @Override
     public void addFacet(final Facet facet) {
         getFacetHolder().addFacet(facet);
@@ -19,19 +19,20 @@
 
 package org.apache.isis.core.metamodel.specloader.specimpl;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
-import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,11 +40,13 @@
 import org.apache.isis.applib.AppManifest;
 import org.apache.isis.applib.Identifier;
 import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.services.metrics.MetricsService;
 import com.google.common.base.Predicate;
 
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.exceptions.UnknownTypeException;
 import org.apache.isis.core.commons.lang.ClassExtensions;
+import org.apache.isis.core.commons.util.PhaseMetrics;
 import org.apache.isis.core.commons.util.ToString;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.Consent;
@@ -54,6 +57,7 @@
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
 import org.apache.isis.core.metamodel.facetapi.FeatureType;
+import org.apache.isis.core.metamodel.facetapi.MultiTypedFacet;
 import org.apache.isis.core.metamodel.facets.actions.notcontributed.NotContributedFacet;
 import org.apache.isis.core.metamodel.facets.all.describedas.DescribedAsFacet;
 import org.apache.isis.core.metamodel.facets.all.help.HelpFacet;
@@ -61,6 +65,7 @@
 import org.apache.isis.core.metamodel.facets.all.named.NamedFacet;
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
 import org.apache.isis.core.metamodel.facets.members.cssclass.CssClassFacet;
+import org.apache.isis.core.metamodel.facets.members.order.MemberOrderFacet;
 import org.apache.isis.core.metamodel.facets.object.domainservice.DomainServiceFacet;
 import org.apache.isis.core.metamodel.facets.object.encodeable.EncodableFacet;
 import org.apache.isis.core.metamodel.facets.object.icon.IconFacet;
@@ -103,19 +108,19 @@ public abstract class ObjectSpecificationAbstract extends FacetHolderImpl implem
     private static class SubclassList {
         private final List<ObjectSpecification> classes = Lists.newArrayList();
 
-        public void addSubclass(final ObjectSpecification subclass) {
+        public synchronized void addSubclass(final ObjectSpecification subclass) {
             if(classes.contains(subclass)) { 
                 return;
             }
             classes.add(subclass);
         }
 
-        public boolean hasSubclasses() {
+        public synchronized boolean hasSubclasses() {
             return !classes.isEmpty();
         }
 
-        public List<ObjectSpecification> toList() {
-            return Collections.unmodifiableList(classes);
+        public synchronized List<ObjectSpecification> toList() {
+            return Collections.unmodifiableList(Lists.newArrayList(classes));
         }
     }
 
@@ -142,8 +147,13 @@ private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
         return map;
     }
 
-    private boolean contributeeAndMixedInAssociationsAdded;
-    private boolean contributeeAndMixedInActionsAdded;
+    // immutable, pre-partitioned (and pre-sorted) views of the above, built lazily;
+    // discarded whenever the members or their member order change, see invalidateMemberIndexes()
+    private volatile AssociationIndex associationIndex;
+    private volatile ActionIndex actionIndex;
+
+    private volatile boolean contributeeAndMixedInAssociationsAdded;
+    private volatile boolean contributeeAndMixedInActionsAdded;
 
 
     private final List<ObjectSpecification> interfaces = Lists.newArrayList();
@@ -166,7 +176,12 @@ private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
     private NavigableParentFacet navigableParentFacet;
     private CssClassFacet cssClassFacet;
 
-    private IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
+    private volatile IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
+
+    // facets resolved through the type hierarchy, only once introspected; see getFacet(Class)
+    private final AtomicLong facetsVersion = new AtomicLong();
+    private static final Object NO_FACET = new Object();
+    private volatile ResolvedFacets resolvedFacets;
     
 
     // -- Constructor
@@ -253,6 +268,10 @@ public IntrospectionState getIntrospectionState() {
     }
 
     public void setIntrospectionState(IntrospectionState introspectationState) {
+        if(introspectationState == IntrospectionState.INTROSPECTED) {
+            // any index built while still being introspected may be missing facets
+            invalidateMemberIndexes();
+        }
         this.introspected = introspectationState;
     }
     
@@ -325,6 +344,7 @@ protected void sortAndUpdateAssociations(final List<ObjectAssociation> associati
         synchronized (this.associations) {
             this.associations.clear();
             this.associations.addAll(orderedAssociations);
+            this.associationIndex = null;
         }
     }
 
@@ -339,6 +359,24 @@ protected void sortCacheAndUpdateActions(final List<ObjectAction> objectActions)
                 objectActionForType.clear();
                 objectActionForType.addAll(Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type)));
             }
+            this.actionIndex = null;
+        }
+    }
+
+    /**
+     * Discards the precomputed member indexes, so that they are rebuilt on next access.
+     *
+     * <p>
+     *     Must be called whenever the {@link MemberOrderFacet} of any of this spec's members is replaced after
+     *     introspection (eg when a layout is reloaded), because the indexes hold members pre-sorted by sequence.
+     * </p>
+     */
+    public void invalidateMemberIndexes() {
+        synchronized (this.associations) {
+            this.associationIndex = null;
+        }
+        synchronized (this.objectActions) {
+            this.actionIndex = null;
         }
     }
 
@@ -369,7 +407,13 @@ public String getTitle(
             ObjectAdapter contextAdapterIfAny,
             ObjectAdapter targetAdapter) {
         if (titleFacet != null) {
-            final String titleString = titleFacet.title(contextAdapterIfAny, targetAdapter);
+            final long startedAt = PhaseMetrics.start();
+            final String titleString;
+            try {
+                titleString = titleFacet.title(contextAdapterIfAny, targetAdapter);
+            } finally {
+                PhaseMetrics.stop(MetricsService.Phase.TITLE, startedAt);
+            }
             if (titleString != null && !titleString.equals("")) {
                 return titleString;
             }
@@ -492,7 +536,34 @@ public String getHelp() {
     // -- Facet Handling
 
     @Override
+    @SuppressWarnings("unchecked")
     public <Q extends Facet> Q getFacet(final Class<Q> facetType) {
+        if(introspected != IntrospectionState.INTROSPECTED) {
+            // still in flux
+            return resolveFacet(facetType);
+        }
+        final long version = facetsVersion.get();
+        ResolvedFacets resolvedFacets = this.resolvedFacets;
+        if(resolvedFacets == null || resolvedFacets.version != version) {
+            resolvedFacets = new ResolvedFacets(version);
+            this.resolvedFacets = resolvedFacets;
+        }
+        Object facet = resolvedFacets.facetByType.get(facetType);
+        if(facet == null) {
+            facet = resolveFacet(facetType);
+            if(facetsVersion.get() == version) {
+                // only if no facets were added or removed (here or in a supertype) while resolving
+                resolvedFacets.facetByType.put(facetType, facet != null ? facet : NO_FACET);
+            }
+        }
+        return facet != NO_FACET ? (Q) facet : null;
+    }
+
+    /**
+     * Walks the interfaces and then the superclass chain, preferring a facet that is not a
+     * {@link Facet#isNoop() no-op}.
+     */
+    private <Q extends Facet> Q resolveFacet(final Class<Q> facetType) {
         final Q facet = super.getFacet(facetType);
         if (isNotANoopFacet(facet)) {
             return facet;
@@ -533,6 +604,61 @@ private boolean isNotANoopFacet(final Facet facet) {
         return facet != null && !facet.isNoop();
     }
 
+    @Override
+    public void addFacet(final Facet facet) {
+        super.addFacet(facet);
+        invalidateResolvedFacets();
+    }
+
+    @Override
+    public void addFacet(final MultiTypedFacet facet) {
+        super.addFacet(facet);
+        invalidateResolvedFacets();
+    }
+
+    @Override
+    public void removeFacet(final Facet facet) {
+        super.removeFacet(facet);
+        invalidateResolvedFacets();
+    }
+
+    @Override
+    public void removeFacet(final Class<? extends Facet> facetType) {
+        super.removeFacet(facetType);
+        invalidateResolvedFacets();
+    }
+
+    /**
+     * Discards the resolved facets of this spec and of all of its subtypes (because a spec's resolved facets depend
+     * on those of its supertypes); they are re-resolved on demand.
+     *
+     * <p>
+     *     Called whenever a facet is added to or removed from this spec, and also by
+     *     {@link SpecificationLoader#invalidateCache(Class)}.
+     * </p>
+     */
+    public void invalidateResolvedFacets() {
+        facetsVersion.incrementAndGet();
+        for (final ObjectSpecification subclass : directSubclasses.toList()) {
+            if(subclass instanceof ObjectSpecificationAbstract) {
+                ((ObjectSpecificationAbstract) subclass).invalidateResolvedFacets();
+            }
+        }
+    }
+
+    /**
+     * The effective facet (as per {@link #resolveFacet(Class)}, so possibly inherited and possibly a no-op) for
+     * each facet type requested so far, or {@link #NO_FACET} if there is none.
+     */
+    private static final class ResolvedFacets {
+        private final long version;
+        private final Map<Class<? extends Facet>, Object> facetByType = Maps.newConcurrentMap();
+
+        private ResolvedFacets(final long version) {
+            this.version = version;
+        }
+    }
+
     
 
     // -- DefaultValue - unused
@@ -627,22 +753,39 @@ public final boolean isAbstract() {
     
 
     // -- Associations
+    /**
+     * The returned list is unmodifiable.
+     */
     @Override
     public List<ObjectAssociation> getAssociations(final Contributed contributed) {
+        return getAssociationIndex(contributed).associations.get(contributed);
+    }
+
+    private AssociationIndex getAssociationIndex(final Contributed contributed) {
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
         if(contributed.isIncluded() && !contributeeAndMixedInAssociationsAdded) {
             synchronized (this.associations) {
-                List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-                associations.addAll(createContributeeAssociations());
-                associations.addAll(createMixedInAssociations());
-                sortAndUpdateAssociations(associations);
-                contributeeAndMixedInAssociationsAdded = true;
+                if(!contributeeAndMixedInAssociationsAdded) {
+                    List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
+                    associations.addAll(createContributeeAssociations());
+                    associations.addAll(createMixedInAssociations());
+                    sortAndUpdateAssociations(associations);
+                    contributeeAndMixedInAssociationsAdded = true;
+                }
+            }
+        }
+        AssociationIndex index = this.associationIndex;
+        if(index == null) {
+            synchronized (this.associations) {
+                index = this.associationIndex;
+                if(index == null) {
+                    index = new AssociationIndex(this.associations);
+                    this.associationIndex = index;
+                }
             }
         }
-        final List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-        return Lists.newArrayList(Iterables.filter(
-                associations, ContributeeMember.Predicates.regularElse(contributed)));
+        return index;
     }
 
 
@@ -674,9 +817,6 @@ public ObjectMember getMember(final String memberId) {
      * simply returns <tt>null</tt>.
      * 
      * <p>
-     * TODO put fields into hash.
-     * 
-     * <p>
      * TODO: could this be made final? (ie does the framework ever call this
      * method for an {@link org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList})
      */
@@ -712,12 +852,7 @@ public ObjectAssociation getAssociation(final String id) {
     }
 
     private ObjectAssociation getAssociationWithId(final String id) {
-        for (final ObjectAssociation objectAssociation : getAssociations(Contributed.INCLUDED)) {
-            if (objectAssociation.getId().equals(id)) {
-                return objectAssociation;
-            }
-        }
-        return null;
+        return getAssociationIndex(Contributed.INCLUDED).associationById.get(id);
     }
 
     @Deprecated
@@ -726,16 +861,31 @@ public List<ObjectAssociation> getAssociations(Predicate<ObjectAssociation> pred
         return getAssociations(Contributed.INCLUDED, predicate);
     }
 
+    /**
+     * The returned list is sorted by {@link ObjectMember.Comparators#byMemberOrderSequence() member order sequence};
+     * it is unmodifiable if the predicate is one of {@link ObjectAssociation.Predicates#PROPERTIES},
+     * {@link ObjectAssociation.Predicates#COLLECTIONS} or {@link com.google.common.base.Predicates#alwaysTrue()}
+     * (these are served from the precomputed index).
+     */
     @Override
     public List<ObjectAssociation> getAssociations(Contributed contributed, final Predicate<ObjectAssociation> predicate) {
-        final List<ObjectAssociation> allAssociations = getAssociations(contributed);
-        return Lists.newArrayList(
-                FluentIterable.from(allAssociations)
-                        .filter((Predicate) predicate)
-                        .toSortedList(ObjectMember.Comparators.byMemberOrderSequence())
-        );
+        final AssociationIndex index = getAssociationIndex(contributed);
+        if(predicate == ObjectAssociation.Predicates.PROPERTIES) {
+            return index.properties.get(contributed);
+        }
+        if(predicate == ObjectAssociation.Predicates.COLLECTIONS) {
+            return index.collections.get(contributed);
+        }
+        final List<ObjectAssociation> associationsBySequence = index.associationsBySequence.get(contributed);
+        if(predicate == com.google.common.base.Predicates.<ObjectAssociation>alwaysTrue()) {
+            return associationsBySequence;
+        }
+        return Lists.newArrayList(Iterables.filter(associationsBySequence, predicate));
     }
 
+    /**
+     * The returned list is unmodifiable.
+     */
     @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public List<OneToOneAssociation> getProperties(Contributed contributed) {
@@ -743,6 +893,9 @@ public List<OneToOneAssociation> getProperties(Contributed contributed) {
         return list;
     }
 
+    /**
+     * The returned list is unmodifiable.
+     */
     @Override
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public List<OneToManyAssociation> getCollections(Contributed contributed) {
@@ -753,46 +906,93 @@ public List<OneToManyAssociation> getCollections(Contributed contributed) {
     
 
     // -- getObjectActions
+
+    /**
+     * The returned list is unmodifiable if the types are a single type or {@link ActionType#ALL} and the predicate
+     * is {@link com.google.common.base.Predicates#alwaysTrue()} (these are served from the precomputed index).
+     */
     @Override
     public List<ObjectAction> getObjectActions(
             final List<ActionType> types,
-            final Contributed contributed, 
+            final Contributed contributed,
             final Predicate<ObjectAction> predicate) {
 
+        final ActionIndex index = getActionIndex(contributed);
+        final ActionPartition partition = index.partitionFor(types);
+        if(partition != null) {
+            final List<ObjectAction> actions = partition.actions.get(contributed);
+            if(predicate == com.google.common.base.Predicates.<ObjectAction>alwaysTrue()) {
+                return actions;
+            }
+            return Lists.newArrayList(Iterables.filter(actions, predicate));
+        }
+
+        final List<ObjectAction> actions = Lists.newArrayList();
+        for (final ActionType type : types) {
+            actions.addAll(Collections2.filter(index.partitionFor(type).actions.get(contributed), predicate));
+        }
+        return actions;
+    }
+
+    private ActionIndex getActionIndex(final Contributed contributed) {
         // update our list of actions if requesting for contributed actions
         // and they have not yet been added
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
         if(contributed.isIncluded() && !contributeeAndMixedInActionsAdded) {
             synchronized (this.objectActions) {
-                final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
-                final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
-                final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
-                final boolean isService = isService();
-                if (containsMixin || containsDomainService || isService) {
-                    // don't contribute to mixins themselves!
-                    // don't contribute to services either
-                    // - isService() is sufficient check for internal services registered directly with ServicesInjector
-                    // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
-                } else {
-                    actions.addAll(createContributeeActions());
-                    actions.addAll(createMixedInActions());
+                if(!contributeeAndMixedInActionsAdded) {
+                    final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
+                    final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
+                    final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
+                    final boolean isService = isService();
+                    if (containsMixin || containsDomainService || isService) {
+                        // don't contribute to mixins themselves!
+                        // don't contribute to services either
+                        // - isService() is sufficient check for internal services registered directly with ServicesInjector
+                        // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
+                    } else {
+                        actions.addAll(createContributeeActions());
+                        actions.addAll(createMixedInActions());
+                    }
+                    sortCacheAndUpdateActions(actions);
+                    contributeeAndMixedInActionsAdded = true;
+                }
+            }
+        }
+        ActionIndex index = this.actionIndex;
+        if(index == null) {
+            synchronized (this.objectActions) {
+                index = this.actionIndex;
+                if(index == null) {
+                    index = new ActionIndex(objectActionsByType);
+                    this.actionIndex = index;
                 }
-                sortCacheAndUpdateActions(actions);
-                contributeeAndMixedInActionsAdded = true;
             }
         }
+        return index;
+    }
 
-        final List<ObjectAction> actions = Lists.newArrayList();
+    /**
+     * The first action (including contributed actions) of any of the specified types whose
+     * {@link Identifier#toNameParmsIdentityString() name and parameters}, else whose
+     * {@link Identifier#toNameIdentityString() name} matches the supplied id; looked up in the precomputed index.
+     */
+    protected ObjectAction getObjectActionWithId(final List<ActionType> types, final String id) {
+        if (id == null) {
+            return null;
+        }
+        final ActionPartition partition = getActionIndex(Contributed.INCLUDED).partitionFor(types);
+        if(partition != null) {
+            return partition.actionById.get(id);
+        }
         for (final ActionType type : types) {
-            final Collection<ObjectAction> filterActions =
-                    Collections2.filter(objectActionsByType.get(type), (Predicate) predicate);
-            actions.addAll(filterActions);
+            final ObjectAction action = getObjectActionWithId(Collections.singletonList(type), id);
+            if(action != null) {
+                return action;
+            }
         }
-        return Lists.newArrayList(
-                Iterables.filter(
-                        actions,
-                        ContributeeMember.Predicates.regularElse(contributed)));
+        return null;
     }
 
     @Override
@@ -810,6 +1010,108 @@ public List<ObjectAction> getObjectActions(
         return getObjectActions(Collections.singletonList(type), contributed, predicate);
     }
 
+
+
+    // -- member indexes
+
+    /**
+     * Immutable snapshot of the associations, partitioned by {@link Contributed} (and by properties vs collections),
+     * so that the read paths need neither copy, filter nor sort.
+     */
+    private static final class AssociationIndex {
+
+        // in the order established by sortAssociations()
+        private final Map<Contributed, List<ObjectAssociation>> associations = Maps.newEnumMap(Contributed.class);
+        // as above, but (stable) sorted by member order sequence
+        private final Map<Contributed, List<ObjectAssociation>> associationsBySequence = Maps.newEnumMap(Contributed.class);
+        private final Map<Contributed, List<ObjectAssociation>> properties = Maps.newEnumMap(Contributed.class);
+        private final Map<Contributed, List<ObjectAssociation>> collections = Maps.newEnumMap(Contributed.class);
+        // contributed included; the first association wins
+        private final Map<String, ObjectAssociation> associationById = Maps.newHashMap();
+
+        AssociationIndex(final List<ObjectAssociation> associations) {
+            for (final Contributed contributed : Contributed.values()) {
+                final ImmutableList<ObjectAssociation> partition = ImmutableList.copyOf(
+                        Iterables.filter(associations, ContributeeMember.Predicates.regularElse(contributed)));
+                final ImmutableList<ObjectAssociation> bySequence =
+                        Ordering.from(ObjectMember.Comparators.byMemberOrderSequence())
+                                .immutableSortedCopy(partition);
+                this.associations.put(contributed, partition);
+                this.associationsBySequence.put(contributed, bySequence);
+                this.properties.put(contributed,
+                        ImmutableList.copyOf(Iterables.filter(bySequence, ObjectAssociation.Predicates.PROPERTIES)));
+                this.collections.put(contributed,
+                        ImmutableList.copyOf(Iterables.filter(bySequence, ObjectAssociation.Predicates.COLLECTIONS)));
+            }
+            for (final ObjectAssociation association : this.associations.get(Contributed.INCLUDED)) {
+                if(!associationById.containsKey(association.getId())) {
+                    associationById.put(association.getId(), association);
+                }
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of the actions, partitioned by {@link ActionType} (and also for {@link ActionType#ALL}).
+     */
+    private static final class ActionIndex {
+
+        private final Map<ActionType, ActionPartition> partitionByType = Maps.newEnumMap(ActionType.class);
+        private final ActionPartition all;
+
+        ActionIndex(final Map<ActionType, List<ObjectAction>> objectActionsByType) {
+            final List<ObjectAction> allActions = Lists.newArrayList();
+            for (final ActionType type : ActionType.ALL) {
+                final List<ObjectAction> actions = objectActionsByType.get(type);
+                partitionByType.put(type, new ActionPartition(actions));
+                allActions.addAll(actions);
+            }
+            this.all = new ActionPartition(allActions);
+        }
+
+        ActionPartition partitionFor(final ActionType type) {
+            return partitionByType.get(type);
+        }
+
+        /**
+         * @return <tt>null</tt> if the types are neither a single type nor {@link ActionType#ALL}.
+         */
+        ActionPartition partitionFor(final List<ActionType> types) {
+            if(types.size() == 1) {
+                return partitionFor(types.get(0));
+            }
+            if(types.equals(ActionType.ALL)) {
+                return all;
+            }
+            return null;
+        }
+    }
+
+    private static final class ActionPartition {
+
+        private final Map<Contributed, List<ObjectAction>> actions = Maps.newEnumMap(Contributed.class);
+        // contributed included; keyed by both the name-and-parms and the name identity strings, the first action wins
+        private final Map<String, ObjectAction> actionById = Maps.newHashMap();
+
+        ActionPartition(final List<ObjectAction> actions) {
+            for (final Contributed contributed : Contributed.values()) {
+                this.actions.put(contributed, ImmutableList.copyOf(
+                        Iterables.filter(actions, ContributeeMember.Predicates.regularElse(contributed))));
+            }
+            for (final ObjectAction action : this.actions.get(Contributed.INCLUDED)) {
+                final Identifier identifier = action.getIdentifier();
+                putIfAbsent(identifier.toNameParmsIdentityString(), action);
+                putIfAbsent(identifier.toNameIdentityString(), action);
+            }
+        }
+
+        private void putIfAbsent(final String id, final ObjectAction action) {
+            if(!actionById.containsKey(id)) {
+                actionById.put(id, action);
+            }
+        }
+    }
+
     
 
     // -- sorting
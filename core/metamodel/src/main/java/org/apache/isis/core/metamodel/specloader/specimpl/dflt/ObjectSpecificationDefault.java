@@ -20,6 +20,7 @@
 package org.apache.isis.core.metamodel.specloader.specimpl.dflt;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -292,18 +293,12 @@ public ObjectAction getObjectAction(final ActionType type, final String id, fina
 
     @Override
     public ObjectAction getObjectAction(final ActionType type, final String id) {
-        final List<ObjectAction> actions =
-                getObjectActions(type, Contributed.INCLUDED,
-                        com.google.common.base.Predicates.<ObjectAction>alwaysTrue());
-        return firstAction(actions, id);
+        return getObjectActionWithId(Collections.singletonList(type), id);
     }
 
     @Override
     public ObjectAction getObjectAction(final String id) {
-        final List<ObjectAction> actions =
-                getObjectActions(ActionType.ALL, Contributed.INCLUDED,
-                        com.google.common.base.Predicates.<ObjectAction>alwaysTrue());
-        return firstAction(actions, id);
+        return getObjectActionWithId(ActionType.ALL, id);
     }
 
     private static ObjectAction firstAction(
@@ -328,24 +323,6 @@ private static ObjectAction firstAction(
         return null;
     }
 
-    private static ObjectAction firstAction(
-            final List<ObjectAction> candidateActions, 
-            final String id) {
-        if (id == null) {
-            return null;
-        }
-        for (int i = 0; i < candidateActions.size(); i++) {
-            final ObjectAction action = candidateActions.get(i);
-            if (id.equals(action.getIdentifier().toNameParmsIdentityString())) {
-                return action;
-            }
-            if (id.equals(action.getIdentifier().toNameIdentityString())) {
-                return action;
-            }
-            continue;
-        }
-        return null;
-    }
 
     
 
@@ -19,6 +19,7 @@
 
 package org.apache.isis.core.metamodel.specloader.validator;
 
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -45,6 +46,11 @@ public MetaModelValidatorComposite addAll(
     }
 
 
+    public List<MetaModelValidator> getValidators() {
+        return Collections.unmodifiableList(validators);
+    }
+
+
     @Override
     public void init(final SpecificationLoader specificationLoader) {
         super.init(specificationLoader);
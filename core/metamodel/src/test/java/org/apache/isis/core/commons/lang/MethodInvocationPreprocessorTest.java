@@ -0,0 +1,196 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.lang;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(Parameterized.class)
+public class MethodInvocationPreprocessorTest {
+
+    @Parameterized.Parameters(name = "methodHandles={0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][] { { true }, { false } });
+    }
+
+    public static class Customer {
+        private int age;
+        public int getAge() {
+            return age;
+        }
+        public void setAge(final int age) {
+            this.age = age;
+        }
+        public String greet(final String greeting, final int times) {
+            final StringBuilder buf = new StringBuilder();
+            for (int i = 0; i < times; i++) {
+                buf.append(greeting);
+            }
+            return buf.toString();
+        }
+        public int count(final Set<String> names) {
+            return names.size();
+        }
+        public String boom() {
+            throw new IllegalStateException("boom");
+        }
+        public String castBoom() {
+            throw new ClassCastException("boom");
+        }
+        public static String describe(final String name) {
+            return "customer " + name;
+        }
+    }
+
+    private final Customer customer = new Customer();
+    private final boolean methodHandles;
+
+    public MethodInvocationPreprocessorTest(final boolean methodHandles) {
+        this.methodHandles = methodHandles;
+    }
+
+    @Test
+    public void primitive_isBoxed() throws Exception {
+        customer.setAge(42);
+        assertThat(invoke(method("getAge"), customer, null), is((Object) 42));
+    }
+
+    @Test
+    public void void_returnsNull() throws Exception {
+        assertThat(invoke(method("setAge", int.class), customer, new Object[] { 7 }),
+                is(nullValue()));
+        assertThat(customer.getAge(), is(7));
+    }
+
+    @Test
+    public void withArguments() throws Exception {
+        assertThat(invoke(
+                method("greet", String.class, int.class), customer, new Object[] { "hi", 2 }),
+                is((Object) "hihi"));
+    }
+
+    @Test
+    public void static_ignoresTarget() throws Exception {
+        assertThat(invoke(
+                method("describe", String.class), null, new Object[] { "fred" }),
+                is((Object) "customer fred"));
+    }
+
+    @Test
+    public void listArgument_isAdaptedToSet() throws Exception {
+        final List<String> names = Arrays.asList("a", "b", "a");
+        final Object[] args = { names };
+        assertThat(invoke(method("count", Set.class), customer, args),
+                is((Object) 2));
+        // the caller's arguments are left untouched
+        assertThat(args[0], is((Object) names));
+    }
+
+    @Test
+    public void exception_isWrappedAsForReflection() throws Exception {
+        try {
+            invoke(method("boom"), customer, null);
+            fail();
+        } catch (InvocationTargetException ex) {
+            assertThat(ex.getTargetException(), instanceOf(IllegalStateException.class));
+        }
+    }
+
+    @Test
+    public void exceptionOfAdaptationType_thrownByMethod_isWrapped() throws Exception {
+        try {
+            invoke(method("castBoom"), customer, null);
+            fail();
+        } catch (InvocationTargetException ex) {
+            assertThat(ex.getTargetException(), instanceOf(ClassCastException.class));
+        }
+    }
+
+    @Test
+    public void wrongReceiver_isNotWrapped() throws Exception {
+        try {
+            invoke(method("getAge"), "not a customer", null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // as for reflection
+        }
+    }
+
+    @Test
+    public void wrongArgumentType_isNotWrapped() throws Exception {
+        try {
+            invoke(
+                    method("greet", String.class, int.class), customer, new Object[] { "hi", "twice" });
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // as for reflection
+        }
+    }
+
+    @Test
+    public void nullForPrimitive_isNotWrapped() throws Exception {
+        try {
+            invoke(method("setAge", int.class), customer, new Object[] { null });
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // as for reflection
+        }
+    }
+
+    @Test
+    public void nullReceiver_isNotWrapped() throws Exception {
+        try {
+            invoke(method("getAge"), null, null);
+            fail();
+        } catch (NullPointerException ex) {
+            // as for reflection
+        }
+    }
+
+    @Test
+    public void methodExtensions_defaultsNullPrimitives() throws Exception {
+        assertThat(MethodExtensions.invoke(method("greet", String.class, int.class), customer, new Object[] { "hi", null }),
+                is((Object) ""));
+    }
+
+    private Object invoke(final Method method, final Object target, final Object[] args)
+            throws IllegalAccessException, InvocationTargetException {
+        return MethodInvocationPreprocessor.invoke(method, target, args, methodHandles);
+    }
+
+    private static Method method(final String name, final Class<?>... parameterTypes) throws NoSuchMethodException {
+        return Customer.class.getMethod(name, parameterTypes);
+    }
+
+}
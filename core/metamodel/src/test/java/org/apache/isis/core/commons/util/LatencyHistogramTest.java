@@ -0,0 +1,85 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void empty() throws Exception {
+        assertThat(histogram.getCount(), is(0L));
+        assertThat(histogram.getMean(), is(0.0));
+        assertThat(histogram.getMax(), is(0L));
+        assertThat(histogram.getValueAtPercentile(99), is(0L));
+    }
+
+    @Test
+    public void small_values_are_exact() throws Exception {
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getCount(), is(10L));
+        assertThat(histogram.getMean(), is(5.5));
+        assertThat(histogram.getMax(), is(10L));
+        assertThat(histogram.getValueAtPercentile(50), is(5L));
+        assertThat(histogram.getValueAtPercentile(100), is(10L));
+    }
+
+    @Test
+    public void large_values_are_within_relative_error() throws Exception {
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000L);
+        }
+
+        assertWithinRelativeError(histogram.getValueAtPercentile(50), 50_000_000L);
+        assertWithinRelativeError(histogram.getValueAtPercentile(99), 99_000_000L);
+        assertWithinRelativeError(histogram.getValueAtPercentile(99.9), 99_900_000L);
+        assertThat(histogram.getValueAtPercentile(100), is(100_000_000L));
+    }
+
+    @Test
+    public void buckets_cover_the_whole_range() throws Exception {
+        for (int shift = 0; shift < 63; shift++) {
+            final long value = 1L << shift;
+            final int bucket = LatencyHistogram.bucketFor(value);
+            assertThat(LatencyHistogram.highestValueIn(bucket), greaterThanOrEqualTo(value));
+            assertThat(LatencyHistogram.bucketFor(LatencyHistogram.highestValueIn(bucket)), is(bucket));
+        }
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1L);
+        assertThat(histogram.getValueAtPercentile(100), is(Long.MAX_VALUE));
+        assertThat(histogram.getValueAtPercentile(50), is(0L));
+    }
+
+    private static void assertWithinRelativeError(final long actual, final long expected) {
+        assertThat(actual, greaterThanOrEqualTo(expected));
+        assertThat(actual, lessThanOrEqualTo(expected + expected / 16));
+    }
+
+}
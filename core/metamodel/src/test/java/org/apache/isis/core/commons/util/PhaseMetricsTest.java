@@ -0,0 +1,95 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.isis.applib.internal.context._Context;
+import org.apache.isis.applib.services.metrics.MetricsService.Phase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PhaseMetricsTest {
+
+    @After
+    public void tearDown() throws Exception {
+        _Context.clear();
+    }
+
+    @Test
+    public void whenNotEnabled_recordsNothing() throws Exception {
+        final long startedAt = PhaseMetrics.start();
+        PhaseMetrics.stop(Phase.TITLE, startedAt);
+
+        assertThat(startedAt, is(0L));
+        assertThat(PhaseMetrics.isEnabled(), is(false));
+        assertThat(PhaseMetrics.getInteractionCount(Phase.TITLE), is(0L));
+    }
+
+    @Test
+    public void whenEnabled_recordsPerInteraction_andAcrossInteractions() throws Exception {
+        final PhaseMetrics phaseMetrics = PhaseMetrics.enable();
+        PhaseMetrics.resetInteraction();
+
+        PhaseMetrics.stop(Phase.QUERY, PhaseMetrics.start());
+        PhaseMetrics.stop(Phase.QUERY, PhaseMetrics.start());
+
+        assertThat(PhaseMetrics.getInteractionCount(Phase.QUERY), is(2L));
+        assertThat(PhaseMetrics.getInteractionCount(Phase.FLUSH), is(0L));
+        assertThat(phaseMetrics.getHistogram(Phase.QUERY).getCount(), is(2L));
+
+        PhaseMetrics.resetInteraction();
+
+        assertThat(PhaseMetrics.getInteractionCount(Phase.QUERY), is(0L));
+        assertThat(PhaseMetrics.getInteractionNanos(Phase.QUERY), is(0L));
+        assertThat(phaseMetrics.getHistogram(Phase.QUERY).getCount(), is(2L));
+    }
+
+    @Test
+    public void whenDisabled_recordsNothingFurther() throws Exception {
+        final PhaseMetrics phaseMetrics = PhaseMetrics.enable();
+        PhaseMetrics.stop(Phase.TITLE, PhaseMetrics.start());
+
+        phaseMetrics.disable();
+        PhaseMetrics.stop(Phase.TITLE, PhaseMetrics.start());
+
+        assertThat(PhaseMetrics.isEnabled(), is(false));
+        assertThat(phaseMetrics.getHistogram(Phase.TITLE).getCount(), is(1L));
+    }
+
+    @Test
+    public void whenContextCleared_timingsAreDiscarded() throws Exception {
+        final PhaseMetrics phaseMetrics = PhaseMetrics.enable();
+        PhaseMetrics.stop(Phase.TITLE, PhaseMetrics.start());
+
+        _Context.clear();
+
+        assertThat(PhaseMetrics.isEnabled(), is(false));
+
+        final PhaseMetrics next = PhaseMetrics.enable();
+        assertThat(next, is(not(sameInstance(phaseMetrics))));
+        assertThat(next.getHistogram(Phase.TITLE).getCount(), is(0L));
+    }
+
+}
@@ -21,12 +21,18 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.applib.services.wrapper.events.InteractionEvent;
+import org.apache.isis.applib.services.wrapper.events.PropertyVisibilityEvent;
 import org.apache.isis.core.metamodel.interactions.InteractionAdvisorFacet;
 
 public class InteractionResultTest {
@@ -82,4 +88,21 @@ public void shouldBeEmptyWhenAdvisedWithNull() {
         assertEquals(null, result.getReason());
     }
 
+    @Test
+    public void shouldOnlyCreateEventFromSupplierWhenRequested() {
+        final AtomicInteger eventsCreated = new AtomicInteger();
+        result = InteractionResult.withEventFrom(() -> {
+            eventsCreated.incrementAndGet();
+            return new PropertyVisibilityEvent(new Object(), Identifier.propertyOrCollectionIdentifier(Object.class, "foo"));
+        });
+        result.advise("foo", InteractionAdvisorFacet.NOOP);
+        assertEquals(0, eventsCreated.get());
+
+        final InteractionEvent event = result.getInteractionEvent();
+
+        assertNotNull(event);
+        assertEquals("foo", event.getReason());
+        assertEquals(1, eventsCreated.get());
+    }
+
 }
@@ -19,6 +19,8 @@
 
 package org.apache.isis.core.metamodel.interactions;
 
+import java.util.Collections;
+
 import com.google.common.base.Predicate;
 
 import org.apache.isis.core.metamodel.facetapi.Facet;
@@ -100,4 +102,14 @@ public void testIsAWhenIsNotBecauseASuperclass() {
         TestCase.assertFalse(predicate.apply(fooSuperFacet));
     }
 
+    public void testGetFacetsOfTypeReflectsFacetsAddedAndRemoved() {
+        TestCase.assertTrue(facetHolder.getFacetsOfType(FooFacet.class).isEmpty());
+
+        facetHolder.addFacet(fooFacet);
+        TestCase.assertEquals(Collections.singletonList(fooFacet), facetHolder.getFacetsOfType(FooFacet.class));
+
+        facetHolder.removeFacet(fooFacet);
+        TestCase.assertTrue(facetHolder.getFacetsOfType(FooFacet.class).isEmpty());
+    }
+
 }
@@ -101,4 +101,19 @@ public void shouldInjectContainer() {
         assertThat(service2.getSomeDomainService3(), is(service3));
     }
 
+    @Test
+    public void shouldReuseInjectionPlanPerClass() {
+
+        final SomeDomainService1 anotherService1 = new SomeDomainService1();
+
+        injector.injectServicesInto(service1);
+        injector.injectServicesInto(anotherService1);
+
+        assertThat(anotherService1.getContainer(), is(container));
+        assertThat(anotherService1.getSomeDomainService2(), is((SomeDomainService2Abstract)service2));
+
+        assertThat(injector.getInjectionPlansBuilt(), is(1L));
+        assertThat(injector.getInjectionsPerformed(), is(2L));
+    }
+
 }
@@ -0,0 +1,136 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.services.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RepositoryServiceDefaultTest_allMatchesPredicate {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private RepositoryServiceInternalDefault repositoryService;
+
+    @Mock
+    private TransactionService mockTransactionService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+
+    @Before
+    public void setUp() throws Exception {
+        repositoryService = new RepositoryServiceInternalDefault();
+        repositoryService.transactionService = mockTransactionService;
+        repositoryService.persistenceSessionServiceInternal = mockPersistenceSessionServiceInternal;
+
+        context.checking(new Expectations() {{
+            allowing(mockTransactionService).flushTransaction();
+            allowing(mockPersistenceSessionServiceInternal).streamMatchingQuery(with(any(Query.class)));
+            will(returnValue(Stream.of(
+                    adapterFor("a1"), adapterFor("b1"), adapterFor("a2"), adapterFor("b2"), adapterFor("b3"))));
+        }});
+    }
+
+    @Test
+    public void unmatched_areEvictedInBatches() throws Exception {
+        // given
+        repositoryService.init(properties("2"));
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSessionServiceInternal).evictStreamed(Arrays.asList("b1", "b2"));
+        }});
+
+        // when
+        final List<String> matches = repositoryService.allMatches(String.class, s -> s.startsWith("a"));
+
+        // then
+        assertThat(matches, is(Arrays.asList("a1", "a2")));
+    }
+
+    @Test
+    public void unmatched_areEvictedByDefault() throws Exception {
+        // given
+        repositoryService.init(new HashMap<>());
+
+        // expect (nothing to evict until the default batch size is reached)
+        context.checking(new Expectations() {{
+            never(mockPersistenceSessionServiceInternal).evictStreamed(with(any(List.class)));
+        }});
+
+        // when
+        final List<String> matches = repositoryService.allMatches(String.class, s -> s.startsWith("a"));
+
+        // then
+        assertThat(matches, is(Arrays.asList("a1", "a2")));
+    }
+
+    @Test
+    public void noEviction_ifDisabled() throws Exception {
+        // given
+        repositoryService.init(properties("0"));
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockPersistenceSessionServiceInternal).evictStreamed(with(any(List.class)));
+        }});
+
+        // when
+        final List<String> matches = repositoryService.allMatches(String.class, s -> s.startsWith("b"));
+
+        // then
+        assertThat(matches, is(Arrays.asList("b1", "b2", "b3")));
+    }
+
+    private static Map<String, String> properties(final String scanEvictBatchSize) {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(RepositoryServiceInternalDefault.KEY_SCAN_EVICT_BATCH_SIZE, scanEvictBatchSize);
+        return properties;
+    }
+
+    private ObjectAdapter adapterFor(final String pojo) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, pojo);
+        context.checking(new Expectations() {{
+            allowing(adapter).getObject();
+            will(returnValue(pojo));
+        }});
+        return adapter;
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.services.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RepositoryServiceDefaultTest_stream {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private RepositoryServiceInternalDefault repositoryService;
+
+    @Mock
+    private TransactionService mockTransactionService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private ObjectAdapter mockAdapter1;
+    @Mock
+    private ObjectAdapter mockAdapter2;
+    @Mock
+    private Query<String> mockQuery;
+
+    private boolean closed;
+
+    @Before
+    public void setUp() throws Exception {
+        repositoryService = new RepositoryServiceInternalDefault();
+        repositoryService.transactionService = mockTransactionService;
+        repositoryService.persistenceSessionServiceInternal = mockPersistenceSessionServiceInternal;
+    }
+
+    @Test
+    public void whenAutoflush() throws Exception {
+        // given
+        Map map = new HashMap();
+        repositoryService.init(map);
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockTransactionService).flushTransaction();
+            allowing(mockPersistenceSessionServiceInternal).streamMatchingQuery(mockQuery);
+            will(returnValue(Stream.empty()));
+        }});
+        // when
+        repositoryService.stream(mockQuery);
+    }
+
+    @Test
+    public void whenDisableAutoflush() throws Exception {
+        // given
+        Map map = new HashMap() {{
+            put("isis.services.container.disableAutoFlush", "true");
+        }};
+        repositoryService.init(map);
+        // expect
+        context.checking(new Expectations() {{
+            never(mockTransactionService).flushTransaction();
+            allowing(mockPersistenceSessionServiceInternal).streamMatchingQuery(mockQuery);
+            will(returnValue(Stream.empty()));
+        }});
+        // when
+        repositoryService.stream(mockQuery);
+    }
+
+    @Test
+    public void unwrapsAdaptersAndPropagatesClose() throws Exception {
+        // given
+        repositoryService.init(new HashMap<String, String>());
+        context.checking(new Expectations() {{
+            allowing(mockTransactionService).flushTransaction();
+
+            allowing(mockPersistenceSessionServiceInternal).streamMatchingQuery(mockQuery);
+            will(returnValue(Stream.of(mockAdapter1, mockAdapter2).onClose(() -> closed = true)));
+
+            allowing(mockAdapter1).getObject();
+            will(returnValue("a"));
+            allowing(mockAdapter2).getObject();
+            will(returnValue("b"));
+        }});
+
+        // when
+        final List<String> results;
+        try(final Stream<String> stream = repositoryService.stream(mockQuery)) {
+            results = stream.collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(results, is(Arrays.asList("a", "b")));
+        assertThat(closed, is(true));
+    }
+
+}
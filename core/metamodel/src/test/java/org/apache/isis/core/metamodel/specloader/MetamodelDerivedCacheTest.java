@@ -0,0 +1,96 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MetamodelDerivedCacheTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+
+    private final MetamodelDerivedCache<String, String> cache = new MetamodelDerivedCache<>(2);
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    public void whenMetamodelUnchanged_isComputedOnce() throws Exception {
+        allowingMetamodelVersions(1L, 1L);
+
+        assertThat(get("a"), is("a:1"));
+        assertThat(get("a"), is("a:1"));
+        assertThat(computations.get(), is(1));
+    }
+
+    @Test
+    public void whenMetamodelChanged_isRecomputed() throws Exception {
+        allowingMetamodelVersions(1L, 2L, 2L, 2L);
+
+        assertThat(get("a"), is("a:1"));
+        assertThat(get("a"), is("a:2"));
+        assertThat(get("a"), is("a:2"));
+        assertThat(computations.get(), is(2));
+    }
+
+    @Test
+    public void whenFull_isCleared() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).getMetamodelVersion();
+            will(returnValue(1L));
+        }});
+
+        get("a");
+        get("b");
+        get("c");
+        assertThat(computations.get(), is(3));
+
+        get("c");
+        assertThat(computations.get(), is(3));
+
+        get("a");
+        assertThat(computations.get(), is(4));
+    }
+
+    private void allowingMetamodelVersions(final Long... versions) {
+        context.checking(new Expectations() {{
+            for (final Long version : versions) {
+                oneOf(mockSpecificationLoader).getMetamodelVersion();
+                will(returnValue(version));
+            }
+        }});
+    }
+
+    private String get(final String key) {
+        return cache.computeIfAbsent(mockSpecificationLoader, key, k -> k + ":" + computations.incrementAndGet());
+    }
+
+}
@@ -100,6 +100,19 @@ public void allSpecs_whenCached() {
         assertThat(allSpecs.size(), is(2));
     }
 
+    @Test
+    public void allSpecs_canBeIteratedWhileCaching() {
+        specificationCache.cache(Customer.class.getName(), customerSpec);
+
+        final Collection<ObjectSpecification> allSpecs = specificationCache.allSpecifications();
+        for (ObjectSpecification spec : allSpecs) {
+            // would throw ConcurrentModificationException if not backed by a concurrent map
+            specificationCache.cache(Order.class.getName(), orderSpec);
+        }
+
+        assertThat(allSpecs.size(), is(2));
+    }
+
     @Test(expected=IllegalStateException.class)
     public void getByObjectType_whenNotSet() {
         specificationCache.getByObjectType(ObjectSpecId.of("CUS"));
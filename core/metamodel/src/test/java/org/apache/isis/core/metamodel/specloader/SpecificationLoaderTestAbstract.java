@@ -91,6 +91,7 @@ public void setUp() throws Exception {
         }});
 
         stubConfiguration = new IsisConfigurationDefault(null);
+        configure(stubConfiguration);
 
         stubServicesInjector =
                 new ServicesInjector(
@@ -116,6 +117,12 @@ stubConfiguration, new ProgrammingModelFacetsJava5(stubConfiguration),
         specification = loadSpecification(specificationLoader);
     }
 
+    /**
+     * Optional hook.
+     */
+    protected void configure(final IsisConfigurationDefault configuration) {
+    }
+
     protected abstract ObjectSpecification loadSpecification(SpecificationLoader reflector);
 
     @Test
@@ -0,0 +1,121 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
+
+/**
+ * Two types that reference each other, loaded by several threads at once: each thread must see a fully
+ * introspected spec, and none may deadlock waiting on another.
+ */
+public class SpecificationLoaderTest_concurrentCycles extends SpecificationLoaderTestAbstract {
+
+    public static class Customer {
+        private String name;
+        public String getName() {
+            return name;
+        }
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        private Order lastOrder;
+        public Order getLastOrder() {
+            return lastOrder;
+        }
+        public void setLastOrder(final Order lastOrder) {
+            this.lastOrder = lastOrder;
+        }
+    }
+
+    public static class Order {
+        private Customer customer;
+        public Customer getCustomer() {
+            return customer;
+        }
+        public void setCustomer(final Customer customer) {
+            this.customer = customer;
+        }
+    }
+
+    private static final int NUM_THREADS = 8;
+
+    private final List<ObjectSpecificationAbstract.IntrospectionState> statesOnReturn = Lists.newArrayList();
+
+    @Override
+    protected ObjectSpecification loadSpecification(final SpecificationLoader reflector) {
+        final ExecutorService executorService = Executors.newFixedThreadPool(NUM_THREADS);
+        final CyclicBarrier barrier = new CyclicBarrier(NUM_THREADS);
+        try {
+            final List<Callable<ObjectSpecificationAbstract.IntrospectionState>> callables = Lists.newArrayList();
+            for (int i = 0; i < NUM_THREADS; i++) {
+                final Class<?> type = i % 2 == 0 ? Customer.class : Order.class;
+                callables.add(() -> {
+                    barrier.await();
+                    final ObjectSpecification spec = reflector.loadSpecification(type);
+                    return ((ObjectSpecificationAbstract) spec).getIntrospectionState();
+                });
+            }
+            final List<Future<ObjectSpecificationAbstract.IntrospectionState>> futures = Lists.newArrayList();
+            for (final Callable<ObjectSpecificationAbstract.IntrospectionState> callable : callables) {
+                futures.add(executorService.submit(callable));
+            }
+            for (final Future<ObjectSpecificationAbstract.IntrospectionState> future : futures) {
+                // would time out if the threads deadlocked
+                statesOnReturn.add(future.get(30, TimeUnit.SECONDS));
+            }
+        } catch (final Exception ex) {
+            throw new RuntimeException(ex);
+        } finally {
+            executorService.shutdownNow();
+        }
+        return reflector.loadSpecification(Customer.class);
+    }
+
+    @Test
+    public void everyThreadObtainsFullyIntrospectedSpec() throws Exception {
+        Assert.assertEquals(NUM_THREADS, statesOnReturn.size());
+        for (final ObjectSpecificationAbstract.IntrospectionState state : statesOnReturn) {
+            Assert.assertEquals(ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED, state);
+        }
+    }
+
+    @Test
+    public void cyclicReferencesAreResolved() throws Exception {
+        final ObjectSpecification orderSpec = specification.getAssociation("lastOrder").getSpecification();
+        Assert.assertEquals(Order.class.getName(), orderSpec.getFullIdentifier());
+        Assert.assertSame(specification, orderSpec.getAssociation("customer").getSpecification());
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.List;
+import java.util.SortedSet;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+
+public class SpecificationLoaderTest_members extends SpecificationLoaderTestAbstract {
+
+    public static class Customer {
+
+        private String lastName;
+        @MemberOrder(sequence = "2")
+        public String getLastName() {
+            return lastName;
+        }
+        public void setLastName(final String lastName) {
+            this.lastName = lastName;
+        }
+
+        private String firstName;
+        @MemberOrder(sequence = "1")
+        public String getFirstName() {
+            return firstName;
+        }
+        public void setFirstName(final String firstName) {
+            this.firstName = firstName;
+        }
+
+        private SortedSet<Customer> friends;
+        @MemberOrder(sequence = "3")
+        public SortedSet<Customer> getFriends() {
+            return friends;
+        }
+        public void setFriends(final SortedSet<Customer> friends) {
+            this.friends = friends;
+        }
+    }
+
+    @Override
+    protected ObjectSpecification loadSpecification(final SpecificationLoader reflector) {
+        return reflector.loadSpecification(Customer.class);
+    }
+
+    @Test
+    public void properties_areSortedByMemberOrderSequence() throws Exception {
+        final List<OneToOneAssociation> properties = specification.getProperties(Contributed.EXCLUDED);
+        Assert.assertEquals(Lists.newArrayList("firstName", "lastName"), idsOf(properties));
+    }
+
+    @Test
+    public void collections_arePartitionedFromProperties() throws Exception {
+        Assert.assertEquals(
+                Lists.newArrayList("friends"), idsOf(specification.getCollections(Contributed.EXCLUDED)));
+        Assert.assertEquals(
+                Lists.newArrayList("friends"),
+                idsOf(specification.getAssociations(Contributed.EXCLUDED, ObjectAssociation.Predicates.COLLECTIONS)));
+    }
+
+    @Test
+    public void associations_areReusedAcrossCalls() throws Exception {
+        Assert.assertSame(
+                specification.getAssociations(Contributed.EXCLUDED),
+                specification.getAssociations(Contributed.EXCLUDED));
+        Assert.assertSame(
+                specification.getProperties(Contributed.EXCLUDED),
+                specification.getProperties(Contributed.EXCLUDED));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void associations_areUnmodifiable() throws Exception {
+        specification.getAssociations(Contributed.EXCLUDED).clear();
+    }
+
+    @Test
+    public void associationById() throws Exception {
+        final ObjectAssociation association = specification.getAssociation("lastName");
+        Assert.assertNotNull(association);
+        Assert.assertEquals("lastName", association.getId());
+    }
+
+    private static List<String> idsOf(final List<? extends ObjectMember> members) {
+        final List<String> ids = Lists.newArrayList();
+        for (final ObjectMember member : members) {
+            ids.add(member.getId());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,299 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.AppManifest;
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.ActionLayout;
+import org.apache.isis.applib.annotation.Contributed;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.Mixin;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.services.grid.GridService;
+import org.apache.isis.applib.services.message.MessageService;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.metamodelvalidator.dflt.MetaModelValidatorDefault;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Introspects and validates a small domain (services, mixins and entities referencing each other) both
+ * sequentially and in parallel, and checks that the resultant metamodels are the same.
+ */
+public class SpecificationLoaderTest_parallel {
+
+    // -- fixture
+
+    public static class Category {
+        private String name;
+        public String getName() { return name; }
+        public void setName(final String name) { this.name = name; }
+
+        private Category parent;
+        public Category getParent() { return parent; }
+        public void setParent(final Category parent) { this.parent = parent; }
+    }
+
+    public static class Product {
+        private String name;
+        public String getName() { return name; }
+        public void setName(final String name) { this.name = name; }
+
+        private Category category;
+        public Category getCategory() { return category; }
+        public void setCategory(final Category category) { this.category = category; }
+    }
+
+    public static class Customer {
+        private String name;
+        public String getName() { return name; }
+        public void setName(final String name) { this.name = name; }
+
+        private List<Order> orders = Lists.newArrayList();
+        public List<Order> getOrders() { return orders; }
+        public void setOrders(final List<Order> orders) { this.orders = orders; }
+
+        public Customer updateName(final String name) { return this; }
+    }
+
+    public static class Order {
+        private Customer customer;
+        public Customer getCustomer() { return customer; }
+        public void setCustomer(final Customer customer) { this.customer = customer; }
+
+        private List<OrderLine> lines = Lists.newArrayList();
+        public List<OrderLine> getLines() { return lines; }
+        public void setLines(final List<OrderLine> lines) { this.lines = lines; }
+    }
+
+    public static class OrderLine {
+        private Order order;
+        public Order getOrder() { return order; }
+        public void setOrder(final Order order) { this.order = order; }
+
+        private Product product;
+        public Product getProduct() { return product; }
+        public void setProduct(final Product product) { this.product = product; }
+
+        private int quantity;
+        public int getQuantity() { return quantity; }
+        public void setQuantity(final int quantity) { this.quantity = quantity; }
+    }
+
+    @Mixin
+    public static class Customer_placeOrder {
+        private final Customer customer;
+        public Customer_placeOrder(final Customer customer) { this.customer = customer; }
+        @Action
+        public Order $$(final Product product, final int quantity) { return null; }
+    }
+
+    @Mixin
+    public static class Order_numberOfLines {
+        private final Order order;
+        public Order_numberOfLines(final Order order) { this.order = order; }
+        @Action(semantics = SemanticsOf.SAFE)
+        @ActionLayout(contributed = Contributed.AS_ASSOCIATION)
+        public int $$() { return order.getLines().size(); }
+    }
+
+    @DomainService(nature = NatureOfService.VIEW_MENU_ONLY)
+    public static class Customers {
+        public List<Customer> findByName(final String name) { return null; }
+        public Customer create(final String name) { return null; }
+    }
+
+    @DomainService(nature = NatureOfService.VIEW_MENU_ONLY)
+    public static class Products {
+        public List<Product> findByCategory(final Category category) { return null; }
+        public Product create(final String name, final Category category) { return null; }
+    }
+
+    @DomainService(nature = NatureOfService.DOMAIN)
+    public static class OrderRepository {
+        public List<Order> findByCustomer(final Customer customer) { return null; }
+    }
+
+    private static final Set<Class<?>> ENTITY_TYPES =
+            Sets.newHashSet(Category.class, Product.class, Customer.class, Order.class, OrderLine.class);
+    private static final Set<Class<?>> MIXIN_TYPES =
+            Sets.newHashSet(Customer_placeOrder.class, Order_numberOfLines.class);
+
+    // -- setup
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private GridService mockGridService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private MessageService mockMessageService;
+
+    private Set<Class<?>> previousEntityTypes;
+    private Set<Class<?>> previousMixinTypes;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            ignoring(mockGridService).existsFor(with(any(Class.class)));
+
+            ignoring(mockPersistenceSessionServiceInternal);
+            ignoring(mockMessageService);
+        }});
+
+        final AppManifest.Registry registry = AppManifest.Registry.instance();
+        previousEntityTypes = registry.getPersistenceCapableTypes();
+        previousMixinTypes = registry.getMixinTypes();
+        registry.setPersistenceCapableTypes(ENTITY_TYPES);
+        registry.setMixinTypes(MIXIN_TYPES);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        final AppManifest.Registry registry = AppManifest.Registry.instance();
+        registry.setPersistenceCapableTypes(previousEntityTypes);
+        registry.setMixinTypes(previousMixinTypes);
+    }
+
+    private SpecificationLoader newSpecificationLoader(final boolean parallelize) {
+        final IsisConfigurationDefault configuration = new IsisConfigurationDefault(null);
+        configuration.put(SpecificationLoader.PARALLELIZE_KEY, "" + parallelize);
+        configuration.put(SpecificationLoader.PARALLELISM_KEY, "4");
+
+        final ServicesInjector servicesInjector =
+                new ServicesInjector(
+                        Lists.newArrayList(
+                                mockAuthenticationSessionProvider,
+                                configuration,
+                                mockDeploymentCategoryProvider,
+                                mockPersistenceSessionServiceInternal,
+                                mockMessageService,
+                                mockGridService,
+                                new Customers(),
+                                new Products(),
+                                new OrderRepository()),
+                        configuration);
+
+        final SpecificationLoader specificationLoader =
+                new SpecificationLoader(
+                        configuration, new ProgrammingModelFacetsJava5(configuration),
+                        new MetaModelValidatorDefault(), servicesInjector);
+        servicesInjector.addFallbackIfRequired(SpecificationLoader.class, specificationLoader);
+
+        specificationLoader.init();
+        return specificationLoader;
+    }
+
+    // -- tests
+
+    @Test
+    public void introspection_matchesSequential() throws Exception {
+        final SpecificationLoader sequential = newSpecificationLoader(false);
+        final SpecificationLoader parallel = newSpecificationLoader(true);
+
+        assertThat(parallel.isParallelized(), is(true));
+
+        final SortedMap<String, String> sequentialMetamodel = describe(sequential);
+        final SortedMap<String, String> parallelMetamodel = describe(parallel);
+
+        assertThat(parallelMetamodel.keySet(), hasItems(
+                Customers.class.getName(), Products.class.getName(), OrderRepository.class.getName(),
+                Customer_placeOrder.class.getName(), Order_numberOfLines.class.getName(),
+                Category.class.getName(), Product.class.getName(), Customer.class.getName(),
+                Order.class.getName(), OrderLine.class.getName()));
+        assertThat(parallelMetamodel, is(sequentialMetamodel));
+    }
+
+    @Test
+    public void validation_matchesSequential() throws Exception {
+        final SpecificationLoader sequential = newSpecificationLoader(false);
+        final SpecificationLoader parallel = newSpecificationLoader(true);
+
+        assertThat(parallel.validate().getMessages(), is(sequential.validate().getMessages()));
+    }
+
+    /**
+     * The (declared) members of each spec, keyed by the spec's class name.
+     */
+    private static SortedMap<String, String> describe(final SpecificationLoader specificationLoader) {
+        final SortedMap<String, String> descriptions = Maps.newTreeMap();
+        for (final ObjectSpecification spec : specificationLoader.allSpecifications()) {
+            assertThat(spec.getFullIdentifier(),
+                    ((ObjectSpecificationAbstract) spec).getIntrospectionState(),
+                    is(ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED));
+
+            final String associations = spec.getAssociations(
+                    org.apache.isis.core.metamodel.spec.feature.Contributed.EXCLUDED).stream()
+                    .map(ObjectAssociation::getId)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+            final String actions = spec.getObjectActions(
+                    org.apache.isis.core.metamodel.spec.feature.Contributed.EXCLUDED).stream()
+                    .map(ObjectAction::getId)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+            descriptions.put(spec.getFullIdentifier(),
+                    "service=" + spec.isService() + ";mixin=" + spec.isMixin()
+                    + ";associations=" + associations + ";actions=" + actions);
+        }
+        return descriptions;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+
+public class SpecificationLoaderTest_resolvedFacets extends SpecificationLoaderTestAbstract {
+
+    public static class Parent {
+    }
+
+    public interface Named {
+    }
+
+    public static class Child extends Parent implements Named {
+    }
+
+    public interface SomeFacet extends Facet {
+    }
+
+    public static class SomeFacetImpl extends FacetAbstract implements SomeFacet {
+        public SomeFacetImpl(final FacetHolder holder) {
+            super(SomeFacet.class, holder, Derivation.NOT_DERIVED);
+        }
+    }
+
+    private ObjectSpecification parentSpecification;
+    private ObjectSpecification namedSpecification;
+
+    @Override
+    protected ObjectSpecification loadSpecification(final SpecificationLoader reflector) {
+        parentSpecification = reflector.loadSpecification(Parent.class);
+        namedSpecification = reflector.loadSpecification(Named.class);
+        return reflector.loadSpecification(Child.class);
+    }
+
+    @Test
+    public void facetAddedToSupertype_isInheritedEvenIfPreviouslyResolvedAsAbsent() throws Exception {
+        Assert.assertNull(specification.getFacet(SomeFacet.class));
+
+        final SomeFacetImpl facet = new SomeFacetImpl(parentSpecification);
+        parentSpecification.addFacet(facet);
+
+        Assert.assertSame(facet, specification.getFacet(SomeFacet.class));
+    }
+
+    @Test
+    public void facetAddedToInterface_isInheritedEvenIfPreviouslyResolvedAsAbsent() throws Exception {
+        Assert.assertNull(specification.getFacet(SomeFacet.class));
+
+        final SomeFacetImpl facet = new SomeFacetImpl(namedSpecification);
+        namedSpecification.addFacet(facet);
+
+        Assert.assertSame(facet, specification.getFacet(SomeFacet.class));
+    }
+
+    @Test
+    public void facetRemoved_isNoLongerResolved() throws Exception {
+        final SomeFacetImpl facet = new SomeFacetImpl(specification);
+        specification.addFacet(facet);
+        Assert.assertSame(facet, specification.getFacet(SomeFacet.class));
+
+        specification.removeFacet(facet);
+
+        Assert.assertNull(specification.getFacet(SomeFacet.class));
+    }
+
+}
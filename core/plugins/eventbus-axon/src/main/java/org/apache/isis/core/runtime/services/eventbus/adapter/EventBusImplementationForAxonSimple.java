@@ -18,6 +18,7 @@
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
@@ -29,6 +30,7 @@
 import org.axonframework.eventhandling.EventListenerProxy;
 import org.axonframework.eventhandling.SimpleEventBus;
 import org.axonframework.eventhandling.annotation.AnnotationEventListenerAdapter;
+import org.axonframework.eventhandling.annotation.EventHandler;
 
 /**
  * A wrapper for an Axon {@link org.axonframework.eventhandling.SimpleEventBus},
@@ -80,6 +82,25 @@ public <T> void removeEventListener(EventBusImplementation.EventListener<T> even
 		}
 	}
 
+    /**
+     * The payload type of each {@link EventHandler @EventHandler} method: either as specified explicitly by
+     * the annotation, or else the method's first parameter.
+     */
+    @Override
+    public Set<Class<?>> eventTypesSubscribedBy(final Object domainService) {
+        return eventTypesOf(domainService.getClass(), method -> {
+            final EventHandler eventHandler = method.getAnnotation(EventHandler.class);
+            if(eventHandler == null) {
+                return null;
+            }
+            if(eventHandler.eventType() != Void.class) {
+                return eventHandler.eventType();
+            }
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            return parameterTypes.length > 0 ? parameterTypes[0] : null;
+        });
+    }
+
     @Override
     protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
         if(event instanceof GenericEventMessage) {
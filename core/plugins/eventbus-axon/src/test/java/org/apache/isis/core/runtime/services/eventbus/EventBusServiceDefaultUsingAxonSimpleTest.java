@@ -22,6 +22,7 @@
 
 import java.util.List;
 
+import org.apache.isis.applib.services.eventbus.EventBusImplementation;
 import org.apache.isis.applib.services.registry.ServiceRegistry;
 import org.junit.Before;
 import org.junit.Rule;
@@ -56,6 +57,9 @@ public static class Type1 {
     		String name = "1";
     	}
     	
+    	public static class Type1Subtype extends Type1 {
+    	}
+    	
     	public static class Type3 {
     		String name = "3";
     	}
@@ -219,5 +223,32 @@ public void multiple_subscribers_eventlistener() throws Exception {
             assertThat(subscriber3.obj, is(event3));
         }
 
+        @Test
+        public void has_subscribers_for_only_subscribed_types_and_their_subtypes() throws Exception {
+            // given
+            eventBusService.init(ImmutableMap.of(
+                    EventBusServiceDefault.KEY_ALLOW_LATE_REGISTRATION, "false",
+                    EventBusServiceDefault.KEY_EVENT_BUS_IMPLEMENTATION, EVENTBUS_IMPL_NAME));
+            eventBusService.register(subscriber1);
+
+            // then
+            assertThat(eventBusService.hasSubscribersFor(Type1.class), is(true));
+            assertThat(eventBusService.hasSubscribersFor(Type1Subtype.class), is(true));
+            assertThat(eventBusService.hasSubscribersFor(Type3.class), is(false));
+
+            // when
+            final EventBusImplementation.EventListener<Type3> eventListener =
+                    eventBusService.addEventListener(Type3.class, x->subscriber3.obj=x);
+
+            // then
+            assertThat(eventBusService.hasSubscribersFor(Type3.class), is(true));
+
+            // when
+            eventBusService.removeEventListener(eventListener);
+
+            // then
+            assertThat(eventBusService.hasSubscribersFor(Type3.class), is(false));
+        }
+
     }
-}
\ No newline at end of file
+}
@@ -17,6 +17,7 @@
 package org.apache.isis.core.runtime.services.eventbus.adapter;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.apache.isis.applib.events.domain.AbstractDomainEvent;
@@ -63,6 +64,15 @@ public void post(final Object event) {
         eventBus.post(event);
     }
 
+    @Override
+    public Set<Class<?>> eventTypesSubscribedBy(final Object domainService) {
+        return eventTypesOf(domainService.getClass(), method ->
+                method.isAnnotationPresent(com.google.common.eventbus.Subscribe.class)
+                        && method.getParameterTypes().length == 1
+                        ? method.getParameterTypes()[0]
+                        : null);
+    }
+
     @Override
     protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
         return event instanceof AbstractDomainEvent
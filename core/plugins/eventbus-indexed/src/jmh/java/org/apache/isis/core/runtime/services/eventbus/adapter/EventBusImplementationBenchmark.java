@@ -0,0 +1,121 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus.adapter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.apache.isis.applib.services.eventbus.EventBusImplementation;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Compares the cost of posting an event through each of the event bus implementations, as the number of
+ * subscribers (only one of which is interested in the event) grows.
+ *
+ * <p>
+ *     Run using <tt>mvn -Pjmh test-compile exec:java</tt> (requires the guava and axon plugins to have been
+ *     installed).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusImplementationBenchmark {
+
+    public static class SomeEvent {}
+    public static class OtherEvent {}
+
+    public static class Subscriber {
+        private volatile Object received;
+
+        @Subscribe
+        @org.axonframework.eventhandling.annotation.EventHandler
+        public void on(final SomeEvent event) {
+            received = event;
+        }
+    }
+
+    public static class OtherSubscriber {
+        @Subscribe
+        @org.axonframework.eventhandling.annotation.EventHandler
+        public void on(final OtherEvent event) {
+        }
+    }
+
+    @Param({"guava", "axon", "indexed"})
+    public String implementation;
+
+    @Param({"1", "10", "100"})
+    public int otherSubscribers;
+
+    private EventBusImplementation eventBus;
+    private final Subscriber subscriber = new Subscriber();
+    private final SomeEvent event = new SomeEvent();
+
+    @Setup
+    public void setUp() {
+        eventBus = newEventBus();
+        eventBus.register(subscriber);
+        for (int i = 0; i < otherSubscribers; i++) {
+            eventBus.register(new OtherSubscriber());
+            eventBus.addEventListener(OtherEvent.class, otherEvent -> {});
+        }
+    }
+
+    private EventBusImplementation newEventBus() {
+        switch (implementation) {
+        case "guava":
+            return new EventBusImplementationForGuava();
+        case "axon":
+            return new EventBusImplementationForAxonSimple();
+        default:
+            return new EventBusImplementationIndexed();
+        }
+    }
+
+    @Benchmark
+    public Object post() {
+        eventBus.post(event);
+        return subscriber.received;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventBusImplementationBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+
+}
@@ -0,0 +1,314 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus.adapter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.isis.applib.events.domain.AbstractDomainEvent;
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.services.eventbus.EventBusImplementation;
+import org.apache.isis.core.runtime.services.eventbus.EventBusImplementationAbstract;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * An event bus that resolves the subscribers for each concrete event class only once, caching them in a
+ * copy-on-write dispatch table, and that invokes the subscriber methods through precompiled method handles.
+ *
+ * <p>
+ *     Subscribers are identified in the same way as for the guava event bus, that is as methods annotated with
+ *     guava's {@link Subscribe @Subscribe} and accepting a single parameter; an event is delivered to every
+ *     subscriber whose parameter type is assignable from the event's class.  Also as for guava, a subscriber method
+ *     is not called concurrently unless it is annotated with {@link AllowConcurrentEvents @AllowConcurrentEvents}.
+ * </p>
+ *
+ * <p>
+ *     Any exception thrown by a subscriber is passed to {@link #processException(Throwable, Object)}, vetoing the
+ *     interaction or aborting the transaction as appropriate.  As for Axon (but unlike guava), an exception rethrown
+ *     from there stops the event from being delivered to any remaining subscribers.
+ * </p>
+ */
+public class EventBusImplementationIndexed extends EventBusImplementationAbstract {
+
+    private static final MethodType DISPATCH_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+    /**
+     * The subscribers, in order of registration; replaced (never mutated) whenever a subscriber is added or removed.
+     */
+    private volatile List<Subscriber> subscribers = Collections.emptyList();
+
+    /**
+     * The subscribers for each concrete event class that has been posted; replaced (never mutated) whenever a
+     * further event class is resolved, and discarded whenever the {@link #subscribers} change.
+     */
+    private volatile Map<Class<?>, Subscriber[]> dispatchTable = Collections.emptyMap();
+
+    /**
+     * The subscriber methods of each subscriber class.
+     */
+    private final Map<Class<?>, List<SubscriberMethod>> subscriberMethodsByClass = _Maps.newConcurrentHashMap();
+
+    // -- register, unregister
+
+    @Override
+    public synchronized void register(final Object domainService) {
+        for (final Subscriber subscriber : subscribers) {
+            if(subscriber.owner == domainService) {
+                // already registered
+                return;
+            }
+        }
+        final List<Subscriber> newSubscribers = _Lists.newArrayList(subscribers);
+        for (final SubscriberMethod subscriberMethod : subscriberMethodsOf(domainService.getClass())) {
+            newSubscribers.add(new Subscriber(domainService, subscriberMethod));
+        }
+        replaceSubscribers(newSubscribers);
+    }
+
+    @Override
+    public void unregister(final Object domainService) {
+        // Intentionally no-op, as for the other implementations (see EventBusService).
+    }
+
+    // -- post
+
+    @Override
+    public void post(final Object event) {
+        for (final Subscriber subscriber : subscribersFor(event.getClass())) {
+            try {
+                subscriber.dispatch(event);
+            } catch (final Throwable exception) {
+                processException(exception, event);
+            }
+        }
+    }
+
+    private Subscriber[] subscribersFor(final Class<?> eventClass) {
+        final Subscriber[] resolved = dispatchTable.get(eventClass);
+        if(resolved != null) {
+            return resolved;
+        }
+        synchronized (this) {
+            final Map<Class<?>, Subscriber[]> currentTable = dispatchTable;
+            final Subscriber[] resolvedConcurrently = currentTable.get(eventClass);
+            if(resolvedConcurrently != null) {
+                return resolvedConcurrently;
+            }
+            final Subscriber[] subscribersForClass = subscribers.stream()
+                    .filter(subscriber -> subscriber.eventType.isAssignableFrom(eventClass))
+                    .toArray(Subscriber[]::new);
+            final Map<Class<?>, Subscriber[]> newTable = _Maps.newHashMap();
+            newTable.putAll(currentTable);
+            newTable.put(eventClass, subscribersForClass.length > 0 ? subscribersForClass : NO_SUBSCRIBERS);
+            dispatchTable = newTable;
+            return subscribersForClass;
+        }
+    }
+
+    // -- addEventListener, removeEventListener
+
+    @Override
+    public synchronized <T> EventListener<T> addEventListener(final Class<T> targetType, final Consumer<T> onEvent) {
+        final IndexedEventListener<T> eventListener = new IndexedEventListener<>(onEvent);
+        final List<Subscriber> newSubscribers = _Lists.newArrayList(subscribers);
+        newSubscribers.add(new Subscriber(eventListener, targetType, IndexedEventListener.ON.bindTo(eventListener), false));
+        replaceSubscribers(newSubscribers);
+        return eventListener;
+    }
+
+    @Override
+    public synchronized <T> void removeEventListener(final EventListener<T> eventListener) {
+        final List<Subscriber> newSubscribers = _Lists.newArrayList(subscribers);
+        if(newSubscribers.removeIf(subscriber -> subscriber.owner == eventListener)) {
+            replaceSubscribers(newSubscribers);
+        }
+    }
+
+    private void replaceSubscribers(final List<Subscriber> newSubscribers) {
+        subscribers = Collections.unmodifiableList(newSubscribers);
+        dispatchTable = Collections.emptyMap();
+    }
+
+    // -- eventTypesSubscribedBy, asDomainEvent
+
+    @Override
+    public Set<Class<?>> eventTypesSubscribedBy(final Object domainService) {
+        return eventTypesOf(domainService.getClass(), method ->
+                isSubscriberMethod(method) ? method.getParameterTypes()[0] : null);
+    }
+
+    @Override
+    protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
+        return event instanceof AbstractDomainEvent
+                ? (AbstractDomainEvent<?>) event
+                : null;
+    }
+
+    // -- HELPER
+
+    private List<SubscriberMethod> subscriberMethodsOf(final Class<?> subscriberClass) {
+        return subscriberMethodsByClass.computeIfAbsent(subscriberClass, EventBusImplementationIndexed::findSubscriberMethods);
+    }
+
+    /**
+     * As for guava, a method overridden in a subclass is only subscribed once, but is subscribed if annotated in
+     * any of the types that declare it.  The method is invoked virtually, so any override (including that of a
+     * proxy) is the one called.
+     */
+    private static List<SubscriberMethod> findSubscriberMethods(final Class<?> subscriberClass) {
+        final Map<List<Object>, SubscriberMethod> methodsBySignature = _Maps.newLinkedHashMap();
+        final List<Class<?>> types = _Lists.newArrayList();
+        collectTypes(subscriberClass, types);
+        for (final Class<?> type : types) {
+            for (final Method method : type.getDeclaredMethods()) {
+                if(!isSubscriberMethod(method)) {
+                    continue;
+                }
+                final List<Object> signature = Arrays.asList(method.getName(), method.getParameterTypes()[0]);
+                methodsBySignature.computeIfAbsent(signature, key -> new SubscriberMethod(method));
+            }
+        }
+        return Collections.unmodifiableList(_Lists.newArrayList(methodsBySignature.values()));
+    }
+
+    private static void collectTypes(final Class<?> type, final List<Class<?>> types) {
+        if(type == null || type == Object.class || types.contains(type)) {
+            return;
+        }
+        types.add(type);
+        collectTypes(type.getSuperclass(), types);
+        for (final Class<?> interfaceType : type.getInterfaces()) {
+            collectTypes(interfaceType, types);
+        }
+    }
+
+    private static boolean isSubscriberMethod(final Method method) {
+        return method.isAnnotationPresent(Subscribe.class)
+                && method.getParameterTypes().length == 1
+                && !method.isSynthetic();
+    }
+
+    /**
+     * A subscriber method, with a method handle of type <tt>(Object, Object)void</tt>.
+     */
+    private static class SubscriberMethod {
+
+        private final Class<?> eventType;
+        private final MethodHandle methodHandle;
+        private final boolean allowConcurrentEvents;
+
+        private SubscriberMethod(final Method method) {
+            this.eventType = method.getParameterTypes()[0];
+            this.allowConcurrentEvents = method.isAnnotationPresent(AllowConcurrentEvents.class);
+            try {
+                method.setAccessible(true);
+                this.methodHandle = MethodHandles.lookup().unreflect(method).asType(DISPATCH_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(
+                        "Subscriber method '" + method + "' is not accessible", e);
+            }
+        }
+    }
+
+    /**
+     * A {@link SubscriberMethod} (or {@link EventListener}) bound to its owning object.
+     */
+    private static class Subscriber {
+
+        private final Object owner;
+        private final Class<?> eventType;
+        /**
+         * Of type <tt>(Object)void</tt>.
+         */
+        private final MethodHandle boundHandle;
+        private final boolean allowConcurrentEvents;
+
+        private Subscriber(final Object owner, final SubscriberMethod subscriberMethod) {
+            this(owner, subscriberMethod.eventType, subscriberMethod.methodHandle.bindTo(owner),
+                    subscriberMethod.allowConcurrentEvents);
+        }
+
+        private Subscriber(
+                final Object owner,
+                final Class<?> eventType,
+                final MethodHandle boundHandle,
+                final boolean allowConcurrentEvents) {
+            this.owner = owner;
+            this.eventType = eventType;
+            this.boundHandle = boundHandle;
+            this.allowConcurrentEvents = allowConcurrentEvents;
+        }
+
+        private void dispatch(final Object event) throws Throwable {
+            if(allowConcurrentEvents) {
+                boundHandle.invokeExact(event);
+            } else {
+                synchronized (this) {
+                    boundHandle.invokeExact(event);
+                }
+            }
+        }
+    }
+
+    private static class IndexedEventListener<T> implements EventBusImplementation.EventListener<T> {
+
+        /**
+         * Of type <tt>(IndexedEventListener, Object)void</tt>, to be bound to an instance.
+         */
+        private static final MethodHandle ON;
+        static {
+            try {
+                ON = MethodHandles.lookup()
+                        .findVirtual(IndexedEventListener.class, "accept", MethodType.methodType(void.class, Object.class))
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private final Consumer<T> eventConsumer;
+
+        private IndexedEventListener(final Consumer<T> eventConsumer) {
+            this.eventConsumer = Objects.requireNonNull(eventConsumer);
+        }
+
+        @Override
+        public void on(final T event) {
+            eventConsumer.accept(event);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void accept(final Object event) {
+            on((T) event);
+        }
+    }
+
+}
@@ -19,9 +19,12 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.jdo.Query;
 
+import com.google.common.collect.Lists;
+
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
@@ -38,24 +41,40 @@ public PersistenceQueryFindAllInstancesProcessor(final PersistenceSession4 persi
     }
 
     public List<ObjectAdapter> process(final PersistenceQueryFindAllInstances persistenceQuery) {
+        return loadAdapters(processPojos(persistenceQuery));
+    }
+
+    public List<?> processPojos(final PersistenceQueryFindAllInstances persistenceQuery) {
+        final Query jdoQuery = newJdoQuery(persistenceQuery);
+        try {
+            final List<?> pojos = (List<?>) jdoQuery.execute();
+            return Lists.newArrayList(pojos);
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
+    public Stream<ObjectAdapter> stream(final PersistenceQueryFindAllInstances persistenceQuery) {
+        final Query jdoQuery = newJdoQuery(persistenceQuery);
+        return streamAdapters(jdoQuery, Query::execute);
+    }
 
+    private Query newJdoQuery(final PersistenceQueryFindAllInstances persistenceQuery) {
         final ObjectSpecification specification = persistenceQuery.getSpecification();
-        
+
         Class<?> cls = specification.getCorrespondingClass();
         final Query jdoQuery = persistenceSession.newJdoQuery(cls);
-        
+
         // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
         jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
-        
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("allInstances(): class={}", specification.getFullIdentifier());
+
+        if(persistenceQuery.hasRange()) {
+            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
         }
 
-        try {
-            final List<?> pojos = (List<?>) jdoQuery.execute();
-            return loadAdapters(pojos);
-        } finally {
-            jdoQuery.closeAll();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("allInstances(): class={}", specification.getFullIdentifier());
         }
+        return jdoQuery;
     }
 }
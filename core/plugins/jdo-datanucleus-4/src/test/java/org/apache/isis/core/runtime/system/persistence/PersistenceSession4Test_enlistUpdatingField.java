@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import org.datanucleus.enhancement.Persistable;
+import org.jmock.Expectations;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceSession4Test_enlistUpdatingField extends PersistenceSession4TestAbstract {
+
+    private Persistable customer;
+
+    @Before
+    public void setUp() throws Exception {
+        customer = newEntity("customer", 1L);
+        allowingNoOtherFacets();
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).injectInto(customer);
+            allowing(mockServicesInjector).injectServicesInto(customer);
+        }});
+    }
+
+    @Test
+    public void ignored_unless_dirty_tracking() throws Exception {
+        // given
+        final PersistenceSession4 persistenceSession = newPersistenceSession();
+        loaded(persistenceSession, customer);
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockChangedObjectsServiceInternal);
+        }});
+
+        // when
+        persistenceSession.enlistUpdatingField(customer, "lastName");
+    }
+
+    @Test
+    public void enlists_the_modified_property() throws Exception {
+        // given
+        configuration.put(PersistenceSession.DIRTY_TRACKING_KEY, "true");
+        final PersistenceSession4 persistenceSession = newPersistenceSession();
+        final ObjectAdapter adapter = loaded(persistenceSession, customer);
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockChangedObjectsServiceInternal).enlistUpdating(adapter, "lastName");
+            oneOf(mockChangedObjectsServiceInternal).enlistUpdating(adapter, "firstName");
+        }});
+
+        // when
+        persistenceSession.enlistUpdatingField(customer, "lastName");
+        persistenceSession.enlistUpdatingField(customer, "firstName");
+    }
+
+    @Test
+    public void leaves_an_object_not_yet_adapted_to_be_captured_in_full() throws Exception {
+        // given
+        configuration.put(PersistenceSession.DIRTY_TRACKING_KEY, "true");
+        final PersistenceSession4 persistenceSession = newPersistenceSession();
+
+        // expect (only once the preDirty callback that follows maps it)
+        context.checking(new Expectations() {{
+            never(mockChangedObjectsServiceInternal).enlistUpdating(
+                    with(any(ObjectAdapter.class)), with(any(String.class)));
+
+            oneOf(mockChangedObjectsServiceInternal).isEnlisted(with(any(ObjectAdapter.class)));
+            will(returnValue(false));
+            oneOf(mockChangedObjectsServiceInternal).enlistUpdating(with(any(ObjectAdapter.class)));
+        }});
+
+        // when
+        persistenceSession.enlistUpdatingField(customer, "lastName");
+
+        // then
+        assertThat(persistenceSession.getAdapterFor(customer), is(nullValue()));
+
+        // and when
+        persistenceSession.enlistUpdatingAndInvokeIsisUpdatingCallback(customer);
+
+        // then
+        assertThat(persistenceSession.getAdapterFor(customer), is(notNullValue()));
+    }
+
+    /**
+     * As DN's post-load callback.
+     */
+    private static ObjectAdapter loaded(final PersistenceSession4 persistenceSession, final Persistable pojo) {
+        persistenceSession.initializeMapAndCheckConcurrency(pojo);
+        return persistenceSession.getAdapterFor(pojo);
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.jdo.FetchPlan;
+import javax.jdo.Query;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.system.persistence.PersistenceQuery;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession4;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceQueryProcessorAbstractTest_streamAdapters {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSession4 mockPersistenceSession;
+    @Mock
+    private Query mockQuery;
+    @Mock
+    private FetchPlan mockFetchPlan;
+    @Mock
+    private ObjectAdapter mockAdapter;
+
+    private final List<Object> pojos = Arrays.asList("p0", "p1", "p2", "p3", "p4", "p5", "p6");
+
+    private PersistenceQueryProcessorAbstract<PersistenceQuery> processor;
+
+    @Before
+    public void setUp() throws Exception {
+        processor = new PersistenceQueryProcessorAbstract<PersistenceQuery>(mockPersistenceSession) {
+            @Override
+            public List<ObjectAdapter> process(final PersistenceQuery query) {
+                throw new UnsupportedOperationException();
+            }
+            @Override
+            public List<?> processPojos(final PersistenceQuery query) {
+                throw new UnsupportedOperationException();
+            }
+            @Override
+            public Stream<ObjectAdapter> stream(final PersistenceQuery query) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        context.checking(new Expectations() {{
+            allowing(mockQuery).getFetchPlan();
+            will(returnValue(mockFetchPlan));
+
+            oneOf(mockFetchPlan).setFetchSize(FetchPlan.FETCH_SIZE_OPTIMAL);
+            oneOf(mockQuery).addExtension("datanucleus.query.resultCacheType", "none");
+
+            oneOf(mockQuery).execute();
+            will(returnValue(pojos));
+
+            allowing(mockPersistenceSession).adapterFor(with(any(Object.class)));
+            will(returnValue(mockAdapter));
+        }});
+    }
+
+    @Test
+    public void whenNoBatchSize_neverEvicts() throws Exception {
+        context.checking(new Expectations() {{
+            never(mockPersistenceSession).evictStreamed(with(any(List.class)));
+
+            oneOf(mockQuery).closeAll();
+        }});
+
+        try (final Stream<ObjectAdapter> adapters = processor.streamAdapters(mockQuery, Query::execute, 0)) {
+            assertThat(adapters.count(), is(7L));
+        }
+    }
+
+    @Test
+    public void whenBatchSize_evictsEveryBatchOfTraversedRows() throws Exception {
+        context.checking(new Expectations() {{
+            // on traversing the 4th and the 7th rows respectively
+            oneOf(mockPersistenceSession).evictStreamed(with(equal(Arrays.<Object>asList("p0", "p1", "p2"))));
+            oneOf(mockPersistenceSession).evictStreamed(with(equal(Arrays.<Object>asList("p3", "p4", "p5"))));
+
+            oneOf(mockQuery).closeAll();
+        }});
+
+        try (final Stream<ObjectAdapter> adapters = processor.streamAdapters(mockQuery, Query::execute, 3)) {
+            assertThat(adapters.collect(Collectors.toList()).size(), is(7));
+        }
+    }
+
+    @Test
+    public void evictsOnlyRowsActuallyTraversed() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).evictStreamed(with(equal(Arrays.<Object>asList("p0", "p1", "p2"))));
+
+            oneOf(mockQuery).closeAll();
+        }});
+
+        try (final Stream<ObjectAdapter> adapters = processor.streamAdapters(mockQuery, Query::execute, 3)) {
+            assertThat(adapters.limit(5).count(), is(5L));
+        }
+    }
+
+}
@@ -31,9 +31,11 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import javax.jdo.FetchGroup;
 import javax.jdo.FetchPlan;
+import javax.jdo.JDOHelper;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.identity.SingleFieldIdentity;
@@ -49,11 +51,13 @@
 import org.apache.isis.applib.services.command.Command;
 import org.apache.isis.applib.services.exceprecog.ExceptionRecognizer;
 import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.metrics.MetricsService.Phase;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.ensure.Assert;
 import org.apache.isis.core.commons.ensure.IsisAssertException;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.commons.factory.InstanceUtil;
+import org.apache.isis.core.commons.util.PhaseMetrics;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
 import org.apache.isis.core.metamodel.adapter.oid.Oid;
@@ -103,6 +107,7 @@
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByCriteria;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindUsingApplibQueryDefault;
 import org.apache.isis.core.runtime.services.RequestScopedService;
 import org.apache.isis.core.runtime.system.persistence.adaptermanager.OidAdapterHashMap;
@@ -112,9 +117,11 @@
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusBulkCommandExecutor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusCreateObjectCommand;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusDeleteObjectCommand;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindAllInstancesProcessor;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindByCriteriaProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindUsingApplibQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.spi.JdoObjectIdSerializer;
@@ -179,6 +186,9 @@ public void open() {
         persistenceQueryProcessorByClass.put(
                 PersistenceQueryFindUsingApplibQueryDefault.class,
                 new PersistenceQueryFindUsingApplibQueryProcessor(this));
+        persistenceQueryProcessorByClass.put(
+                PersistenceQueryFindByCriteria.class,
+                new PersistenceQueryFindByCriteriaProcessor(this));
 
         initServices();
 
@@ -394,6 +404,37 @@ public <T> List<ObjectAdapter> allMatchingQuery(final Query<T> query) {
         final ObjectAdapter instances = findInstancesInTransaction(query, QueryCardinality.MULTIPLE);
         return CollectionFacetUtils.convertToAdapterList(instances);
     }
+
+    /**
+     * Set while {@link #allPojosMatchingQuery(Query)} executes its query, so that the entities loaded are
+     * left unmapped by {@link #initializeMapAndCheckConcurrency(Persistable)}.
+     */
+    private boolean deferringAdapters;
+
+    @Override
+    public <T> List<T> allPojosMatchingQuery(final Query<T> query) {
+        if(!lazyAdapters) {
+            return ObjectAdapter.Util.unwrapT(allMatchingQuery(query));
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("findPojos using (applib) Query: {}", query);
+        }
+
+        final PersistenceQuery persistenceQuery = createPersistenceQueryFor(query, QueryCardinality.MULTIPLE);
+        final PersistenceQueryProcessor<? extends PersistenceQuery> processor = lookupProcessorFor(persistenceQuery);
+
+        final List<?> pojos = transactionManager.executeWithinTransaction(
+                new TransactionalClosureWithReturn<List<?>>() {
+                    @Override
+                    public List<?> execute() {
+                        return processPersistenceQueryPojos(processor, persistenceQuery);
+                    }
+                });
+        @SuppressWarnings("unchecked")
+        final List<T> typedPojos = (List<T>) pojos;
+        return typedPojos;
+    }
+
     @Override
     public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         final ObjectAdapter instances = findInstancesInTransaction(query, QueryCardinality.SINGLE);
@@ -401,6 +442,21 @@ public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         return list.size() > 0 ? list.get(0) : null;
     }
 
+    @Override
+    public <T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query) {
+        if(!transactionManager.inTransaction()) {
+            // the query's cursor cannot outlive the transaction that would be started to execute it
+            return allMatchingQuery(query).stream();
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("streamInstances using (applib) Query: {}", query);
+        }
+
+        final PersistenceQuery persistenceQuery = createPersistenceQueryFor(query, QueryCardinality.MULTIPLE);
+        final PersistenceQueryProcessor<? extends PersistenceQuery> processor = lookupProcessorFor(persistenceQuery);
+        return streamPersistenceQuery(processor, persistenceQuery);
+    }
+
     /**
      * Finds and returns instances that match the specified query.
      *
@@ -467,7 +523,50 @@ private PersistenceQueryProcessor<? extends PersistenceQuery> lookupProcessorFor
     private <Q extends PersistenceQuery> List<ObjectAdapter> processPersistenceQuery(
             final PersistenceQueryProcessor<Q> persistenceQueryProcessor,
             final PersistenceQuery persistenceQuery) {
-        return persistenceQueryProcessor.process((Q) persistenceQuery);
+        final long startedAt = PhaseMetrics.start();
+        try {
+            return persistenceQueryProcessor.process((Q) persistenceQuery);
+        } finally {
+            PhaseMetrics.stop(Phase.QUERY, startedAt);
+        }
+    }
+    @SuppressWarnings("unchecked")
+    private <Q extends PersistenceQuery> List<?> processPersistenceQueryPojos(
+            final PersistenceQueryProcessor<Q> persistenceQueryProcessor,
+            final PersistenceQuery persistenceQuery) {
+        final long startedAt = PhaseMetrics.start();
+        deferringAdapters = true;
+        try {
+            return persistenceQueryProcessor.processPojos((Q) persistenceQuery);
+        } finally {
+            deferringAdapters = false;
+            PhaseMetrics.stop(Phase.QUERY, startedAt);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <Q extends PersistenceQuery> Stream<ObjectAdapter> streamPersistenceQuery(
+            final PersistenceQueryProcessor<Q> persistenceQueryProcessor,
+            final PersistenceQuery persistenceQuery) {
+        return persistenceQueryProcessor.stream((Q) persistenceQuery);
+    }
+
+    /**
+     * Evicts pojos already traversed by a {@link #streamMatchingQuery(Query) streamed query} from the
+     * {@link PersistenceManager}, also discarding their adapters.  Any that are dirty are left untouched.
+     */
+    @Override
+    public void evictStreamed(final List<?> pojos) {
+        for (final Object pojo : pojos) {
+            if(!(pojo instanceof Persistable) || JDOHelper.isDirty(pojo)) {
+                continue;
+            }
+            final ObjectAdapter adapter = getAdapterFor(pojo);
+            if(adapter != null) {
+                removeAdapter(adapter);
+            }
+            persistenceManager.evict(pojo);
+        }
     }
 
     // -- createTransientInstance, createViewModelInstance
@@ -855,6 +954,19 @@ private ObjectAdapter mapPersistent(final Persistable pojo) {
         return adapter;
     }
 
+    /**
+     * As per {@link #mapPersistent(Persistable)}, but for a pojo whose adapter may have been
+     * {@link #allPojosMatchingQuery(Query) deferred}, so doing everything that would have been done had it been
+     * mapped when loaded (including its <tt>loaded()</tt> callback).
+     */
+    private ObjectAdapter mapLazilyLoaded(final Persistable pojo) {
+        if (persistenceManager.getObjectId(pojo) == null) {
+            return null;
+        }
+        mapAndCheckConcurrency(pojo);
+        return getAdapterFor(pojo);
+    }
+
 
     
 
@@ -1091,10 +1203,22 @@ public void execute(final List<PersistenceCommand> commands) {
 
     private void executeCommands(final List<PersistenceCommand> commands) {
 
-        for (final PersistenceCommand command : commands) {
-            command.execute(null);
+        final long startedAt = System.nanoTime();
+        final int batches;
+        if(bulkPersistence) {
+            batches = new DataNucleusBulkCommandExecutor(persistenceManager).executeAndFlush(commands);
+        } else {
+            for (final PersistenceCommand command : commands) {
+                command.execute(null);
+            }
+            persistenceManager.flush();
+            batches = commands.size();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("flushed {} command(s) as {} batch(es) in {}ms",
+                    commands.size(), batches, (System.nanoTime() - startedAt) / 1_000_000);
         }
-        persistenceManager.flush();
     }
     
 
@@ -1152,7 +1276,9 @@ private ObjectAdapter existingOrValueAdapter(Object pojo) {
 
         // pojo may have been lazily loaded by object store, but we haven't yet seen it
         if (pojo instanceof Persistable) {
-            adapter = mapPersistent((Persistable) pojo);
+            adapter = lazyAdapters
+                    ? mapLazilyLoaded((Persistable) pojo)
+                    : mapPersistent((Persistable) pojo);
 
             // TODO: could return null if the pojo passed in !dnIsPersistent() || !dnIsDetached()
             // in which case, we would ought to map as a transient object, rather than fall through and treat as a value?
@@ -1493,9 +1619,13 @@ public ObjectAdapter adapterFor(final Object pojo) {
             return existingOrValueAdapter;
         }
 
-        final ObjectAdapter newAdapter = createTransientOrViewModelRootAdapter(pojo);
-
-        return mapAndInjectServices(newAdapter);
+        final long startedAt = PhaseMetrics.start();
+        try {
+            final ObjectAdapter newAdapter = createTransientOrViewModelRootAdapter(pojo);
+            return mapAndInjectServices(newAdapter);
+        } finally {
+            PhaseMetrics.stop(Phase.ADAPTER_MAPPING, startedAt);
+        }
     }
 
     /**
@@ -1875,6 +2005,25 @@ public void enlistDeletingAndInvokeIsisRemovingCallbackFacet(final Persistable p
 
     @Override
     public void initializeMapAndCheckConcurrency(final Persistable pojo) {
+        if(deferringAdapters && getAdapterFor(pojo) == null) {
+            // mapped only if and when required, by existingOrValueAdapter(...);
+            // but the pojo is handed back directly, so needs its services now
+            servicesInjector.injectInto(pojo);
+            return;
+        }
+        mapAndCheckConcurrency(pojo);
+    }
+
+    private void mapAndCheckConcurrency(final Persistable pojo) {
+        final long startedAt = PhaseMetrics.start();
+        try {
+            doInitializeMapAndCheckConcurrency(pojo);
+        } finally {
+            PhaseMetrics.stop(Phase.ADAPTER_MAPPING, startedAt);
+        }
+    }
+
+    private void doInitializeMapAndCheckConcurrency(final Persistable pojo) {
         final Persistable pc = pojo;
 
         // need to do eagerly, because (if a viewModel then) a
@@ -2067,6 +2216,24 @@ public void enlistCreatedAndRemapIfRequiredThenInvokeIsisInvokePersistingOrUpdat
         adapter.setVersion(versionIfAny);
     }
 
+    @Override
+    public void enlistUpdatingField(final Object pojo, final String fieldName) {
+        if(!dirtyTracking) {
+            return;
+        }
+        final ObjectAdapter adapter = getAdapterFor(pojo);
+        if (adapter == null) {
+            // not yet adapted, so not yet dirtied either; rather than mapping it here (part way through the
+            // write of the field), leave it to enlistUpdatingAndInvokeIsisUpdatingCallback(...), below, which
+            // DN calls next (before the field is written) and which maps it and captures all of its properties.
+            return;
+        }
+        if (adapter.isTransient()) {
+            return;
+        }
+        changedObjectsServiceInternal.enlistUpdating(adapter, fieldName);
+    }
+
     @Override
     public void enlistUpdatingAndInvokeIsisUpdatingCallback(final Persistable pojo) {
         ObjectAdapter adapter = getAdapterFor(pojo);
@@ -2077,8 +2244,12 @@ public void enlistUpdatingAndInvokeIsisUpdatingCallback(final Persistable pojo)
 
             // it seems reasonable in this case to simply map into Isis here ("just-in-time"); presumably
             // DN would not be calling this callback if the pojo was not persistent.
+            //
+            // (if adapters are lazy, then it may have been deferred, so is mapped as if just loaded)
 
-            adapter = mapPersistent(pojo);
+            adapter = lazyAdapters
+                    ? mapLazilyLoaded(pojo)
+                    : mapPersistent(pojo);
             if (adapter == null) {
                 throw new RuntimeException(
                         "DN could not find objectId for pojo (unexpected) and so could not map into Isis; pojo=["
@@ -23,12 +23,14 @@
 import org.datanucleus.cache.CachedPC;
 import org.datanucleus.enhancement.Persistable;
 import org.datanucleus.metadata.AbstractClassMetaData;
+import org.datanucleus.state.LifeCycleState;
 import org.datanucleus.state.ReferentialStateManagerImpl;
 import org.datanucleus.store.FieldValues;
 import org.datanucleus.store.fieldmanager.FieldManager;
 
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.session.IsisSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
 public class JDOStateManagerForIsis extends ReferentialStateManagerImpl {
@@ -201,6 +203,31 @@ public void replaceNonLoadedFields(int fieldNumbers[], FieldManager fm) {
         }
     }
 
+    /**
+     * Reports the field that is about to be modified to the persistence session, which (if dirty tracking is enabled)
+     * captures the pre-modification value of just that property for auditing and publishing.
+     */
+    @Override
+    protected void updateField(Persistable pc, int fieldNumber, Object value) {
+        if(isStored(myLC)) {
+            final IsisSession isisSession = getSessionFactory().getCurrentSession();
+            if(isisSession != null) {
+                final String fieldName = cmd.getMetaDataForManagedMemberAtAbsolutePosition(fieldNumber).getName();
+                isisSession.getPersistenceSession().enlistUpdatingField(pc, fieldName);
+            }
+        }
+        super.updateField(pc, fieldNumber, value);
+    }
+
+    /**
+     * Whether an object in this state is already in the datastore, and is not being deleted; only the fields of
+     * such objects are {@link #updateField(Persistable, int, Object) reported} as updates.
+     */
+    static boolean isStored(final LifeCycleState lifeCycleState) {
+        return lifeCycleState != null &&
+                lifeCycleState.isPersistent() && !lifeCycleState.isNew() && !lifeCycleState.isDeleted();
+    }
+
     public void postCommit(org.datanucleus.Transaction tx) {
         final Hint previous = hint.get();
         try {
@@ -0,0 +1,87 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.jdo.Query;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByCriteria;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession5;
+
+public class PersistenceQueryFindByCriteriaProcessor extends PersistenceQueryProcessorAbstract<PersistenceQueryFindByCriteria> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistenceQueryFindByCriteriaProcessor.class);
+
+    public PersistenceQueryFindByCriteriaProcessor(final PersistenceSession5 persistenceSession) {
+        super(persistenceSession);
+    }
+
+    public List<ObjectAdapter> process(final PersistenceQueryFindByCriteria persistenceQuery) {
+        return loadAdapters(processPojos(persistenceQuery));
+    }
+
+    public List<?> processPojos(final PersistenceQueryFindByCriteria persistenceQuery) {
+        final JdoqlFilter jdoqlFilter = compile(persistenceQuery);
+        final Query<?> jdoQuery = newJdoQuery(persistenceQuery, jdoqlFilter);
+        try {
+            final List<?> pojos = (List<?>) jdoQuery.executeWithMap(jdoqlFilter.getParametersByName());
+            return Lists.newArrayList(pojos);
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
+    public Stream<ObjectAdapter> stream(final PersistenceQueryFindByCriteria persistenceQuery) {
+        final JdoqlFilter jdoqlFilter = compile(persistenceQuery);
+        final Query<?> jdoQuery = newJdoQuery(persistenceQuery, jdoqlFilter);
+        return streamAdapters(jdoQuery, query -> query.executeWithMap(jdoqlFilter.getParametersByName()));
+    }
+
+    private static JdoqlFilter compile(final PersistenceQueryFindByCriteria persistenceQuery) {
+        return JdoqlFilter.compile(persistenceQuery.getSpecification(), persistenceQuery.getCriteria());
+    }
+
+    private Query<?> newJdoQuery(final PersistenceQueryFindByCriteria persistenceQuery, final JdoqlFilter jdoqlFilter) {
+        final ObjectSpecification specification = persistenceQuery.getSpecification();
+
+        final Class<?> cls = specification.getCorrespondingClass();
+        final Query<?> jdoQuery = persistenceSession.newJdoQuery(cls, jdoqlFilter.getFilter());
+
+        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
+        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
+
+        if(persistenceQuery.hasRange()) {
+            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{} ( {} ) {}", cls.getName(), jdoqlFilter.getFilter(), jdoqlFilter.getParametersByName());
+        }
+        return jdoQuery;
+    }
+}
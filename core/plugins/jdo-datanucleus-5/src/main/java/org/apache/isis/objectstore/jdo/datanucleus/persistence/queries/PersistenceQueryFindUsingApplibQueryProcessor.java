@@ -21,6 +21,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.jdo.Query;
 
@@ -47,6 +48,10 @@ public PersistenceQueryFindUsingApplibQueryProcessor(final PersistenceSession5 p
     }
 
     public List<ObjectAdapter> process(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
+        return loadAdapters(processPojos(persistenceQuery));
+    }
+
+    public List<?> processPojos(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
         final String queryName = persistenceQuery.getQueryName();
         final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
         
@@ -56,8 +61,22 @@ public List<ObjectAdapter> process(final PersistenceQueryFindUsingApplibQueryDef
         } else {
             results = getResults(persistenceQuery);
         }
-        
-        return loadAdapters(results);
+        return results;
+    }
+
+    public Stream<ObjectAdapter> stream(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
+        final String queryName = persistenceQuery.getQueryName();
+        final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
+
+        if((objectSpec.getFullIdentifier() + "#pk").equals(queryName)) {
+            // at most one instance
+            return process(persistenceQuery).stream();
+        }
+
+        final Map<String, Object> argumentsByParameterName = unwrap(
+                persistenceQuery.getArgumentsAdaptersByParameterName());
+        final Query<?> jdoQuery = newJdoNamedQuery(persistenceQuery, argumentsByParameterName);
+        return streamAdapters(jdoQuery, query -> query.executeWithMap(argumentsByParameterName));
     }
 
     // special case handling
@@ -92,27 +111,12 @@ private List<?> getResultsPk(final PersistenceQueryFindUsingApplibQueryDefault p
     }
 
     private List<?> getResults(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
-        
-        final String queryName = persistenceQuery.getQueryName();
+
         final Map<String, Object> argumentsByParameterName = unwrap(
                 persistenceQuery.getArgumentsAdaptersByParameterName());
         final QueryCardinality cardinality = persistenceQuery.getCardinality();
-        final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
+        final Query<?> jdoQuery = newJdoNamedQuery(persistenceQuery, argumentsByParameterName);
 
-        final Class<?> cls = objectSpec.getCorrespondingClass();
-        final Query<?> jdoQuery = persistenceSession.newJdoNamedQuery(cls, queryName);
-        
-        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
-        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
-        
-        if(persistenceQuery.hasRange()) {
-            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
-        }
-        
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("{} # {} ( {} )", cls.getName(), queryName, argumentsByParameterName);
-        }
-        
         try {
             final List<?> results = (List<?>) jdoQuery.executeWithMap(argumentsByParameterName);
             if(results == null) {
@@ -128,6 +132,29 @@ private List<?> getResults(final PersistenceQueryFindUsingApplibQueryDefault per
         }
     }
 
+    private Query<?> newJdoNamedQuery(
+            final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery,
+            final Map<String, Object> argumentsByParameterName) {
+
+        final String queryName = persistenceQuery.getQueryName();
+        final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
+
+        final Class<?> cls = objectSpec.getCorrespondingClass();
+        final Query<?> jdoQuery = persistenceSession.newJdoNamedQuery(cls, queryName);
+
+        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
+        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
+
+        if(persistenceQuery.hasRange()) {
+            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{} # {} ( {} )", cls.getName(), queryName, argumentsByParameterName);
+        }
+        return jdoQuery;
+    }
+
     private List<?> firstIfAnyOf(final List<?> results) {
         return results.isEmpty()
                 ? Collections.emptyList()
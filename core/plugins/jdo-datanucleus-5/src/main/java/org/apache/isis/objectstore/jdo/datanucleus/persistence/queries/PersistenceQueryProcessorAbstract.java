@@ -18,8 +18,16 @@
  */
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import javax.jdo.FetchPlan;
+import javax.jdo.Query;
 import javax.jdo.listener.InstanceLifecycleEvent;
 
 import org.apache.isis.core.commons.ensure.Assert;
@@ -50,22 +58,80 @@ protected PersistenceQueryProcessorAbstract(final PersistenceSession5 persistenc
     protected List<ObjectAdapter> loadAdapters(final List<?> pojos) {
         final List<ObjectAdapter> adapters = Lists.newArrayList();
         for (final Object pojo : pojos) {
-        	// ought not to be necessary, however for some queries it seems that the 
-        	// lifecycle listener is not called
-            ObjectAdapter adapter;
-            if(pojo instanceof Persistable) {
-                // an entity
-                persistenceSession.initializeMapAndCheckConcurrency((Persistable) pojo);
-                adapter = persistenceSession.getAdapterFor(pojo);
-            } else {
-                // a value type
-                adapter = persistenceSession.adapterFor(pojo);
-            }
-            Assert.assertNotNull(adapter);
-            adapters.add(adapter);
+            adapters.add(loadAdapter(pojo));
         }
         return adapters;
     }
 
+    private ObjectAdapter loadAdapter(final Object pojo) {
+        // ought not to be necessary, however for some queries it seems that the
+        // lifecycle listener is not called
+        ObjectAdapter adapter;
+        if(pojo instanceof Persistable) {
+            // an entity
+            persistenceSession.initializeMapAndCheckConcurrency((Persistable) pojo);
+            adapter = persistenceSession.getAdapterFor(pojo);
+        } else {
+            // a value type
+            adapter = persistenceSession.adapterFor(pojo);
+        }
+        Assert.assertNotNull(adapter);
+        return adapter;
+    }
+
+    /**
+     * Executes the provided query, traversing its results lazily (as a cursor) and only
+     * {@link #loadAdapter(Object) loading} each adapter as the returned {@link Stream} is consumed.
+     *
+     * <p>
+     * If {@link PersistenceSession5#getStreamEvictBatchSize() configured}, pojos already traversed are
+     * {@link PersistenceSession5#evictStreamed(List) evicted} in batches, each as the stream advances past it.
+     * Any still held on to by the consumer are then hollow (and their adapters discarded), so are re-fetched on
+     * next access.  Closing the stream closes the query.
+     */
+    protected Stream<ObjectAdapter> streamAdapters(
+            final Query<?> jdoQuery,
+            final Function<Query<?>, Object> execution) {
+        return streamAdapters(jdoQuery, execution, persistenceSession.getStreamEvictBatchSize());
+    }
+
+    Stream<ObjectAdapter> streamAdapters(
+            final Query<?> jdoQuery,
+            final Function<Query<?>, Object> execution,
+            final int evictBatchSize) {
+
+        // don't load the results up-front, nor retain those already traversed
+        jdoQuery.getFetchPlan().setFetchSize(FetchPlan.FETCH_SIZE_OPTIMAL);
+        jdoQuery.addExtension("datanucleus.query.resultCacheType", "none");
+
+        final Collection<?> pojos;
+        try {
+            pojos = (Collection<?>) execution.apply(jdoQuery);
+        } catch (final RuntimeException ex) {
+            jdoQuery.closeAll();
+            throw ex;
+        }
+        if(pojos == null) {
+            jdoQuery.closeAll();
+            return Stream.empty();
+        }
+
+        final List<Object> traversed = Lists.newArrayList();
+
+        final Spliterator<?> spliterator = Spliterators.spliteratorUnknownSize(pojos.iterator(), Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false)
+                .map(pojo -> {
+                    if(evictBatchSize > 0) {
+                        if(traversed.size() >= evictBatchSize) {
+                            persistenceSession.evictStreamed(traversed);
+                            traversed.clear();
+                        }
+                        traversed.add(pojo);
+                    }
+                    return loadAdapter(pojo);
+                })
+                .onClose(jdoQuery::closeAll);
+    }
+
 
 }
@@ -0,0 +1,199 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.function.Supplier;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.PersistenceManagerFactory;
+import javax.jdo.identity.LongIdentity;
+
+import org.datanucleus.enhancement.Persistable;
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.command.CommandContext;
+import org.apache.isis.applib.services.command.spi.CommandService;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.factory.FactoryService;
+import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.metrics.MetricsService;
+import org.apache.isis.applib.services.user.UserService;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facets.object.viewmodel.ViewModelFacet;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+/**
+ * A {@link PersistenceSession5} (not opened) using mock services and a mock {@link PersistenceManager}; every entity
+ * is of the same (mock) {@link ObjectSpecification}.
+ */
+public abstract class PersistenceSession5TestAbstract {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    protected ServicesInjector mockServicesInjector;
+    @Mock
+    protected SpecificationLoader mockSpecificationLoader;
+    @Mock
+    protected ObjectSpecification mockSpecification;
+    @Mock
+    protected AuthenticationSession mockAuthenticationSession;
+    @Mock
+    protected PersistenceManagerFactory mockPersistenceManagerFactory;
+    @Mock
+    protected PersistenceManager mockPersistenceManager;
+    @Mock
+    protected ChangedObjectsServiceInternal mockChangedObjectsServiceInternal;
+
+    @Mock
+    private CommandContext mockCommandContext;
+    @Mock
+    private CommandService mockCommandService;
+    @Mock
+    private InteractionContext mockInteractionContext;
+    @Mock
+    private EventBusService mockEventBusService;
+    @Mock
+    private MetricsService mockMetricsService;
+    @Mock
+    private FactoryService mockFactoryService;
+    @Mock
+    private ClockService mockClockService;
+    @Mock
+    private UserService mockUserService;
+
+    protected final IsisConfigurationDefault configuration = new IsisConfigurationDefault();
+
+    @Before
+    public void setUpServicesAndSpecification() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).getConfigurationServiceInternal();
+            will(returnValue(configuration));
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+
+            allowing(mockServicesInjector).lookupService(CommandContext.class);
+            will(returnValue(mockCommandContext));
+            allowing(mockServicesInjector).lookupService(CommandService.class);
+            will(returnValue(mockCommandService));
+            allowing(mockServicesInjector).lookupService(InteractionContext.class);
+            will(returnValue(mockInteractionContext));
+            allowing(mockServicesInjector).lookupService(EventBusService.class);
+            will(returnValue(mockEventBusService));
+            allowing(mockServicesInjector).lookupService(ChangedObjectsServiceInternal.class);
+            will(returnValue(mockChangedObjectsServiceInternal));
+            allowing(mockServicesInjector).lookupService(MetricsService.class);
+            will(returnValue(mockMetricsService));
+            allowing(mockServicesInjector).lookupService(FactoryService.class);
+            will(returnValue(mockFactoryService));
+            allowing(mockServicesInjector).lookupService(ClockService.class);
+            will(returnValue(mockClockService));
+            allowing(mockServicesInjector).lookupService(UserService.class);
+            will(returnValue(mockUserService));
+            allowing(mockServicesInjector).lookupServiceElseFail(CommandContext.class);
+            will(returnValue(mockCommandContext));
+            allowing(mockServicesInjector).lookupServiceElseFail(InteractionContext.class);
+            will(returnValue(mockInteractionContext));
+
+            allowing(mockSpecificationLoader).loadSpecification(with(any(Class.class)));
+            will(returnValue(mockSpecification));
+
+            allowing(mockSpecification).getSpecId();
+            will(returnValue(ObjectSpecId.of("CUS")));
+            allowing(mockSpecification).isService();
+            will(returnValue(false));
+            allowing(mockSpecification).isViewModel();
+            will(returnValue(false));
+            allowing(mockSpecification).isImmutable();
+            will(returnValue(false));
+            allowing(mockSpecification).containsDoOpFacet(ViewModelFacet.class);
+            will(returnValue(false));
+        }});
+    }
+
+    protected PersistenceSession5 newPersistenceSession() {
+        final PersistenceSession5 persistenceSession = new PersistenceSession5(
+                mockServicesInjector, mockAuthenticationSession, mockPersistenceManagerFactory, null);
+        persistenceSession.persistenceManager = mockPersistenceManager;
+        return persistenceSession;
+    }
+
+    /**
+     * Any facets not {@link #allowingFacet(Class, Facet) allowed} explicitly are missing.
+     */
+    protected void allowingNoOtherFacets() {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getFacet(with(any(Class.class)));
+            will(returnValue(null));
+        }});
+    }
+
+    protected <T extends Facet> void allowingFacet(final Class<T> facetType, final T facet) {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getFacet(facetType);
+            will(returnValue(facet));
+        }});
+    }
+
+    /**
+     * An entity already in the datastore, with the provided (datastore) identity.
+     */
+    protected Persistable newEntity(final String name, final long id) {
+        return newEntity(name, id, () -> null);
+    }
+
+    /**
+     * As per {@link #newEntity(String, long)}, with its (datastore) version as currently provided.
+     */
+    protected Persistable newEntity(final String name, final long id, final Supplier<Object> version) {
+        final Persistable pojo = context.mock(Persistable.class, name);
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceManager).getObjectId(pojo);
+            will(returnValue(new LongIdentity(Object.class, id)));
+            allowing(pojo).dnIsPersistent();
+            will(returnValue(true));
+            allowing(pojo).dnIsDeleted();
+            will(returnValue(false));
+            allowing(pojo).dnGetVersion();
+            will(new CustomAction("current version") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return version.get();
+                }
+            });
+        }});
+        return pojo;
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.datanucleus.enhancement.Persistable;
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.query.QueryFindAllInstances;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.version.ConcurrencyException;
+import org.apache.isis.core.metamodel.facets.object.callbacks.LoadedCallbackFacet;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryProcessor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceSession5Test_lazyAdapters extends PersistenceSession5TestAbstract {
+
+    @Mock
+    private IsisTransactionManager mockTransactionManager;
+    @Mock
+    private IsisTransaction mockTransaction;
+    @Mock
+    private PersistenceQueryProcessor<PersistenceQueryFindAllInstances> mockQueryProcessor;
+    @Mock
+    private LoadedCallbackFacet mockLoadedCallbackFacet;
+
+    private Long customerVersion = 1L;
+    private Persistable customer;
+    private PersistenceSession5 persistenceSession;
+
+    @Before
+    public void setUp() throws Exception {
+        customer = newEntity("customer", 1L, () -> customerVersion);
+        allowingFacet(LoadedCallbackFacet.class, mockLoadedCallbackFacet);
+        allowingNoOtherFacets();
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).injectServicesInto(customer);
+            allowing(mockAuthenticationSession).getUserName();
+            will(returnValue("sven"));
+
+            allowing(mockTransactionManager).executeWithinTransaction(with(any(TransactionalClosureWithReturn.class)));
+            will(new CustomAction("execute within transaction") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return ((TransactionalClosureWithReturn<?>) invocation.getParameter(0)).execute();
+                }
+            });
+            allowing(mockTransactionManager).getCurrentTransaction();
+            will(returnValue(mockTransaction));
+
+            // as DN, firing the post-load callback for each entity as it is loaded
+            allowing(mockQueryProcessor).processPojos(with(any(PersistenceQueryFindAllInstances.class)));
+            will(new CustomAction("load customer") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    persistenceSession.initializeMapAndCheckConcurrency(customer);
+                    return Collections.singletonList(customer);
+                }
+            });
+        }});
+
+        configuration.put(PersistenceSession.LAZY_ADAPTERS_KEY, "true");
+        persistenceSession = newPersistenceSession();
+        persistenceSession.transactionManager = mockTransactionManager;
+        persistenceSession.persistenceQueryProcessorByClass.put(PersistenceQueryFindAllInstances.class, mockQueryProcessor);
+    }
+
+    @Test
+    public void entities_queried_are_returned_unmapped_but_with_services_injected() throws Exception {
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockServicesInjector).injectInto(customer);
+            never(mockLoadedCallbackFacet);
+        }});
+
+        // when
+        final List<Object> pojos = allCustomers();
+
+        // then
+        assertThat(pojos, is(Collections.<Object>singletonList(customer)));
+        assertThat(persistenceSession.getAdapterFor(customer), is(nullValue()));
+    }
+
+    @Test
+    public void adapter_and_loaded_callback_are_created_when_first_required() throws Exception {
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).injectInto(customer);
+        }});
+        allCustomers();
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockLoadedCallbackFacet).invoke(with(any(ObjectAdapter.class)));
+        }});
+
+        // when
+        final ObjectAdapter adapter = persistenceSession.adapterFor(customer);
+
+        // then
+        assertThat(adapter, is(notNullValue()));
+        assertThat(adapter.getObject(), is(sameInstance((Object) customer)));
+        assertThat(adapter.getVersion().getSequence(), is(1L));
+
+        // and when required again, then reused (and no further callback)
+        assertThat(persistenceSession.adapterFor(customer), is(sameInstance(adapter)));
+    }
+
+    @Test
+    public void entities_first_seen_when_modified_are_mapped_as_if_loaded() throws Exception {
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).injectInto(customer);
+        }});
+        allCustomers();
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockLoadedCallbackFacet).invoke(with(any(ObjectAdapter.class)));
+
+            oneOf(mockChangedObjectsServiceInternal).isEnlisted(with(any(ObjectAdapter.class)));
+            will(returnValue(false));
+            oneOf(mockChangedObjectsServiceInternal).enlistUpdating(with(any(ObjectAdapter.class)));
+        }});
+
+        // when
+        persistenceSession.enlistUpdatingAndInvokeIsisUpdatingCallback(customer);
+
+        // then
+        assertThat(persistenceSession.getAdapterFor(customer), is(notNullValue()));
+    }
+
+    @Test
+    public void entities_already_mapped_are_checked_for_concurrent_modification() throws Exception {
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).injectInto(customer);
+            allowing(mockLoadedCallbackFacet).invoke(with(any(ObjectAdapter.class)));
+        }});
+        persistenceSession.initializeMapAndCheckConcurrency(customer);
+        final ObjectAdapter adapter = persistenceSession.getAdapterFor(customer);
+
+        // and given modified (and so version incremented) elsewhere
+        customerVersion = 2L;
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockTransaction).setAbortCause(with(any(ConcurrencyException.class)));
+        }});
+
+        // when
+        allCustomers();
+
+        // then
+        assertThat(persistenceSession.getAdapterFor(customer), is(sameInstance(adapter)));
+        assertThat(adapter.getVersion().getSequence(), is(2L));
+    }
+
+    private List<Object> allCustomers() {
+        return persistenceSession.allPojosMatchingQuery(new QueryFindAllInstances<>(Object.class));
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus;
+
+import org.datanucleus.api.jdo.JDOAdapter;
+import org.datanucleus.state.LifeCycleState;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class JDOStateManagerForIsisTest_isStored {
+
+    private final JDOAdapter apiAdapter = new JDOAdapter();
+
+    @Test
+    public void updates_are_reported_for_objects_already_stored() throws Exception {
+        assertThat(isStored(LifeCycleState.P_CLEAN), is(true));
+        assertThat(isStored(LifeCycleState.P_DIRTY), is(true));
+        assertThat(isStored(LifeCycleState.HOLLOW), is(true));
+        assertThat(isStored(LifeCycleState.P_NONTRANS), is(true));
+    }
+
+    @Test
+    public void but_not_for_objects_being_created_or_deleted() throws Exception {
+        assertThat(isStored(LifeCycleState.TRANSIENT), is(false));
+        assertThat(isStored(LifeCycleState.P_NEW), is(false));
+        assertThat(isStored(LifeCycleState.P_DELETED), is(false));
+        assertThat(isStored(LifeCycleState.P_NEW_DELETED), is(false));
+        assertThat(JDOStateManagerForIsis.isStored(null), is(false));
+    }
+
+    private boolean isStored(final int lifeCycleStateType) {
+        return JDOStateManagerForIsis.isStored(apiAdapter.getLifeCycleState(lifeCycleStateType));
+    }
+
+}
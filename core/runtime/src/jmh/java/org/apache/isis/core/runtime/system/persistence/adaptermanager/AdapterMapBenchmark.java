@@ -0,0 +1,169 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Maps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+
+/**
+ * Compares the throughput of mapping, looking up and unmapping the adapters of a collection of loaded objects,
+ * using the adapter maps against the (previous) {@link java.util.HashMap}-based implementations.
+ *
+ * <p>
+ *     Run using <tt>mvn -Pjmh test-compile exec:java</tt>; each operation is for the whole collection, so
+ *     <tt>-prof gc</tt> shows the allocation per collection.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterMapBenchmark {
+
+    /**
+     * The previous implementations: a {@link java.util.HashMap} keyed by a wrapper of each pojo (for identity) and
+     * a {@link java.util.HashMap} keyed by {@link Oid}.
+     */
+    static class HashMapAdapterMaps {
+
+        private static class IdentityHashKey {
+            private final Object pojo;
+
+            IdentityHashKey(final Object pojo) {
+                this.pojo = pojo;
+            }
+
+            @Override
+            public int hashCode() {
+                return System.identityHashCode(pojo);
+            }
+
+            @Override
+            public boolean equals(final Object obj) {
+                return obj == this || (obj instanceof IdentityHashKey && ((IdentityHashKey) obj).pojo == pojo);
+            }
+        }
+
+        private final Map<Object, ObjectAdapter> adapterByPojo = Maps.newHashMapWithExpectedSize(100);
+        private final Map<Oid, ObjectAdapter> adapterByOid = Maps.newHashMapWithExpectedSize(100);
+    }
+
+    @Param({"hashMap", "openAddressing"})
+    public String implementation;
+
+    @Param({"100", "10000"})
+    public int collectionSize;
+
+    private Object[] pojos;
+    private Oid[] oids;
+    private ObjectAdapter[] adapters;
+
+    @Setup
+    public void setUp() {
+        pojos = new Object[collectionSize];
+        oids = new Oid[collectionSize];
+        adapters = new ObjectAdapter[collectionSize];
+        for (int i = 0; i < collectionSize; i++) {
+            final Object pojo = new Object();
+            pojos[i] = pojo;
+            oids[i] = RootOid.create(ObjectSpecId.of("CUS"), "" + i);
+            adapters[i] = (ObjectAdapter) Proxy.newProxyInstance(
+                    ObjectAdapter.class.getClassLoader(), new Class<?>[] { ObjectAdapter.class },
+                    (proxy, method, args) ->
+                            method.getName().equals("getObject") ? pojo
+                          : method.getName().equals("hashCode") ? System.identityHashCode(proxy)
+                          : null);
+        }
+    }
+
+    /**
+     * Maps the adapter of every object (as when loading a collection), looks each up twice by pojo and once by
+     * oid (as the persistence session does), then unmaps them all.
+     */
+    @Benchmark
+    public void mapLookupUnmap(final Blackhole blackhole) {
+        if(implementation.equals("hashMap")) {
+            final HashMapAdapterMaps maps = new HashMapAdapterMaps();
+            for (int i = 0; i < collectionSize; i++) {
+                maps.adapterByPojo.put(new HashMapAdapterMaps.IdentityHashKey(pojos[i]), adapters[i]);
+                maps.adapterByOid.put(oids[i], adapters[i]);
+            }
+            for (int i = 0; i < collectionSize; i++) {
+                blackhole.consume(maps.adapterByPojo.get(new HashMapAdapterMaps.IdentityHashKey(pojos[i])));
+                blackhole.consume(maps.adapterByPojo.get(new HashMapAdapterMaps.IdentityHashKey(pojos[i])));
+                blackhole.consume(maps.adapterByOid.get(oids[i]));
+            }
+            for (int i = 0; i < collectionSize; i++) {
+                maps.adapterByOid.remove(oids[i]);
+                maps.adapterByPojo.remove(new HashMapAdapterMaps.IdentityHashKey(adapters[i].getObject()));
+            }
+        } else {
+            final PojoAdapterHashMap pojoAdapterMap = new PojoAdapterHashMap();
+            final OidAdapterHashMap oidAdapterMap = new OidAdapterHashMap();
+            for (int i = 0; i < collectionSize; i++) {
+                pojoAdapterMap.add(pojos[i], adapters[i]);
+                oidAdapterMap.add(oids[i], adapters[i]);
+            }
+            for (int i = 0; i < collectionSize; i++) {
+                blackhole.consume(pojoAdapterMap.getAdapter(pojos[i]));
+                blackhole.consume(pojoAdapterMap.getAdapter(pojos[i]));
+                blackhole.consume(oidAdapterMap.getAdapter(oids[i]));
+            }
+            for (int i = 0; i < collectionSize; i++) {
+                oidAdapterMap.remove(oids[i]);
+                pojoAdapterMap.remove(adapters[i]);
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AdapterMapBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+
+}
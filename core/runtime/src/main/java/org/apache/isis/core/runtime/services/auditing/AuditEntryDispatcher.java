@@ -0,0 +1,266 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.services.audit.AuditEntry;
+
+/**
+ * Delivers {@link AuditEntry audit entries} in batches from a background thread, having been
+ * {@link #enqueue(List) enqueued} (by {@link AuditingServiceInternal}) once their transaction has committed.
+ *
+ * <p>
+ *     The queue is bounded; once full, the {@link OverflowPolicy} determines whether the committing thread waits
+ *     for space or whether the entries are dropped.
+ * </p>
+ */
+class AuditEntryDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditEntryDispatcher.class);
+
+    /**
+     * How often a committing thread waiting for space in the queue checks that the worker is still alive.
+     */
+    private static final long WORKER_CHECK_INTERVAL_MILLIS = 100L;
+
+    public enum OverflowPolicy {
+        /**
+         * The committing thread waits until there is space in the queue (back-pressure).
+         */
+        BLOCK,
+        /**
+         * Entries that do not fit in the queue are discarded (and {@link #getDropped() counted}).
+         */
+        DROP
+    }
+
+    /**
+     * An entry along with the time it was enqueued, to measure delivery latency.
+     */
+    private static class Pending {
+        private final AuditEntry auditEntry;
+        private final long enqueuedAtNanos;
+        private Pending(final AuditEntry auditEntry, final long enqueuedAtNanos) {
+            this.auditEntry = auditEntry;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+
+    private final BlockingQueue<Pending> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<List<AuditEntry>> delivery;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    /**
+     * Held (shared) by {@link #enqueue(List)} for as long as it is adding to the queue, and (exclusively) by
+     * {@link #shutdown(long)} while stopping; so an enqueue either completes before the worker is told to stop (and
+     * its entries are delivered by the worker) or starts afterwards (and delivers on the caller's thread).
+     */
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    AuditEntryDispatcher(
+            final int queueCapacity,
+            final int batchSize,
+            final OverflowPolicy overflowPolicy,
+            final Consumer<List<AuditEntry>> delivery) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.delivery = delivery;
+        this.worker = new Thread(this::run, "isis-audit-dispatcher");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    // -- enqueue
+
+    void enqueue(final List<AuditEntry> auditEntries) {
+        runningLock.readLock().lock();
+        try {
+            if(!running || !worker.isAlive()) {
+                // shut down (or the worker has died), so deliver on the caller's thread instead
+                deliverOnCallersThread(auditEntries);
+                return;
+            }
+            final long now = System.nanoTime();
+            for (int i = 0; i < auditEntries.size(); i++) {
+                final Pending pending = new Pending(auditEntries.get(i), now);
+                if(overflowPolicy == OverflowPolicy.BLOCK) {
+                    try {
+                        while(!queue.offer(pending, WORKER_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                            if(!worker.isAlive()) {
+                                deliverOnCallersThread(auditEntries.subList(i, auditEntries.size()));
+                                return;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        dropped.addAndGet(auditEntries.size() - i);
+                        return;
+                    }
+                } else if(!queue.offer(pending)) {
+                    if(dropped.getAndIncrement() == 0) {
+                        LOG.warn("Audit queue is full (capacity {}), dropping audit entries", queueCapacity);
+                    }
+                }
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Delivers any entries still queued (left behind by a worker that has died) followed by those provided.
+     */
+    private void deliverOnCallersThread(final List<AuditEntry> auditEntries) {
+        if(!worker.isAlive()) {
+            final List<Pending> stranded = _Lists.newArrayList();
+            queue.drainTo(stranded);
+            if(!stranded.isEmpty()) {
+                deliver(stranded);
+            }
+        }
+        delivery.accept(auditEntries);
+    }
+
+    // -- run
+
+    private void run() {
+        final List<Pending> batch = _Lists.newArrayList();
+        while (running || !queue.isEmpty()) {
+            try {
+                final Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if(first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                // only shutdown() stops the worker (so that no enqueued entries are stranded); keep going
+                LOG.warn("Audit dispatcher interrupted; ignoring");
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(final List<Pending> batch) {
+        final List<AuditEntry> auditEntries = _Lists.newArrayList();
+        for (final Pending pending : batch) {
+            auditEntries.add(pending.auditEntry);
+        }
+        try {
+            delivery.accept(auditEntries);
+            delivered.addAndGet(auditEntries.size());
+        } catch (Throwable ex) {
+            // including Errors; were the worker to die, committing threads would wait for space in the queue forever
+            failed.addAndGet(auditEntries.size());
+            LOG.error("Failed to deliver batch of {} audit entries", auditEntries.size(), ex);
+        }
+        batches.incrementAndGet();
+
+        final long now = System.nanoTime();
+        for (final Pending pending : batch) {
+            final long latencyNanos = now - pending.enqueuedAtNanos;
+            totalLatencyNanos.addAndGet(latencyNanos);
+            maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        }
+    }
+
+    // -- shutdown
+
+    /**
+     * Stops accepting further batches, and waits (up to the timeout) for those already queued to be delivered.
+     */
+    void shutdown(final long timeoutMillis) {
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        try {
+            worker.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if(!queue.isEmpty()) {
+            LOG.warn("{} audit entries were not delivered before shutdown", queue.size());
+        }
+    }
+
+    // -- metrics
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    long getDelivered() {
+        return delivered.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * The mean time between an entry being enqueued and having been delivered.
+     */
+    double getMeanLatencyMillis() {
+        final long count = delivered.get() + failed.get();
+        return count == 0 ? 0 : totalLatencyNanos.get() / 1_000_000.0 / count;
+    }
+
+    long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+}
@@ -18,15 +18,24 @@
  */
 package org.apache.isis.core.runtime.services.auditing;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.google.common.base.Strings;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.services.audit.AuditEntry;
 import org.apache.isis.applib.services.audit.AuditerService;
+import org.apache.isis.applib.services.audit.AuditerService2;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.clock.ClockService;
 import org.apache.isis.applib.services.iactn.InteractionContext;
@@ -39,9 +48,17 @@
 import org.apache.isis.core.runtime.services.changes.AdapterAndProperty;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.changes.PreAndPostValues;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
 /**
  * Wrapper around {@link org.apache.isis.applib.services.audit.AuditerService}.
+ *
+ * <p>
+ *     By default the {@link AuditerService}s are called synchronously as the transaction commits, once per changed
+ *     property.  If <tt>isis.services.audit.async</tt> is set, the changes are instead captured as {@link AuditEntry}s
+ *     and delivered in batches by a background thread, once the transaction has committed successfully (and within
+ *     a transaction of their own).  {@link AuditerService2} implementations receive each batch in a single call.
+ * </p>
  */
 @DomainService(
         nature = NatureOfService.DOMAIN,
@@ -49,6 +66,62 @@
 )
 public class AuditingServiceInternal {
 
+    public static final String KEY_ASYNC = "isis.services.audit.async";
+    public static final String KEY_ASYNC_QUEUE_CAPACITY = "isis.services.audit.async.queueCapacity";
+    public static final String KEY_ASYNC_BATCH_SIZE = "isis.services.audit.async.batchSize";
+    /**
+     * Either <tt>block</tt> (the default), meaning that committing transactions wait for the queue to have space,
+     * or <tt>drop</tt>, meaning that audit entries that do not fit are discarded.
+     */
+    public static final String KEY_ASYNC_OVERFLOW_POLICY = "isis.services.audit.async.overflowPolicy";
+    public static final String KEY_ASYNC_SHUTDOWN_TIMEOUT = "isis.services.audit.async.shutdownTimeoutMillis";
+
+    private static final int ASYNC_QUEUE_CAPACITY_DEFAULT = 10000;
+    private static final int ASYNC_BATCH_SIZE_DEFAULT = 500;
+    private static final long ASYNC_SHUTDOWN_TIMEOUT_DEFAULT = 10000L;
+
+    // -- init, shutdown
+
+    private AuditEntryDispatcher dispatcher;
+    private long shutdownTimeoutMillis;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        if(!Boolean.parseBoolean(properties.get(KEY_ASYNC))) {
+            return;
+        }
+        final String overflowPolicy = properties.get(KEY_ASYNC_OVERFLOW_POLICY);
+        this.dispatcher = new AuditEntryDispatcher(
+                getInt(properties, KEY_ASYNC_QUEUE_CAPACITY, ASYNC_QUEUE_CAPACITY_DEFAULT),
+                getInt(properties, KEY_ASYNC_BATCH_SIZE, ASYNC_BATCH_SIZE_DEFAULT),
+                Strings.isNullOrEmpty(overflowPolicy)
+                        ? AuditEntryDispatcher.OverflowPolicy.BLOCK
+                        : AuditEntryDispatcher.OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase()),
+                this::deliverInTransaction);
+        this.shutdownTimeoutMillis = getLong(properties, KEY_ASYNC_SHUTDOWN_TIMEOUT, ASYNC_SHUTDOWN_TIMEOUT_DEFAULT);
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(dispatcher != null) {
+            dispatcher.shutdown(shutdownTimeoutMillis);
+        }
+    }
+
+    private static int getInt(final Map<String, String> properties, final String key, final int defaultValue) {
+        final String value = properties.get(key);
+        return Strings.isNullOrEmpty(value) ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static long getLong(final Map<String, String> properties, final String key, final long defaultValue) {
+        final String value = properties.get(key);
+        return Strings.isNullOrEmpty(value) ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    // -- canAudit
+
     Boolean whetherCanAudit;
 
     private boolean canAudit() {
@@ -67,23 +140,61 @@ private boolean determineWhetherCanAudit() {
         return false;
     }
 
+    // -- audit, dispatchCommitted
+
+    /**
+     * Called as the transaction is about to commit.
+     *
+     * @return the {@link AuditEntry audit entries} still to be {@link #dispatchCommitted(List) dispatched} once the
+     * transaction has committed; empty if auditing synchronously (they will have been delivered already).
+     */
     @Programmatic
-    public void audit() {
+    public List<AuditEntry> audit() {
         if(!canAudit()) {
-            return;
+            return Collections.emptyList();
         }
         final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changedObjectProperties =
                 changedObjectsServiceInternal.getChangedObjectProperties();
+        if(changedObjectProperties.isEmpty()) {
+            return Collections.emptyList();
+        }
 
         final String currentUser = userService.getUser().getName();
         final java.sql.Timestamp currentTime = clockService.nowAsJavaSqlTimestamp();
 
+        final Transaction transaction = transactionService.currentTransaction();
+        final UUID transactionId = transaction.getTransactionId();
+        final int sequence = transaction.getSequence();
+
+        final List<AuditEntry> auditEntries = _Lists.newArrayList();
         for (Map.Entry<AdapterAndProperty, PreAndPostValues> auditEntry : changedObjectProperties) {
-            auditChangedProperty(currentTime, currentUser, auditEntry);
+            final AuditEntry entry = auditEntryFor(transactionId, sequence, currentTime, currentUser, auditEntry);
+            if(entry != null) {
+                auditEntries.add(entry);
+            }
+        }
+
+        if(dispatcher != null) {
+            return auditEntries;
+        }
+        deliver(auditEntries);
+        return Collections.emptyList();
+    }
+
+    /**
+     * Called once the transaction has committed, with the entries returned from {@link #audit()}.
+     */
+    @Programmatic
+    public void dispatchCommitted(final List<AuditEntry> auditEntries) {
+        if(dispatcher == null || auditEntries.isEmpty()) {
+            return;
         }
+        dispatcher.enqueue(auditEntries);
     }
 
-    private void auditChangedProperty(
+    private AuditEntry auditEntryFor(
+            final UUID transactionId,
+            final int sequence,
             final java.sql.Timestamp timestamp,
             final String user,
             final Map.Entry<AdapterAndProperty, PreAndPostValues> auditEntry) {
@@ -93,7 +204,7 @@ private void auditChangedProperty(
 
         final AuditableFacet auditableFacet = adapter.getSpecification().getFacet(AuditableFacet.class);
         if(auditableFacet == null || auditableFacet.isDisabled()) {
-            return;
+            return null;
         }
 
         final Bookmark target = aap.getBookmark();
@@ -106,18 +217,86 @@ private void auditChangedProperty(
 
         final String targetClass = CommandUtil.targetClassNameFor(adapter);
 
-        Transaction transaction = transactionService.currentTransaction();
-        final UUID transactionId = transaction.getTransactionId();
-        final int sequence = transaction.getSequence();
+        return new AuditEntry(transactionId, sequence, targetClass, target, memberId, propertyId, preValue, postValue, user, timestamp);
+    }
 
+    private void deliver(final List<AuditEntry> auditEntries) {
+        if(auditEntries.isEmpty()) {
+            return;
+        }
         for (AuditerService auditerService : auditerServices) {
-            if (auditerService.isEnabled()) {
-                auditerService
-                        .audit(transactionId, sequence, targetClass, target, memberId, propertyId, preValue, postValue, user, timestamp);
+            if (!auditerService.isEnabled()) {
+                continue;
+            }
+            if(auditerService instanceof AuditerService2) {
+                ((AuditerService2) auditerService).auditAll(auditEntries);
+            } else {
+                for (final AuditEntry auditEntry : auditEntries) {
+                    auditEntry.auditTo(auditerService);
+                }
             }
         }
     }
 
+    /**
+     * Called by the background thread; the {@link AuditerService}s (eg persisting to a database) may require a
+     * session and transaction.
+     */
+    private void deliverInTransaction(final List<AuditEntry> auditEntries) {
+        isisSessionFactory.doInSession(() ->
+                isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager()
+                        .executeWithinTransaction(() -> deliver(auditEntries)));
+    }
+
+    // -- metrics
+
+    /**
+     * The number of audit entries waiting to be delivered, if auditing asynchronously.
+     */
+    @Programmatic
+    public int getAsyncQueueDepth() {
+        return dispatcher != null ? dispatcher.getQueueDepth() : 0;
+    }
+
+    @Programmatic
+    public long getAsyncDelivered() {
+        return dispatcher != null ? dispatcher.getDelivered() : 0;
+    }
+
+    /**
+     * The number of audit entries discarded because the queue was full (only if the overflow policy is <tt>drop</tt>).
+     */
+    @Programmatic
+    public long getAsyncDropped() {
+        return dispatcher != null ? dispatcher.getDropped() : 0;
+    }
+
+    /**
+     * The number of audit entries for which delivery failed (the exception being logged).
+     */
+    @Programmatic
+    public long getAsyncFailed() {
+        return dispatcher != null ? dispatcher.getFailed() : 0;
+    }
+
+    @Programmatic
+    public long getAsyncBatches() {
+        return dispatcher != null ? dispatcher.getBatches() : 0;
+    }
+
+    /**
+     * The mean time between an audit entry being enqueued (as its transaction committed) and it having been delivered.
+     */
+    @Programmatic
+    public double getAsyncMeanLatencyMillis() {
+        return dispatcher != null ? dispatcher.getMeanLatencyMillis() : 0;
+    }
+
+    @Programmatic
+    public long getAsyncMaxLatencyMillis() {
+        return dispatcher != null ? dispatcher.getMaxLatencyMillis() : 0;
+    }
+
     @javax.inject.Inject
     List<AuditerService> auditerServices;
 
@@ -136,4 +315,7 @@ private void auditChangedProperty(
     @javax.inject.Inject
     TransactionService transactionService;
 
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
 }
@@ -17,6 +17,7 @@
 package org.apache.isis.core.runtime.services.background;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.collect.Lists;
 
@@ -28,6 +29,9 @@
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
 import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.facets.actions.action.invocation.CommandUtil;
@@ -52,11 +56,49 @@
  * <p>
  * This implementation uses the {@link #findBackgroundCommandsToExecute() hook method} so that it is
  * independent of the location where the actions have actually been persisted to.
+ *
+ * <p>
+ * By default the commands are executed one after another.  If <tt>isis.services.background.execution.workers</tt>
+ * is set to more than 1, then (persisted) commands are instead executed concurrently, each in a session of its own,
+ * by that many worker threads.  Commands with the same {@link Command#getTarget() target} are always executed by the
+ * same worker, in the order found.  The commands are handed to the workers in batches
+ * (<tt>isis.services.background.execution.batchSize</tt>), each command first being leased (so that no other
+ * run of this execution will execute it) and then {@link #claim(CommandWithDto) claimed}.
+ *
+ * <p>
+ * The {@link #getMetrics() metrics}, the leases and the worker threads belong to this instance.  For the metrics to
+ * accumulate (and the workers to be reused) from one run to the next, the same instance should be used for each run
+ * (for example, held by the scheduler's job); a worker's thread ends once it has been idle for a while.
  */
 public abstract class BackgroundCommandExecution extends CommandExecutionAbstract {
 
     private final static Logger LOG = LoggerFactory.getLogger(BackgroundCommandExecution.class);
 
+    public static final String KEY_WORKERS = "isis.services.background.execution.workers";
+    public static final String KEY_BATCH_SIZE = "isis.services.background.execution.batchSize";
+    /**
+     * How long a command is leased for, after which (if still not executed) some other execution may lease it.
+     */
+    public static final String KEY_LEASE_MILLIS = "isis.services.background.execution.leaseMillis";
+
+    private static final int WORKERS_DEFAULT = 1;
+    private static final int BATCH_SIZE_DEFAULT = 100;
+    private static final int LEASE_MILLIS_DEFAULT = 10 * 60 * 1000;
+
+    private final BackgroundCommandExecutionMetrics metrics = new BackgroundCommandExecutionMetrics();
+    private final CommandLeases leases = new CommandLeases();
+    /**
+     * Created on the first concurrent run, then reused; guarded by <tt>this</tt>.
+     */
+    private BackgroundCommandWorkers workers;
+
+    /**
+     * The metrics accumulated across all runs of this instance.
+     */
+    public BackgroundCommandExecutionMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Defaults to the historical defaults * for running background commands.
      */
@@ -81,8 +123,24 @@ protected void doExecute(Object context) {
 
         LOG.debug("Found {} to execute", commands.size());
 
-        for (final Command command : commands) {
-            execute(transactionManager, (CommandWithDto) command);
+        final long startedAtNanos = System.nanoTime();
+        final AtomicLong executedThisRun = new AtomicLong();
+
+        final IsisConfiguration configuration = getIsisSessionFactory().getConfiguration();
+        final int numberOfWorkers = configuration.getInteger(KEY_WORKERS, WORKERS_DEFAULT);
+        if(numberOfWorkers > 1 && !commands.isEmpty()) {
+            executeConcurrently(
+                    transactionManager, commands, executedThisRun, numberOfWorkers,
+                    Math.max(1, configuration.getInteger(KEY_BATCH_SIZE, BATCH_SIZE_DEFAULT)),
+                    configuration.getInteger(KEY_LEASE_MILLIS, LEASE_MILLIS_DEFAULT));
+        } else {
+            for (final Command command : commands) {
+                executeAndRecord(transactionManager, (CommandWithDto) command, executedThisRun);
+            }
+        }
+
+        if(!commands.isEmpty()) {
+            metrics.recordRun(executedThisRun.get(), System.nanoTime() - startedAtNanos);
         }
     }
 
@@ -91,4 +149,152 @@ protected void doExecute(Object context) {
      */
     protected abstract List<? extends Command> findBackgroundCommandsToExecute();
 
+    /**
+     * Hook method, called (when executing concurrently) in a transaction of its own just before the command is
+     * executed, having been reloaded in the worker's session.
+     *
+     * <p>
+     * The default implementation just checks that the command has not (since being found) been started.
+     * Where several JVMs execute the same commands, subclasses can override to mark the command as claimed,
+     * relying on optimistic locking to fail the transaction if some other JVM has claimed it concurrently.
+     *
+     * @return whether the command should be executed.
+     */
+    protected boolean claim(final CommandWithDto command) {
+        return command.getStartedAt() == null;
+    }
+
+    // -- executeConcurrently
+
+    private static class Pending {
+        private final Bookmark commandBookmark;
+        private final String orderingKey;
+
+        private Pending(final Bookmark commandBookmark, final String orderingKey) {
+            this.commandBookmark = commandBookmark;
+            this.orderingKey = orderingKey;
+        }
+    }
+
+    private void executeConcurrently(
+            final IsisTransactionManager transactionManager,
+            final List<Command> commands,
+            final AtomicLong executedThisRun,
+            final int numberOfWorkers,
+            final int batchSize,
+            final long leaseMillis) {
+
+        // commands must be bookmarked in this session, to be reloaded in each worker's session.
+        final List<Pending> pendings = Lists.newArrayList();
+        final List<Command> notPersisted = Lists.newArrayList();
+        transactionManager.executeWithinTransaction(() -> {
+            for (final Command command : commands) {
+                final Bookmark commandBookmark = bookmarkService.bookmarkFor(command);
+                if(commandBookmark == null) {
+                    notPersisted.add(command);
+                    continue;
+                }
+                final Bookmark target = command.getTarget();
+                pendings.add(new Pending(commandBookmark, (target != null ? target : commandBookmark).toString()));
+            }
+        });
+
+        for (final Command command : notPersisted) {
+            executeAndRecord(transactionManager, (CommandWithDto) command, executedThisRun);
+        }
+
+        final AuthenticationSession authenticationSession =
+                getIsisSessionFactory().getCurrentSession().getAuthenticationSession();
+        final BackgroundCommandWorkers workers = workers(numberOfWorkers);
+        for (final List<Pending> batch : Lists.partition(pendings, batchSize)) {
+            executeBatch(batch, workers, authenticationSession, executedThisRun, leaseMillis);
+        }
+    }
+
+    private synchronized BackgroundCommandWorkers workers(final int numberOfWorkers) {
+        if(workers == null || workers.size() != numberOfWorkers) {
+            if(workers != null) {
+                // reconfigured
+                workers.shutdown();
+            }
+            workers = new BackgroundCommandWorkers(numberOfWorkers);
+        }
+        return workers;
+    }
+
+    /**
+     * Leases each of the commands in the batch, hands those leased to the workers (by target, so that commands
+     * of the same target are executed in order) and waits for them all to complete.
+     */
+    private void executeBatch(
+            final List<Pending> batch,
+            final BackgroundCommandWorkers workers,
+            final AuthenticationSession authenticationSession,
+            final AtomicLong executedThisRun,
+            final long leaseMillis) {
+
+        final List<Pending> leased = Lists.newArrayList();
+        for (final Pending pending : batch) {
+            if(leases.lease(pending.commandBookmark, leaseMillis)) {
+                leased.add(pending);
+            } else {
+                metrics.recordSkipped();
+            }
+        }
+
+        try {
+            workers.executeAll(
+                    leased,
+                    pending -> pending.orderingKey,
+                    pending -> executeInOwnSession(pending.commandBookmark, authenticationSession, executedThisRun));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IsisException("Interrupted while executing background commands", ex);
+        } finally {
+            for (final Pending pending : leased) {
+                leases.release(pending.commandBookmark);
+            }
+        }
+    }
+
+    private void executeInOwnSession(
+            final Bookmark commandBookmark,
+            final AuthenticationSession authenticationSession,
+            final AtomicLong executedThisRun) {
+        try {
+            getIsisSessionFactory().doInSession(() -> {
+                final IsisTransactionManager transactionManager = getTransactionManager(getPersistenceSession());
+                final CommandWithDto[] claimed = new CommandWithDto[1];
+                transactionManager.executeWithinTransaction(() -> {
+                    final CommandWithDto command = (CommandWithDto) bookmarkService.lookup(
+                            commandBookmark, BookmarkService.FieldResetPolicy.DONT_RESET);
+                    if(command != null && claim(command)) {
+                        claimed[0] = command;
+                    }
+                });
+                if(claimed[0] == null) {
+                    metrics.recordSkipped();
+                    return;
+                }
+                executeAndRecord(transactionManager, claimed[0], executedThisRun);
+            }, authenticationSession);
+        } catch (RuntimeException ex) {
+            metrics.recordFailed();
+            LOG.error("Failed to execute background command {}", commandBookmark, ex);
+        }
+    }
+
+    private void executeAndRecord(
+            final IsisTransactionManager transactionManager,
+            final CommandWithDto command,
+            final AtomicLong executedThisRun) {
+        final long startedAtNanos = System.nanoTime();
+        execute(transactionManager, command);
+        metrics.recordExecuted(command, startedAtNanos);
+        executedThisRun.incrementAndGet();
+    }
+
+    @javax.inject.Inject
+    BookmarkService bookmarkService;
+
 }
@@ -0,0 +1,134 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.core.commons.util.LatencyHistogram;
+
+/**
+ * Metrics for the execution of background {@link Command}s by a {@link BackgroundCommandExecution}, accumulated
+ * across all of its runs; obtained using {@link BackgroundCommandExecution#getMetrics()}.
+ */
+public class BackgroundCommandExecutionMetrics {
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final LatencyHistogram lag = new LatencyHistogram();
+    private final LatencyHistogram duration = new LatencyHistogram();
+
+    // guarded by this, so that both are of the same run
+    private long lastRunExecuted;
+    private long lastRunElapsedNanos;
+
+    BackgroundCommandExecutionMetrics() {
+    }
+
+    // -- record
+
+    void recordExecuted(final Command command, final long startedAtNanos) {
+        final long nanos = System.nanoTime() - startedAtNanos;
+        executed.incrementAndGet();
+        duration.record(nanos);
+        if(command.getTimestamp() != null) {
+            final long queuedMillis =
+                    System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(nanos) - command.getTimestamp().getTime();
+            lag.record(TimeUnit.MILLISECONDS.toNanos(queuedMillis));
+        }
+        if(command.getException() != null) {
+            failed.incrementAndGet();
+        }
+    }
+
+    void recordFailed() {
+        failed.incrementAndGet();
+    }
+
+    void recordSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    synchronized void recordRun(final long numberExecuted, final long elapsedNanos) {
+        this.lastRunExecuted = numberExecuted;
+        this.lastRunElapsedNanos = elapsedNanos;
+    }
+
+    // -- executed, failed, skipped
+
+    /**
+     * The number of commands executed (whether or not they succeeded).
+     */
+    public long getExecuted() {
+        return executed.get();
+    }
+
+    /**
+     * The number of commands that failed, either throwing an exception (recorded in the command) or failing to
+     * be executed at all.
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * The number of commands not executed because they had already been claimed, by some other execution.
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    // -- lag, duration, throughput
+
+    /**
+     * The time between each command being created and its execution starting.
+     */
+    public LatencyHistogram getLag() {
+        return lag;
+    }
+
+    /**
+     * The time taken to execute each command (including committing its transaction).
+     */
+    public LatencyHistogram getDuration() {
+        return duration;
+    }
+
+    /**
+     * The number of commands executed by the most recent run.
+     */
+    public synchronized long getLastRunExecuted() {
+        return lastRunExecuted;
+    }
+
+    /**
+     * The number of commands executed per second by the most recent run.
+     */
+    public synchronized double getCommandsPerSecond() {
+        final long elapsedNanos = lastRunElapsedNanos;
+        return elapsedNanos == 0 ? 0 : lastRunExecuted * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("executed=%d, failed=%d, skipped=%d, commandsPerSecond=%.1f, lag=[%s], duration=[%s]",
+                getExecuted(), getFailed(), getSkipped(), getCommandsPerSecond(), lag, duration);
+    }
+
+}
@@ -0,0 +1,101 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The worker threads of a {@link BackgroundCommandExecution}, reused from one run to the next.
+ *
+ * <p>
+ * Each worker executes the tasks handed to it one after another; tasks are handed to workers by an ordering key, so
+ * those with the same key are executed in the order handed over.  A worker's thread ends once it has been idle for
+ * a while (so an execution no longer used holds on to no threads).
+ */
+class BackgroundCommandWorkers {
+
+    private final static Logger LOG = LoggerFactory.getLogger(BackgroundCommandWorkers.class);
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final ThreadPoolExecutor[] workers;
+
+    BackgroundCommandWorkers(final int numberOfWorkers) {
+        workers = new ThreadPoolExecutor[numberOfWorkers];
+        for (int i = 0; i < numberOfWorkers; i++) {
+            final String threadName = "isis-background-command-" + i;
+            final ThreadPoolExecutor worker = new ThreadPoolExecutor(
+                    1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            worker.allowCoreThreadTimeOut(true);
+            workers[i] = worker;
+        }
+    }
+
+    int size() {
+        return workers.length;
+    }
+
+    /**
+     * Hands each of the items to the worker for its ordering key, and waits for them all to have been executed.
+     */
+    <T> void executeAll(
+            final List<T> items,
+            final Function<T, String> orderingKeyOf,
+            final Consumer<T> task) throws InterruptedException {
+
+        final List<Future<?>> futures = Lists.newArrayList();
+        for (final T item : items) {
+            final ThreadPoolExecutor worker = workers[Math.floorMod(orderingKeyOf.apply(item).hashCode(), workers.length)];
+            futures.add(worker.submit(() -> task.accept(item)));
+        }
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException ex) {
+                // not expected; the task should handle its own exceptions
+                LOG.error("Failed to execute background command", ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * Stops the workers once they have executed the tasks already handed to them.
+     */
+    void shutdown() {
+        for (final ThreadPoolExecutor worker : workers) {
+            worker.shutdown();
+        }
+    }
+
+}
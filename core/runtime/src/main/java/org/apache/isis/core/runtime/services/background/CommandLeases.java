@@ -0,0 +1,62 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+/**
+ * Leases of (persisted) commands, held in memory by a {@link BackgroundCommandExecution}, so that no other of its
+ * runs will execute a command while it is leased.
+ */
+class CommandLeases {
+
+    /**
+     * Expiry time (millis) of leased commands, keyed by the command's bookmark.
+     */
+    private final ConcurrentMap<Bookmark, Long> expiryByCommand = _Maps.newConcurrentHashMap();
+    private final LongSupplier clock;
+
+    CommandLeases() {
+        this(System::currentTimeMillis);
+    }
+
+    CommandLeases(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether leased, ie the command was not already leased, or its lease has expired.
+     */
+    boolean lease(final Bookmark commandBookmark, final long leaseMillis) {
+        final long now = clock.getAsLong();
+        final Long expiry = expiryByCommand.putIfAbsent(commandBookmark, now + leaseMillis);
+        return expiry == null || expiry < now && expiryByCommand.replace(commandBookmark, expiry, now + leaseMillis);
+    }
+
+    void release(final Bookmark commandBookmark) {
+        expiryByCommand.remove(commandBookmark);
+    }
+
+    int size() {
+        return expiryByCommand.size();
+    }
+
+}
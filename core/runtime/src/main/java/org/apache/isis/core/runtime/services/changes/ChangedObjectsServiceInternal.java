@@ -19,6 +19,7 @@
 package org.apache.isis.core.runtime.services.changes;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -58,6 +59,16 @@ public class ChangedObjectsServiceInternal implements WithTransactionScope {
      */
     private final Map<AdapterAndProperty, PreAndPostValues> enlistedObjectProperties = Maps.newLinkedHashMap();
 
+    /**
+     * Used for auditing: the pre- values of just those properties that have been modified, for updated objects
+     * {@link #enlistUpdating(ObjectAdapter, String) enlisted property-by-property}.
+     *
+     * <p>
+     *     Drained along with {@link #enlistedObjectProperties} when {@link #getChangedObjectProperties()} is called.
+     * </p>
+     */
+    private final ModifiedProperties modifiedProperties = new ModifiedProperties();
+
     /**
      * Used for auditing; contains the pre- and post- values of every property of every object that actually changed.
      *
@@ -130,6 +141,11 @@ public void enlistUpdating(final ObjectAdapter adapter) {
 
         enlistForPublishing(adapter, PublishingChangeKind.UPDATE);
 
+        if(modifiedProperties.contains(adapter)) {
+            // the object store is reporting the properties as they are modified
+            return;
+        }
+
         for (ObjectAssociation property : adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Predicates.PROPERTIES)) {
             final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
             if(property.isNotPersisted()) {
@@ -144,6 +160,53 @@ public void enlistUpdating(final ObjectAdapter adapter) {
         }
     }
 
+    /**
+     * Auditing support: for object stores that can report which persisted property of an object is about to be
+     * modified, capturing the pre-modification value of just that property (rather than of every property, as
+     * {@link #enlistUpdating(ObjectAdapter)} does).
+     *
+     * <p>
+     * Must be called before the object is {@link #enlistUpdating(ObjectAdapter) enlisted}, which then does not
+     * capture every property for objects enlisted property-by-property.  If the property is not recognised
+     * (for example, the persisted field is named differently to the property), then every property is captured,
+     * as a fallback.
+     *
+     * <p>
+     * Supported by the JDO object store if <tt>isis.persistor.datanucleus.dirtyTracking</tt> is set.
+     */
+    @Programmatic
+    public void enlistUpdating(final ObjectAdapter adapter, final String propertyId) {
+
+        if(isEnlisted(adapter) && !modifiedProperties.contains(adapter)) {
+            // already created, deleted or enlisted in full
+            return;
+        }
+        if(shouldIgnore(adapter)) {
+            return;
+        }
+
+        final List<ObjectAssociation> properties =
+                adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Predicates.PROPERTIES);
+        for (final ObjectAssociation property : properties) {
+            if(property.getId().equals(propertyId)) {
+                if(!property.isNotPersisted() && !modifiedProperties.contains(adapter, property)) {
+                    final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
+                    modifiedProperties.add(adapter, property, aap.getPropertyValue());
+                }
+                return;
+            }
+        }
+
+        // not a (recognised) property, so capture them all.
+        for (final ObjectAssociation property : properties) {
+            if(property.isNotPersisted() || modifiedProperties.contains(adapter, property)) {
+                continue;
+            }
+            final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
+            modifiedProperties.add(adapter, property, aap.getPropertyValue());
+        }
+    }
+
     /**
      * Auditing and publishing support: for object stores to enlist an object that is about to be deleted,
      * capturing the pre-deletion value of the properties of the {@link ObjectAdapter}.
@@ -176,6 +239,10 @@ public void enlistDeleting(final ObjectAdapter adapter) {
                 // already enlisted, so ignore
                 return;
             }
+            if(modifiedProperties.contains(adapter, property)) {
+                // already modified, so retain the original value
+                continue;
+            }
             PreAndPostValues papv = PreAndPostValues.pre(aap.getPropertyValue());
             enlistedObjectProperties.put(aap, papv);
         }
@@ -224,16 +291,25 @@ private boolean enlistForPublishing(final ObjectAdapter adapter, final Publishin
     public Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> getChangedObjectProperties() {
         return changedObjectProperties != null
                     ? changedObjectProperties
-                    : (changedObjectProperties = capturePostValuesAndDrain(enlistedObjectProperties));
+                    : (changedObjectProperties = capturePostValuesAndDrain(enlistedObjectProperties, modifiedProperties));
     }
 
-    private Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> capturePostValuesAndDrain(final Map<AdapterAndProperty, PreAndPostValues> changedObjectProperties) {
+    private Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> capturePostValuesAndDrain(
+            final Map<AdapterAndProperty, PreAndPostValues> changedObjectProperties,
+            final ModifiedProperties modifiedProperties) {
         return AdapterManager.ConcurrencyChecking.executeWithConcurrencyCheckingDisabled(new Callable<Set<Map.Entry<AdapterAndProperty, PreAndPostValues>>>() {
             @Override
             public Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> call() {
                 final Map<AdapterAndProperty, PreAndPostValues> processedObjectProperties = Maps.newLinkedHashMap();
 
-                while(!changedObjectProperties.isEmpty()) {
+                while(!changedObjectProperties.isEmpty() || !modifiedProperties.isEmpty()) {
+
+                    modifiedProperties.drain((adapter, property, preValue) -> {
+                        final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
+                        final PreAndPostValues papv = PreAndPostValues.pre(preValue);
+                        papv.setPost(adapter.isDestroyed() ? IsisTransaction.Placeholder.DELETED : aap.getPropertyValue());
+                        processedObjectProperties.put(aap, papv);
+                    });
 
                     final Set<AdapterAndProperty> keys = Sets.newLinkedHashSet(changedObjectProperties.keySet());
                     for (final AdapterAndProperty aap : keys) {
@@ -276,6 +352,19 @@ public int numberObjectsDirtied() {
         return changeKindByEnlistedAdapter.size();
     }
 
+    /**
+     * The types of all objects enlisted (created, updated or deleted); used to invalidate the shared
+     * {@link org.apache.isis.applib.services.queryresultscache.QueryResultsCache query results cache}.
+     */
+    @Programmatic
+    public Set<Class<?>> getEnlistedTypes() {
+        final Set<Class<?>> enlistedTypes = Sets.newHashSet();
+        for (final ObjectAdapter adapter : changeKindByEnlistedAdapter.keySet()) {
+            enlistedTypes.add(adapter.getSpecification().getCorrespondingClass());
+        }
+        return enlistedTypes;
+    }
+
     @Programmatic
     public int numberObjectPropertiesModified() {
         if(changedObjectProperties == null) {
@@ -293,6 +382,7 @@ public int numberObjectPropertiesModified() {
     @Programmatic
     public void resetForNextTransaction() {
         enlistedObjectProperties.clear();
+        modifiedProperties.clear();
         changedObjectProperties = null;
     }
 
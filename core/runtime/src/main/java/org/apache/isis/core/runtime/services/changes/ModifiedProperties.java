@@ -0,0 +1,129 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+
+/**
+ * The pre-modification values of just those properties of updated objects that have actually been modified,
+ * for object stores that report modifications property-by-property.
+ *
+ * <p>
+ *     Holds one entry per object, the (typically few) modified properties and their values being held in small
+ *     parallel arrays rather than as an {@link AdapterAndProperty} and {@link PreAndPostValues} per property.
+ * </p>
+ */
+class ModifiedProperties {
+
+    interface Visitor {
+        void visit(ObjectAdapter adapter, ObjectAssociation property, Object preValue);
+    }
+
+    private static class Entry {
+        private ObjectAssociation[] properties = new ObjectAssociation[4];
+        private Object[] preValues = new Object[4];
+        private int size;
+
+        private boolean contains(final ObjectAssociation property) {
+            for (int i = 0; i < size; i++) {
+                if(properties[i] == property) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(final ObjectAssociation property, final Object preValue) {
+            if(size == properties.length) {
+                properties = Arrays.copyOf(properties, size * 2);
+                preValues = Arrays.copyOf(preValues, size * 2);
+            }
+            properties[size] = property;
+            preValues[size] = preValue;
+            size++;
+        }
+    }
+
+    private final Map<ObjectAdapter, Entry> entryByAdapter = Maps.newLinkedHashMap();
+    private int size;
+
+    boolean contains(final ObjectAdapter adapter) {
+        return entryByAdapter.containsKey(adapter);
+    }
+
+    boolean contains(final ObjectAdapter adapter, final ObjectAssociation property) {
+        final Entry entry = entryByAdapter.get(adapter);
+        return entry != null && entry.contains(property);
+    }
+
+    /**
+     * Records the pre-modification value of the property, unless already recorded (in which case the original
+     * pre-modification value is retained).
+     *
+     * @return <tt>true</tt> if recorded, <tt>false</tt> if already recorded.
+     */
+    boolean add(final ObjectAdapter adapter, final ObjectAssociation property, final Object preValue) {
+        Entry entry = entryByAdapter.get(adapter);
+        if(entry == null) {
+            entry = new Entry();
+            entryByAdapter.put(adapter, entry);
+        } else if(entry.contains(property)) {
+            return false;
+        }
+        entry.add(property, preValue);
+        size++;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visits each of the modified properties, in the order that they were {@link #add(ObjectAdapter, ObjectAssociation, Object) added},
+     * and then {@link #clear() clears}.
+     */
+    void drain(final Visitor visitor) {
+        final Map<ObjectAdapter, Entry> entryByAdapter = Maps.newLinkedHashMap(this.entryByAdapter);
+        clear();
+        for (final Map.Entry<ObjectAdapter, Entry> adapterAndEntry : entryByAdapter.entrySet()) {
+            final Entry entry = adapterAndEntry.getValue();
+            for (int i = 0; i < entry.size; i++) {
+                visitor.visit(adapterAndEntry.getKey(), entry.properties[i], entry.preValues[i]);
+            }
+        }
+    }
+
+    void clear() {
+        entryByAdapter.clear();
+        size = 0;
+    }
+
+}
@@ -16,9 +16,15 @@
  */
 package org.apache.isis.core.runtime.services.eventbus;
 
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Function;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.isis.applib.events.domain.AbstractDomainEvent;
+import org.apache.isis.applib.internal.collections._Sets;
 import org.apache.isis.applib.services.eventbus.EventBusImplementation;
 import org.apache.isis.core.commons.exceptions.IsisApplicationException;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
@@ -96,6 +102,41 @@ private IsisTransactionManager getTransactionManager() {
         return isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager();
     }
 
+    /**
+     * Helper for implementations of {@link #eventTypesSubscribedBy(Object)}: collects the event types of all the
+     * subscriber methods declared by the type, its superclasses and its interfaces.
+     *
+     * @param eventTypeOf - the event type handled by the method, or <tt>null</tt> if not a subscriber method.
+     */
+    protected static Set<Class<?>> eventTypesOf(
+            final Class<?> subscriberType,
+            final Function<Method, Class<?>> eventTypeOf) {
+        final Set<Class<?>> eventTypes = _Sets.newHashSet();
+        final Set<Class<?>> visited = _Sets.newHashSet();
+        collectEventTypes(subscriberType, eventTypeOf, eventTypes, visited);
+        return Collections.unmodifiableSet(eventTypes);
+    }
+
+    private static void collectEventTypes(
+            final Class<?> type,
+            final Function<Method, Class<?>> eventTypeOf,
+            final Set<Class<?>> eventTypes,
+            final Set<Class<?>> visited) {
+        if(type == null || type == Object.class || !visited.add(type)) {
+            return;
+        }
+        for (final Method method : type.getDeclaredMethods()) {
+            final Class<?> eventType = eventTypeOf.apply(method);
+            if(eventType != null) {
+                eventTypes.add(eventType);
+            }
+        }
+        collectEventTypes(type.getSuperclass(), eventTypeOf, eventTypes, visited);
+        for (final Class<?> interfaceType : type.getInterfaces()) {
+            collectEventTypes(interfaceType, eventTypeOf, eventTypes, visited);
+        }
+    }
+
     @javax.inject.Inject
     IsisSessionFactory isisSessionFactory;
 
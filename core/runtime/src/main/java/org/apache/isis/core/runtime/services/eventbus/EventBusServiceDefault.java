@@ -41,7 +41,7 @@ public abstract class EventBusServiceDefault extends EventBusService {
     public static final String KEY_EVENT_BUS_IMPLEMENTATION = "isis.services.eventbus.implementation";
     
     private static final String EVENT_BUS_IMPLEMENTATION_DEFAULT = "plugin";
-    private static final String[] KEYWORDS = {"auto", "plugin", "guava", "axon"};
+    private static final String[] KEYWORDS = {"auto", "plugin", "guava", "axon", "indexed"};
 
     // -- register
     /**
@@ -113,7 +113,7 @@ boolean isAllowLateRegistration() {
     }
 
     /**
-     * Either &lt;guava&gt; or &lt;axon&gt;, or else the fully qualified class name of an
+     * Either &lt;guava&gt;, &lt;axon&gt; or &lt;indexed&gt;, or else the fully qualified class name of an
      * implementation of {@link org.apache.isis.applib.services.eventbus.EventBusImplementation}.
      */
     private String implementation;
@@ -142,6 +142,8 @@ private EventBusImplementation instantiateEventBus() {
         } else if("axon".equals(implementation)) {
         	// legacy of return new EventBusImplementationForAxonSimple();
         	fqImplementationName = "org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationForAxonSimple";
+        } else if("indexed".equals(implementation)) {
+        	fqImplementationName = "org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationIndexed";
         }
 
         final Class<?> aClass = ClassUtil.forName(fqImplementationName);
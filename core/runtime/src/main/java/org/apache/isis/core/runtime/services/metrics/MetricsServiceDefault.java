@@ -30,6 +30,7 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.WithTransactionScope;
 import org.apache.isis.applib.services.metrics.MetricsService;
+import org.apache.isis.core.commons.util.PhaseMetrics;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 
 @RequestScoped
@@ -51,6 +52,16 @@ public int numberObjectsDirtied() {
         return changedObjectsServiceInternal.numberObjectsDirtied();
     }
 
+    @Override
+    public long nanosSpentIn(final Phase phase) {
+        return PhaseMetrics.getInteractionNanos(phase);
+    }
+
+    @Override
+    public int numberOfTimesIn(final Phase phase) {
+        return (int) PhaseMetrics.getInteractionCount(phase);
+    }
+
     @Programmatic
     @Override
     public void postLoad(final InstanceLifecycleEvent event) {
@@ -0,0 +1,44 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link org.apache.isis.applib.services.metrics.MetricsService.Phase phase} timings across all
+ * interactions, registered (as <tt>org.apache.isis:type=PhaseMetrics</tt>) by {@link PhaseMetricsServiceInternal}.
+ *
+ * <p>
+ *     Each attribute is keyed by phase.
+ * </p>
+ */
+public interface PhaseMetricsMXBean {
+
+    Map<String, Long> getCount();
+
+    Map<String, Double> getMeanMillis();
+
+    Map<String, Double> getP50Millis();
+
+    Map<String, Double> getP99Millis();
+
+    Map<String, Double> getMaxMillis();
+
+}
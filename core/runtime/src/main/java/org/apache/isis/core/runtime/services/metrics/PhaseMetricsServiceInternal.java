@@ -0,0 +1,213 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.services.metrics.MetricsService.Phase;
+import org.apache.isis.core.commons.util.LatencyHistogram;
+import org.apache.isis.core.commons.util.PhaseMetrics;
+
+/**
+ * Enables the timing of the {@link Phase phases} of each interaction if <tt>isis.services.metrics.phases</tt> is
+ * set, and makes the timings across all interactions available, both through JMX and (for a scrape endpoint)
+ * as {@link #scrape() text}.
+ *
+ * <p>
+ *     The timings of the current interaction are available from the (request-scoped)
+ *     {@link org.apache.isis.applib.services.metrics.MetricsService}.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class PhaseMetricsServiceInternal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PhaseMetricsServiceInternal.class);
+
+    public static final String KEY_PHASES = "isis.services.metrics.phases";
+    /**
+     * Whether to register the timings with the platform MBean server; defaults to <tt>true</tt>.
+     */
+    public static final String KEY_PHASES_JMX = "isis.services.metrics.phases.jmx";
+
+    public static final String OBJECT_NAME = "org.apache.isis:type=PhaseMetrics";
+
+    private PhaseMetrics phaseMetrics;
+    private ObjectName registeredAs;
+
+    // -- init, shutdown
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        if(!Boolean.parseBoolean(properties.get(KEY_PHASES))) {
+            return;
+        }
+        phaseMetrics = PhaseMetrics.enable();
+
+        final String jmx = properties.get(KEY_PHASES_JMX);
+        if(jmx == null || Boolean.parseBoolean(jmx)) {
+            registerMBean();
+        }
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(phaseMetrics != null) {
+            phaseMetrics.disable();
+        }
+        unregisterMBean();
+    }
+
+    private void registerMBean() {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if(!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(new PhaseMetricsMXBeanDefault(phaseMetrics), objectName);
+                registeredAs = objectName;
+            }
+        } catch (JMException ex) {
+            LOG.warn("Unable to register {}", OBJECT_NAME, ex);
+        }
+    }
+
+    private void unregisterMBean() {
+        if(registeredAs == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredAs);
+        } catch (JMException ex) {
+            LOG.warn("Unable to unregister {}", registeredAs, ex);
+        }
+        registeredAs = null;
+    }
+
+    // -- histograms, scrape
+
+    @Programmatic
+    public boolean isEnabled() {
+        return PhaseMetrics.isEnabled();
+    }
+
+    /**
+     * The timings of the phase across all interactions (empty if not enabled).
+     */
+    @Programmatic
+    public LatencyHistogram getHistogram(final Phase phase) {
+        return phaseMetrics != null ? phaseMetrics.getHistogram(phase) : new LatencyHistogram();
+    }
+
+    /**
+     * The timings across all interactions, in the (Prometheus) text exposition format, for a scrape endpoint to
+     * serve.
+     */
+    @Programmatic
+    public String scrape() {
+        final StringBuilder buf = new StringBuilder();
+        buf.append("# TYPE isis_phase_seconds summary\n");
+        for (final Phase phase : Phase.values()) {
+            final LatencyHistogram histogram = getHistogram(phase);
+            final String label = "phase=\"" + phase.name().toLowerCase() + "\"";
+            for (final double quantile : new double[] { 0.5, 0.9, 0.99 }) {
+                buf.append("isis_phase_seconds{").append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                   .append(seconds(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            buf.append("isis_phase_seconds_sum{").append(label).append("} ")
+               .append(seconds((long) (histogram.getMean() * histogram.getCount()))).append('\n');
+            buf.append("isis_phase_seconds_count{").append(label).append("} ")
+               .append(histogram.getCount()).append('\n');
+        }
+        return buf.toString();
+    }
+
+    private static double seconds(final long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    // -- PhaseMetricsMXBeanDefault
+
+    static class PhaseMetricsMXBeanDefault implements PhaseMetricsMXBean {
+
+        private final PhaseMetrics phaseMetrics;
+
+        PhaseMetricsMXBeanDefault(final PhaseMetrics phaseMetrics) {
+            this.phaseMetrics = phaseMetrics;
+        }
+
+        @Override
+        public Map<String, Long> getCount() {
+            final Map<String, Long> countByPhase = _Maps.newLinkedHashMap();
+            for (final Phase phase : Phase.values()) {
+                countByPhase.put(phase.name(), phaseMetrics.getHistogram(phase).getCount());
+            }
+            return countByPhase;
+        }
+
+        @Override
+        public Map<String, Double> getMeanMillis() {
+            return millisByPhase(LatencyHistogram::getMeanMillis);
+        }
+
+        @Override
+        public Map<String, Double> getP50Millis() {
+            return millisByPhase(histogram -> histogram.getMillisAtPercentile(50));
+        }
+
+        @Override
+        public Map<String, Double> getP99Millis() {
+            return millisByPhase(histogram -> histogram.getMillisAtPercentile(99));
+        }
+
+        @Override
+        public Map<String, Double> getMaxMillis() {
+            return millisByPhase(histogram -> histogram.getMax() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        private Map<String, Double> millisByPhase(final ToDoubleFunction<LatencyHistogram> millis) {
+            final Map<String, Double> millisByPhase = _Maps.newLinkedHashMap();
+            for (final Phase phase : Phase.values()) {
+                millisByPhase.put(phase.name(), millis.applyAsDouble(phaseMetrics.getHistogram(phase)));
+            }
+            return millisByPhase;
+        }
+    }
+
+}
@@ -19,6 +19,7 @@
 package org.apache.isis.core.runtime.services.persistsession;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -182,11 +183,26 @@ public <T> List<ObjectAdapter> allMatchingQuery(final Query<T> query) {
         return getPersistenceSession().allMatchingQuery(query);
     }
 
+    @Override
+    public <T> List<T> allPojosMatchingQuery(final Query<T> query) {
+        return getPersistenceSession().allPojosMatchingQuery(query);
+    }
+
     @Override
     public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         return getPersistenceSession().firstMatchingQuery(query);
     }
 
+    @Override
+    public <T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query) {
+        return getPersistenceSession().streamMatchingQuery(query);
+    }
+
+    @Override
+    public void evictStreamed(final List<?> pojos) {
+        getPersistenceSession().evictStreamed(pojos);
+    }
+
     @Override
     public void executeWithinTransaction(TransactionalClosure transactionalClosure) {
         getTransactionManager().executeWithinTransaction(transactionalClosure);
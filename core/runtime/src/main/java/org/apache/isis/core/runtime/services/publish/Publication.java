@@ -0,0 +1,82 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.publish;
+
+import java.util.UUID;
+
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherDeadLetterService;
+import org.apache.isis.applib.services.publish.PublisherService;
+
+/**
+ * Either a member {@link Interaction.Execution execution} or a set of {@link PublishedObjects changed objects},
+ * captured during a transaction and to be published once it has committed.
+ */
+class Publication {
+
+    private final Interaction.Execution<?, ?> execution;
+    private final PublishedObjects publishedObjects;
+
+    private Publication(final Interaction.Execution<?, ?> execution, final PublishedObjects publishedObjects) {
+        this.execution = execution;
+        this.publishedObjects = publishedObjects;
+    }
+
+    static Publication of(final Interaction.Execution<?, ?> execution) {
+        return new Publication(execution, null);
+    }
+
+    static Publication of(final PublishedObjects publishedObjects) {
+        return new Publication(null, publishedObjects);
+    }
+
+    UUID getTransactionId() {
+        return execution != null
+                ? execution.getInteraction().getTransactionId()
+                : publishedObjects.getTransactionId();
+    }
+
+    void publishTo(final PublisherService publisherService) {
+        if(execution != null) {
+            publisherService.publish(execution);
+        } else {
+            publisherService.publish(publishedObjects);
+        }
+    }
+
+    void deadLetterTo(
+            final PublisherDeadLetterService deadLetterService,
+            final PublisherService publisherService,
+            final Exception cause) {
+        if(execution != null) {
+            deadLetterService.onFailure(publisherService, execution, cause);
+        } else {
+            deadLetterService.onFailure(publisherService, publishedObjects, cause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return execution != null
+                ? "execution " + execution.getMemberIdentifier() + " (transactionId " + getTransactionId() + ")"
+                : "changed objects (transactionId " + getTransactionId() + ")";
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.publish;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.core.commons.util.LatencyHistogram;
+
+/**
+ * Publishes the {@link Publication}s of committed transactions to the {@link PublisherService}s, from a fixed
+ * number of background threads (&quot;lanes&quot;).
+ *
+ * <p>
+ *     All of the publications of a transaction are handed to the same lane (chosen by transactionId), and each lane
+ *     publishes in the order that they were {@link #dispatch(UUID, List) dispatched}; so publications are seen by
+ *     each publisher in the same order as they would have been if published synchronously, at least for any given
+ *     transactionId.  Each lane's queue is bounded; once full, the committing thread waits for space.
+ * </p>
+ *
+ * <p>
+ *     If a publisher throws an exception then the publication is retried (by that publisher only), with an
+ *     exponentially increasing delay, up to a maximum number of attempts; thereafter it is handed to the
+ *     {@link DeadLetter} callback.
+ * </p>
+ */
+class PublicationDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublicationDispatcher.class);
+
+    /**
+     * How often a committing thread waiting for space in a lane's queue checks that the lane is still alive.
+     */
+    private static final long LANE_CHECK_INTERVAL_MILLIS = 100L;
+
+    /**
+     * A single attempt to publish a publication to a publisher.
+     */
+    interface Delivery {
+        void deliver(Publication publication, PublisherService publisherService);
+    }
+
+    interface DeadLetter {
+        void onFailure(Publication publication, PublisherService publisherService, Exception cause);
+    }
+
+    /**
+     * The publications of a single transaction, along with the time they were dispatched, to measure latency.
+     */
+    private static class Batch {
+        private final List<Publication> publications;
+        private final long dispatchedAtNanos;
+        private Batch(final List<Publication> publications, final long dispatchedAtNanos) {
+            this.publications = publications;
+            this.dispatchedAtNanos = dispatchedAtNanos;
+        }
+    }
+
+    private final Lane[] lanes;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Supplier<List<PublisherService>> publisherServices;
+    private final Delivery delivery;
+    private final DeadLetter deadLetter;
+
+    private volatile boolean running = true;
+    /**
+     * Held (shared) by {@link #dispatch(UUID, List)} for as long as it is adding to a lane's queue, and (exclusively)
+     * by {@link #shutdown(long)} while stopping; so a dispatch either completes before the lanes are told to stop
+     * (and its publications are published by the lane) or starts afterwards (and publishes on the caller's thread).
+     */
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram publishDuration = new LatencyHistogram();
+
+    PublicationDispatcher(
+            final int numberOfLanes,
+            final int queueCapacity,
+            final int maxAttempts,
+            final long retryDelayMillis,
+            final Supplier<List<PublisherService>> publisherServices,
+            final Delivery delivery,
+            final DeadLetter deadLetter) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMillis = retryDelayMillis;
+        this.publisherServices = publisherServices;
+        this.delivery = delivery;
+        this.deadLetter = deadLetter;
+        this.lanes = new Lane[Math.max(1, numberOfLanes)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i, queueCapacity);
+        }
+    }
+
+    // -- dispatch
+
+    /**
+     * Hands over the publications of a committed transaction.
+     */
+    void dispatch(final UUID transactionId, final List<Publication> publications) {
+        if(publications.isEmpty()) {
+            return;
+        }
+        final Batch batch = new Batch(publications, System.nanoTime());
+        final Lane lane = lanes[Math.floorMod(transactionId != null ? transactionId.hashCode() : 0, lanes.length)];
+        runningLock.readLock().lock();
+        try {
+            if(!running || !lane.thread.isAlive()) {
+                // shut down (or the lane has died), so publish on the caller's thread instead
+                publishOnCallersThread(lane, batch);
+                return;
+            }
+            try {
+                while(!lane.queue.offer(batch, LANE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if(!lane.thread.isAlive()) {
+                        publishOnCallersThread(lane, batch);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Interrupted while dispatching; publishing {} publication(s) synchronously",
+                        publications.size());
+                publish(batch);
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Publishes any batches still queued for the lane (left behind if it has died) followed by that provided.
+     */
+    private void publishOnCallersThread(final Lane lane, final Batch batch) {
+        if(!lane.thread.isAlive()) {
+            final List<Batch> stranded = _Lists.newArrayList();
+            lane.queue.drainTo(stranded);
+            for (final Batch strandedBatch : stranded) {
+                publish(strandedBatch);
+            }
+        }
+        publish(batch);
+    }
+
+    // -- lanes
+
+    private class Lane implements Runnable {
+
+        private final BlockingQueue<Batch> queue;
+        private final Thread thread;
+
+        private Lane(final int laneNum, final int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "isis-publisher-" + laneNum);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                try {
+                    final Batch batch = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if(batch != null) {
+                        publish(batch);
+                    }
+                } catch (InterruptedException e) {
+                    // only shutdown() stops the lanes (so that no dispatched publications are stranded); keep going
+                    LOG.warn("Publication dispatcher lane interrupted; ignoring");
+                }
+            }
+        }
+    }
+
+    // -- publish
+
+    private void publish(final Batch batch) {
+        final List<PublisherService> publisherServices = this.publisherServices.get();
+        for (final Publication publication : batch.publications) {
+            for (final PublisherService publisherService : publisherServices) {
+                publish(publication, publisherService);
+            }
+            latency.recordSince(batch.dispatchedAtNanos);
+        }
+    }
+
+    private void publish(final Publication publication, final PublisherService publisherService) {
+        for (int attempt = 1; ; attempt++) {
+            final long startNanos = System.nanoTime();
+            try {
+                delivery.deliver(publication, publisherService);
+                publishDuration.recordSince(startNanos);
+                published.incrementAndGet();
+                return;
+            } catch (Throwable ex) {
+                // including Errors; were the lane to die, committing threads would wait for space in its queue forever
+                publishDuration.recordSince(startNanos);
+                if(attempt >= maxAttempts || !backOff(attempt)) {
+                    deadLetter(publication, publisherService,
+                            ex instanceof Exception ? (Exception) ex : new RuntimeException(ex));
+                    return;
+                }
+                retried.incrementAndGet();
+                LOG.warn("Failed to publish {} to {} (attempt {} of {}); will retry",
+                        publication, publisherService.getClass().getName(), attempt, maxAttempts, ex);
+            }
+        }
+    }
+
+    /**
+     * @return <tt>false</tt> if interrupted (in which case no further attempts are made).
+     */
+    private boolean backOff(final int attempt) {
+        final long delayMillis = retryDelayMillis << Math.min(attempt - 1, 16);
+        if(delayMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delayMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void deadLetter(
+            final Publication publication, final PublisherService publisherService, final Exception cause) {
+        deadLettered.incrementAndGet();
+        try {
+            deadLetter.onFailure(publication, publisherService, cause);
+        } catch (Throwable ex) {
+            LOG.error("Failed to publish {} to {}, and failed to hand it to the dead letter service",
+                    publication, publisherService.getClass().getName(), ex);
+        }
+    }
+
+    // -- shutdown
+
+    /**
+     * Stops accepting further publications, and waits (up to the timeout) for those already queued to be published.
+     */
+    void shutdown(final long timeoutMillis) {
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (final Lane lane : lanes) {
+            try {
+                lane.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final int queueDepth = getQueueDepth();
+        if(queueDepth > 0) {
+            LOG.warn("{} transaction(s) were not published before shutdown", queueDepth);
+        }
+    }
+
+    // -- metrics
+
+    /**
+     * The number of committed transactions whose publications are waiting to be published.
+     */
+    int getQueueDepth() {
+        int queueDepth = 0;
+        for (final Lane lane : lanes) {
+            queueDepth += lane.queue.size();
+        }
+        return queueDepth;
+    }
+
+    long getPublished() {
+        return published.get();
+    }
+
+    long getRetried() {
+        return retried.get();
+    }
+
+    long getDeadLettered() {
+        return deadLettered.get();
+    }
+
+    /**
+     * The time between a publication's transaction committing and it having been published (to all publishers).
+     */
+    LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * The time taken by each attempt to publish to a single publisher.
+     */
+    LatencyHistogram getPublishDuration() {
+        return publishDuration;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.publish;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+
+/**
+ * An immutable copy of a {@link PublishedObjects}, with its {@link #getDto() DTO} computed up-front (while the
+ * changed objects' adapters are still valid), so that it can be published once the transaction has committed.
+ */
+class PublishedObjectsSnapshot implements PublishedObjects {
+
+    private final UUID transactionId;
+    private final String username;
+    private final Timestamp completedAt;
+    private final ChangesDto dto;
+    private final int numberLoaded;
+    private final int numberCreated;
+    private final int numberUpdated;
+    private final int numberDeleted;
+    private final int numberPropertiesModified;
+
+    private PublishedObjectsSnapshot(final PublishedObjects publishedObjects) {
+        this.transactionId = publishedObjects.getTransactionId();
+        this.username = publishedObjects.getUsername();
+        this.completedAt = publishedObjects.getCompletedAt();
+        this.dto = publishedObjects.getDto();
+        this.numberLoaded = publishedObjects.getNumberLoaded();
+        this.numberCreated = publishedObjects.getNumberCreated();
+        this.numberUpdated = publishedObjects.getNumberUpdated();
+        this.numberDeleted = publishedObjects.getNumberDeleted();
+        this.numberPropertiesModified = publishedObjects.getNumberPropertiesModified();
+    }
+
+    static PublishedObjectsSnapshot of(final PublishedObjects publishedObjects) {
+        return new PublishedObjectsSnapshot(publishedObjects);
+    }
+
+    @Override
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * Not supported; this is an immutable copy.
+     */
+    @Override
+    public void setTransactionId(final UUID transactionId) {
+        throw new UnsupportedOperationException("PublishedObjects snapshot is immutable");
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public Timestamp getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public ChangesDto getDto() {
+        return dto;
+    }
+
+    @Override
+    public int getNumberLoaded() {
+        return numberLoaded;
+    }
+
+    @Override
+    public int getNumberCreated() {
+        return numberCreated;
+    }
+
+    @Override
+    public int getNumberUpdated() {
+        return numberUpdated;
+    }
+
+    @Override
+    public int getNumberDeleted() {
+        return numberDeleted;
+    }
+
+    @Override
+    public int getNumberPropertiesModified() {
+        return numberPropertiesModified;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.publish;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.google.common.base.Strings;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.publish.PublisherDeadLetterService;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.core.commons.util.LatencyHistogram;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+
+/**
+ * Application-scoped counterpart to the (request-scoped) {@link PublishingServiceInternalDefault}, which, if
+ * <tt>isis.services.publish.async</tt> is set, publishes to the {@link PublisherService}s from background threads
+ * once each transaction has committed, rather than synchronously within the transaction.
+ *
+ * <p>
+ *     Each publication is published to each publisher in a transaction of its own, and is retried if it fails.
+ *     Publications that fail on every attempt are handed to the {@link PublisherDeadLetterService}s (if any),
+ *     otherwise are logged.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class PublisherDispatchServiceInternal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublisherDispatchServiceInternal.class);
+
+    public static final String KEY_ASYNC = "isis.services.publish.async";
+    /**
+     * The number of background threads; the publications of any given transaction are always published by the
+     * same thread, in order.
+     */
+    public static final String KEY_ASYNC_THREADS = "isis.services.publish.async.threads";
+    /**
+     * The maximum number of committed transactions (per thread) waiting to be published; once full, committing
+     * transactions wait for space.
+     */
+    public static final String KEY_ASYNC_QUEUE_CAPACITY = "isis.services.publish.async.queueCapacity";
+    public static final String KEY_ASYNC_MAX_ATTEMPTS = "isis.services.publish.async.maxAttempts";
+    /**
+     * The delay before the first retry, doubling for each subsequent retry.
+     */
+    public static final String KEY_ASYNC_RETRY_DELAY = "isis.services.publish.async.retryDelayMillis";
+    public static final String KEY_ASYNC_SHUTDOWN_TIMEOUT = "isis.services.publish.async.shutdownTimeoutMillis";
+
+    private static final int ASYNC_THREADS_DEFAULT = 2;
+    private static final int ASYNC_QUEUE_CAPACITY_DEFAULT = 1000;
+    private static final int ASYNC_MAX_ATTEMPTS_DEFAULT = 3;
+    private static final long ASYNC_RETRY_DELAY_DEFAULT = 100L;
+    private static final long ASYNC_SHUTDOWN_TIMEOUT_DEFAULT = 10000L;
+
+    // -- init, shutdown
+
+    private PublicationDispatcher dispatcher;
+    private long shutdownTimeoutMillis;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        if(!Boolean.parseBoolean(properties.get(KEY_ASYNC))) {
+            return;
+        }
+        this.dispatcher = new PublicationDispatcher(
+                getInt(properties, KEY_ASYNC_THREADS, ASYNC_THREADS_DEFAULT),
+                getInt(properties, KEY_ASYNC_QUEUE_CAPACITY, ASYNC_QUEUE_CAPACITY_DEFAULT),
+                getInt(properties, KEY_ASYNC_MAX_ATTEMPTS, ASYNC_MAX_ATTEMPTS_DEFAULT),
+                getLong(properties, KEY_ASYNC_RETRY_DELAY, ASYNC_RETRY_DELAY_DEFAULT),
+                () -> publisherServices,
+                this::publishInTransaction,
+                this::deadLetterInTransaction);
+        this.shutdownTimeoutMillis = getLong(properties, KEY_ASYNC_SHUTDOWN_TIMEOUT, ASYNC_SHUTDOWN_TIMEOUT_DEFAULT);
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(dispatcher != null) {
+            dispatcher.shutdown(shutdownTimeoutMillis);
+        }
+    }
+
+    private static int getInt(final Map<String, String> properties, final String key, final int defaultValue) {
+        final String value = properties.get(key);
+        return Strings.isNullOrEmpty(value) ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static long getLong(final Map<String, String> properties, final String key, final long defaultValue) {
+        final String value = properties.get(key);
+        return Strings.isNullOrEmpty(value) ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    // -- isAsync, dispatch
+
+    @Programmatic
+    public boolean isAsync() {
+        return dispatcher != null;
+    }
+
+    /**
+     * Called (by {@link PublishingServiceInternalDefault}) once a transaction has committed.
+     */
+    void dispatch(final UUID transactionId, final List<Publication> publications) {
+        dispatcher.dispatch(transactionId, publications);
+    }
+
+    /**
+     * Called from the background threads; the {@link PublisherService}s (eg writing to an outbox table) may
+     * require a session and transaction.
+     */
+    private void publishInTransaction(final Publication publication, final PublisherService publisherService) {
+        isisSessionFactory.doInSession(() ->
+                isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager()
+                        .executeWithinTransaction(() -> publication.publishTo(publisherService)));
+    }
+
+    private void deadLetterInTransaction(
+            final Publication publication, final PublisherService publisherService, final Exception cause) {
+        if(deadLetterServices == null || deadLetterServices.isEmpty()) {
+            LOG.error("Failed to publish {} to {}", publication, publisherService.getClass().getName(), cause);
+            return;
+        }
+        isisSessionFactory.doInSession(() ->
+                isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager()
+                        .executeWithinTransaction(() -> {
+                            for (final PublisherDeadLetterService deadLetterService : deadLetterServices) {
+                                publication.deadLetterTo(deadLetterService, publisherService, cause);
+                            }
+                        }));
+    }
+
+    // -- metrics
+
+    /**
+     * The number of committed transactions whose publications are waiting to be published, if publishing
+     * asynchronously.
+     */
+    @Programmatic
+    public int getAsyncQueueDepth() {
+        return dispatcher != null ? dispatcher.getQueueDepth() : 0;
+    }
+
+    /**
+     * The number of times that a publication has been published successfully (to any one publisher).
+     */
+    @Programmatic
+    public long getAsyncPublished() {
+        return dispatcher != null ? dispatcher.getPublished() : 0;
+    }
+
+    @Programmatic
+    public long getAsyncRetried() {
+        return dispatcher != null ? dispatcher.getRetried() : 0;
+    }
+
+    /**
+     * The number of times that a publication could not be published (to any one publisher) on any attempt.
+     */
+    @Programmatic
+    public long getAsyncDeadLettered() {
+        return dispatcher != null ? dispatcher.getDeadLettered() : 0;
+    }
+
+    /**
+     * The time between a publication's transaction committing and it having been published, or <tt>null</tt> if
+     * not publishing asynchronously.
+     */
+    @Programmatic
+    public LatencyHistogram getAsyncLatency() {
+        return dispatcher != null ? dispatcher.getLatency() : null;
+    }
+
+    /**
+     * The time taken by each attempt to publish to a publisher, or <tt>null</tt> if not publishing asynchronously.
+     */
+    @Programmatic
+    public LatencyHistogram getAsyncPublishDuration() {
+        return dispatcher != null ? dispatcher.getPublishDuration() : null;
+    }
+
+    @javax.inject.Inject
+    List<PublisherService> publisherServices;
+
+    @javax.inject.Inject
+    List<PublisherDeadLetterService> deadLetterServices;
+
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
+}
@@ -33,6 +33,7 @@
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.annotation.PublishingChangeKind;
+import org.apache.isis.applib.internal.collections._Lists;
 import org.apache.isis.applib.services.clock.ClockService;
 import org.apache.isis.applib.services.command.Command;
 import org.apache.isis.applib.services.command.CommandContext;
@@ -49,6 +50,12 @@
 
 /**
  * Wrapper around {@link PublisherService}.  Is a no-op if there is no injected service.
+ *
+ * <p>
+ *     If publishing asynchronously (see {@link PublisherDispatchServiceInternal}), the executions and (a snapshot
+ *     of) the changed objects are instead captured during the transaction, and handed over to be published once it
+ *     has {@link #publishCommitted() committed}.
+ * </p>
  */
 @DomainService(
         nature = NatureOfService.DOMAIN,
@@ -86,6 +93,13 @@ public void publishObjects() {
         final PublishedObjects publishedObjects = newPublishedObjects(numberLoaded, numberObjectPropertiesModified,
                 changeKindByPublishedAdapter);
 
+        if(publisherDispatchServiceInternal.isAsync()) {
+            if(!publisherServices.isEmpty()) {
+                // the DTO must be computed now, while the adapters are still valid
+                uncommitted.add(Publication.of(PublishedObjectsSnapshot.of(publishedObjects)));
+            }
+            return;
+        }
         for (PublisherService publisherService : publisherServices) {
             publisherService.publish(publishedObjects);
         }
@@ -141,12 +155,41 @@ private void publishToPublisherServices(final Interaction.Execution<?,?> executi
             return;
         }
 
+        if(publisherDispatchServiceInternal.isAsync()) {
+            uncommitted.add(Publication.of(execution));
+            return;
+        }
         for (final PublisherService publisherService : publisherServices) {
             publisherService.publish(execution);
         }
     }
 
 
+    // -- publishCommitted, discardUncommitted
+
+    /**
+     * Publications captured in the current transaction, if publishing asynchronously.
+     */
+    private final List<Publication> uncommitted = _Lists.newArrayList();
+
+    @Programmatic
+    @Override
+    public void publishCommitted() {
+        if(uncommitted.isEmpty()) {
+            return;
+        }
+        final List<Publication> publications = _Lists.newArrayList(uncommitted);
+        uncommitted.clear();
+        publisherDispatchServiceInternal.dispatch(publications.get(0).getTransactionId(), publications);
+    }
+
+    @Programmatic
+    @Override
+    public void discardUncommitted() {
+        uncommitted.clear();
+    }
+
+
     boolean suppress;
 
     @Programmatic
@@ -194,6 +237,9 @@ public boolean apply(final ObjectAdapter objectAdapter) {
     @javax.inject.Inject
     MetricsService metricsService;
 
+    @javax.inject.Inject
+    PublisherDispatchServiceInternal publisherDispatchServiceInternal;
+
     
 
 }
@@ -0,0 +1,331 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.queryresultscache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import javax.annotation.PostConstruct;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.base._Casts;
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCache;
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCacheShared;
+import org.apache.isis.applib.services.repository.RepositoryService;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+
+/**
+ * Application-scoped tier of the (request-scoped) {@link QueryResultsCache}, enabled using
+ * <tt>isis.services.queryResultsCache.shared</tt>.
+ *
+ * <p>
+ *     Holds immutable snapshots of results, entities being held by {@link Bookmark} and looked up again (in the
+ *     current session) on each hit.  Snapshots are invalidated whenever an instance of any type that they depend
+ *     upon is changed by a committed transaction (see {@link #invalidate(Collection)}), and otherwise expire after
+ *     a time-to-live.
+ * </p>
+ *
+ * <p>
+ *     Transactions that have themselves already changed objects bypass this tier, so that it never holds
+ *     uncommitted changes.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class QueryResultsCacheSharedInternal implements QueryResultsCacheShared {
+
+    public static final String KEY_SHARED = "isis.services.queryResultsCache.shared";
+    public static final String KEY_SHARED_MAX_ENTRIES = "isis.services.queryResultsCache.shared.maxEntries";
+    /**
+     * The maximum total weight of all snapshots, the weight of a snapshot being the number of elements in its result
+     * (plus one).
+     */
+    public static final String KEY_SHARED_MAX_WEIGHT = "isis.services.queryResultsCache.shared.maxWeight";
+    /**
+     * The time-to-live of each snapshot; can be overridden for the results cached by a particular calling class
+     * using <tt>isis.services.queryResultsCache.shared.ttlMillis.{callingClassName}</tt>.
+     */
+    public static final String KEY_SHARED_TTL = "isis.services.queryResultsCache.shared.ttlMillis";
+
+    private static final int MAX_ENTRIES_DEFAULT = 1000;
+    private static final long MAX_WEIGHT_DEFAULT = 100000L;
+    private static final long TTL_DEFAULT = 5 * 60 * 1000L;
+
+    private static final Object NOT_CACHEABLE = new Object();
+
+    // -- init
+
+    private ResultSnapshotStore store;
+    private long ttlMillis;
+    private final Map<String, Long> ttlMillisByCallingClassName = _Maps.newHashMap();
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        if(!Boolean.parseBoolean(properties.get(KEY_SHARED))) {
+            return;
+        }
+        this.store = new ResultSnapshotStore(
+                (int) getLong(properties, KEY_SHARED_MAX_ENTRIES, MAX_ENTRIES_DEFAULT),
+                getLong(properties, KEY_SHARED_MAX_WEIGHT, MAX_WEIGHT_DEFAULT));
+        this.ttlMillis = getLong(properties, KEY_SHARED_TTL, TTL_DEFAULT);
+
+        final String prefix = KEY_SHARED_TTL + ".";
+        for (final Map.Entry<String, String> entry : properties.entrySet()) {
+            if(entry.getKey().startsWith(prefix)) {
+                ttlMillisByCallingClassName.put(
+                        entry.getKey().substring(prefix.length()), getLong(properties, entry.getKey(), ttlMillis));
+            }
+        }
+    }
+
+    private static long getLong(final Map<String, String> properties, final String key, final long defaultValue) {
+        final String value = properties.get(key);
+        return Strings.isNullOrEmpty(value) ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    // -- execute
+
+    @Programmatic
+    @Override
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    @Programmatic
+    @Override
+    public <T> T execute(
+            final Callable<T> callable,
+            final QueryResultsCache.Key cacheKey,
+            final Class<?>... dependsOn) throws Exception {
+
+        if(!isEnabled() || changedObjectsServiceInternal.numberObjectsDirtied() > 0) {
+            return callable.call();
+        }
+
+        final long nowMillis = System.currentTimeMillis();
+        final ResultSnapshot snapshot = store.get(cacheKey, nowMillis);
+        if(snapshot != null) {
+            final Object result = thaw(snapshot);
+            if(result != NOT_CACHEABLE) {
+                return _Casts.uncheckedCast(result);
+            }
+            // an entity in the result has since been deleted
+            store.remove(cacheKey, snapshot);
+        }
+
+        final long generation = store.currentGeneration();
+        final T result = callable.call();
+
+        final ResultSnapshot fresh = freeze(result, dependsOn, nowMillis + ttlMillisFor(cacheKey));
+        if(fresh != null) {
+            store.put(cacheKey, fresh);
+            if(store.isInvalidatedSince(generation, fresh)) {
+                store.remove(cacheKey, fresh);
+            }
+        }
+        return result;
+    }
+
+    private long ttlMillisFor(final QueryResultsCache.Key cacheKey) {
+        if(ttlMillisByCallingClassName.isEmpty() || cacheKey.getCallingClass() == null) {
+            return ttlMillis;
+        }
+        final Long ttlMillisForCallingClass = ttlMillisByCallingClassName.get(cacheKey.getCallingClass().getName());
+        return ttlMillisForCallingClass != null ? ttlMillisForCallingClass : ttlMillis;
+    }
+
+    // -- freeze, thaw
+
+    /**
+     * @return the snapshot, or <tt>null</tt> if the result cannot be cached.
+     */
+    private ResultSnapshot freeze(final Object result, final Class<?>[] dependsOn, final long expiresAt) {
+        final Set<Class<?>> dependencies = Sets.newLinkedHashSet();
+        if(dependsOn != null) {
+            dependencies.addAll(Arrays.asList(dependsOn));
+        }
+
+        final ResultSnapshot.Kind kind;
+        final Object[] elements;
+        if(result instanceof List || result instanceof Set) {
+            kind = result instanceof List ? ResultSnapshot.Kind.LIST : ResultSnapshot.Kind.SET;
+            elements = ((Collection<?>) result).toArray();
+        } else if(result instanceof Collection) {
+            return null;
+        } else {
+            kind = ResultSnapshot.Kind.SCALAR;
+            elements = new Object[] { result };
+        }
+
+        for (int i = 0; i < elements.length; i++) {
+            final Object element = freezeElement(elements[i], dependencies);
+            if(element == NOT_CACHEABLE) {
+                return null;
+            }
+            elements[i] = element;
+        }
+
+        if(dependencies.isEmpty()) {
+            // could never be invalidated
+            return null;
+        }
+        return new ResultSnapshot(kind, elements, dependencies.toArray(new Class<?>[0]), expiresAt);
+    }
+
+    private Object freezeElement(final Object pojo, final Set<Class<?>> dependencies) {
+        if(pojo == null || pojo instanceof Enum) {
+            return pojo;
+        }
+        final ObjectSpecification spec = specificationLoader.loadSpecification(pojo.getClass());
+        if(spec == null) {
+            return NOT_CACHEABLE;
+        }
+        if(spec.isValue()) {
+            return pojo;
+        }
+        if(spec.isPersistenceCapable() && repositoryService.isPersistent(pojo)) {
+            dependencies.add(spec.getCorrespondingClass());
+            return new ResultSnapshot.EntityRef(bookmarkService.bookmarkFor(pojo));
+        }
+        return NOT_CACHEABLE;
+    }
+
+    private Object thaw(final ResultSnapshot snapshot) {
+        final int size = snapshot.size();
+        final Collection<Object> elements;
+        switch (snapshot.getKind()) {
+        case LIST:
+            elements = Lists.newArrayListWithCapacity(size);
+            break;
+        case SET:
+            elements = Sets.newLinkedHashSetWithExpectedSize(size);
+            break;
+        default:
+            return thawElement(snapshot.elementAt(0));
+        }
+        for (int i = 0; i < size; i++) {
+            final Object element = thawElement(snapshot.elementAt(i));
+            if(element == NOT_CACHEABLE) {
+                return NOT_CACHEABLE;
+            }
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    private Object thawElement(final Object element) {
+        if(!(element instanceof ResultSnapshot.EntityRef)) {
+            return element;
+        }
+        final Object pojo = bookmarkService.lookup(
+                ((ResultSnapshot.EntityRef) element).getBookmark(), BookmarkService.FieldResetPolicy.DONT_RESET);
+        return pojo != null ? pojo : NOT_CACHEABLE;
+    }
+
+    // -- invalidate
+
+    /**
+     * Called once a transaction has committed, with the types of all the objects that it created, updated or
+     * deleted.
+     */
+    @Programmatic
+    public void invalidate(final Collection<Class<?>> changedTypes) {
+        if(!isEnabled() || changedTypes.isEmpty()) {
+            return;
+        }
+        store.invalidate(changedTypes);
+    }
+
+    // -- metrics
+
+    @Programmatic
+    public long getHits() {
+        return isEnabled() ? store.getHits() : 0;
+    }
+
+    @Programmatic
+    public long getMisses() {
+        return isEnabled() ? store.getMisses() : 0;
+    }
+
+    /**
+     * The number of snapshots evicted, because the cache was full or the snapshot had expired.
+     */
+    @Programmatic
+    public long getEvictions() {
+        return isEnabled() ? store.getEvictions() : 0;
+    }
+
+    /**
+     * The number of snapshots removed because a type that they depended upon was changed.
+     */
+    @Programmatic
+    public long getInvalidations() {
+        return isEnabled() ? store.getInvalidations() : 0;
+    }
+
+    @Programmatic
+    public int getSize() {
+        return isEnabled() ? store.size() : 0;
+    }
+
+    @Programmatic
+    public long getWeight() {
+        return isEnabled() ? store.weight() : 0;
+    }
+
+    @Programmatic
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, evictions=%d, invalidations=%d, size=%d, weight=%d",
+                getHits(), getMisses(), getEvictions(), getInvalidations(), getSize(), getWeight());
+    }
+
+    @javax.inject.Inject
+    ChangedObjectsServiceInternal changedObjectsServiceInternal;
+
+    @javax.inject.Inject
+    BookmarkService bookmarkService;
+
+    @javax.inject.Inject
+    RepositoryService repositoryService;
+
+    @javax.inject.Inject
+    SpecificationLoader specificationLoader;
+
+}
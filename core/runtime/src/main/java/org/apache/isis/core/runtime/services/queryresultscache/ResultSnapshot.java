@@ -0,0 +1,108 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.queryresultscache;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+/**
+ * An immutable snapshot of a query result, as held by the {@link ResultSnapshotStore}.
+ *
+ * <p>
+ *     Entities are held only as {@link EntityRef reference}s (to be looked up again in whichever session the
+ *     snapshot is used), all other elements being values.
+ * </p>
+ */
+class ResultSnapshot {
+
+    enum Kind {
+        SCALAR,
+        LIST,
+        SET
+    }
+
+    /**
+     * Reference to an entity within the snapshot.
+     */
+    static class EntityRef {
+        private final Bookmark bookmark;
+
+        EntityRef(final Bookmark bookmark) {
+            this.bookmark = bookmark;
+        }
+
+        Bookmark getBookmark() {
+            return bookmark;
+        }
+
+        @Override
+        public String toString() {
+            return bookmark.toString();
+        }
+    }
+
+    private final Kind kind;
+    private final Object[] elements;
+    private final Class<?>[] dependsOn;
+    private final long expiresAt;
+
+    ResultSnapshot(final Kind kind, final Object[] elements, final Class<?>[] dependsOn, final long expiresAt) {
+        this.kind = kind;
+        this.elements = elements;
+        this.dependsOn = dependsOn;
+        this.expiresAt = expiresAt;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    int size() {
+        return elements.length;
+    }
+
+    Object elementAt(final int i) {
+        return elements[i];
+    }
+
+    /**
+     * Used to bound the {@link ResultSnapshotStore}: the number of elements (plus one for the snapshot itself).
+     */
+    int getWeight() {
+        return 1 + elements.length;
+    }
+
+    boolean isExpired(final long nowMillis) {
+        return nowMillis >= expiresAt;
+    }
+
+    /**
+     * Whether this snapshot could be changed by a change to an instance of the type (being either a supertype or a
+     * subtype of any of the types that the snapshot depends on).
+     */
+    boolean dependsOn(final Class<?> changedType) {
+        for (final Class<?> type : dependsOn) {
+            if(type.isAssignableFrom(changedType) || changedType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
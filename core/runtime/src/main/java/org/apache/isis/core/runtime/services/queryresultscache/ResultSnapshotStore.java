@@ -0,0 +1,255 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.queryresultscache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCache.Key;
+
+/**
+ * Thread-safe store of {@link ResultSnapshot}s, bounded both by number and by (total) weight, evicting the least
+ * recently used.
+ *
+ * <p>
+ *     The keys are partitioned into a number of segments, each guarded by its own lock and bounded by its share of
+ *     the limits.
+ * </p>
+ */
+class ResultSnapshotStore {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Incremented on every {@link #invalidate(Collection) invalidation}; for each type invalidated, holds the
+     * generation at which it was most recently invalidated.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentMap<Class<?>, Long> invalidatedAt = _Maps.newConcurrentHashMap();
+
+    ResultSnapshotStore(final int maxEntries, final long maxWeight) {
+        final int numberOfSegments = maxEntries < MAX_SEGMENTS ? 1 : MAX_SEGMENTS;
+        this.segments = new Segment[numberOfSegments];
+        for (int i = 0; i < numberOfSegments; i++) {
+            segments[i] = new Segment(
+                    Math.max(1, (maxEntries + numberOfSegments - 1) / numberOfSegments),
+                    Math.max(1, (maxWeight + numberOfSegments - 1) / numberOfSegments));
+        }
+    }
+
+    // -- get, put, remove
+
+    /**
+     * @return the (unexpired) snapshot, else <tt>null</tt>.
+     */
+    ResultSnapshot get(final Key key, final long nowMillis) {
+        final ResultSnapshot snapshot = segmentFor(key).get(key, nowMillis);
+        (snapshot != null ? hits : misses).incrementAndGet();
+        return snapshot;
+    }
+
+    void put(final Key key, final ResultSnapshot snapshot) {
+        segmentFor(key).put(key, snapshot);
+    }
+
+    /**
+     * Removes the snapshot, if still held for the key.
+     */
+    void remove(final Key key, final ResultSnapshot snapshot) {
+        segmentFor(key).remove(key, snapshot);
+    }
+
+    private Segment segmentFor(final Key key) {
+        final int hash = key.hashCode();
+        return segments[Math.floorMod(hash ^ (hash >>> 16), segments.length)];
+    }
+
+    // -- invalidate
+
+    long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Removes all snapshots that depend on any of the (changed) types.
+     */
+    void invalidate(final Collection<Class<?>> changedTypes) {
+        final long invalidatedGeneration = generation.incrementAndGet();
+        for (final Class<?> changedType : changedTypes) {
+            invalidatedAt.put(changedType, invalidatedGeneration);
+        }
+        for (final Segment segment : segments) {
+            segment.removeDependingOn(changedTypes);
+        }
+    }
+
+    /**
+     * Whether any of the types that the snapshot depends upon have been {@link #invalidate(Collection) invalidated}
+     * since the specified {@link #currentGeneration() generation}.
+     *
+     * <p>
+     *     Called (having {@link #put(Key, ResultSnapshot) put} the snapshot) to detect an invalidation that raced with
+     *     the query that provided the snapshot's result.
+     * </p>
+     */
+    boolean isInvalidatedSince(final long sinceGeneration, final ResultSnapshot snapshot) {
+        if(generation.get() == sinceGeneration) {
+            return false;
+        }
+        for (final Map.Entry<Class<?>, Long> entry : invalidatedAt.entrySet()) {
+            if(entry.getValue() > sinceGeneration && snapshot.dependsOn(entry.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -- metrics
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The number of snapshots evicted, because either the store was full or the snapshot had expired.
+     */
+    long getEvictions() {
+        return evictions.get();
+    }
+
+    long getInvalidations() {
+        return invalidations.get();
+    }
+
+    int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    long weight() {
+        long weight = 0;
+        for (final Segment segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    // -- Segment
+
+    private class Segment {
+
+        private final int maxEntries;
+        private final long maxWeight;
+
+        // access-ordered, so the eldest is the least recently used
+        private final LinkedHashMap<Key, ResultSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        private Segment(final int maxEntries, final long maxWeight) {
+            this.maxEntries = maxEntries;
+            this.maxWeight = maxWeight;
+        }
+
+        synchronized ResultSnapshot get(final Key key, final long nowMillis) {
+            final ResultSnapshot snapshot = snapshots.get(key);
+            if(snapshot == null) {
+                return null;
+            }
+            if(snapshot.isExpired(nowMillis)) {
+                removed(snapshots.remove(key));
+                evictions.incrementAndGet();
+                return null;
+            }
+            return snapshot;
+        }
+
+        synchronized void put(final Key key, final ResultSnapshot snapshot) {
+            if(snapshot.getWeight() > maxWeight) {
+                // would evict everything else, and itself
+                return;
+            }
+            removed(snapshots.put(key, snapshot));
+            weight += snapshot.getWeight();
+
+            final Iterator<ResultSnapshot> eldestFirst = snapshots.values().iterator();
+            while (snapshots.size() > maxEntries || weight > maxWeight) {
+                final ResultSnapshot eldest = eldestFirst.next();
+                eldestFirst.remove();
+                removed(eldest);
+                evictions.incrementAndGet();
+            }
+        }
+
+        synchronized void remove(final Key key, final ResultSnapshot snapshot) {
+            if(snapshots.get(key) == snapshot) {
+                removed(snapshots.remove(key));
+            }
+        }
+
+        synchronized void removeDependingOn(final Collection<Class<?>> changedTypes) {
+            final Iterator<ResultSnapshot> iterator = snapshots.values().iterator();
+            while (iterator.hasNext()) {
+                final ResultSnapshot snapshot = iterator.next();
+                for (final Class<?> changedType : changedTypes) {
+                    if(snapshot.dependsOn(changedType)) {
+                        iterator.remove();
+                        removed(snapshot);
+                        invalidations.incrementAndGet();
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void removed(final ResultSnapshot snapshot) {
+            if(snapshot != null) {
+                weight -= snapshot.getWeight();
+            }
+        }
+
+        synchronized int size() {
+            return snapshots.size();
+        }
+
+        synchronized long weight() {
+            return weight;
+        }
+    }
+
+}
@@ -25,6 +25,7 @@
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.query.QueryFindAllInstances;
+import org.apache.isis.applib.query.QueryFindByCriteria;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
 import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
@@ -59,6 +60,11 @@ final PersistenceQuery createPersistenceQueryFor(final Query<?> query, final Que
             final QueryFindAllInstances<?> queryFindAllInstances = (QueryFindAllInstances<?>) query;
             return new PersistenceQueryFindAllInstances(noSpec, queryFindAllInstances.getStart(), queryFindAllInstances.getCount());
 
+        } else if (query instanceof QueryFindByCriteria) {
+            final QueryFindByCriteria<?> queryFindByCriteria = (QueryFindByCriteria<?>) query;
+            return new PersistenceQueryFindByCriteria(noSpec, queryFindByCriteria.getCriteria(),
+                    queryFindByCriteria.getStart(), queryFindByCriteria.getCount());
+
         } else {
             // query instanceof QueryDefault
 
@@ -2,6 +2,7 @@
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.jdo.PersistenceManager;
 
@@ -41,6 +42,41 @@ public interface PersistenceSession extends AdapterManager, TransactionalResourc
 	 */
 	public static final String DATANUCLEUS_PROPERTIES_ROOT = ROOT_KEY + "impl.";
 
+	/**
+	 * The number of entities traversed by a {@link #streamMatchingQuery(Query) streamed query} after which they are
+	 * evicted (unless dirty) from the {@link PersistenceManager}, keeping memory use roughly constant regardless of
+	 * the size of the result.  A value of 0 (the default) disables eviction; it is not enabled by default because
+	 * an evicted entity that the caller holds on to is hollow, and its adapter discarded, so must be re-fetched on
+	 * next access.
+	 */
+	public static final String STREAM_EVICT_BATCH_SIZE_KEY = ROOT_KEY + "streaming.evictBatchSize";
+	public static final int STREAM_EVICT_BATCH_SIZE_DEFAULT = 0;
+
+	/**
+	 * Whether the create and delete commands of a transaction are flushed set-wise, grouped by entity type
+	 * (using <tt>makePersistentAll</tt> and <tt>deletePersistentAll</tt>), so that DataNucleus can batch the
+	 * resultant statements.  Intended for bulk imports and similar.
+	 */
+	public static final String BULK_PERSISTENCE_KEY = ROOT_KEY + "bulkPersistence";
+	public static final boolean BULK_PERSISTENCE_DEFAULT = false;
+
+	/**
+	 * Whether, for auditing and publishing, updated objects have the pre-modification values of just those
+	 * properties actually modified captured (as reported by DataNucleus, field-by-field), rather than of every
+	 * property.  Assumes that each persisted field has the same name as its property.
+	 */
+	public static final String DIRTY_TRACKING_KEY = ROOT_KEY + "dirtyTracking";
+	public static final boolean DIRTY_TRACKING_DEFAULT = false;
+
+	/**
+	 * Whether the entities returned by {@link #allPojosMatchingQuery(Query) repository queries} are mapped to
+	 * adapters only once the framework actually needs them, rather than as each is loaded.  Their <tt>loaded()</tt>
+	 * callback and lifecycle event are likewise deferred until then (and so never occur for entities that the
+	 * framework doesn't otherwise see, whether by being returned to a viewer or by being modified).
+	 */
+	public static final String LAZY_ADAPTERS_KEY = ROOT_KEY + "lazyAdapters";
+	public static final boolean LAZY_ADAPTERS_DEFAULT = false;
+
 
 	// -- INTERFACE DECLARATION
 
@@ -54,6 +90,30 @@ public interface PersistenceSession extends AdapterManager, TransactionalResourc
 
 	<T> List<ObjectAdapter> allMatchingQuery(final Query<T> query);
 
+	/**
+	 * As per {@link #allMatchingQuery(Query)}, but returning the pojos rather than their adapters.
+	 *
+	 * <p>
+	 * If {@link #LAZY_ADAPTERS_KEY configured}, then the adapters of any entities not already mapped are
+	 * not created, but left to be created as and when required.
+	 */
+	<T> List<T> allPojosMatchingQuery(final Query<T> query);
+
+	/**
+	 * As per {@link #allMatchingQuery(Query)}, but traversing the underlying query results lazily, creating adapters
+	 * only as the returned {@link Stream} is consumed.  The stream should be closed once consumed.
+	 *
+	 * <p>
+	 * If no transaction is in progress then the results are loaded eagerly.
+	 */
+	<T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query);
+
+	/**
+	 * Evicts pojos already traversed by a {@link #streamMatchingQuery(Query) streamed query}, also discarding their
+	 * adapters.  Any that are dirty are left untouched.
+	 */
+	void evictStreamed(final List<?> pojos);
+
 	void close();
 
 	RootOid createPersistentOrViewModelOid(Object pojo);
@@ -64,6 +124,13 @@ public interface PersistenceSession extends AdapterManager, TransactionalResourc
 
 	void destroyObjectInTransaction(ObjectAdapter adapter);
 
+	/**
+	 * Called by the object store as the (persistent) field of a persistent object is about to be modified;
+	 * a no-op unless {@link #DIRTY_TRACKING_KEY dirty tracking} is enabled.  Objects not yet adapted are ignored,
+	 * and so have every property captured once enlisted (as for when dirty tracking is disabled).
+	 */
+	void enlistUpdatingField(Object pojo, String fieldName);
+
 	void execute(List<PersistenceCommand> persistenceCommandList);
 	<T> ObjectAdapter firstMatchingQuery(final Query<T> query);
 
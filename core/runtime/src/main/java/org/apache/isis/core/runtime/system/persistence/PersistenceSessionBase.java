@@ -81,6 +81,14 @@ abstract class PersistenceSessionBase implements PersistenceSession {
 
     protected final boolean concurrencyCheckingGloballyEnabled;
 
+    protected final int streamEvictBatchSize;
+
+    protected final boolean bulkPersistence;
+
+    protected final boolean dirtyTracking;
+
+    protected final boolean lazyAdapters;
+
     // -- CONSTRUCTOR
 
     /**
@@ -127,6 +135,12 @@ protected PersistenceSessionBase(
                 this.configuration.getBoolean("isis.persistor.disableConcurrencyChecking", false);
         this.concurrencyCheckingGloballyEnabled = !concurrencyCheckingGloballyDisabled;
 
+        this.streamEvictBatchSize =
+                this.configuration.getInteger(STREAM_EVICT_BATCH_SIZE_KEY, STREAM_EVICT_BATCH_SIZE_DEFAULT);
+        this.bulkPersistence = this.configuration.getBoolean(BULK_PERSISTENCE_KEY, BULK_PERSISTENCE_DEFAULT);
+        this.dirtyTracking = this.configuration.getBoolean(DIRTY_TRACKING_KEY, DIRTY_TRACKING_DEFAULT);
+        this.lazyAdapters = this.configuration.getBoolean(LAZY_ADAPTERS_KEY, LAZY_ADAPTERS_DEFAULT);
+
     }
     
     // -- GETTERS
@@ -153,6 +167,13 @@ public ServicesInjector getServicesInjector() {
     public IsisTransactionManager getTransactionManager() {
         return transactionManager;
     }
+
+    /**
+     * @see #STREAM_EVICT_BATCH_SIZE_KEY
+     */
+    public int getStreamEvictBatchSize() {
+        return streamEvictBatchSize;
+    }
     
     /**
      * Only populated once {@link #open()}'d
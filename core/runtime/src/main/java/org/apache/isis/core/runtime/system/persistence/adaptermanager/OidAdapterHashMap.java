@@ -19,10 +19,9 @@
 
 package org.apache.isis.core.runtime.system.persistence.adaptermanager;
 
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Map;
-
-import com.google.common.collect.Maps;
+import java.util.NoSuchElementException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,13 +32,26 @@
 
 /**
  * A map of the objects' identities and the adapters' of the objects.
+ *
+ * <p>
+ *     Implemented as an open-addressing (linear probing) table, holding each {@link Oid}'s hash code alongside it,
+ *     so that neither adding nor looking up an adapter allocates, and {@link Oid#equals(Object)} is only called for
+ *     an {@link Oid} with the same hash code.
+ * </p>
  */
 public class OidAdapterHashMap implements Iterable<Oid>, SessionScopedComponent {
 
     private static final Logger LOG = LoggerFactory.getLogger(OidAdapterHashMap.class);
     public static final int DEFAULT_OID_ADAPTER_MAP_SIZE = 100;
 
-    private final Map<Oid, ObjectAdapter> adapterByOidMap = Maps.newHashMapWithExpectedSize(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    private int[] hashes;
+    private Oid[] oids;
+    private ObjectAdapter[] adapters;
+    private int size;
+
+    public OidAdapterHashMap() {
+        allocate(tableSizeFor(DEFAULT_OID_ADAPTER_MAP_SIZE));
+    }
 
     // -- open, close
 
@@ -51,7 +63,9 @@ public void close() {
         if(LOG.isDebugEnabled()) {
             LOG.debug("close");
         }
-        adapterByOidMap.clear();
+        Arrays.fill(oids, null);
+        Arrays.fill(adapters, null);
+        size = 0;
     }
 
     
@@ -62,7 +76,27 @@ public void close() {
      */
     public void add(final Oid oid, final ObjectAdapter adapter) {
 
-        adapterByOidMap.put(oid, adapter);
+        final int hash = oid.hashCode();
+        int slot = slotFor(hash);
+        while (oids[slot] != null) {
+            if(matches(slot, oid, hash)) {
+                oids[slot] = oid;
+                adapters[slot] = adapter;
+                logAdded(oid, adapter);
+                return;
+            }
+            slot = next(slot);
+        }
+        hashes[slot] = hash;
+        oids[slot] = oid;
+        adapters[slot] = adapter;
+        if(++size * 2 > oids.length) {
+            resize(oids.length * 2);
+        }
+        logAdded(oid, adapter);
+    }
+
+    private static void logAdded(final Oid oid, final ObjectAdapter adapter) {
         // log at end so that if toString needs adapters they're in maps.
         if (LOG.isDebugEnabled()) {
             // do not call toString() on adapter because would call hashCode on
@@ -80,7 +114,42 @@ public void add(final Oid oid, final ObjectAdapter adapter) {
      */
     public boolean remove(final Oid oid) {
         LOG.debug("remove oid: {}", oid);
-        return adapterByOidMap.remove(oid) != null;
+        final int slot = indexOf(oid);
+        if(slot < 0) {
+            return false;
+        }
+        delete(slot);
+        return true;
+    }
+
+    /**
+     * Empties the slot, then moves back any subsequent entries (up to the next empty slot) that would otherwise no
+     * longer be reachable from their home slot.
+     */
+    private void delete(int hole) {
+        int slot = next(hole);
+        while (oids[slot] != null) {
+            final int home = slotFor(hashes[slot]);
+            if(!isCyclicallyBetween(hole, home, slot)) {
+                hashes[hole] = hashes[slot];
+                oids[hole] = oids[slot];
+                adapters[hole] = adapters[slot];
+                hole = slot;
+            }
+            slot = next(slot);
+        }
+        oids[hole] = null;
+        adapters[hole] = null;
+        size--;
+    }
+
+    /**
+     * Whether <tt>home</tt> lies in the (cyclic) range <tt>(from, to]</tt>.
+     */
+    private static boolean isCyclicallyBetween(final int from, final int home, final int to) {
+        return from <= to
+                ? from < home && home <= to
+                : from < home || home <= to;
     }
 
     
@@ -90,15 +159,106 @@ public boolean remove(final Oid oid) {
      * Get the adapter identified by the specified OID.
      */
     public ObjectAdapter getAdapter(final Oid oid) {
-        return adapterByOidMap.get(oid);
+        final int slot = indexOf(oid);
+        return slot >= 0 ? adapters[slot] : null;
     }
 
+    /**
+     * Iterates over a snapshot of the oids.
+     */
     @Override
     public Iterator<Oid> iterator() {
-        return adapterByOidMap.keySet().iterator();
+        final Oid[] snapshot = new Oid[size];
+        int i = 0;
+        for (final Oid oid : oids) {
+            if(oid != null) {
+                snapshot[i++] = oid;
+            }
+        }
+        return new Iterator<Oid>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < snapshot.length;
+            }
+
+            @Override
+            public Oid next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return snapshot[next++];
+            }
+        };
+    }
+
+    /**
+     * The number of adapters held.
+     */
+    public int size() {
+        return size;
     }
 
     
 
+    // -- table
+
+    private int indexOf(final Oid oid) {
+        final int hash = oid.hashCode();
+        int slot = slotFor(hash);
+        while (oids[slot] != null) {
+            if(matches(slot, oid, hash)) {
+                return slot;
+            }
+            slot = next(slot);
+        }
+        return -1;
+    }
+
+    private boolean matches(final int slot, final Oid oid, final int hash) {
+        final Oid candidate = oids[slot];
+        return candidate == oid || hashes[slot] == hash && candidate.equals(oid);
+    }
+
+    private int slotFor(final int hash) {
+        // spread the higher bits, since the table is indexed using just the lower bits
+        return (hash ^ (hash >>> 16)) & (oids.length - 1);
+    }
+
+    private int next(final int slot) {
+        return (slot + 1) & (oids.length - 1);
+    }
+
+    private void resize(final int capacity) {
+        final int[] oldHashes = hashes;
+        final Oid[] oldOids = oids;
+        final ObjectAdapter[] oldAdapters = adapters;
+        allocate(capacity);
+        for (int i = 0; i < oldOids.length; i++) {
+            if(oldOids[i] != null) {
+                int slot = slotFor(oldHashes[i]);
+                while (oids[slot] != null) {
+                    slot = next(slot);
+                }
+                hashes[slot] = oldHashes[i];
+                oids[slot] = oldOids[i];
+                adapters[slot] = oldAdapters[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        hashes = new int[capacity];
+        oids = new Oid[capacity];
+        adapters = new ObjectAdapter[capacity];
+    }
+
+    /**
+     * The power of two that keeps the table at most half full for the expected number of entries.
+     */
+    private static int tableSizeFor(final int expectedSize) {
+        return Integer.highestOneBit(Math.max(expectedSize * 2 - 1, 1)) << 1;
+    }
 
 }
@@ -36,6 +36,7 @@
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
 import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.commons.util.PhaseMetrics;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.appmanifest.AppManifestProvider;
@@ -262,6 +263,7 @@ public LogonFixture getLogonFixture() {
     public IsisSession openSession(final AuthenticationSession authenticationSession) {
 
         closeSession();
+        PhaseMetrics.resetInteraction();
 
         final PersistenceSession persistenceSession =
                 persistenceSessionFactory.createPersistenceSession(servicesInjector, authenticationSession);
@@ -32,6 +32,7 @@
 import org.apache.isis.applib.fixturescripts.FixtureScripts;
 import org.apache.isis.applib.internal.context._Context;
 import org.apache.isis.applib.services.fixturespec.FixtureScriptsDefault;
+import org.apache.isis.applib.services.swagger.SwaggerService;
 import org.apache.isis.core.commons.config.IsisConfigurationDefault;
 import org.apache.isis.core.commons.lang.ListExtensions;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
@@ -205,6 +206,9 @@ public IsisSessionFactory buildSessionFactory() {
 
             isisSessionFactory.constructServices();
 
+            // if validating in parallel, then each worker thread requires its own session (see above)
+            specificationLoader.setValidationTaskDecorator(task -> () -> isisSessionFactory.doInSession(task));
+
 
             isisSessionFactory.doInSession(
                     () -> {
@@ -223,6 +227,10 @@ public IsisSessionFactory buildSessionFactory() {
                     }
             );
 
+            if(deploymentCategory.isProduction() && isMetaModelValid()) {
+                warmUpSwaggerSpecs(isisSessionFactory, servicesInjector);
+            }
+
 
         } catch (final IsisSystemException ex) {
             LOG.error("failed to initialise", ex);
@@ -232,6 +240,35 @@ public IsisSessionFactory buildSessionFactory() {
         return isisSessionFactory;
     }
 
+    /**
+     * The swagger specs are derived only from the metamodel, and so are cached once generated; this generates them in
+     * the background so that the first request for them need not wait.
+     */
+    private static void warmUpSwaggerSpecs(
+            final IsisSessionFactory isisSessionFactory,
+            final ServicesInjector servicesInjector) {
+        final SwaggerService swaggerService = servicesInjector.lookupService(SwaggerService.class);
+        if(swaggerService == null) {
+            return;
+        }
+        final Thread thread = new Thread(() -> {
+            try {
+                isisSessionFactory.doInSession(() -> {
+                    for (final SwaggerService.Visibility visibility : SwaggerService.Visibility.values()) {
+                        for (final SwaggerService.Format format : SwaggerService.Format.values()) {
+                            swaggerService.generateSwaggerSpec(visibility, format);
+                        }
+                    }
+                });
+            } catch (final RuntimeException ex) {
+                // not fatal; will be generated on demand instead
+                LOG.warn("failed to warm up swagger specs", ex);
+            }
+        }, "isis-swagger-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     private static Collection<MetaModelRefiner> refiners(Object... possibleRefiners ) {
         return ListExtensions.filtered(Arrays.asList(possibleRefiners), MetaModelRefiner.class);
     }
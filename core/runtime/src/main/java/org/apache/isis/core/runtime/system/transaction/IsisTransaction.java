@@ -19,7 +19,9 @@
 
 package org.apache.isis.core.runtime.system.transaction;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import com.google.common.collect.Lists;
@@ -30,12 +32,15 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.HasTransactionId;
 import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.audit.AuditEntry;
+import org.apache.isis.applib.services.metrics.MetricsService.Phase;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.applib.services.xactn.TransactionState;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.authentication.MessageBroker;
 import org.apache.isis.core.commons.components.TransactionScopedComponent;
 import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.commons.util.PhaseMetrics;
 import org.apache.isis.core.commons.util.ToString;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
@@ -44,7 +49,9 @@
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
+import org.apache.isis.core.runtime.services.queryresultscache.QueryResultsCacheSharedInternal;
 
 /**
  * Used by the {@link IsisTransactionManager} to captures a set of changes to be
@@ -171,6 +178,20 @@ public TransactionState getTransactionState() {
     private final PublishingServiceInternal publishingServiceInternal;
     private final AuditingServiceInternal auditingServiceInternal;
 
+    /**
+     * Captured in {@link #preCommit()}, to be dispatched only once actually {@link #commit() committed}.
+     */
+    private List<AuditEntry> auditEntriesToDispatch = Collections.emptyList();
+
+    private final ChangedObjectsServiceInternal changedObjectsServiceInternal;
+    private final QueryResultsCacheSharedInternal queryResultsCacheShared;
+
+    /**
+     * Captured in {@link #preCommit()}, to be invalidated in the shared query results cache only once actually
+     * {@link #commit() committed}.
+     */
+    private Set<Class<?>> changedTypesToInvalidate = Collections.emptySet();
+
     private final List<WithTransactionScope> withTransactionScopes;
 
     private IsisException abortCause;
@@ -192,6 +213,8 @@ public IsisTransaction(
         this.messageBroker = authenticationSession.getMessageBroker();
         this.publishingServiceInternal = servicesInjector.lookupServiceElseFail(PublishingServiceInternal.class);
         this.auditingServiceInternal = servicesInjector.lookupServiceElseFail(AuditingServiceInternal.class);
+        this.changedObjectsServiceInternal = servicesInjector.lookupServiceElseFail(ChangedObjectsServiceInternal.class);
+        this.queryResultsCacheShared = servicesInjector.lookupServiceElseFail(QueryResultsCacheSharedInternal.class);
 
         withTransactionScopes = servicesInjector.lookupServices(WithTransactionScope.class);
 
@@ -335,11 +358,14 @@ public final void flush() {
         //
         LOG.debug("flush transaction {}", this);
 
+        final long startedAt = PhaseMetrics.start();
         try {
             doFlush();
         } catch (final RuntimeException ex) {
             setAbortCause(new IsisTransactionFlushException(ex));
             throw ex;
+        } finally {
+            PhaseMetrics.stop(Phase.FLUSH, startedAt);
         }
     }
 
@@ -380,7 +406,8 @@ private void doFlush() {
 
             if(!persistenceCommandList.isEmpty()) {
                 // so won't be processed again if a flush is encountered subsequently
-                persistenceCommands.removeAll(persistenceCommandList);
+                // (the copy is of all pending commands, so there's no need for a (quadratic) removeAll)
+                persistenceCommands.clear();
                 try {
                     this.transactionManager.getPersistenceSession().execute(persistenceCommandList);
                     for (PersistenceCommand persistenceCommand : persistenceCommandList) {
@@ -416,10 +443,30 @@ void preCommit() {
         }
 
         try {
-            auditingServiceInternal.audit();
+            long startedAt = PhaseMetrics.start();
+            try {
+                auditEntriesToDispatch = auditingServiceInternal.audit();
+            } finally {
+                PhaseMetrics.stop(Phase.AUDIT, startedAt);
+            }
 
-            publishingServiceInternal.publishObjects();
-            doFlush();
+            if(queryResultsCacheShared.isEnabled()) {
+                changedTypesToInvalidate = changedObjectsServiceInternal.getEnlistedTypes();
+            }
+
+            startedAt = PhaseMetrics.start();
+            try {
+                publishingServiceInternal.publishObjects();
+            } finally {
+                PhaseMetrics.stop(Phase.PUBLISH, startedAt);
+            }
+
+            startedAt = PhaseMetrics.start();
+            try {
+                doFlush();
+            } finally {
+                PhaseMetrics.stop(Phase.FLUSH, startedAt);
+            }
 
         } catch (final RuntimeException ex) {
             setAbortCause(new IsisTransactionManagerException(ex));
@@ -444,6 +491,14 @@ void commit() {
         }
 
         setState(State.COMMITTED);
+
+        auditingServiceInternal.dispatchCommitted(auditEntriesToDispatch);
+        auditEntriesToDispatch = Collections.emptyList();
+
+        publishingServiceInternal.publishCommitted();
+
+        queryResultsCacheShared.invalidate(changedTypesToInvalidate);
+        changedTypesToInvalidate = Collections.emptySet();
     }
 
 
@@ -459,6 +514,10 @@ final void markAsAborted() {
 
         LOG.info("abort transaction {}", this);
         setState(State.ABORTED);
+
+        auditEntriesToDispatch = Collections.emptyList();
+        changedTypesToInvalidate = Collections.emptySet();
+        publishingServiceInternal.discardUncommitted();
     }
 
 
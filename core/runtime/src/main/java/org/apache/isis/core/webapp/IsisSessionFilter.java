@@ -40,9 +40,11 @@
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 
+import org.apache.isis.applib.services.metrics.MetricsService.Phase;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.factory.InstanceUtil;
 import org.apache.isis.core.commons.lang.StringExtensions;
+import org.apache.isis.core.commons.util.PhaseMetrics;
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelInvalidException;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
@@ -337,8 +339,13 @@ public void doFilter(final ServletRequest request, final ServletResponse respons
             if (authSession != null) {
                 authSessionStrategy.bind(httpServletRequest, httpServletResponse, authSession);
 
+                final long startedAt = PhaseMetrics.start();
                 sessionFactory.openSession(authSession);
-                chain.doFilter(request, response);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    PhaseMetrics.stop(Phase.REQUEST, startedAt);
+                }
                 return;
             }
 
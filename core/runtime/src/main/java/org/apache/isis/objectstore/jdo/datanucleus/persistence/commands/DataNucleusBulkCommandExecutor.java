@@ -0,0 +1,134 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.commands;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+
+/**
+ * Executes {@link PersistenceCommand}s set-wise, rather than one at a time.
+ *
+ * <p>
+ * Each run of consecutive {@link CreateObjectCommand create} (or {@link DestroyObjectCommand destroy}) commands is
+ * grouped by entity type, each group being handed to {@link PersistenceManager#makePersistentAll(java.util.Collection)}
+ * (or {@link PersistenceManager#deletePersistentAll(java.util.Collection)}).  The
+ * {@link #FLUSH_MODE_KEY flush mode} is set to <tt>MANUAL</tt> meanwhile, so that DataNucleus defers the resultant
+ * statements to the final {@link PersistenceManager#flush() flush}, where same-type statements can be batched.
+ *
+ * <p>
+ * The relative order of creates and destroys is preserved.
+ */
+public class DataNucleusBulkCommandExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataNucleusBulkCommandExecutor.class);
+
+    static final String FLUSH_MODE_KEY = "datanucleus.flush.mode";
+
+    private enum Kind {
+        CREATE,
+        DESTROY
+    }
+
+    private final PersistenceManager persistenceManager;
+
+    private Kind currentKind;
+    private final Map<Class<?>, List<Object>> currentPojosByType = _Maps.newLinkedHashMap();
+    private int batches;
+
+    public DataNucleusBulkCommandExecutor(final PersistenceManager persistenceManager) {
+        this.persistenceManager = persistenceManager;
+    }
+
+    /**
+     * Executes the commands, then flushes.
+     *
+     * @return the number of batches (calls to <tt>makePersistentAll</tt> or <tt>deletePersistentAll</tt>).
+     */
+    public int executeAndFlush(final List<PersistenceCommand> commands) {
+        final Object flushModeIfAny = persistenceManager.getProperties().get(FLUSH_MODE_KEY);
+        persistenceManager.setProperty(FLUSH_MODE_KEY, "MANUAL");
+        try {
+            for (final PersistenceCommand command : commands) {
+                if(command instanceof CreateObjectCommand) {
+                    final ObjectAdapter adapter = command.onAdapter();
+                    if(!adapter.isTransient()) {
+                        // already persisted by reachability (see DataNucleusCreateObjectCommand)
+                        continue;
+                    }
+                    add(Kind.CREATE, adapter.getObject());
+                } else if(command instanceof DestroyObjectCommand) {
+                    add(Kind.DESTROY, command.onAdapter().getObject());
+                } else {
+                    executePending();
+                    command.execute(null);
+                }
+            }
+            executePending();
+            persistenceManager.flush();
+        } finally {
+            persistenceManager.setProperty(FLUSH_MODE_KEY, flushModeIfAny != null ? flushModeIfAny : defaultFlushMode());
+        }
+        return batches;
+    }
+
+    private void add(final Kind kind, final Object pojo) {
+        if(kind != currentKind) {
+            executePending();
+            currentKind = kind;
+        }
+        currentPojosByType.computeIfAbsent(pojo.getClass(), __ -> _Lists.newArrayList()).add(pojo);
+    }
+
+    private void executePending() {
+        for (final Map.Entry<Class<?>, List<Object>> entry : currentPojosByType.entrySet()) {
+            final List<Object> pojos = entry.getValue();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("{} {} x {}", currentKind, pojos.size(), entry.getKey().getName());
+            }
+            if(currentKind == Kind.CREATE) {
+                persistenceManager.makePersistentAll(pojos);
+            } else {
+                persistenceManager.deletePersistentAll(pojos);
+            }
+            batches++;
+        }
+        currentPojosByType.clear();
+        currentKind = null;
+    }
+
+    /**
+     * As per DataNucleus, if no flush mode has been set explicitly.
+     */
+    private String defaultFlushMode() {
+        return persistenceManager.currentTransaction().getOptimistic() ? "MANUAL" : "AUTO";
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.query.Criteria;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+
+/**
+ * A JDOQL filter, compiled from {@link Criteria}, with its values bound as implicit parameters.
+ */
+public final class JdoqlFilter {
+
+    /**
+     * @throws IllegalArgumentException if the criteria refer to a property that is not a persisted property of
+     * the provided specification.
+     */
+    public static JdoqlFilter compile(final ObjectSpecification specification, final Criteria<?> criteria) {
+        final JdoqlFilter jdoqlFilter = new JdoqlFilter();
+        jdoqlFilter.append(specification, criteria);
+        return jdoqlFilter;
+    }
+
+    private final StringBuilder filter = new StringBuilder();
+    private final Map<String, Object> parametersByName = _Maps.newLinkedHashMap();
+
+    private JdoqlFilter() {
+    }
+
+    public String getFilter() {
+        return filter.toString();
+    }
+
+    public Map<String, Object> getParametersByName() {
+        return Collections.unmodifiableMap(parametersByName);
+    }
+
+    private void append(final ObjectSpecification specification, final Criteria<?> criteria) {
+        if(criteria instanceof Criteria.Comparison) {
+            append(specification, (Criteria.Comparison<?>) criteria);
+        } else if(criteria instanceof Criteria.Junction) {
+            final Criteria.Junction<?> junction = (Criteria.Junction<?>) criteria;
+            if(junction.getOperands().isEmpty()) {
+                filter.append(junction.isConjunction());
+                return;
+            }
+            filter.append('(');
+            String separator = "";
+            for (final Criteria<?> operand : junction.getOperands()) {
+                filter.append(separator);
+                append(specification, operand);
+                separator = junction.isConjunction() ? " && " : " || ";
+            }
+            filter.append(')');
+        } else if(criteria instanceof Criteria.Negation) {
+            filter.append("!(");
+            append(specification, ((Criteria.Negation<?>) criteria).getOperand());
+            filter.append(')');
+        } else {
+            throw new IllegalArgumentException("Unknown Criteria type: " + criteria);
+        }
+    }
+
+    private void append(final ObjectSpecification specification, final Criteria.Comparison<?> comparison) {
+        final String propertyName = comparison.getPropertyName();
+        ensurePersistedProperty(specification, propertyName);
+
+        final Object value = comparison.getValue();
+        final Criteria.Operator operator = comparison.getOperator();
+        if(value == null && (operator == Criteria.Operator.EQ || operator == Criteria.Operator.NE)) {
+            filter.append(propertyName).append(' ').append(operator.getSymbol()).append(" null");
+            return;
+        }
+
+        final String parameterName = "p" + parametersByName.size();
+        parametersByName.put(parameterName, value);
+        if(operator == Criteria.Operator.STARTS_WITH) {
+            filter.append(propertyName).append(".startsWith(:").append(parameterName).append(')');
+        } else {
+            filter.append(propertyName).append(' ').append(operator.getSymbol()).append(" :").append(parameterName);
+        }
+    }
+
+    private static void ensurePersistedProperty(final ObjectSpecification specification, final String propertyName) {
+        final ObjectAssociation association = specification.getAssociation(propertyName);
+        if(association == null || !association.isOneToOneAssociation() || association.isNotPersisted()) {
+            throw new IllegalArgumentException(String.format(
+                    "'%s' is not a persisted property of %s", propertyName, specification.getFullIdentifier()));
+        }
+    }
+
+}
@@ -19,12 +19,25 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.runtime.system.persistence.PersistenceQuery;
 
 public interface PersistenceQueryProcessor<T extends PersistenceQuery> {
 	List<ObjectAdapter> process(T query);
+
+	/**
+	 * As per {@link #process(PersistenceQuery)}, but returning the pojos themselves, leaving it to the caller
+	 * to map them to adapters (if at all).
+	 */
+	List<?> processPojos(T query);
+
+	/**
+	 * As per {@link #process(PersistenceQuery)}, but traversing the results lazily; closing the returned
+	 * {@link Stream} releases the underlying query.
+	 */
+	Stream<ObjectAdapter> stream(T query);
 }
 
 // Copyright (c) Naked Objects Group Ltd.
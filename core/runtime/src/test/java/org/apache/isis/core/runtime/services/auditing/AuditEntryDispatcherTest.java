@@ -0,0 +1,199 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.audit.AuditEntry;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class AuditEntryDispatcherTest {
+
+    private final List<List<AuditEntry>> deliveredBatches = new CopyOnWriteArrayList<>();
+
+    private AuditEntryDispatcher dispatcher;
+
+    @After
+    public void tearDown() throws Exception {
+        if(dispatcher != null) {
+            dispatcher.shutdown(1000L);
+        }
+    }
+
+    @Test
+    public void delivers_all_entries_in_batches_no_larger_than_batch_size() throws Exception {
+        // given
+        dispatcher = new AuditEntryDispatcher(1000, 10, AuditEntryDispatcher.OverflowPolicy.BLOCK, deliveredBatches::add);
+
+        // when
+        dispatcher.enqueue(auditEntries(25));
+        dispatcher.enqueue(auditEntries(15));
+        dispatcher.shutdown(5000L);
+
+        // then
+        int delivered = 0;
+        for (final List<AuditEntry> batch : deliveredBatches) {
+            assertThat(batch.size(), lessThanOrEqualTo(10));
+            delivered += batch.size();
+        }
+        assertThat(delivered, is(40));
+        assertThat(dispatcher.getDelivered(), is(40L));
+        assertThat(dispatcher.getDropped(), is(0L));
+        assertThat(dispatcher.getQueueDepth(), is(0));
+        assertThat(dispatcher.getBatches(), greaterThan(3L));
+    }
+
+    @Test
+    public void drop_policy_discards_entries_once_queue_is_full() throws Exception {
+        // given
+        final CountDownLatch delivering = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        dispatcher = new AuditEntryDispatcher(5, 1, AuditEntryDispatcher.OverflowPolicy.DROP, batch -> {
+            delivering.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            deliveredBatches.add(batch);
+        });
+
+        // when the first entry is being delivered...
+        dispatcher.enqueue(auditEntries(1));
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+
+        // ... then the queue can hold only 5 more
+        dispatcher.enqueue(auditEntries(8));
+
+        // then
+        assertThat(dispatcher.getQueueDepth(), is(5));
+        assertThat(dispatcher.getDropped(), is(3L));
+
+        // and when
+        release.countDown();
+        dispatcher.shutdown(5000L);
+
+        // then
+        assertThat(dispatcher.getDelivered(), is(6L));
+    }
+
+    @Test
+    public void delivers_on_callers_thread_once_shut_down() throws Exception {
+        // given
+        dispatcher = new AuditEntryDispatcher(10, 10, AuditEntryDispatcher.OverflowPolicy.BLOCK, deliveredBatches::add);
+        dispatcher.shutdown(1000L);
+
+        // when
+        dispatcher.enqueue(auditEntries(3));
+
+        // then
+        assertThat(deliveredBatches.size(), is(1));
+        assertThat(deliveredBatches.get(0).size(), is(3));
+    }
+
+    @Test(timeout = 30000)
+    public void errors_thrown_by_delivery_do_not_stop_the_worker() throws Exception {
+        // given a queue that fills up immediately, and a delivery that fails (with an Error) the first time
+        final CountDownLatch firstDelivery = new CountDownLatch(1);
+        dispatcher = new AuditEntryDispatcher(1, 1, AuditEntryDispatcher.OverflowPolicy.BLOCK, batch -> {
+            if(firstDelivery.getCount() > 0) {
+                firstDelivery.countDown();
+                throw new AssertionError("auditer failed");
+            }
+            deliveredBatches.add(batch);
+        });
+
+        // when (would block forever if the worker had died)
+        dispatcher.enqueue(auditEntries(5));
+        dispatcher.shutdown(5000L);
+
+        // then
+        assertThat(dispatcher.getFailed(), is(1L));
+        assertThat(dispatcher.getDelivered(), is(4L));
+        assertThat(deliveredBatches.size(), is(4));
+    }
+
+    @Test(timeout = 30000)
+    public void enqueues_racing_with_shutdown_are_all_delivered() throws Exception {
+        // given
+        final int numThreads = 4;
+        final int numEnqueues = 200;
+        dispatcher = new AuditEntryDispatcher(8, 4, AuditEntryDispatcher.OverflowPolicy.BLOCK, deliveredBatches::add);
+
+        final CyclicBarrier barrier = new CyclicBarrier(numThreads + 1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                } catch (InterruptedException | BrokenBarrierException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int j = 0; j < numEnqueues; j++) {
+                    dispatcher.enqueue(auditEntries(1));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // when
+        barrier.await();
+        dispatcher.shutdown(5000L);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        int delivered = 0;
+        for (final List<AuditEntry> batch : deliveredBatches) {
+            delivered += batch.size();
+        }
+        assertThat(delivered, is(numThreads * numEnqueues));
+        assertThat(dispatcher.getQueueDepth(), is(0));
+    }
+
+    private static List<AuditEntry> auditEntries(final int number) {
+        final UUID transactionId = UUID.randomUUID();
+        final List<AuditEntry> auditEntries = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            auditEntries.add(new AuditEntry(
+                    transactionId, 0, "customer.Customer", new Bookmark("CUS", "" + i),
+                    "customer.Customer#name", "name", "before", "after", "sven", null));
+        }
+        return auditEntries;
+    }
+
+}
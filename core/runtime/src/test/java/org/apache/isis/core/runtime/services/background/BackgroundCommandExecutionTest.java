@@ -0,0 +1,323 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.command.CommandExecutorService;
+import org.apache.isis.applib.services.command.CommandWithDto;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.session.IsisSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BackgroundCommandExecutionTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private IsisSessionFactory mockIsisSessionFactory;
+    @Mock
+    private IsisSession mockIsisSession;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private IsisTransactionManager mockTransactionManager;
+    @Mock
+    private BookmarkService mockBookmarkService;
+
+    private final IsisConfigurationDefault configuration = new IsisConfigurationDefault();
+
+    private final List<CommandWithDto> commands = _Lists.newArrayList();
+    private final Map<Bookmark, CommandWithDto> commandByBookmark = new ConcurrentHashMap<>();
+    private final Map<CommandWithDto, Bookmark> bookmarkByCommand = new ConcurrentHashMap<>();
+
+    // shared by all executions, as if a database
+    private final Set<CommandWithDto> claimed = ConcurrentHashMap.newKeySet();
+
+    // commands (by index) as executed, per target
+    private final Map<Bookmark, List<Integer>> executedByTarget = new ConcurrentHashMap<>();
+    private final List<CommandWithDto> executed = Collections.synchronizedList(_Lists.newArrayList());
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockIsisSessionFactory).getConfiguration();
+            will(returnValue(configuration));
+
+            allowing(mockIsisSessionFactory).getCurrentSession();
+            will(returnValue(mockIsisSession));
+
+            allowing(mockIsisSession).getAuthenticationSession();
+            will(returnValue(mockAuthenticationSession));
+
+            allowing(mockIsisSessionFactory).doInSession(with(any(Runnable.class)), with(mockAuthenticationSession));
+            will(new CustomAction("run in session") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    ((Runnable) invocation.getParameter(0)).run();
+                    return null;
+                }
+            });
+
+            allowing(mockTransactionManager).executeWithinTransaction(with(any(TransactionalClosure.class)));
+            will(new CustomAction("run in transaction") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    ((TransactionalClosure) invocation.getParameter(0)).execute();
+                    return null;
+                }
+            });
+
+            allowing(mockTransactionManager).startTransaction(with(any(Command.class)));
+            allowing(mockTransactionManager).endTransaction();
+
+            allowing(mockBookmarkService).bookmarkFor(with(any(Object.class)));
+            will(new CustomAction("bookmark for") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return bookmarkByCommand.get(invocation.getParameter(0));
+                }
+            });
+
+            allowing(mockBookmarkService).lookup(with(any(Bookmark.class)), with(BookmarkService.FieldResetPolicy.DONT_RESET));
+            will(new CustomAction("lookup") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return commandByBookmark.get(invocation.getParameter(0));
+                }
+            });
+        }});
+    }
+
+    private void givenCommands(final int numberOfCommands, final int numberOfTargets) {
+        for (int i = 0; i < numberOfCommands; i++) {
+            final CommandWithDto command = context.mock(CommandWithDto.class, "command" + i);
+            final Bookmark target = new Bookmark("CUS", "" + i % numberOfTargets);
+            final Bookmark commandBookmark = new Bookmark("isiscommand.Command", "" + i);
+            context.checking(new Expectations() {{
+                allowing(command).getTarget();
+                will(returnValue(target));
+                allowing(command).getTimestamp();
+                will(returnValue(null));
+                allowing(command).getException();
+                will(returnValue(null));
+            }});
+            commands.add(command);
+            commandByBookmark.put(commandBookmark, command);
+            bookmarkByCommand.put(command, commandBookmark);
+        }
+    }
+
+    private void givenWorkers(final int numberOfWorkers, final int batchSize) {
+        configuration.put(BackgroundCommandExecution.KEY_WORKERS, "" + numberOfWorkers);
+        configuration.put(BackgroundCommandExecution.KEY_BATCH_SIZE, "" + batchSize);
+    }
+
+    @Test
+    public void executes_one_after_another_by_default() throws Exception {
+        // given
+        givenCommands(10, 3);
+        final TestExecution execution = new TestExecution();
+
+        // when
+        execution.doExecute(null);
+
+        // then
+        assertThat(executed, is(commands));
+        assertThat(execution.getMetrics().getExecuted(), is(10L));
+        assertThat(execution.getMetrics().getLastRunExecuted(), is(10L));
+    }
+
+    @Test(timeout = 30000)
+    public void executes_concurrently_but_in_order_for_each_target() throws Exception {
+        // given
+        givenCommands(60, 6);
+        givenWorkers(4, 7);
+        final TestExecution execution = new TestExecution();
+
+        // when
+        execution.doExecute(null);
+
+        // then
+        assertThat(executed.size(), is(60));
+        assertThat(executedByTarget.size(), is(6));
+        for (final Map.Entry<Bookmark, List<Integer>> entry : executedByTarget.entrySet()) {
+            final List<Integer> indices = entry.getValue();
+            assertThat(indices.size(), is(10));
+            for (int i = 1; i < indices.size(); i++) {
+                assertThat(entry.getKey().toString(), indices.get(i - 1) < indices.get(i), is(true));
+            }
+        }
+        final BackgroundCommandExecutionMetrics metrics = execution.getMetrics();
+        assertThat(metrics.getExecuted(), is(60L));
+        assertThat(metrics.getLastRunExecuted(), is(60L));
+        assertThat(metrics.getSkipped(), is(0L));
+        assertThat(metrics.getFailed(), is(0L));
+    }
+
+    @Test(timeout = 30000)
+    public void accumulates_metrics_and_counts_each_run_separately() throws Exception {
+        // given
+        givenCommands(20, 4);
+        givenWorkers(2, 5);
+        final TestExecution execution = new TestExecution();
+
+        // when
+        execution.doExecute(null);
+        claimed.clear();
+        execution.doExecute(null);
+
+        // then
+        assertThat(execution.getMetrics().getExecuted(), is(40L));
+        assertThat(execution.getMetrics().getLastRunExecuted(), is(20L));
+        // and metrics are not shared between instances
+        assertThat(new TestExecution().getMetrics().getExecuted(), is(0L));
+    }
+
+    @Test(timeout = 30000)
+    public void executions_racing_for_the_same_commands_execute_each_only_once() throws Exception {
+        // given
+        givenCommands(40, 8);
+        givenWorkers(4, 5);
+        final TestExecution execution1 = new TestExecution();
+        final TestExecution execution2 = new TestExecution();
+
+        // when
+        runConcurrently(execution1, execution2);
+
+        // then
+        assertExecutedOnce();
+        final long executedTotal = execution1.getMetrics().getExecuted() + execution2.getMetrics().getExecuted();
+        final long skippedTotal = execution1.getMetrics().getSkipped() + execution2.getMetrics().getSkipped();
+        assertThat(executedTotal, is(40L));
+        assertThat(skippedTotal, is(40L));
+    }
+
+    @Test(timeout = 30000)
+    public void overlapping_runs_of_the_same_execution_execute_each_command_only_once() throws Exception {
+        // given
+        givenCommands(40, 8);
+        givenWorkers(4, 5);
+        final TestExecution execution = new TestExecution();
+
+        // when
+        runConcurrently(execution, execution);
+
+        // then
+        assertExecutedOnce();
+        assertThat(execution.getMetrics().getExecuted(), is(40L));
+        assertThat(execution.getMetrics().getSkipped(), is(40L));
+    }
+
+    private void assertExecutedOnce() {
+        assertThat(executed.size(), is(commands.size()));
+        assertThat(new HashSet<>(executed).size(), is(commands.size()));
+    }
+
+    private static void runConcurrently(final TestExecution... executions) throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(executions.length);
+        try {
+            final CountDownLatch ready = new CountDownLatch(1);
+            final List<Future<?>> futures = _Lists.newArrayList();
+            for (final TestExecution execution : executions) {
+                futures.add(executorService.submit(() -> {
+                    ready.await();
+                    execution.doExecute(null);
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    class TestExecution extends BackgroundCommandExecution {
+
+        TestExecution() {
+            bookmarkService = mockBookmarkService;
+            commandExecutorService = (sudoPolicy, commandWithDto) -> {
+                executed.add(commandWithDto);
+                executedByTarget.computeIfAbsent(
+                        commandWithDto.getTarget(), target -> Collections.synchronizedList(_Lists.newArrayList()))
+                        .add(commands.indexOf(commandWithDto));
+            };
+        }
+
+        @Override
+        protected List<? extends Command> findBackgroundCommandsToExecute() {
+            return commands;
+        }
+
+        @Override
+        protected boolean claim(final CommandWithDto command) {
+            return claimed.add(command);
+        }
+
+        @Override
+        protected IsisSessionFactory getIsisSessionFactory() {
+            return mockIsisSessionFactory;
+        }
+
+        @Override
+        protected PersistenceSession getPersistenceSession() {
+            return null;
+        }
+
+        @Override
+        protected IsisTransactionManager getTransactionManager(final PersistenceSession persistenceSession) {
+            return mockTransactionManager;
+        }
+    }
+
+}
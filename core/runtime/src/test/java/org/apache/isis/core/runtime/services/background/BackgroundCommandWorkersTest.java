@@ -0,0 +1,120 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.internal.collections._Maps;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class BackgroundCommandWorkersTest {
+
+    private final BackgroundCommandWorkers workers = new BackgroundCommandWorkers(4);
+
+    @After
+    public void tearDown() throws Exception {
+        workers.shutdown();
+    }
+
+    @Test(timeout = 30000)
+    public void executes_the_tasks_of_each_key_in_order() throws Exception {
+        // given
+        final List<Integer> tasks = _Lists.newArrayList();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(i);
+        }
+        final Map<String, List<Integer>> executedByKey = new ConcurrentHashMap<>();
+
+        // when
+        workers.executeAll(tasks, BackgroundCommandWorkersTest::keyOf, task ->
+                executedByKey.computeIfAbsent(keyOf(task), key -> _Lists.newArrayList()).add(task));
+
+        // then
+        assertThat(executedByKey.size(), is(10));
+        for (final Map.Entry<String, List<Integer>> entry : executedByKey.entrySet()) {
+            final List<Integer> executed = entry.getValue();
+            assertThat(executed.size(), is(50));
+            for (int i = 1; i < executed.size(); i++) {
+                assertThat(entry.getKey(), executed.get(i - 1) < executed.get(i), is(true));
+            }
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void executes_the_tasks_of_different_workers_concurrently() throws Exception {
+        // given a key for each of the workers
+        final Map<Integer, String> keyByWorker = _Maps.newHashMap();
+        for (int i = 0; keyByWorker.size() < workers.size(); i++) {
+            final String key = "CUS:" + i;
+            keyByWorker.putIfAbsent(Math.floorMod(key.hashCode(), workers.size()), key);
+        }
+        final List<String> keys = _Lists.newArrayList(keyByWorker.values());
+
+        // when each task waits for all of the others to have started
+        final CyclicBarrier allStarted = new CyclicBarrier(keys.size());
+        final AtomicInteger concurrent = new AtomicInteger();
+        workers.executeAll(keys, key -> key, key -> {
+            try {
+                allStarted.await(10, TimeUnit.SECONDS);
+                concurrent.incrementAndGet();
+            } catch (Exception e) {
+                // not concurrent
+            }
+        });
+
+        // then
+        assertThat(concurrent.get(), is(workers.size()));
+    }
+
+    @Test(timeout = 30000)
+    public void reuses_its_threads_from_one_run_to_the_next() throws Exception {
+        // given
+        final List<Integer> tasks = _Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(i);
+        }
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        // when
+        for (int run = 0; run < 3; run++) {
+            workers.executeAll(tasks, BackgroundCommandWorkersTest::keyOf, task -> threads.add(Thread.currentThread()));
+        }
+
+        // then
+        assertThat(threads.size(), is(lessThanOrEqualTo(workers.size())));
+    }
+
+    private static String keyOf(final Integer task) {
+        return "CUS:" + task % 10;
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CommandLeasesTest {
+
+    private long now = 1_000L;
+
+    private final CommandLeases leases = new CommandLeases(() -> now);
+    private final Bookmark command = new Bookmark("isiscommand.Command", "1");
+    private final Bookmark otherCommand = new Bookmark("isiscommand.Command", "2");
+
+    @Test
+    public void cannot_lease_a_command_already_leased() throws Exception {
+        assertThat(leases.lease(command, 1_000L), is(true));
+
+        assertThat(leases.lease(command, 1_000L), is(false));
+        assertThat(leases.lease(otherCommand, 1_000L), is(true));
+    }
+
+    @Test
+    public void can_lease_again_once_the_lease_has_expired() throws Exception {
+        // given
+        assertThat(leases.lease(command, 1_000L), is(true));
+
+        // when
+        now = 2_000L;
+        // then
+        assertThat(leases.lease(command, 1_000L), is(false));
+
+        // when
+        now = 2_001L;
+        // then (and leased afresh)
+        assertThat(leases.lease(command, 1_000L), is(true));
+        assertThat(leases.lease(command, 1_000L), is(false));
+    }
+
+    @Test
+    public void can_lease_again_once_released() throws Exception {
+        // given
+        assertThat(leases.lease(command, 1_000L), is(true));
+
+        // when
+        leases.release(command);
+
+        // then
+        assertThat(leases.size(), is(0));
+        assertThat(leases.lease(command, 1_000L), is(true));
+    }
+
+}
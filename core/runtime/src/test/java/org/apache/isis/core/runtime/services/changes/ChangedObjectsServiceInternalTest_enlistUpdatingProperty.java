@@ -0,0 +1,185 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ChangedObjectsServiceInternalTest_enlistUpdatingProperty {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockCustomer;
+    @Mock
+    private ObjectSpecification mockCustomerSpec;
+    @Mock
+    private ObjectAssociation mockFirstName;
+    @Mock
+    private ObjectAssociation mockLastName;
+    @Mock
+    private ObjectAssociation mockFullName;
+
+    /**
+     * The current value of each of the customer's properties, by property id.
+     */
+    private final Map<String, String> customer = _Maps.newHashMap();
+
+    private ChangedObjectsServiceInternal changedObjectsService;
+
+    @Before
+    public void setUp() throws Exception {
+        customer.put("firstName", "Fred");
+        customer.put("lastName", "Smith");
+        customer.put("fullName", "Fred Smith");
+
+        context.checking(new Expectations() {{
+            allowing(mockCustomer).getSpecification();
+            will(returnValue(mockCustomerSpec));
+            allowing(mockCustomer).getOid();
+            will(returnValue(new RootOid(ObjectSpecId.of("CUS"), "1", Oid.State.PERSISTENT)));
+            allowing(mockCustomer).isDestroyed();
+            will(returnValue(false));
+
+            allowing(mockCustomerSpec).getCorrespondingClass();
+            will(returnValue(Object.class));
+            allowing(mockCustomerSpec).getAssociations(Contributed.EXCLUDED, ObjectAssociation.Predicates.PROPERTIES);
+            will(returnValue(_Lists.of(mockFirstName, mockLastName, mockFullName)));
+        }});
+        allowingProperty(mockFirstName, "firstName", false);
+        allowingProperty(mockLastName, "lastName", false);
+        allowingProperty(mockFullName, "fullName", true);
+
+        changedObjectsService = new ChangedObjectsServiceInternal();
+    }
+
+    @Test
+    public void captures_just_the_modified_properties() throws Exception {
+        // when (as DN's updateField, and then its preDirty callback)
+        changedObjectsService.enlistUpdating(mockCustomer, "lastName");
+        changedObjectsService.enlistUpdating(mockCustomer);
+        customer.put("lastName", "Jones");
+
+        // when (as another field is written)
+        changedObjectsService.enlistUpdating(mockCustomer, "firstName");
+        customer.put("firstName", "Freddy");
+
+        // then
+        assertThat(changes(), is(_Lists.of(
+                "lastName: Smith -> Jones",
+                "firstName: Fred -> Freddy")));
+        assertThat(changedObjectsService.numberObjectsDirtied(), is(1));
+    }
+
+    @Test
+    public void retains_the_original_value_of_a_property_modified_more_than_once() throws Exception {
+        // when
+        changedObjectsService.enlistUpdating(mockCustomer, "lastName");
+        customer.put("lastName", "Jones");
+        changedObjectsService.enlistUpdating(mockCustomer, "lastName");
+        customer.put("lastName", "Brown");
+
+        // then
+        assertThat(changes(), is(_Lists.of("lastName: Smith -> Brown")));
+    }
+
+    @Test
+    public void captures_every_persisted_property_if_the_field_is_not_recognised() throws Exception {
+        // when
+        changedObjectsService.enlistUpdating(mockCustomer, "surname");
+        customer.put("firstName", "Freddy");
+        customer.put("lastName", "Jones");
+        customer.put("fullName", "Freddy Jones");
+
+        // then (but not the derived property)
+        assertThat(changes(), is(_Lists.of(
+                "firstName: Fred -> Freddy",
+                "lastName: Smith -> Jones")));
+    }
+
+    @Test
+    public void ignored_if_already_enlisted_in_full() throws Exception {
+        // given (enlisted before dirty tracking reported any field)
+        changedObjectsService.enlistUpdating(mockCustomer);
+
+        // when
+        changedObjectsService.enlistUpdating(mockCustomer, "lastName");
+        customer.put("lastName", "Jones");
+
+        // then (the pre-value captured in full is retained)
+        assertThat(changes(), is(_Lists.of("lastName: Smith -> Jones")));
+    }
+
+    private void allowingProperty(final ObjectAssociation property, final String propertyId, final boolean derived) {
+        final ObjectAdapter mockValue = context.mock(ObjectAdapter.class, propertyId + "Value");
+        context.checking(new Expectations() {{
+            allowing(property).getId();
+            will(returnValue(propertyId));
+            allowing(property).isNotPersisted();
+            will(returnValue(derived));
+            allowing(property).get(mockCustomer, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(mockValue));
+            allowing(mockValue).getObject();
+            will(new CustomAction("current value of " + propertyId) {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return customer.get(propertyId);
+                }
+            });
+        }});
+    }
+
+    private List<String> changes() {
+        final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changedObjectProperties =
+                changedObjectsService.getChangedObjectProperties();
+        final List<String> changes = _Lists.newArrayList();
+        for (final Map.Entry<AdapterAndProperty, PreAndPostValues> entry : changedObjectProperties) {
+            final PreAndPostValues papv = entry.getValue();
+            changes.add(entry.getKey().getPropertyId() + ": " + papv.getPre() + " -> " + papv.getPost());
+        }
+        return changes;
+    }
+
+}
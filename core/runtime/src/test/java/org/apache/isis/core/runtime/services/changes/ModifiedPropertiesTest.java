@@ -0,0 +1,83 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.List;
+
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ModifiedPropertiesTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockCustomer;
+    @Mock
+    private ObjectAdapter mockOrder;
+    @Mock
+    private ObjectAssociation mockName;
+    @Mock
+    private ObjectAssociation mockAge;
+
+    private final ModifiedProperties modifiedProperties = new ModifiedProperties();
+
+    @Test
+    public void retains_the_original_pre_value() throws Exception {
+        assertThat(modifiedProperties.add(mockCustomer, mockName, "Fred"), is(true));
+        assertThat(modifiedProperties.add(mockCustomer, mockName, "Freddy"), is(false));
+
+        assertThat(modifiedProperties.size(), is(1));
+        assertThat(drained(), is(_Lists.<Object>of("Fred")));
+    }
+
+    @Test
+    public void drains_in_order_added_grouped_by_object() throws Exception {
+        modifiedProperties.add(mockCustomer, mockName, "Fred");
+        modifiedProperties.add(mockOrder, mockName, "ORD-1");
+        modifiedProperties.add(mockCustomer, mockAge, 42);
+
+        assertThat(modifiedProperties.contains(mockCustomer), is(true));
+        assertThat(modifiedProperties.contains(mockOrder, mockAge), is(false));
+        assertThat(modifiedProperties.size(), is(3));
+
+        assertThat(drained(), is(_Lists.<Object>of("Fred", 42, "ORD-1")));
+        assertThat(modifiedProperties.isEmpty(), is(true));
+        assertThat(modifiedProperties.contains(mockCustomer), is(false));
+    }
+
+    private List<Object> drained() {
+        final List<Object> preValues = _Lists.newArrayList();
+        modifiedProperties.drain((adapter, property, preValue) -> preValues.add(preValue));
+        return preValues;
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.publish;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherService;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PublicationDispatcherTest {
+
+    static class RecordingPublisherService implements PublisherService {
+        final List<PublishedObjects> published = new CopyOnWriteArrayList<>();
+        int failuresRemaining;
+
+        RecordingPublisherService(final int failuresRemaining) {
+            this.failuresRemaining = failuresRemaining;
+        }
+
+        @Override
+        public void publish(final Interaction.Execution<?, ?> execution) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void publish(final PublishedObjects publishedObjects) {
+            if(failuresRemaining > 0) {
+                failuresRemaining--;
+                throw new IllegalStateException("outbox unavailable");
+            }
+            published.add(publishedObjects);
+        }
+    }
+
+    private final List<Publication> deadLetters = new CopyOnWriteArrayList<>();
+
+    private PublicationDispatcher dispatcher;
+
+    @After
+    public void tearDown() throws Exception {
+        if(dispatcher != null) {
+            dispatcher.shutdown(1000L);
+        }
+    }
+
+    @Test
+    public void publishes_each_transactions_publications_in_order() throws Exception {
+        // given
+        final RecordingPublisherService publisherService = new RecordingPublisherService(0);
+        dispatcher = newDispatcher(3, 1, publisherService);
+
+        // when
+        final List<List<PublishedObjects>> dispatched = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final UUID transactionId = UUID.randomUUID();
+            final List<PublishedObjects> publishedObjects = new ArrayList<>();
+            final List<Publication> publications = new ArrayList<>();
+            for (int sequence = 0; sequence < 5; sequence++) {
+                final PublishedObjects po = publishedObjects(transactionId, sequence);
+                publishedObjects.add(po);
+                publications.add(Publication.of(po));
+            }
+            dispatched.add(publishedObjects);
+            dispatcher.dispatch(transactionId, publications);
+        }
+        dispatcher.shutdown(5000L);
+
+        // then
+        assertThat(publisherService.published.size(), is(100));
+        for (final List<PublishedObjects> publishedObjects : dispatched) {
+            final List<PublishedObjects> publishedForTransaction = new ArrayList<>();
+            for (final PublishedObjects po : publisherService.published) {
+                if(po.getTransactionId().equals(publishedObjects.get(0).getTransactionId())) {
+                    publishedForTransaction.add(po);
+                }
+            }
+            assertThat(publishedForTransaction, is(publishedObjects));
+        }
+        assertThat(dispatcher.getPublished(), is(100L));
+        assertThat(dispatcher.getQueueDepth(), is(0));
+        assertThat(dispatcher.getLatency().getCount(), is(100L));
+    }
+
+    @Test
+    public void retries_a_failed_publication() throws Exception {
+        // given
+        final RecordingPublisherService publisherService = new RecordingPublisherService(2);
+        dispatcher = newDispatcher(1, 3, publisherService);
+
+        // when
+        final UUID transactionId = UUID.randomUUID();
+        final PublishedObjects po = publishedObjects(transactionId, 0);
+        dispatcher.dispatch(transactionId, Collections.singletonList(Publication.of(po)));
+        dispatcher.shutdown(5000L);
+
+        // then
+        assertThat(publisherService.published.size(), is(1));
+        assertThat(publisherService.published.get(0), is(sameInstance(po)));
+        assertThat(dispatcher.getRetried(), is(2L));
+        assertThat(dispatcher.getDeadLettered(), is(0L));
+        assertThat(deadLetters.size(), is(0));
+    }
+
+    @Test
+    public void dead_letters_once_attempts_are_exhausted_without_affecting_other_publishers() throws Exception {
+        // given
+        final RecordingPublisherService failing = new RecordingPublisherService(Integer.MAX_VALUE);
+        final RecordingPublisherService succeeding = new RecordingPublisherService(0);
+        dispatcher = newDispatcher(1, 3, failing, succeeding);
+
+        // when
+        final UUID transactionId = UUID.randomUUID();
+        final Publication publication = Publication.of(publishedObjects(transactionId, 0));
+        dispatcher.dispatch(transactionId, Collections.singletonList(publication));
+        dispatcher.shutdown(5000L);
+
+        // then
+        assertThat(deadLetters.size(), is(1));
+        assertThat(deadLetters.get(0), is(sameInstance(publication)));
+        assertThat(dispatcher.getDeadLettered(), is(1L));
+        assertThat(dispatcher.getRetried(), is(2L));
+        assertThat(succeeding.published.size(), is(1));
+        assertThat(dispatcher.getPublished(), is(1L));
+        assertThat(dispatcher.getPublishDuration().getCount(), is(4L));
+    }
+
+    @Test
+    public void publishes_on_callers_thread_once_shut_down() throws Exception {
+        // given
+        final AtomicInteger publishingThreads = new AtomicInteger();
+        final Thread caller = Thread.currentThread();
+        final RecordingPublisherService publisherService = new RecordingPublisherService(0) {
+            @Override
+            public void publish(final PublishedObjects publishedObjects) {
+                if(Thread.currentThread() == caller) {
+                    publishingThreads.incrementAndGet();
+                }
+                super.publish(publishedObjects);
+            }
+        };
+        dispatcher = newDispatcher(2, 1, publisherService);
+        dispatcher.shutdown(1000L);
+
+        // when
+        final UUID transactionId = UUID.randomUUID();
+        dispatcher.dispatch(transactionId, Collections.singletonList(Publication.of(publishedObjects(transactionId, 0))));
+
+        // then
+        assertThat(publisherService.published.size(), is(1));
+        assertThat(publishingThreads.get(), is(1));
+    }
+
+    @Test(timeout = 30000)
+    public void errors_thrown_by_a_publisher_do_not_stop_the_lane() throws Exception {
+        // given a publisher that fails (with an Error) the first time
+        final RecordingPublisherService publisherService = new RecordingPublisherService(0) {
+            boolean failed;
+            @Override
+            public void publish(final PublishedObjects publishedObjects) {
+                if(!failed) {
+                    failed = true;
+                    throw new AssertionError("publisher failed");
+                }
+                super.publish(publishedObjects);
+            }
+        };
+        dispatcher = newDispatcher(1, 1, publisherService);
+
+        // when
+        final UUID transactionId = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(transactionId, Collections.singletonList(Publication.of(publishedObjects(transactionId, i))));
+        }
+        dispatcher.shutdown(5000L);
+
+        // then
+        assertThat(deadLetters.size(), is(1));
+        assertThat(publisherService.published.size(), is(2));
+        assertThat(dispatcher.getPublished(), is(2L));
+    }
+
+    @Test(timeout = 30000)
+    public void dispatches_racing_with_shutdown_are_all_published() throws Exception {
+        // given
+        final int numThreads = 4;
+        final int numDispatches = 200;
+        final RecordingPublisherService publisherService = new RecordingPublisherService(0);
+        dispatcher = newDispatcher(2, 1, publisherService);
+
+        final CyclicBarrier barrier = new CyclicBarrier(numThreads + 1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                } catch (InterruptedException | BrokenBarrierException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int j = 0; j < numDispatches; j++) {
+                    final UUID transactionId = UUID.randomUUID();
+                    dispatcher.dispatch(transactionId,
+                            Collections.singletonList(Publication.of(publishedObjects(transactionId, 0))));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // when
+        barrier.await();
+        dispatcher.shutdown(5000L);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(publisherService.published.size(), is(numThreads * numDispatches));
+        assertThat(dispatcher.getQueueDepth(), is(0));
+    }
+
+    private PublicationDispatcher newDispatcher(
+            final int lanes, final int maxAttempts, final PublisherService... publisherServices) {
+        final List<PublisherService> services = Arrays.asList(publisherServices);
+        return new PublicationDispatcher(lanes, 10, maxAttempts, 1L,
+                () -> services,
+                (publication, publisherService) -> publication.publishTo(publisherService),
+                (publication, publisherService, cause) -> deadLetters.add(publication));
+    }
+
+    private static PublishedObjects publishedObjects(final UUID transactionId, final int sequence) {
+        return new PublishedObjectsDefault(transactionId, sequence, "sven", new Timestamp(0L), 0, 0,
+                Collections.emptyMap());
+    }
+
+}
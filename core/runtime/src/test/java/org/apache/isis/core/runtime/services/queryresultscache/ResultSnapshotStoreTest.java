@@ -0,0 +1,131 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.queryresultscache;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCache.Key;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ResultSnapshotStoreTest {
+
+    static class Country {}
+    static class Currency {}
+    static class EuroCurrency extends Currency {}
+
+    private static Key key(final int i) {
+        return new Key(ResultSnapshotStoreTest.class, "find", i);
+    }
+
+    private static ResultSnapshot snapshot(final int numberOfElements, final Class<?> dependsOn, final long expiresAt) {
+        return new ResultSnapshot(
+                ResultSnapshot.Kind.LIST, new Object[numberOfElements], new Class<?>[] { dependsOn }, expiresAt);
+    }
+
+    @Test
+    public void hit_and_miss() throws Exception {
+        final ResultSnapshotStore store = new ResultSnapshotStore(10, 100);
+        final ResultSnapshot snapshot = snapshot(1, Country.class, Long.MAX_VALUE);
+        store.put(key(1), snapshot);
+
+        assertThat(store.get(key(1), 0L), is(sameInstance(snapshot)));
+        assertThat(store.get(key(2), 0L), is(nullValue()));
+        assertThat(store.getHits(), is(1L));
+        assertThat(store.getMisses(), is(1L));
+    }
+
+    @Test
+    public void expired_isEvicted() throws Exception {
+        final ResultSnapshotStore store = new ResultSnapshotStore(10, 100);
+        store.put(key(1), snapshot(1, Country.class, 1000L));
+
+        assertThat(store.get(key(1), 999L), is(notNullValue()));
+        assertThat(store.get(key(1), 1000L), is(nullValue()));
+        assertThat(store.getEvictions(), is(1L));
+        assertThat(store.size(), is(0));
+    }
+
+    @Test
+    public void leastRecentlyUsed_isEvicted_whenTooMany() throws Exception {
+        final ResultSnapshotStore store = new ResultSnapshotStore(2, 100);
+        store.put(key(1), snapshot(1, Country.class, Long.MAX_VALUE));
+        store.put(key(2), snapshot(1, Country.class, Long.MAX_VALUE));
+        store.get(key(1), 0L);
+        store.put(key(3), snapshot(1, Country.class, Long.MAX_VALUE));
+
+        assertThat(store.size(), is(2));
+        assertThat(store.getEvictions(), is(1L));
+        assertThat(store.get(key(2), 0L), is(nullValue()));
+    }
+
+    @Test
+    public void evicted_whenTooHeavy() throws Exception {
+        final ResultSnapshotStore store = new ResultSnapshotStore(10, 10);
+        store.put(key(1), snapshot(4, Country.class, Long.MAX_VALUE));
+        store.put(key(2), snapshot(4, Country.class, Long.MAX_VALUE));
+        assertThat(store.weight(), is(10L));
+
+        store.put(key(3), snapshot(0, Country.class, Long.MAX_VALUE));
+
+        assertThat(store.weight(), is(6L));
+        assertThat(store.get(key(1), 0L), is(nullValue()));
+
+        // heavier than the store as a whole, so not held at all
+        store.put(key(4), snapshot(10, Country.class, Long.MAX_VALUE));
+        assertThat(store.get(key(4), 0L), is(nullValue()));
+        assertThat(store.weight(), is(6L));
+    }
+
+    @Test
+    public void invalidate_bySubtypeOrSupertype() throws Exception {
+        final ResultSnapshotStore store = new ResultSnapshotStore(10, 100);
+        store.put(key(1), snapshot(1, Country.class, Long.MAX_VALUE));
+        store.put(key(2), snapshot(1, Currency.class, Long.MAX_VALUE));
+
+        store.invalidate(Collections.<Class<?>>singleton(EuroCurrency.class));
+
+        assertThat(store.get(key(2), 0L), is(nullValue()));
+        assertThat(store.get(key(1), 0L), is(notNullValue()));
+        assertThat(store.getInvalidations(), is(1L));
+    }
+
+    @Test
+    public void invalidatedSince() throws Exception {
+        final ResultSnapshotStore store = new ResultSnapshotStore(10, 100);
+        final ResultSnapshot countries = snapshot(1, Country.class, Long.MAX_VALUE);
+        final ResultSnapshot currencies = snapshot(1, Currency.class, Long.MAX_VALUE);
+        final long generation = store.currentGeneration();
+
+        // as if committed while the queries were running
+        store.invalidate(Collections.<Class<?>>singleton(Currency.class));
+
+        assertThat(store.isInvalidatedSince(generation, currencies), is(true));
+        assertThat(store.isInvalidatedSince(generation, countries), is(false));
+        assertThat(store.isInvalidatedSince(store.currentGeneration(), currencies), is(false));
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.ParentedCollectionOid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class OidAdapterHashMapTest {
+
+    private final OidAdapterHashMap map = new OidAdapterHashMap();
+
+    private static ObjectAdapter newAdapter() {
+        return (ObjectAdapter) Proxy.newProxyInstance(
+                ObjectAdapter.class.getClassLoader(), new Class<?>[] { ObjectAdapter.class },
+                (proxy, method, args) -> method.getName().equals("hashCode") ? System.identityHashCode(proxy) : null);
+    }
+
+    private static RootOid oid(final int i) {
+        return RootOid.create(ObjectSpecId.of("CUS"), "" + i);
+    }
+
+    @Test
+    public void lookup_isByEquality() throws Exception {
+        final ObjectAdapter adapter = newAdapter();
+        map.add(oid(1), adapter);
+
+        assertThat(map.getAdapter(oid(1)), is(sameInstance(adapter)));
+        assertThat(map.getAdapter(oid(2)), is(nullValue()));
+        assertThat(map.getAdapter(new ParentedCollectionOid(oid(1), "orders")), is(nullValue()));
+    }
+
+    @Test
+    public void add_replacesExisting() throws Exception {
+        final ObjectAdapter adapter = newAdapter();
+        map.add(oid(1), newAdapter());
+        map.add(oid(1), adapter);
+
+        assertThat(map.getAdapter(oid(1)), is(sameInstance(adapter)));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void close_empties() throws Exception {
+        map.add(oid(1), newAdapter());
+        map.close();
+
+        assertThat(map.getAdapter(oid(1)), is(nullValue()));
+        assertThat(map.size(), is(0));
+        assertThat(map.iterator().hasNext(), is(false));
+    }
+
+    @Test
+    public void randomlyAddedAndRemoved_sameAsHashMap() throws Exception {
+        final Map<Oid, ObjectAdapter> expected = Maps.newHashMap();
+        final List<Oid> oids = Lists.newArrayList();
+        for (int i = 0; i < 500; i++) {
+            oids.add(oid(i));
+            oids.add(new ParentedCollectionOid(oid(i), "orders"));
+        }
+
+        final Random random = new Random(1L);
+        for (int i = 0; i < 20000; i++) {
+            final Oid oid = oids.get(random.nextInt(oids.size()));
+            if(random.nextInt(3) == 0) {
+                assertThat(map.remove(oid), is(expected.remove(oid) != null));
+            } else {
+                final ObjectAdapter adapter = newAdapter();
+                map.add(oid, adapter);
+                expected.put(oid, adapter);
+            }
+        }
+
+        assertThat(map.size(), is(expected.size()));
+        for (final Oid oid : oids) {
+            assertThat(map.getAdapter(oid) == expected.get(oid), is(true));
+        }
+        int iterated = 0;
+        for (final Oid oid : map) {
+            assertThat(expected.containsKey(oid), is(true));
+            iterated++;
+        }
+        assertThat(iterated, is(expected.size()));
+    }
+
+}
@@ -0,0 +1,132 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.commands;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Transaction;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class DataNucleusBulkCommandExecutorTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @Mock
+    private Transaction mockTransaction;
+
+    static class Customer {}
+    static class Order {}
+
+    private final Customer customer1 = new Customer();
+    private final Customer customer2 = new Customer();
+    private final Order order1 = new Order();
+    private final Customer customer3 = new Customer();
+
+    private DataNucleusBulkCommandExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceManager).getProperties();
+            will(returnValue(Collections.emptyMap()));
+            allowing(mockPersistenceManager).currentTransaction();
+            will(returnValue(mockTransaction));
+            allowing(mockTransaction).getOptimistic();
+            will(returnValue(false));
+        }});
+        executor = new DataNucleusBulkCommandExecutor(mockPersistenceManager);
+    }
+
+    @Test
+    public void groupsConsecutiveCommandsByType() throws Exception {
+
+        final Sequence sequence = context.sequence("flush");
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).setProperty(DataNucleusBulkCommandExecutor.FLUSH_MODE_KEY, "MANUAL");
+            inSequence(sequence);
+
+            oneOf(mockPersistenceManager).makePersistentAll(Arrays.<Object>asList(customer1, customer2));
+            inSequence(sequence);
+            oneOf(mockPersistenceManager).makePersistentAll(Arrays.<Object>asList(order1));
+            inSequence(sequence);
+            oneOf(mockPersistenceManager).deletePersistentAll(Arrays.<Object>asList(customer3));
+            inSequence(sequence);
+            oneOf(mockPersistenceManager).flush();
+            inSequence(sequence);
+
+            oneOf(mockPersistenceManager).setProperty(DataNucleusBulkCommandExecutor.FLUSH_MODE_KEY, "AUTO");
+            inSequence(sequence);
+        }});
+
+        final int batches = executor.executeAndFlush(Arrays.asList(
+                create(customer1, true),
+                create(order1, true),
+                create(customer2, true),
+                create(new Customer(), false), // already persistent, so ignored
+                destroy(customer3)));
+
+        assertThat(batches, is(3));
+    }
+
+    private PersistenceCommand create(final Object pojo, final boolean isTransient) {
+        final ObjectAdapter mockAdapter = context.mock(ObjectAdapter.class, "adapter-" + System.identityHashCode(pojo));
+        final CreateObjectCommand mockCommand = context.mock(CreateObjectCommand.class, "create-" + System.identityHashCode(pojo));
+        context.checking(new Expectations() {{
+            allowing(mockCommand).onAdapter();
+            will(returnValue(mockAdapter));
+            allowing(mockAdapter).isTransient();
+            will(returnValue(isTransient));
+            allowing(mockAdapter).getObject();
+            will(returnValue(pojo));
+        }});
+        return mockCommand;
+    }
+
+    private PersistenceCommand destroy(final Object pojo) {
+        final ObjectAdapter mockAdapter = context.mock(ObjectAdapter.class, "adapter-" + System.identityHashCode(pojo));
+        final DestroyObjectCommand mockCommand = context.mock(DestroyObjectCommand.class, "destroy-" + System.identityHashCode(pojo));
+        context.checking(new Expectations() {{
+            allowing(mockCommand).onAdapter();
+            will(returnValue(mockAdapter));
+            allowing(mockAdapter).getObject();
+            will(returnValue(pojo));
+        }});
+        return mockCommand;
+    }
+
+}
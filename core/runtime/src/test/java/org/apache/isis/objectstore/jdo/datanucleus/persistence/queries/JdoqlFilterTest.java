@@ -0,0 +1,132 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.apache.isis.applib.query.Criteria;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class JdoqlFilterTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Mock
+    private ObjectSpecification mockSpecification;
+    @Mock
+    private ObjectAssociation mockLastName;
+    @Mock
+    private ObjectAssociation mockAge;
+    @Mock
+    private ObjectAssociation mockOrders;
+    @Mock
+    private ObjectAssociation mockFullName;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getFullIdentifier();
+            will(returnValue("com.mycompany.Customer"));
+
+            allowing(mockSpecification).getAssociation("lastName");
+            will(returnValue(mockLastName));
+            allowing(mockLastName).isOneToOneAssociation();
+            will(returnValue(true));
+            allowing(mockLastName).isNotPersisted();
+            will(returnValue(false));
+
+            allowing(mockSpecification).getAssociation("age");
+            will(returnValue(mockAge));
+            allowing(mockAge).isOneToOneAssociation();
+            will(returnValue(true));
+            allowing(mockAge).isNotPersisted();
+            will(returnValue(false));
+
+            allowing(mockSpecification).getAssociation("orders");
+            will(returnValue(mockOrders));
+            allowing(mockOrders).isOneToOneAssociation();
+            will(returnValue(false));
+
+            allowing(mockSpecification).getAssociation("fullName");
+            will(returnValue(mockFullName));
+            allowing(mockFullName).isOneToOneAssociation();
+            will(returnValue(true));
+            allowing(mockFullName).isNotPersisted();
+            will(returnValue(true));
+
+            allowing(mockSpecification).getAssociation("unknown");
+            will(returnValue(null));
+        }});
+    }
+
+    @Test
+    public void comparison() throws Exception {
+        final JdoqlFilter jdoqlFilter = JdoqlFilter.compile(mockSpecification, Criteria.where("lastName").eq("Smith"));
+
+        assertThat(jdoqlFilter.getFilter(), is("lastName == :p0"));
+        assertThat(jdoqlFilter.getParametersByName().get("p0"), is((Object) "Smith"));
+    }
+
+    @Test
+    public void nested() throws Exception {
+        final JdoqlFilter jdoqlFilter = JdoqlFilter.compile(mockSpecification,
+                Criteria.allOf(
+                        Criteria.where("lastName").startsWith("S"),
+                        Criteria.not(Criteria.anyOf(
+                                Criteria.where("age").lt(18),
+                                Criteria.where("lastName").isNull()))));
+
+        assertThat(jdoqlFilter.getFilter(),
+                is("(lastName.startsWith(:p0) && !((age < :p1 || lastName == null)))"));
+        assertThat(jdoqlFilter.getParametersByName().size(), is(2));
+        assertThat(jdoqlFilter.getParametersByName().get("p1"), is((Object) 18));
+    }
+
+    @Test
+    public void unknownProperty() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        JdoqlFilter.compile(mockSpecification, Criteria.where("unknown").eq("x"));
+    }
+
+    @Test
+    public void collection() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        JdoqlFilter.compile(mockSpecification, Criteria.where("orders").isNull());
+    }
+
+    @Test
+    public void notPersisted() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        JdoqlFilter.compile(mockSpecification, Criteria.where("fullName").eq("Fred Smith"));
+    }
+
+}
@@ -19,9 +19,11 @@
 package org.apache.isis.viewer.restfulobjects.applib.util;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.ws.rs.core.Response;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
@@ -127,4 +129,19 @@ public String write(final Object object) throws JsonGenerationException, JsonMap
         return objectMapper.writeValueAsString(object);
     }
 
+    /**
+     * As per {@link #write(Object)}, but writing the JSON (as UTF-8) straight to the provided {@link OutputStream}
+     * through a {@link JsonGenerator}, rather than first building it up as a string.  The stream is flushed but
+     * not closed.
+     */
+    public void write(final Object object, final OutputStream outputStream) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            objectMapper.writeValue(generator, object);
+        } finally {
+            generator.close();
+        }
+    }
+
 }
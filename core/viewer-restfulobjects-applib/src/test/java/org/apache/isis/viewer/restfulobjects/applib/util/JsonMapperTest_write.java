@@ -0,0 +1,86 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.restfulobjects.applib.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class JsonMapperTest_write {
+
+    private JsonRepresentation representation;
+
+    @Before
+    public void setUp() throws Exception {
+        representation = JsonRepresentation.newMap("title", "Fred Smith é");
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        for (int i = 0; i < 3; i++) {
+            links.arrayAdd(JsonRepresentation.newMap("rel", "self", "href", "http://localhost/objects/CUS/" + i));
+        }
+        representation.mapPut("links", links);
+        representation.mapPut("age", 42);
+    }
+
+    @Test
+    public void streamed_sameAsString_whenPrettyPrinting() throws Exception {
+        assertStreamedSameAsString(JsonMapper.PrettyPrinting.ENABLE);
+    }
+
+    @Test
+    public void streamed_sameAsString_whenNotPrettyPrinting() throws Exception {
+        assertStreamedSameAsString(JsonMapper.PrettyPrinting.DISABLE);
+    }
+
+    @Test
+    public void streamed_leavesStreamOpen() throws Exception {
+        final CloseTrackingOutputStream outputStream = new CloseTrackingOutputStream();
+        JsonMapper.instance().write(representation, outputStream);
+        assertThat(outputStream.closed, is(false));
+        assertThat(outputStream.size() > 0, is(true));
+    }
+
+    private void assertStreamedSameAsString(final JsonMapper.PrettyPrinting prettyPrinting) throws IOException {
+        final JsonMapper jsonMapper = JsonMapper.instance(prettyPrinting);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        jsonMapper.write(representation, outputStream);
+
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), is(jsonMapper.write(representation)));
+    }
+
+    private static class CloseTrackingOutputStream extends ByteArrayOutputStream {
+        boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+}
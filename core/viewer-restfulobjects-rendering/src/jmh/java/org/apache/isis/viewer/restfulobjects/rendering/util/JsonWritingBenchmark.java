@@ -0,0 +1,130 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.restfulobjects.rendering.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.util.JsonMapper;
+
+/**
+ * Compares writing a (pre-built) list representation to the response via a string (as done by
+ * {@link JsonWriterUtil#jsonFor(Object)}) against serializing it directly to the output stream (using
+ * {@link JsonMapper#write(Object, OutputStream)}); in both cases the representation tree itself is built beforehand.
+ *
+ * <p>
+ *     Run using <tt>mvn -Pjmh test-compile exec:java</tt>; <tt>-prof gc</tt> shows the allocation (and so the
+ *     additional heap) per response.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonWritingBenchmark {
+
+    /**
+     * Stands in for the servlet output stream.
+     */
+    static class DiscardingOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        DiscardingOutputStream(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(final int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            blackhole.consume(b);
+        }
+    }
+
+    @Param({"100", "5000"})
+    int numberOfObjects;
+
+    @Param({"ENABLE", "DISABLE"})
+    JsonMapper.PrettyPrinting prettyPrinting;
+
+    private JsonMapper jsonMapper;
+    private JsonRepresentation representation;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.instance(prettyPrinting);
+
+        // much as rendered by ListReprRenderer
+        representation = JsonRepresentation.newMap();
+        final JsonRepresentation value = JsonRepresentation.newArray(numberOfObjects);
+        for (int i = 0; i < numberOfObjects; i++) {
+            value.arrayAdd(JsonRepresentation.newMap(
+                    "rel", "urn:org.restfulobjects:rels/element",
+                    "href", "http://localhost:8080/restful/objects/simple.SimpleObject/" + i,
+                    "method", "GET",
+                    "type", "application/json;profile=\"urn:org.restfulobjects:repr-types/object\"",
+                    "title", "Object #" + i));
+        }
+        representation.mapPut("value", value);
+        representation.mapPut("links", JsonRepresentation.newArray());
+        representation.mapPut("extensions", JsonRepresentation.newMap());
+    }
+
+    @Benchmark
+    public void viaString(final Blackhole blackhole) throws IOException {
+        final String json = jsonMapper.write(representation);
+        new DiscardingOutputStream(blackhole).write(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public void directToStream(final Blackhole blackhole) throws IOException {
+        jsonMapper.write(representation, new DiscardingOutputStream(blackhole));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonWritingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.restfulobjects.rendering;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.apache.isis.applib.services.i18n.LocaleProvider;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectActionParameter;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+
+/**
+ * Computes the (weak) {@link EntityTag}s of representations, so that conditional <tt>GET</tt>s (using
+ * <tt>If-None-Match</tt>) can be answered with <tt>304 Not Modified</tt> without rendering the representation.
+ *
+ * <p>
+ * The tag of a domain object's representation is derived from the object's {@link Version}; that of a
+ * representation of the metamodel (domain types, layouts, menus) from a fingerprint of the metamodel.  Either way
+ * the tag also takes into account the representation type, the acceptable media types, the user (and their
+ * roles) and the locale (that names and descriptions are translated into), because each of these also determines
+ * the representation.
+ */
+public final class EntityTags {
+
+    private EntityTags(){}
+
+    /**
+     * @return <tt>null</tt> if the object is not versioned.
+     */
+    public static EntityTag forObject(
+            final RendererContext rendererContext,
+            final RepresentationType representationType,
+            final ObjectAdapter objectAdapter) {
+        final Version version = objectAdapter.getVersion();
+        if(version == null || objectAdapter.getOid() == null) {
+            return null;
+        }
+        final Hasher hasher = newHasher(rendererContext, representationType)
+                .putString(objectAdapter.getOid().enStringNoVersion(), StandardCharsets.UTF_8)
+                .putLong(version.getSequence());
+        final Long utcTimestamp = version.getUtcTimestamp();
+        if(utcTimestamp != null) {
+            hasher.putLong(utcTimestamp);
+        }
+        return new EntityTag(hasher.hash().toString(), true);
+    }
+
+    /**
+     * @return <tt>null</tt> if prototyping, because layouts and menus may then be reloaded at any time.
+     */
+    public static EntityTag forMetamodel(
+            final RendererContext rendererContext,
+            final RepresentationType representationType) {
+        if(!(rendererContext instanceof RendererContext5)) {
+            return null;
+        }
+        final RendererContext5 rendererContext5 = (RendererContext5) rendererContext;
+        if(rendererContext5.getDeploymentCategory().isPrototyping()) {
+            return null;
+        }
+        final SpecificationLoader specificationLoader =
+                rendererContext5.getServicesInjector().getSpecificationLoader();
+        final String fingerprint = metamodelFingerprintFor(specificationLoader);
+        final Hasher hasher = newHasher(rendererContext, representationType)
+                .putString(fingerprint, StandardCharsets.UTF_8);
+        return new EntityTag(hasher.hash().toString(), true);
+    }
+
+    private static Hasher newHasher(
+            final RendererContext rendererContext,
+            final RepresentationType representationType) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher()
+                .putString(representationType.name(), StandardCharsets.UTF_8);
+        if(rendererContext instanceof RendererContext2) {
+            for (final MediaType mediaType : ((RendererContext2) rendererContext).getAcceptableMediaTypes()) {
+                // rather than its string, whose parameters may be in any order
+                hasher.putString(mediaType.getType(), StandardCharsets.UTF_8);
+                hasher.putString(mediaType.getSubtype(), StandardCharsets.UTF_8);
+                new TreeMap<>(mediaType.getParameters()).forEach((name, value) -> {
+                    hasher.putString(name, StandardCharsets.UTF_8);
+                    hasher.putString(value, StandardCharsets.UTF_8);
+                });
+            }
+        }
+        final AuthenticationSession authenticationSession = rendererContext.getAuthenticationSession();
+        if(authenticationSession != null) {
+            hasher.putString(String.valueOf(authenticationSession.getUserName()), StandardCharsets.UTF_8);
+            final List<String> roles = Lists.newArrayList(authenticationSession.getRoles());
+            roles.sort(Comparator.naturalOrder());
+            for (final String role : roles) {
+                hasher.putString(role, StandardCharsets.UTF_8);
+            }
+        }
+        hasher.putString(String.valueOf(localeFor(rendererContext)), StandardCharsets.UTF_8);
+        return hasher;
+    }
+
+    /**
+     * The locale that (translated) names and descriptions of the representation are rendered in, as per the
+     * {@link LocaleProvider} (if any); <tt>null</tt> if none, in which case they are not translated.
+     */
+    public static Locale localeFor(final RendererContext rendererContext) {
+        if(!(rendererContext instanceof RendererContext5)) {
+            return null;
+        }
+        final ServicesInjector servicesInjector = ((RendererContext5) rendererContext).getServicesInjector();
+        final LocaleProvider localeProvider =
+                servicesInjector != null ? servicesInjector.lookupService(LocaleProvider.class) : null;
+        if(localeProvider == null) {
+            return null;
+        }
+        try {
+            return localeProvider.getLocale();
+        } catch(final RuntimeException ex) {
+            // as per the translation service, which then also falls back to the original text
+            return null;
+        }
+    }
+
+    // -- metamodel fingerprint
+
+    private static final class MetamodelFingerprint {
+        private final SpecificationLoader specificationLoader;
+        private final long metamodelVersion;
+        private final String hash;
+
+        private MetamodelFingerprint(
+                final SpecificationLoader specificationLoader,
+                final long metamodelVersion,
+                final String hash) {
+            this.specificationLoader = specificationLoader;
+            this.metamodelVersion = metamodelVersion;
+            this.hash = hash;
+        }
+    }
+
+    private static volatile MetamodelFingerprint metamodelFingerprint;
+
+    /**
+     * The fingerprint is only recomputed if the metamodel has changed (further specifications introspected, or
+     * existing ones invalidated) since it was last computed.
+     */
+    private static String metamodelFingerprintFor(final SpecificationLoader specificationLoader) {
+        final MetamodelFingerprint fingerprint = metamodelFingerprint;
+        final long metamodelVersion = specificationLoader.getMetamodelVersion();
+        if(fingerprint != null
+                && fingerprint.specificationLoader == specificationLoader
+                && fingerprint.metamodelVersion == metamodelVersion) {
+            return fingerprint.hash;
+        }
+
+        final Collection<ObjectSpecification> specifications = specificationLoader.allSpecifications();
+        final List<ObjectSpecification> sorted = Lists.newArrayList(specifications);
+        sorted.sort(Comparator.comparing(ObjectSpecification::getFullIdentifier));
+
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (final ObjectSpecification specification : sorted) {
+            hasher.putString(specification.getFullIdentifier(), StandardCharsets.UTF_8);
+            for (final ObjectAssociation association : specification.getAssociations(Contributed.INCLUDED)) {
+                hasher.putString(association.getId(), StandardCharsets.UTF_8);
+                hasher.putString(association.getSpecification().getFullIdentifier(), StandardCharsets.UTF_8);
+            }
+            for (final ObjectAction action : specification.getObjectActions(Contributed.INCLUDED)) {
+                hasher.putString(action.getId(), StandardCharsets.UTF_8);
+                for (final ObjectActionParameter parameter : action.getParameters()) {
+                    hasher.putString(parameter.getSpecification().getFullIdentifier(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        final String hash = hasher.hash().toString();
+        metamodelFingerprint = new MetamodelFingerprint(specificationLoader, metamodelVersion, hash);
+        return hash;
+    }
+
+}
@@ -87,18 +87,32 @@ public static Response.ResponseBuilder ofOk(
 
         final MediaType mediaType = renderer.getMediaType();
 
+        final Response.ResponseBuilder response =
+                ofOk(mediaType, caching)
+                    .entity(JsonWriterUtil.jsonFor(entityRepresentation));
+        return addLastModifiedAndETagIfAvailable(response, version);
+    }
+
+    /**
+     * For a representation that has already been rendered (and possibly cached) as JSON.
+     */
+    public static Response.ResponseBuilder ofOk(
+            final byte[] json,
+            final MediaType mediaType,
+            final Caching caching) {
+        return ofOk(mediaType, caching).entity(json);
+    }
+
+    private static Response.ResponseBuilder ofOk(final MediaType mediaType, final Caching caching) {
         final Date now = IsisContext.getSessionFactory().getServicesInjector()
                 .lookupService(ClockService.class).nowAsDateTime().toDate();
         SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.US);
         dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
 
-        final Response.ResponseBuilder response =
-                of(RestfulResponse.HttpStatusCode.OK)
+        return of(RestfulResponse.HttpStatusCode.OK)
                     .header("Date", dateFormat.format(now))
                     .type(mediaType)
-                    .cacheControl(caching.getCacheControl())
-                    .entity(JsonWriterUtil.jsonFor(entityRepresentation));
-        return addLastModifiedAndETagIfAvailable(response, version);
+                    .cacheControl(caching.getCacheControl());
     }
 
     protected static Response.ResponseBuilder of(final RestfulResponse.HttpStatusCode httpStatusCode) {
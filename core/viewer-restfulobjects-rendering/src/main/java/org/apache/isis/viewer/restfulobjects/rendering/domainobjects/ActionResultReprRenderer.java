@@ -45,6 +45,7 @@ public class ActionResultReprRenderer extends ReprRendererAbstract<ActionResultR
     private ObjectAdapter returnedAdapter;
     private final SelfLink selfLink;
     private ObjectAndActionInvocation objectAndActionInvocation;
+    private Paging paging;
 
     public enum SelfLink {
         INCLUDED, EXCLUDED
@@ -91,6 +92,10 @@ public JsonRepresentation render() {
 
         addExtensionsIsisProprietaryChangedObjects();
 
+        if(paging != null) {
+            paging.addLinksAndExtensions(representation);
+        }
+
         return representation;
     }
 
@@ -135,8 +140,14 @@ private void addResultTo(
 
             case LIST:
 
-                final CollectionFacet collectionFacet = returnType.getFacet(CollectionFacet.class);
-                final Collection<ObjectAdapter> collectionAdapters = collectionFacet.collection(returnedAdapter);
+                paging = Paging.of(rendererContext);
+                final Collection<ObjectAdapter> collectionAdapters;
+                if(paging != null) {
+                    collectionAdapters = paging.apply(returnedAdapter);
+                } else {
+                    final CollectionFacet collectionFacet = returnType.getFacet(CollectionFacet.class);
+                    collectionAdapters = collectionFacet.collection(returnedAdapter);
+                }
 
                 final ListReprRenderer listReprRenderer =
                         new ListReprRenderer(rendererContext, null, representation).withElementRel(Rel.ELEMENT);
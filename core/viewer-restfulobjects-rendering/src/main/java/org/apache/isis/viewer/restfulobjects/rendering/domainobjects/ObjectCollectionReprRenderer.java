@@ -91,9 +91,17 @@ private void addValue(final LinkFollowSpecs linkFollower) {
         final LinkFollowSpecs followHref = linkFollower.follow("href");
         boolean eagerlyRender = rendererContext.honorUiHints() && renderEagerly(valueAdapter) || !followHref.isTerminated();
 
-        final CollectionFacet facet = CollectionFacetUtils.getCollectionFacetFromSpec(valueAdapter);
+        final Paging paging = mode.isStandalone() ? Paging.of(rendererContext) : null;
+        final Iterable<ObjectAdapter> elementAdapters;
+        if(paging != null) {
+            elementAdapters = paging.apply(valueAdapter);
+        } else {
+            final CollectionFacet facet = CollectionFacetUtils.getCollectionFacetFromSpec(valueAdapter);
+            elementAdapters = facet.iterable(valueAdapter);
+        }
+
         final List<JsonRepresentation> list = Lists.newArrayList();
-        for (final ObjectAdapter elementAdapter : facet.iterable(valueAdapter)) {
+        for (final ObjectAdapter elementAdapter : elementAdapters) {
 
             final LinkBuilder valueLinkBuilder = DomainObjectReprRenderer.newLinkToBuilder(rendererContext, Rel.VALUE, elementAdapter);
             if(eagerlyRender) {
@@ -111,6 +119,10 @@ private void addValue(final LinkFollowSpecs linkFollower) {
         }
 
         representation.mapPut("value", list);
+
+        if(paging != null) {
+            paging.addLinksAndExtensions(representation);
+        }
     }
 
     private boolean renderEagerly(ObjectAdapter valueAdapter) {
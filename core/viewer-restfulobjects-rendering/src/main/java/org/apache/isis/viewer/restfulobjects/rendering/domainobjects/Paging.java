@@ -0,0 +1,311 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.restfulobjects.rendering.domainobjects;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.services.paging.PagingContext;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.Rel;
+import org.apache.isis.viewer.restfulobjects.applib.client.RestfulRequest.RequestParameter;
+import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
+import org.apache.isis.viewer.restfulobjects.applib.util.UrlEncodingUtils;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext5;
+import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
+
+/**
+ * Applies the sorting and page requested (using <tt>x-ro-sort-by</tt>, <tt>x-ro-page</tt> and
+ * <tt>x-ro-page-size</tt>, as captured in the {@link PagingContext}) to the elements of a standalone collection or
+ * of a list returned by an action.
+ *
+ * <p>
+ * If the domain code {@link PagingContext#getRange() pushed the page down} into its query, then the elements are
+ * already just those of the page (plus one more, if there is a next page).  Otherwise the page is windowed out of
+ * the full list, and only the adapters of its elements are created (unless sorting, which requires them all).
+ */
+public final class Paging {
+
+    /**
+     * @return <tt>null</tt> if neither sorting nor paging has been requested.
+     */
+    public static Paging of(final RendererContext rendererContext) {
+        if(!(rendererContext instanceof RendererContext5)) {
+            return null;
+        }
+        final PagingContext pagingContext =
+                ((RendererContext5) rendererContext).getServicesInjector().lookupService(PagingContext.class);
+        if(pagingContext == null || !pagingContext.isPagingRequested() && pagingContext.getSortBy().isEmpty()) {
+            return null;
+        }
+        return new Paging((RendererContext5) rendererContext, pagingContext);
+    }
+
+    private final RendererContext5 rendererContext;
+    private final PagingContext pagingContext;
+
+    private Long totalCount;
+    private boolean hasNext;
+
+    private Paging(final RendererContext5 rendererContext, final PagingContext pagingContext) {
+        this.rendererContext = rendererContext;
+        this.pagingContext = pagingContext;
+    }
+
+    // -- apply
+
+    /**
+     * The adapters of the elements of the provided collection to render, sorted and windowed as requested.
+     */
+    public List<ObjectAdapter> apply(final ObjectAdapter collectionAdapter) {
+        final List<String> sortBy = pagingContext.getSortBy();
+        final Object collection = collectionAdapter.getObject();
+
+        if(!pagingContext.isPagingRequested()) {
+            final List<ObjectAdapter> adapters = adaptersOf(collectionAdapter);
+            totalCount = (long) adapters.size();
+            return sorted(adapters, sortBy);
+        }
+
+        final int pageSize = pagingContext.getPageSize();
+        if(pagingContext.isPushedDown()) {
+            final List<ObjectAdapter> adapters = adaptersOf(collectionAdapter);
+            hasNext = adapters.size() > pageSize;
+            return hasNext ? adapters.subList(0, pageSize) : adapters;
+        }
+
+        if(sortBy.isEmpty() && collection instanceof List) {
+            final List<?> pojos = (List<?>) collection;
+            final List<ObjectAdapter> adapters = Lists.newArrayList();
+            for (final Object pojo : window(pojos)) {
+                adapters.add(rendererContext.getPersistenceSession().adapterFor(pojo));
+            }
+            return adapters;
+        }
+
+        return window(sorted(adaptersOf(collectionAdapter), sortBy));
+    }
+
+    private <T> List<T> window(final List<T> elements) {
+        final int size = elements.size();
+        final long start = pagingContext.getStart();
+        final long end = start + pagingContext.getPageSize();
+        totalCount = (long) size;
+        hasNext = end < size;
+        return elements.subList((int) Math.min(start, size), (int) Math.min(end, size));
+    }
+
+    private static List<ObjectAdapter> adaptersOf(final ObjectAdapter collectionAdapter) {
+        return CollectionFacet.Utils.convertToAdapterList(collectionAdapter);
+    }
+
+    // -- sorting
+
+    private List<ObjectAdapter> sorted(final List<ObjectAdapter> adapters, final List<String> sortBy) {
+        if(sortBy.isEmpty()) {
+            return adapters;
+        }
+
+        // obtain the sort keys of each element just the once
+        final Map<ObjectAdapter, Object[]> keysByAdapter = Maps.newIdentityHashMap();
+        final Map<ObjectSpecification, ObjectAssociation[]> associationsBySpec = Maps.newHashMap();
+        for (final ObjectAdapter adapter : adapters) {
+            final ObjectAssociation[] associations =
+                    associationsBySpec.computeIfAbsent(adapter.getSpecification(), spec -> associationsFor(spec, sortBy));
+            final Object[] keys = new Object[associations.length];
+            for (int i = 0; i < associations.length; i++) {
+                keys[i] = keyFor(adapter, associations[i]);
+            }
+            keysByAdapter.put(adapter, keys);
+        }
+
+        final List<ObjectAdapter> sorted = Lists.newArrayList(adapters);
+        sorted.sort(new Comparator<ObjectAdapter>() {
+            @Override
+            public int compare(final ObjectAdapter o1, final ObjectAdapter o2) {
+                final Object[] keys1 = keysByAdapter.get(o1);
+                final Object[] keys2 = keysByAdapter.get(o2);
+                for (int i = 0; i < keys1.length; i++) {
+                    final int comparison = compareKeys(keys1[i], keys2[i]);
+                    if(comparison != 0) {
+                        return sortBy.get(i).startsWith("-") ? -comparison : comparison;
+                    }
+                }
+                return 0;
+            }
+        });
+        return sorted;
+    }
+
+    private static ObjectAssociation[] associationsFor(final ObjectSpecification spec, final List<String> sortBy) {
+        final ObjectAssociation[] associations = new ObjectAssociation[sortBy.size()];
+        for (int i = 0; i < associations.length; i++) {
+            final String propertyId = sortBy.get(i).startsWith("-") ? sortBy.get(i).substring(1) : sortBy.get(i);
+            try {
+                associations[i] = spec.getAssociation(propertyId);
+            } catch (final RuntimeException ex) {
+                associations[i] = null;
+            }
+            if(associations[i] == null || !associations[i].isOneToOneAssociation()) {
+                throw RestfulObjectsApplicationException.createWithMessage(HttpStatusCode.BAD_REQUEST,
+                        "x-ro-sort-by: '%s' is not a property of %s", propertyId, spec.getFullIdentifier());
+            }
+        }
+        return associations;
+    }
+
+    /**
+     * The value of the property, or its title if not {@link Comparable}; <tt>null</tt> if the property is not
+     * visible (so that the ordering does not leak its value).
+     */
+    private Object keyFor(final ObjectAdapter adapter, final ObjectAssociation association) {
+        final InteractionInitiatedBy interactionInitiatedBy = rendererContext.getInteractionInitiatedBy();
+        if(association.isVisible(adapter, interactionInitiatedBy, Where.ALL_TABLES).isVetoed()) {
+            return null;
+        }
+        final ObjectAdapter valueAdapter = association.get(adapter, interactionInitiatedBy);
+        if(valueAdapter == null) {
+            return null;
+        }
+        final Object value = valueAdapter.getObject();
+        return value instanceof Comparable ? value : valueAdapter.titleString();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareKeys(final Object key1, final Object key2) {
+        if(key1 == null || key2 == null) {
+            return key1 == key2 ? 0 : key1 == null ? -1 : 1;
+        }
+        if(key1.getClass() == key2.getClass()) {
+            return ((Comparable) key1).compareTo(key2);
+        }
+        return String.valueOf(key1).compareTo(String.valueOf(key2));
+    }
+
+    // -- links and extensions
+
+    /**
+     * Adds <tt>previous</tt> and <tt>next</tt> links (derived from the representation's <tt>self</tt> link, if it
+     * has one) and a <tt>paging</tt> extension, describing the page and (if known) the total number of elements.
+     */
+    public void addLinksAndExtensions(final JsonRepresentation representation) {
+        if(pagingContext.isPagingRequested()) {
+            final JsonRepresentation links = arrayIn(representation, "links");
+            final JsonRepresentation selfLink = selfLinkIn(links);
+            if(selfLink != null) {
+                final int page = pagingContext.getPage();
+                if(page > 1) {
+                    links.arrayAdd(linkToPage(selfLink, Rel.PREVIOUS, page - 1));
+                }
+                if(hasNext) {
+                    links.arrayAdd(linkToPage(selfLink, Rel.NEXT, page + 1));
+                }
+            }
+        }
+
+        final JsonRepresentation paging = JsonRepresentation.newMap();
+        if(pagingContext.isPagingRequested()) {
+            paging.mapPut("page", pagingContext.getPage());
+            paging.mapPut("pageSize", pagingContext.getPageSize());
+            paging.mapPut("hasNext", hasNext);
+        }
+        if(totalCount != null) {
+            paging.mapPut("totalCount", totalCount.longValue());
+        }
+        if(!pagingContext.getSortBy().isEmpty()) {
+            paging.mapPut("sortBy", JsonRepresentation.newArray());
+            for (final String sortBy : pagingContext.getSortBy()) {
+                paging.getArray("sortBy").arrayAdd(sortBy);
+            }
+        }
+        mapIn(representation, "extensions").mapPut("paging", paging);
+    }
+
+    private JsonRepresentation linkToPage(final JsonRepresentation selfLink, final Rel rel, final int page) {
+        final JsonRepresentation link = JsonRepresentation.newMap();
+        selfLink.streamMapEntries().forEach(entry -> link.mapPut(entry.getKey(), entry.getValue()));
+        link.mapPut("rel", rel.getName());
+
+        final JsonRepresentation pagingArgs = JsonRepresentation.newMap();
+        pagingArgs.mapPut(RequestParameter.PAGE.getName(), page);
+        pagingArgs.mapPut(RequestParameter.PAGE_SIZE.getName(), pagingContext.getPageSize());
+        if(!pagingContext.getSortBy().isEmpty()) {
+            pagingArgs.mapPut(RequestParameter.SORT_BY.getName(), String.join(",", pagingContext.getSortBy()));
+        }
+
+        final JsonRepresentation selfArgs = selfLink.getMap("args");
+        if(selfArgs != null) {
+            // eg the self link of an action result; the client passes these args (only) when following the link
+            final JsonRepresentation args = JsonRepresentation.newMap();
+            selfArgs.streamMapEntries().forEach(entry -> args.mapPut(entry.getKey(), entry.getValue()));
+            pagingArgs.streamMapEntries().forEach(entry -> args.mapPut(entry.getKey(), entry.getValue()));
+            link.mapPut("args", args);
+        } else {
+            final String queryString = pagingArgs.streamMapEntries()
+                    .map(entry -> entry.getKey() + "=" + UrlEncodingUtils.urlEncode(entry.getValue().asJsonNode().asText()))
+                    .collect(Collectors.joining("&", "?", ""));
+            link.mapPut("href", stripQueryString(selfLink.getString("href")) + queryString);
+        }
+        return link;
+    }
+
+    private static String stripQueryString(final String href) {
+        final int queryStringAt = href.indexOf('?');
+        return queryStringAt >= 0 ? href.substring(0, queryStringAt) : href;
+    }
+
+    private static JsonRepresentation selfLinkIn(final JsonRepresentation links) {
+        return links.streamArrayElements()
+                .filter(link -> Rel.SELF.getName().equals(link.getString("rel")))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static JsonRepresentation arrayIn(final JsonRepresentation representation, final String key) {
+        JsonRepresentation array = representation.getArray(key);
+        if(array == null) {
+            array = JsonRepresentation.newArray();
+            representation.mapPut(key, array);
+        }
+        return array;
+    }
+
+    private static JsonRepresentation mapIn(final JsonRepresentation representation, final String key) {
+        JsonRepresentation map = representation.getMap(key);
+        if(map == null) {
+            map = JsonRepresentation.newMap();
+            representation.mapPut(key, map);
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,323 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+
+import org.jmock.Expectations;
+import org.jmock.api.Action;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.i18n.LocaleProvider;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Contract test, run by the JAX-RS implementation plugins (because {@link RepresentationType}s and
+ * {@link MediaType}s require a JAX-RS runtime).
+ */
+public abstract class EntityTagsTest_ContractTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private RendererContext5 mockRendererContext;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private ObjectAdapter mockObjectAdapter;
+    @Mock
+    private Oid mockOid;
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private LocaleProvider mockLocaleProvider;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private ObjectSpecification mockCustomerSpec;
+    @Mock
+    private ObjectSpecification mockStringSpec;
+    @Mock
+    private ObjectAssociation mockNameProperty;
+
+    private String userName = "sven";
+    private List<String> roles = Arrays.asList("admin", "user");
+    private List<MediaType> acceptableMediaTypes = Collections.singletonList(MediaType.APPLICATION_JSON_TYPE);
+    private Version version = Version.create(1L, "sven", 1_000L);
+    private DeploymentCategory deploymentCategory = DeploymentCategory.PRODUCTION;
+    private Locale locale = Locale.ENGLISH;
+    private long metamodelVersion = 1L;
+    private List<ObjectAssociation> customerAssociations = Collections.emptyList();
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockRendererContext).getAuthenticationSession();
+            will(returnValue(mockAuthenticationSession));
+            allowing(mockAuthenticationSession).getUserName();
+            will(current(() -> userName));
+            allowing(mockAuthenticationSession).getRoles();
+            will(current(() -> roles));
+            allowing(mockRendererContext).getAcceptableMediaTypes();
+            will(current(() -> acceptableMediaTypes));
+            allowing(mockRendererContext).getDeploymentCategory();
+            will(current(() -> deploymentCategory));
+            allowing(mockRendererContext).getServicesInjector();
+            will(returnValue(mockServicesInjector));
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+            allowing(mockServicesInjector).lookupService(LocaleProvider.class);
+            will(returnValue(mockLocaleProvider));
+            allowing(mockLocaleProvider).getLocale();
+            will(current(() -> locale));
+
+            allowing(mockObjectAdapter).getOid();
+            will(returnValue(mockOid));
+            allowing(mockOid).enStringNoVersion();
+            will(returnValue("CUS:1"));
+            allowing(mockObjectAdapter).getVersion();
+            will(current(() -> version));
+
+            allowing(mockSpecificationLoader).getMetamodelVersion();
+            will(current(() -> metamodelVersion));
+            allowing(mockCustomerSpec).getFullIdentifier();
+            will(returnValue("dom.Customer"));
+            allowing(mockCustomerSpec).getAssociations(Contributed.INCLUDED);
+            will(current(() -> customerAssociations));
+            allowing(mockCustomerSpec).getObjectActions(Contributed.INCLUDED);
+            will(returnValue(Collections.emptyList()));
+            allowing(mockNameProperty).getId();
+            will(returnValue("name"));
+            allowing(mockNameProperty).getSpecification();
+            will(returnValue(mockStringSpec));
+            allowing(mockStringSpec).getFullIdentifier();
+            will(returnValue("java.lang.String"));
+        }});
+    }
+
+    private static Action current(final Supplier<?> supplier) {
+        return new CustomAction("current value") {
+            @Override
+            public Object invoke(final Invocation invocation) throws Throwable {
+                return supplier.get();
+            }
+        };
+    }
+
+    // -- forObject
+
+    @Test
+    public void object_tag_is_weak_and_stable() throws Exception {
+        final EntityTag tag = objectTag();
+
+        assertThat(tag.isWeak(), is(true));
+        assertThat(objectTag(), is(equalTo(tag)));
+    }
+
+    @Test
+    public void object_tag_depends_on_the_version() throws Exception {
+        final EntityTag tag = objectTag();
+
+        version = Version.create(2L, "sven", 1_000L);
+        assertThat(objectTag(), is(not(equalTo(tag))));
+
+        version = Version.create(1L, "sven", 2_000L);
+        assertThat(objectTag(), is(not(equalTo(tag))));
+    }
+
+    @Test
+    public void object_tag_depends_on_the_user() throws Exception {
+        final EntityTag tag = objectTag();
+
+        userName = "dick";
+        assertThat(objectTag(), is(not(equalTo(tag))));
+    }
+
+    @Test
+    public void object_tag_depends_on_the_roles_but_not_their_order() throws Exception {
+        final EntityTag tag = objectTag();
+
+        roles = Arrays.asList("user", "admin");
+        assertThat(objectTag(), is(equalTo(tag)));
+
+        roles = Collections.singletonList("user");
+        assertThat(objectTag(), is(not(equalTo(tag))));
+    }
+
+    @Test
+    public void object_tag_depends_on_the_media_type_but_not_the_order_of_its_parameters() throws Exception {
+        // given
+        acceptableMediaTypes = Collections.singletonList(mediaType("profile", "urn:org.restfulobjects:repr-types/object", "x-ro-domain-type", "dom.Customer"));
+        final EntityTag tag = objectTag();
+
+        // when, then
+        acceptableMediaTypes = Collections.singletonList(mediaType("x-ro-domain-type", "dom.Customer", "profile", "urn:org.restfulobjects:repr-types/object"));
+        assertThat(objectTag(), is(equalTo(tag)));
+
+        acceptableMediaTypes = Collections.singletonList(mediaType("profile", "urn:org.apache.isis/v1"));
+        assertThat(objectTag(), is(not(equalTo(tag))));
+
+        acceptableMediaTypes = Collections.singletonList(MediaType.APPLICATION_XML_TYPE);
+        assertThat(objectTag(), is(not(equalTo(tag))));
+    }
+
+    @Test
+    public void object_tag_depends_on_the_representation_type() throws Exception {
+        final EntityTag tag = objectTag();
+
+        assertThat(EntityTags.forObject(mockRendererContext, RepresentationType.OBJECT_LAYOUT, mockObjectAdapter),
+                is(not(equalTo(tag))));
+    }
+
+    @Test
+    public void no_object_tag_if_not_versioned() throws Exception {
+        version = null;
+        assertThat(objectTag(), is(nullValue()));
+    }
+
+    // -- forMetamodel
+
+    @Test
+    public void no_metamodel_tag_if_prototyping() throws Exception {
+        deploymentCategory = DeploymentCategory.PROTOTYPING;
+        assertThat(metamodelTag(), is(nullValue()));
+    }
+
+    @Test
+    public void metamodel_tag_is_computed_only_once_while_the_metamodel_is_unchanged() throws Exception {
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockSpecificationLoader).allSpecifications();
+            will(returnValue(Collections.singletonList(mockCustomerSpec)));
+        }});
+
+        // when
+        final EntityTag tag = metamodelTag();
+
+        // then
+        assertThat(tag.isWeak(), is(true));
+        assertThat(metamodelTag(), is(equalTo(tag)));
+    }
+
+    @Test
+    public void metamodel_tag_changes_if_a_specification_is_invalidated() throws Exception {
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(Collections.singletonList(mockCustomerSpec)));
+        }});
+        final EntityTag tag = metamodelTag();
+
+        // when the spec is invalidated and reintrospected (so the number of specs is unchanged)
+        customerAssociations = Collections.singletonList(mockNameProperty);
+        metamodelVersion++;
+
+        // then
+        final EntityTag tagAfterwards = metamodelTag();
+        assertThat(tagAfterwards, is(not(equalTo(tag))));
+        assertThat(metamodelTag(), is(equalTo(tagAfterwards)));
+    }
+
+    @Test
+    public void metamodel_tag_depends_on_the_user() throws Exception {
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(Collections.singletonList(mockCustomerSpec)));
+        }});
+        final EntityTag tag = metamodelTag();
+
+        // when, then
+        userName = "dick";
+        assertThat(metamodelTag(), is(not(equalTo(tag))));
+    }
+
+    @Test
+    public void metamodel_tag_depends_on_the_locale() throws Exception {
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(Collections.singletonList(mockCustomerSpec)));
+        }});
+        final EntityTag tag = metamodelTag();
+
+        // when, then
+        locale = Locale.GERMAN;
+        assertThat(metamodelTag(), is(not(equalTo(tag))));
+    }
+
+    // -- localeFor
+
+    @Test
+    public void locale_is_that_of_the_locale_provider() throws Exception {
+        assertThat(EntityTags.localeFor(mockRendererContext), is(Locale.ENGLISH));
+    }
+
+    // -- helpers
+
+    private EntityTag objectTag() {
+        return EntityTags.forObject(mockRendererContext, RepresentationType.DOMAIN_OBJECT, mockObjectAdapter);
+    }
+
+    private EntityTag metamodelTag() {
+        return EntityTags.forMetamodel(mockRendererContext, RepresentationType.DOMAIN_TYPE);
+    }
+
+    private static MediaType mediaType(final String... parameterNamesAndValues) {
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < parameterNamesAndValues.length; i += 2) {
+            parameters.put(parameterNamesAndValues[i], parameterNamesAndValues[i + 1]);
+        }
+        return new MediaType("application", "json", parameters);
+    }
+
+}
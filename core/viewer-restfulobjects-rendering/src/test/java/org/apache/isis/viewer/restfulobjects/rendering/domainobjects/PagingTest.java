@@ -0,0 +1,488 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering.domainobjects;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.services.paging.PagingContext;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.Allow;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.consent.Veto;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext5;
+import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PagingTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private RendererContext5 mockRendererContext;
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private ObjectAdapter mockCollectionAdapter;
+    @Mock
+    private ObjectSpecification mockCollectionSpec;
+    @Mock
+    private CollectionFacet mockCollectionFacet;
+    @Mock
+    private ObjectSpecification mockElementSpec;
+    @Mock
+    private ObjectAssociation mockNameProperty;
+    @Mock
+    private ObjectAssociation mockSecretProperty;
+    @Mock
+    private ObjectAssociation mockOrdersCollection;
+
+    private final PagingContext pagingContext = new PagingContext();
+
+    private final List<Object> pojos = _Lists.newArrayList();
+    private final List<ObjectAdapter> elements = _Lists.newArrayList();
+    private final List<ObjectAdapter> nameAdapters = _Lists.newArrayList();
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockRendererContext).getServicesInjector();
+            will(returnValue(mockServicesInjector));
+            allowing(mockServicesInjector).lookupService(PagingContext.class);
+            will(returnValue(pagingContext));
+            allowing(mockRendererContext).getPersistenceSession();
+            will(returnValue(mockPersistenceSession));
+            allowing(mockRendererContext).getInteractionInitiatedBy();
+            will(returnValue(InteractionInitiatedBy.USER));
+
+            allowing(mockCollectionAdapter).getObject();
+            will(returnValue(pojos));
+            allowing(mockCollectionAdapter).getSpecification();
+            will(returnValue(mockCollectionSpec));
+            allowing(mockCollectionSpec).getFacet(CollectionFacet.class);
+            will(returnValue(mockCollectionFacet));
+
+            allowing(mockElementSpec).getFullIdentifier();
+            will(returnValue("Customer"));
+            allowing(mockElementSpec).getAssociation("name");
+            will(returnValue(mockNameProperty));
+            allowing(mockElementSpec).getAssociation("secret");
+            will(returnValue(mockSecretProperty));
+            allowing(mockElementSpec).getAssociation("orders");
+            will(returnValue(mockOrdersCollection));
+            allowing(mockElementSpec).getAssociation("unknown");
+            will(returnValue(null));
+
+            allowing(mockNameProperty).isOneToOneAssociation();
+            will(returnValue(true));
+            allowing(mockNameProperty).isVisible(
+                    with(any(ObjectAdapter.class)), with(InteractionInitiatedBy.USER), with(Where.ALL_TABLES));
+            will(returnValue(Allow.DEFAULT));
+
+            allowing(mockSecretProperty).isOneToOneAssociation();
+            will(returnValue(true));
+            allowing(mockSecretProperty).isVisible(
+                    with(any(ObjectAdapter.class)), with(InteractionInitiatedBy.USER), with(Where.ALL_TABLES));
+            will(returnValue(Veto.DEFAULT));
+            never(mockSecretProperty).get(with(any(ObjectAdapter.class)), with(any(InteractionInitiatedBy.class)));
+
+            allowing(mockOrdersCollection).isOneToOneAssociation();
+            will(returnValue(false));
+        }});
+    }
+
+    // -- apply
+
+    @Test
+    public void windows_the_page_out_of_the_list_adapting_only_its_elements() throws Exception {
+        // given
+        givenElementsNamed("a", "b", "c", "d", "e");
+        pagingContext.setPage(2, 2);
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockCollectionFacet).iterable(mockCollectionAdapter);
+            oneOf(mockPersistenceSession).adapterFor(pojos.get(2));
+            will(returnValue(elements.get(2)));
+            oneOf(mockPersistenceSession).adapterFor(pojos.get(3));
+            will(returnValue(elements.get(3)));
+        }});
+
+        // when
+        final Paging paging = Paging.of(mockRendererContext);
+        final List<ObjectAdapter> page = paging.apply(mockCollectionAdapter);
+
+        // then
+        assertThat(page, is(elements.subList(2, 4)));
+        final JsonRepresentation pagingExtension = pagingExtensionOf(paging, JsonRepresentation.newMap());
+        assertThat(pagingExtension.getInt("page"), is(2));
+        assertThat(pagingExtension.getInt("pageSize"), is(2));
+        assertThat(pagingExtension.getBoolean("hasNext"), is(true));
+        assertThat(pagingExtension.getLong("totalCount"), is(5L));
+    }
+
+    @Test
+    public void windows_the_last_page_as_having_no_next() throws Exception {
+        // given
+        givenElementsNamed("a", "b", "c", "d", "e");
+        pagingContext.setPage(3, 2);
+        allowingAdaptersOfEachPojo();
+
+        // when
+        final Paging paging = Paging.of(mockRendererContext);
+        final List<ObjectAdapter> page = paging.apply(mockCollectionAdapter);
+
+        // then
+        assertThat(page, is(elements.subList(4, 5)));
+        assertThat(pagingExtensionOf(paging, JsonRepresentation.newMap()).getBoolean("hasNext"), is(false));
+    }
+
+    @Test
+    public void windows_a_page_beyond_the_end_as_empty() throws Exception {
+        // given
+        givenElementsNamed("a", "b", "c");
+        pagingContext.setPage(3, 2);
+
+        // when
+        final Paging paging = Paging.of(mockRendererContext);
+        final List<ObjectAdapter> page = paging.apply(mockCollectionAdapter);
+
+        // then
+        assertThat(page.isEmpty(), is(true));
+        assertThat(pagingExtensionOf(paging, JsonRepresentation.newMap()).getBoolean("hasNext"), is(false));
+    }
+
+    @Test
+    public void when_pushed_down_then_the_extra_element_indicates_a_next_page() throws Exception {
+        // given the page (plus one more) as fetched by the domain code's query
+        givenElementsNamed("c", "d", "e");
+        pagingContext.setPage(2, 2);
+        pagingContext.getRange();
+        allowingElementsOfCollection();
+
+        // when
+        final Paging paging = Paging.of(mockRendererContext);
+        final List<ObjectAdapter> page = paging.apply(mockCollectionAdapter);
+
+        // then
+        assertThat(page, is(elements.subList(0, 2)));
+        final JsonRepresentation pagingExtension = pagingExtensionOf(paging, JsonRepresentation.newMap());
+        assertThat(pagingExtension.getBoolean("hasNext"), is(true));
+        // not known
+        assertThat(pagingExtension.getLong("totalCount"), is(nullValue()));
+    }
+
+    @Test
+    public void when_pushed_down_then_a_short_page_is_the_last() throws Exception {
+        // given
+        givenElementsNamed("e");
+        pagingContext.setPage(3, 2);
+        pagingContext.getRange();
+        allowingElementsOfCollection();
+
+        // when
+        final Paging paging = Paging.of(mockRendererContext);
+        final List<ObjectAdapter> page = paging.apply(mockCollectionAdapter);
+
+        // then
+        assertThat(page, is(elements));
+        assertThat(pagingExtensionOf(paging, JsonRepresentation.newMap()).getBoolean("hasNext"), is(false));
+    }
+
+    @Test
+    public void sorts_all_of_the_elements_if_only_sorting_requested() throws Exception {
+        // given
+        givenElementsNamed("c", "a", "b");
+        pagingContext.setSortBy(Collections.singletonList("name"));
+        allowingElementsOfCollection();
+
+        // when
+        final Paging paging = Paging.of(mockRendererContext);
+        final List<ObjectAdapter> sorted = paging.apply(mockCollectionAdapter);
+
+        // then
+        assertThat(namesOf(sorted), is(Arrays.<Object>asList("a", "b", "c")));
+        final JsonRepresentation pagingExtension = pagingExtensionOf(paging, JsonRepresentation.newMap());
+        assertThat(pagingExtension.getLong("totalCount"), is(3L));
+        assertThat(pagingExtension.getInt("page"), is(nullValue()));
+        assertThat(pagingExtension.getArray("sortBy").arrayGet(0).asString(), is("name"));
+    }
+
+    @Test
+    public void sorts_and_then_windows_if_both_requested() throws Exception {
+        // given
+        givenElementsNamed("e", "d", "c", "b", "a");
+        pagingContext.setSortBy(Collections.singletonList("name"));
+        pagingContext.setPage(2, 2);
+        allowingElementsOfCollection();
+
+        // when
+        final Paging paging = Paging.of(mockRendererContext);
+        final List<ObjectAdapter> page = paging.apply(mockCollectionAdapter);
+
+        // then
+        assertThat(namesOf(page), is(Arrays.<Object>asList("c", "d")));
+        assertThat(pagingExtensionOf(paging, JsonRepresentation.newMap()).getBoolean("hasNext"), is(true));
+    }
+
+    @Test
+    public void neither_sorting_nor_paging_requested() throws Exception {
+        assertThat(Paging.of(mockRendererContext), is(nullValue()));
+    }
+
+    // -- sorting
+
+    @Test
+    public void sorts_null_before_any_value() throws Exception {
+        givenElementsNamed("b", null, "a");
+        assertThat(namesOf(sortedBy("name")), is(Arrays.<Object>asList(null, "a", "b")));
+    }
+
+    @Test
+    public void sorts_descending_if_prefixed() throws Exception {
+        givenElementsNamed("b", null, "a", "c");
+        assertThat(namesOf(sortedBy("-name")), is(Arrays.<Object>asList("c", "b", "a", null)));
+    }
+
+    @Test
+    public void sorts_keys_of_the_same_type_naturally_and_of_different_types_by_their_string() throws Exception {
+        givenElementsNamed(10, "9", 2);
+        assertThat(namesOf(sortedBy("name")), is(Arrays.<Object>asList(2, 10, "9")));
+    }
+
+    @Test
+    public void sorts_by_title_if_not_comparable() throws Exception {
+        // given
+        final Object bob = new Object();
+        final Object alice = new Object();
+        givenElementsNamed(bob, alice);
+        context.checking(new Expectations() {{
+            allowing(nameAdapters.get(0)).titleString();
+            will(returnValue("Bob"));
+            allowing(nameAdapters.get(1)).titleString();
+            will(returnValue("Alice"));
+        }});
+
+        // when, then
+        assertThat(namesOf(sortedBy("name")), is(Arrays.asList(alice, bob)));
+    }
+
+    @Test
+    public void does_not_sort_by_hidden_properties() throws Exception {
+        givenElementsNamed("b", "c", "a");
+        assertThat(namesOf(sortedBy("secret")), is(Arrays.<Object>asList("b", "c", "a")));
+    }
+
+    @Test
+    public void sorts_by_the_next_property_if_equal() throws Exception {
+        givenElementsNamed("b", "a", "b", "a");
+        assertThat(namesOf(sortedBy("name", "secret")), is(Arrays.<Object>asList("a", "a", "b", "b")));
+    }
+
+    @Test
+    public void cannot_sort_by_anything_other_than_a_property() throws Exception {
+        givenElementsNamed("b", "a");
+        for (final String sortBy : Arrays.asList("unknown", "orders")) {
+            try {
+                sortedBy(sortBy);
+                fail();
+            } catch (final RestfulObjectsApplicationException ex) {
+                assertThat(ex.getHttpStatusCode(), is(HttpStatusCode.BAD_REQUEST));
+            }
+        }
+    }
+
+    // -- addLinksAndExtensions
+
+    @Test
+    public void links_to_the_previous_and_next_pages_from_the_self_link() throws Exception {
+        // given
+        givenElementsNamed("a", "b", "c", "d", "e");
+        pagingContext.setPage(2, 2);
+        pagingContext.setSortBy(Arrays.asList("name", "-secret"));
+        allowingElementsOfCollection();
+        final Paging paging = Paging.of(mockRendererContext);
+        paging.apply(mockCollectionAdapter);
+
+        final JsonRepresentation representation = JsonRepresentation.newMap();
+        representation.mapPut("links", JsonRepresentation.newArray());
+        representation.getArray("links").arrayAdd(JsonRepresentation.newMap(
+                "rel", "self",
+                "href", "http://localhost/restful/objects/CUS/1/collections/orders?x-ro-page=2",
+                "method", "GET"));
+
+        // when
+        paging.addLinksAndExtensions(representation);
+
+        // then
+        final JsonRepresentation previous = linkIn(representation, "previous");
+        assertThat(previous.getString("method"), is("GET"));
+        assertThat(previous.getString("href"),
+                is("http://localhost/restful/objects/CUS/1/collections/orders"
+                        + "?x-ro-page=1&x-ro-page-size=2&x-ro-sort-by=name%2C-secret"));
+        assertThat(linkIn(representation, "next").getString("href"),
+                is("http://localhost/restful/objects/CUS/1/collections/orders"
+                        + "?x-ro-page=3&x-ro-page-size=2&x-ro-sort-by=name%2C-secret"));
+    }
+
+    @Test
+    public void links_to_the_other_pages_by_adding_to_the_self_link_args_if_any() throws Exception {
+        // given
+        givenElementsNamed("a", "b", "c");
+        pagingContext.setPage(1, 2);
+        allowingAdaptersOfEachPojo();
+        final Paging paging = Paging.of(mockRendererContext);
+        paging.apply(mockCollectionAdapter);
+
+        final JsonRepresentation selfLink = JsonRepresentation.newMap(
+                "rel", "self",
+                "href", "http://localhost/restful/objects/CUS/1/actions/findOrders/invoke",
+                "method", "GET");
+        selfLink.mapPut("args", JsonRepresentation.newMap("status", "open"));
+        final JsonRepresentation representation = JsonRepresentation.newMap();
+        representation.mapPut("links", JsonRepresentation.newArray());
+        representation.getArray("links").arrayAdd(selfLink);
+
+        // when
+        paging.addLinksAndExtensions(representation);
+
+        // then (no previous, as the first page)
+        assertThat(linkIn(representation, "previous"), is(nullValue()));
+        final JsonRepresentation next = linkIn(representation, "next");
+        assertThat(next.getString("href"), is("http://localhost/restful/objects/CUS/1/actions/findOrders/invoke"));
+        final JsonRepresentation args = next.getMap("args");
+        assertThat(args.getString("status"), is("open"));
+        assertThat(args.getInt("x-ro-page"), is(2));
+        assertThat(args.getInt("x-ro-page-size"), is(2));
+        // and the self link is untouched
+        assertThat(selfLink.getMap("args").getInt("x-ro-page"), is(nullValue()));
+    }
+
+    @Test
+    public void does_not_link_to_other_pages_without_a_self_link() throws Exception {
+        // given
+        givenElementsNamed("a", "b", "c");
+        pagingContext.setPage(2, 1);
+        allowingAdaptersOfEachPojo();
+        final Paging paging = Paging.of(mockRendererContext);
+        paging.apply(mockCollectionAdapter);
+
+        // when
+        final JsonRepresentation representation = JsonRepresentation.newMap();
+        paging.addLinksAndExtensions(representation);
+
+        // then
+        assertThat(representation.getArray("links").size(), is(0));
+        assertThat(representation.getMap("extensions").getMap("paging").getInt("page"), is(2));
+    }
+
+    // -- helpers
+
+    private void givenElementsNamed(final Object... names) {
+        for (int i = 0; i < names.length; i++) {
+            final Object pojo = "pojo" + i;
+            final ObjectAdapter element = context.mock(ObjectAdapter.class, "element" + i);
+            final Object name = names[i];
+            final ObjectAdapter valueAdapter = name != null ? context.mock(ObjectAdapter.class, "value" + i) : null;
+            context.checking(new Expectations() {{
+                allowing(element).getSpecification();
+                will(returnValue(mockElementSpec));
+                allowing(element).getObject();
+                will(returnValue(pojo));
+                allowing(mockNameProperty).get(element, InteractionInitiatedBy.USER);
+                will(returnValue(valueAdapter));
+                if(valueAdapter != null) {
+                    allowing(valueAdapter).getObject();
+                    will(returnValue(name));
+                }
+            }});
+            pojos.add(pojo);
+            elements.add(element);
+            nameAdapters.add(valueAdapter);
+        }
+    }
+
+    private void allowingElementsOfCollection() {
+        context.checking(new Expectations() {{
+            allowing(mockCollectionFacet).iterable(mockCollectionAdapter);
+            will(returnValue(elements));
+        }});
+    }
+
+    private void allowingAdaptersOfEachPojo() {
+        context.checking(new Expectations() {{
+            for (int i = 0; i < pojos.size(); i++) {
+                allowing(mockPersistenceSession).adapterFor(pojos.get(i));
+                will(returnValue(elements.get(i)));
+            }
+        }});
+    }
+
+    private List<ObjectAdapter> sortedBy(final String... sortBy) {
+        pagingContext.setSortBy(Arrays.asList(sortBy));
+        allowingElementsOfCollection();
+        return Paging.of(mockRendererContext).apply(mockCollectionAdapter);
+    }
+
+    private List<Object> namesOf(final List<ObjectAdapter> adapters) {
+        return adapters.stream()
+                .map(adapter -> nameAdapters.get(elements.indexOf(adapter)))
+                .map(nameAdapter -> nameAdapter != null ? nameAdapter.getObject() : null)
+                .collect(Collectors.toList());
+    }
+
+    private static JsonRepresentation pagingExtensionOf(final Paging paging, final JsonRepresentation representation) {
+        paging.addLinksAndExtensions(representation);
+        return representation.getMap("extensions").getMap("paging");
+    }
+
+    private static JsonRepresentation linkIn(final JsonRepresentation representation, final String rel) {
+        return representation.getArray("links").streamArrayElements()
+                .filter(link -> rel.equals(link.getString("rel")))
+                .findFirst()
+                .orElse(null);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources.serialization;
+
+import java.io.CharArrayWriter;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationModule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.apache.isis.applib.layout.component.FieldSet;
+import org.apache.isis.applib.layout.component.PropertyLayoutData;
+import org.apache.isis.applib.layout.grid.bootstrap3.BS3Col;
+import org.apache.isis.applib.layout.grid.bootstrap3.BS3Grid;
+import org.apache.isis.applib.layout.grid.bootstrap3.BS3Row;
+import org.apache.isis.applib.util.JaxbUtil;
+
+/**
+ * Compares the per-call cost of serializing a layout (much as returned by the object-layout resources) to XML
+ * with a new {@link JAXBContext} and {@link Marshaller} (as previously done for lists by the <tt>JaxbService</tt>),
+ * with a cached context but new marshaller (as previously done by the DTO utils) and with the marshallers pooled
+ * by {@link JaxbUtil}; and to JSON with a new {@link ObjectMapper} (as previously done by
+ * {@link SerializationStrategy#JSON}) against its shared writer.
+ *
+ * <p>
+ *     Run using <tt>mvn -Pjmh test-compile exec:java</tt>.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private BS3Grid grid;
+
+    @Setup
+    public void setUp() {
+        grid = new BS3Grid();
+        for (int r = 0; r < 3; r++) {
+            final BS3Row row = new BS3Row();
+            for (int c = 0; c < 2; c++) {
+                final BS3Col col = new BS3Col();
+                col.setSpan(6);
+                final FieldSet fieldSet = new FieldSet();
+                fieldSet.setName("Group " + r + "." + c);
+                for (int p = 0; p < 5; p++) {
+                    fieldSet.getProperties().add(new PropertyLayoutData("property" + r + c + p));
+                }
+                col.getFieldSets().add(fieldSet);
+                row.getCols().add(col);
+            }
+            grid.getRows().add(row);
+        }
+    }
+
+    @Benchmark
+    public String xmlNewContext() throws JAXBException {
+        final Marshaller marshaller = JAXBContext.newInstance(BS3Grid.class).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+        final CharArrayWriter caw = new CharArrayWriter();
+        marshaller.marshal(grid, caw);
+        return caw.toString();
+    }
+
+    @Benchmark
+    public String xmlNewMarshaller() throws JAXBException {
+        final Marshaller marshaller = JaxbUtil.jaxbContextFor(BS3Grid.class).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+        final CharArrayWriter caw = new CharArrayWriter();
+        marshaller.marshal(grid, caw);
+        return caw.toString();
+    }
+
+    @Benchmark
+    public String xmlPooledMarshaller() {
+        return JaxbUtil.toXml(grid);
+    }
+
+    @Benchmark
+    public String jsonNewObjectMapper() throws JsonProcessingException {
+        final ObjectMapper objectMapper = new ObjectMapper()
+                .disable(SerializationFeature.WRITE_NULL_MAP_VALUES)
+                .disable(SerializationFeature.WRITE_EMPTY_JSON_ARRAYS);
+        objectMapper.registerModule(new JaxbAnnotationModule());
+        return objectMapper.writer().writeValueAsString(grid);
+    }
+
+    @Benchmark
+    public Object jsonSharedObjectWriter() {
+        return SerializationStrategy.JSON.entity(grid);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
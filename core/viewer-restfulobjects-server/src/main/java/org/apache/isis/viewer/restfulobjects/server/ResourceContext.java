@@ -37,6 +37,7 @@
 import com.google.common.collect.Sets;
 
 import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.services.paging.PagingContext;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
@@ -138,6 +139,41 @@ void init(final RepresentationType representationType) {
         ensureDomainModelQueryParamSupported();
         
         this.followLinks = Collections.unmodifiableList(getArg(RequestParameter.FOLLOW_LINKS));
+
+        initPagingContext();
+    }
+
+    /**
+     * Captures any <tt>x-ro-page</tt>, <tt>x-ro-page-size</tt> and <tt>x-ro-sort-by</tt> in the {@link PagingContext},
+     * both for the renderers and so that domain code can push the page down into its queries.
+     */
+    private void initPagingContext() {
+        final JsonRepresentation args = getQueryStringAsJsonRepr();
+        if(args == null || !args.isMap()) {
+            return;
+        }
+        final boolean pagingRequested =
+                args.mapHas(RequestParameter.PAGE.getName()) || args.mapHas(RequestParameter.PAGE_SIZE.getName());
+        final boolean sortRequested = args.mapHas(RequestParameter.SORT_BY.getName());
+        if(!pagingRequested && !sortRequested) {
+            return;
+        }
+        final PagingContext pagingContext = servicesInjector.lookupService(PagingContext.class);
+        if(pagingContext == null) {
+            return;
+        }
+        if(pagingRequested) {
+            final int page = getArg(RequestParameter.PAGE);
+            final int pageSize = getArg(RequestParameter.PAGE_SIZE);
+            if(page < 1 || pageSize < 1) {
+                throw RestfulObjectsApplicationException.createWithMessage(HttpStatusCode.BAD_REQUEST,
+                        "x-ro-page (%d) and x-ro-page-size (%d) must both be positive", page, pageSize);
+            }
+            pagingContext.setPage(page, pageSize);
+        }
+        if(sortRequested) {
+            pagingContext.setSortBy(getArg(RequestParameter.SORT_BY));
+        }
     }
 
     private void ensureDomainModelQueryParamSupported() {
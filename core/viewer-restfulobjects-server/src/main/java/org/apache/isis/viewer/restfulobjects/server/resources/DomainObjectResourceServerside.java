@@ -61,6 +61,7 @@
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
 import org.apache.isis.viewer.restfulobjects.applib.domainobjects.DomainObjectResource;
+import org.apache.isis.viewer.restfulobjects.rendering.EntityTags;
 import org.apache.isis.viewer.restfulobjects.rendering.Responses;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.MemberReprMode;
@@ -140,6 +141,12 @@ public Response object(@PathParam("domainType") String domainType, @PathParam("i
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
 
+        final Response notModified = notModifiedElseNull(
+                EntityTags.forObject(getResourceContext(), RepresentationType.DOMAIN_OBJECT, objectAdapter));
+        if(notModified != null) {
+            return notModified;
+        }
+
         return newDomainResourceHelper(objectAdapter).objectRepresentation();
     }
 
@@ -287,27 +294,30 @@ public Response layout(
 
         init(RepresentationType.OBJECT_LAYOUT, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
-        final List<MediaType> acceptableMediaTypes = getResourceContext().getAcceptableMediaTypes();
-        final SerializationStrategy serializationStrategy =
-                acceptableMediaTypes.contains(MediaType.APPLICATION_XML_TYPE) ||
-                acceptableMediaTypes.contains(RepresentationType.OBJECT_LAYOUT.getXmlMediaType())
-                    ? SerializationStrategy.XML
-                    : SerializationStrategy.JSON;
-
-        final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
-        final GridFacet gridFacet = objectSpec.getFacet(GridFacet.class);
-        final Response.ResponseBuilder builder;
-        if(gridFacet == null) {
-            builder = Responses.ofNotFound();
-        } else {
-            Grid grid = gridFacet.getGrid();
-            addLinks(domainType, instanceId, grid);
-            builder = Response.status(Response.Status.OK)
-                    .entity(serializationStrategy.entity(grid))
-                    .type(serializationStrategy.type(RepresentationType.OBJECT_LAYOUT));
-        }
+        return metamodelResponse(RepresentationType.OBJECT_LAYOUT, entityTag -> {
+            final List<MediaType> acceptableMediaTypes = getResourceContext().getAcceptableMediaTypes();
+            final SerializationStrategy serializationStrategy =
+                    acceptableMediaTypes.contains(MediaType.APPLICATION_XML_TYPE) ||
+                    acceptableMediaTypes.contains(RepresentationType.OBJECT_LAYOUT.getXmlMediaType())
+                        ? SerializationStrategy.XML
+                        : SerializationStrategy.JSON;
+
+            final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
+            final GridFacet gridFacet = objectSpec.getFacet(GridFacet.class);
+            final Response.ResponseBuilder builder;
+            if(gridFacet == null) {
+                builder = Responses.ofNotFound();
+            } else {
+                Grid grid = gridFacet.getGrid();
+                addLinks(domainType, instanceId, grid);
+                builder = Response.status(Response.Status.OK)
+                        .entity(serializationStrategy.entity(grid))
+                        .type(serializationStrategy.type(RepresentationType.OBJECT_LAYOUT))
+                        .tag(entityTag);
+            }
 
-        return builder.build();
+            return builder.build();
+        });
     }
 
     private void addLinks(
@@ -18,19 +18,25 @@
  */
 package org.apache.isis.viewer.restfulobjects.server.resources;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 
 import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.internal.context._Context;
 import org.apache.isis.applib.layout.grid.Grid;
 import org.apache.isis.core.metamodel.facets.object.grid.GridFacet;
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
@@ -40,6 +46,7 @@
 import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
 import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.metamodel.specloader.MetamodelDerivedCache;
 import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
 import org.apache.isis.viewer.restfulobjects.applib.Rel;
 import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
@@ -48,7 +55,9 @@
 import org.apache.isis.viewer.restfulobjects.applib.domaintypes.DomainTypeResource;
 import org.apache.isis.viewer.restfulobjects.applib.util.UrlEncodingUtils;
 import org.apache.isis.viewer.restfulobjects.rendering.Caching;
+import org.apache.isis.viewer.restfulobjects.rendering.EntityTags;
 import org.apache.isis.viewer.restfulobjects.rendering.LinkBuilder;
+import org.apache.isis.viewer.restfulobjects.rendering.ReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.Responses;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.ActionDescriptionReprRenderer;
@@ -63,7 +72,9 @@
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.TypeActionResultReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.TypeListReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
+import org.apache.isis.viewer.restfulobjects.rendering.util.JsonWriterUtil;
 import org.apache.isis.viewer.restfulobjects.rendering.util.Util;
+import org.apache.isis.viewer.restfulobjects.server.ResourceContext;
 import org.apache.isis.viewer.restfulobjects.server.resources.serialization.SerializationStrategy;
 import org.apache.isis.viewer.restfulobjects.server.util.UrlParserUtils;
 
@@ -83,12 +94,14 @@ public Response domainTypes() {
         final RepresentationType representationType = RepresentationType.TYPE_LIST;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
-        final Collection<ObjectSpecification> allSpecifications = getSpecificationLoader().allSpecifications();
+        return metamodelResponse(representationType, entityTag -> {
+            final Collection<ObjectSpecification> allSpecifications = getSpecificationLoader().allSpecifications();
 
-        final TypeListReprRenderer renderer = new TypeListReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(allSpecifications).includesSelf();
+            final TypeListReprRenderer renderer = new TypeListReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+            renderer.with(allSpecifications).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+            return ok(renderer, entityTag);
+        });
     }
 
     @Override
@@ -99,12 +112,14 @@ public Response domainType(@PathParam("domainType") final String domainType) {
 
         init(RepresentationType.DOMAIN_TYPE, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
-        final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
+        return metamodelResponse(RepresentationType.DOMAIN_TYPE, entityTag -> {
+            final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
 
-        final DomainTypeReprRenderer renderer = new DomainTypeReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(objectSpec).includesSelf();
+            final DomainTypeReprRenderer renderer = new DomainTypeReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+            renderer.with(objectSpec).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+            return ok(renderer, entityTag);
+        });
     }
 
     @Override
@@ -117,22 +132,26 @@ public Response domainType(@PathParam("domainType") final String domainType) {
     public Response layout(@PathParam("domainType") final String domainType) {
 
         init(RepresentationType.LAYOUT, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
-        final SerializationStrategy serializationStrategy = SerializationStrategy.determineFrom(getResourceContext().getAcceptableMediaTypes());
 
-        final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
-        final GridFacet gridFacet = objectSpec.getFacet(GridFacet.class);
-        final Response.ResponseBuilder builder;
-        if(gridFacet == null) {
-            builder = Responses.ofNotFound();
-            return builder.build();
-        } else {
-            Grid grid = gridFacet.getGrid();
-            builder = Response.status(Response.Status.OK)
-                    .entity(serializationStrategy.entity(grid))
-                    .type(serializationStrategy.type(RepresentationType.LAYOUT));
-        }
+        return metamodelResponse(RepresentationType.LAYOUT, entityTag -> {
+            final SerializationStrategy serializationStrategy = SerializationStrategy.determineFrom(getResourceContext().getAcceptableMediaTypes());
+
+            final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
+            final GridFacet gridFacet = objectSpec.getFacet(GridFacet.class);
+            final Response.ResponseBuilder builder;
+            if(gridFacet == null) {
+                builder = Responses.ofNotFound();
+                return builder.build();
+            } else {
+                Grid grid = gridFacet.getGrid();
+                builder = Response.status(Response.Status.OK)
+                        .entity(serializationStrategy.entity(grid))
+                        .type(serializationStrategy.type(RepresentationType.LAYOUT))
+                        .tag(entityTag);
+            }
 
-        return builder.build();
+            return builder.build();
+        });
     }
 
     @Override
@@ -143,21 +162,23 @@ public Response typeProperty(@PathParam("domainType") final String domainType, @
         final RepresentationType representationType = RepresentationType.PROPERTY_DESCRIPTION;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
-        final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
-        if (parentSpec == null) {
-            throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
-        }
+        return metamodelResponse(representationType, entityTag -> {
+            final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
+            if (parentSpec == null) {
+                throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
+            }
 
-        final ObjectMember objectMember = parentSpec.getAssociation(propertyId);
-        if (objectMember == null || objectMember.isOneToManyAssociation()) {
-            throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
-        }
-        final OneToOneAssociation property = (OneToOneAssociation) objectMember;
+            final ObjectMember objectMember = parentSpec.getAssociation(propertyId);
+            if (objectMember == null || objectMember.isOneToManyAssociation()) {
+                throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
+            }
+            final OneToOneAssociation property = (OneToOneAssociation) objectMember;
 
-        final PropertyDescriptionReprRenderer renderer = new PropertyDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(new ParentSpecAndProperty(parentSpec, property)).includesSelf();
+            final PropertyDescriptionReprRenderer renderer = new PropertyDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+            renderer.with(new ParentSpecAndProperty(parentSpec, property)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+            return ok(renderer, entityTag);
+        });
     }
 
     @Override
@@ -168,21 +189,23 @@ public Response typeCollection(@PathParam("domainType") final String domainType,
         final RepresentationType representationType = RepresentationType.COLLECTION_DESCRIPTION;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
-        final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
-        if (parentSpec == null) {
-            throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
-        }
+        return metamodelResponse(representationType, entityTag -> {
+            final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
+            if (parentSpec == null) {
+                throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
+            }
 
-        final ObjectMember objectMember = parentSpec.getAssociation(collectionId);
-        if (objectMember == null || objectMember.isOneToOneAssociation()) {
-            throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
-        }
-        final OneToManyAssociation collection = (OneToManyAssociation) objectMember;
+            final ObjectMember objectMember = parentSpec.getAssociation(collectionId);
+            if (objectMember == null || objectMember.isOneToOneAssociation()) {
+                throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
+            }
+            final OneToManyAssociation collection = (OneToManyAssociation) objectMember;
 
-        final CollectionDescriptionReprRenderer renderer = new CollectionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(new ParentSpecAndCollection(parentSpec, collection)).includesSelf();
+            final CollectionDescriptionReprRenderer renderer = new CollectionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+            renderer.with(new ParentSpecAndCollection(parentSpec, collection)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+            return ok(renderer, entityTag);
+        });
     }
 
     @Override
@@ -193,21 +216,23 @@ public Response typeAction(@PathParam("domainType") final String domainType, @Pa
         final RepresentationType representationType = RepresentationType.ACTION_DESCRIPTION;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
-        final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
-        if (parentSpec == null) {
-            throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
-        }
+        return metamodelResponse(representationType, entityTag -> {
+            final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
+            if (parentSpec == null) {
+                throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
+            }
 
-        final ObjectMember objectMember = parentSpec.getObjectAction(actionId);
-        if (objectMember == null) {
-            throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
-        }
-        final ObjectAction action = (ObjectAction) objectMember;
+            final ObjectMember objectMember = parentSpec.getObjectAction(actionId);
+            if (objectMember == null) {
+                throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
+            }
+            final ObjectAction action = (ObjectAction) objectMember;
 
-        final ActionDescriptionReprRenderer renderer = new ActionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(new ParentSpecAndAction(parentSpec, action)).includesSelf();
+            final ActionDescriptionReprRenderer renderer = new ActionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+            renderer.with(new ParentSpecAndAction(parentSpec, action)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+            return ok(renderer, entityTag);
+        });
     }
 
     @Override
@@ -218,23 +243,25 @@ public Response typeActionParam(@PathParam("domainType") final String domainType
         final RepresentationType representationType = RepresentationType.ACTION_PARAMETER_DESCRIPTION;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
-        final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
-        if (parentSpec == null) {
-            throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
-        }
+        return metamodelResponse(representationType, entityTag -> {
+            final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
+            if (parentSpec == null) {
+                throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
+            }
 
-        final ObjectMember objectMember = parentSpec.getObjectAction(actionId);
-        if (objectMember == null) {
-            throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
-        }
-        final ObjectAction parentAction = (ObjectAction) objectMember;
+            final ObjectMember objectMember = parentSpec.getObjectAction(actionId);
+            if (objectMember == null) {
+                throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
+            }
+            final ObjectAction parentAction = (ObjectAction) objectMember;
 
-        final ObjectActionParameter actionParam = parentAction.getParameterByName(paramName);
+            final ObjectActionParameter actionParam = parentAction.getParameterByName(paramName);
 
-        final ActionParameterDescriptionReprRenderer renderer = new ActionParameterDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(new ParentSpecAndActionParam(parentSpec, actionParam)).includesSelf();
+            final ActionParameterDescriptionReprRenderer renderer = new ActionParameterDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+            renderer.with(new ParentSpecAndActionParam(parentSpec, actionParam)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+            return ok(renderer, entityTag);
+        });
     }
 
     // //////////////////////////////////////////////////////////
@@ -327,4 +354,56 @@ private static String linkFromFormalArgs(final String argumentsAsQueryString, fi
         return arguments.getLink(paramName).getHref();
     }
 
-}
\ No newline at end of file
+    // -- rendered representations
+
+    /**
+     * Representations of domain types, their members and action parameters, keyed by the URL requested, the roles
+     * of the user and the locale (names and descriptions being translated).
+     */
+    private static final class RenderedRepresentations extends MetamodelDerivedCache<String, RenderedRepresentation> {
+        private RenderedRepresentations() {
+            super(10000);
+        }
+    }
+
+    private static final class RenderedRepresentation {
+        private final byte[] json;
+        private final MediaType mediaType;
+
+        private RenderedRepresentation(final byte[] json, final MediaType mediaType) {
+            this.json = json;
+            this.mediaType = mediaType;
+        }
+    }
+
+    /**
+     * The representations of the metamodel are derived only from the metamodel, so are rendered just the once (until
+     * the metamodel changes) and then copied to each response.  Requests with query parameters (for example to
+     * follow links) are always rendered afresh.
+     */
+    private Response ok(final ReprRenderer<?, ?> renderer, final EntityTag entityTag) {
+        final ResourceContext resourceContext = getResourceContext();
+        if(!Strings.isNullOrEmpty(resourceContext.getUrlUnencodedQueryString())) {
+            return Responses.ofOk(renderer, Caching.ONE_DAY).tag(entityTag).build();
+        }
+
+        final RenderedRepresentations renderedRepresentations =
+                _Context.computeIfAbsent(RenderedRepresentations.class, __ -> new RenderedRepresentations());
+        final RenderedRepresentation rendered = renderedRepresentations.computeIfAbsent(
+                getSpecificationLoader(), keyFor(resourceContext), key -> {
+                    final JsonRepresentation representation = renderer.render();
+                    final byte[] json = JsonWriterUtil.jsonFor(representation).getBytes(StandardCharsets.UTF_8);
+                    return new RenderedRepresentation(json, renderer.getMediaType());
+                });
+
+        return Responses.ofOk(rendered.json, rendered.mediaType, Caching.ONE_DAY).tag(entityTag).build();
+    }
+
+    private static String keyFor(final ResourceContext resourceContext) {
+        final List<String> roles = Lists.newArrayList(resourceContext.getAuthenticationSession().getRoles());
+        Collections.sort(roles);
+        // names and descriptions are translated into the locale of the request
+        return resourceContext.getUriInfo().getRequestUri() + " " + roles + " " + EntityTags.localeFor(resourceContext);
+    }
+
+}
@@ -48,22 +48,25 @@ public class MenuBarsResourceServerside extends ResourceAbstract implements Menu
     public Response menuBars() {
         init(RepresentationType.MENUBARS, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
-        final SerializationStrategy serializationStrategy =
-                SerializationStrategy.determineFrom(getResourceContext().getAcceptableMediaTypes());
+        return metamodelResponse(RepresentationType.MENUBARS, entityTag -> {
+            final SerializationStrategy serializationStrategy =
+                    SerializationStrategy.determineFrom(getResourceContext().getAcceptableMediaTypes());
 
-        final Response.ResponseBuilder builder;
+            final Response.ResponseBuilder builder;
 
-        final MenuBarsService menuBarsService =
-                getResourceContext().getServicesInjector().lookupService(MenuBarsService.class);
+            final MenuBarsService menuBarsService =
+                    getResourceContext().getServicesInjector().lookupService(MenuBarsService.class);
 
-        final MenuBars menuBars = menuBarsService.menuBars();
-        addLinksForServiceActions(menuBars);
+            final MenuBars menuBars = menuBarsService.menuBars();
+            addLinksForServiceActions(menuBars);
 
-        builder = Response.status(Response.Status.OK)
-                .entity(serializationStrategy.entity(menuBars))
-                .type(serializationStrategy.type(RepresentationType.MENUBARS));
+            builder = Response.status(Response.Status.OK)
+                    .entity(serializationStrategy.entity(menuBars))
+                    .type(serializationStrategy.type(RepresentationType.MENUBARS))
+                    .tag(entityTag);
 
-        return builder.build();
+            return builder.build();
+        });
     }
 
     void addLinksForServiceActions(final MenuBars menuBars) {
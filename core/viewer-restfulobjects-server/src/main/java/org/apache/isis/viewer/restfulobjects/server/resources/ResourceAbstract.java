@@ -20,12 +20,15 @@
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Function;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Providers;
@@ -48,6 +51,7 @@
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
+import org.apache.isis.viewer.restfulobjects.rendering.EntityTags;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
 import org.apache.isis.viewer.restfulobjects.rendering.util.Util;
@@ -129,6 +133,32 @@ protected ResourceContext getResourceContext() {
         return resourceContext;
     }
 
+    /**
+     * If the client already holds the representation with the provided tag (as per its <tt>If-None-Match</tt>
+     * header), then a <tt>304 Not Modified</tt> response, so that the representation need not be rendered at all;
+     * otherwise (or if there is no tag) <tt>null</tt>.
+     */
+    protected Response notModifiedElseNull(final EntityTag entityTagIfAny) {
+        if(entityTagIfAny == null) {
+            return null;
+        }
+        final Response.ResponseBuilder builder = request.evaluatePreconditions(entityTagIfAny);
+        return builder != null ? builder.tag(entityTagIfAny).build() : null;
+    }
+
+    /**
+     * For a representation that depends only on the metamodel: a <tt>304 Not Modified</tt> if the client already
+     * holds it (as per {@link #notModifiedElseNull(EntityTag)}), otherwise the response built by the provided
+     * function, which is passed the tag to include.
+     */
+    protected Response metamodelResponse(
+            final RepresentationType representationType,
+            final Function<EntityTag, Response> responseFn) {
+        final EntityTag entityTag = EntityTags.forMetamodel(getResourceContext(), representationType);
+        final Response notModified = notModifiedElseNull(entityTag);
+        return notModified != null ? notModified : responseFn.apply(entityTag);
+    }
+
 
     protected void setCommandExecutor(Command.Executor executor) {
         getServicesInjector().lookupServiceElseFail(CommandContext.class).getCommand().setExecutor(executor);
@@ -24,6 +24,7 @@
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.module.jaxb.JaxbAnnotationModule;
 
@@ -41,16 +42,8 @@ public enum SerializationStrategy {
     },
     JSON {
         @Override public Object entity(final Object jaxbAnnotatedObject) {
-            final JaxbAnnotationModule jaxbAnnotationModule = new JaxbAnnotationModule();
-            final ObjectMapper objectMapper = new ObjectMapper()
-                    .disable(SerializationFeature.WRITE_NULL_MAP_VALUES) // doesn't seem to work...
-                    .disable(SerializationFeature.WRITE_EMPTY_JSON_ARRAYS)
-                    ;
-            objectMapper.registerModule(jaxbAnnotationModule);
             try {
-                String gridJson = objectMapper
-                        .writer()
-                        .writeValueAsString(jaxbAnnotatedObject);
+                String gridJson = JsonWriterHolder.WRITER.writeValueAsString(jaxbAnnotatedObject);
                 return gridJson;
             } catch (JsonProcessingException e) {
                 throw new RuntimeException(e);
@@ -64,6 +57,18 @@ public MediaType type(final RepresentationType representationType) {
         }
     };
 
+    /**
+     * The (immutable, thread-safe) writer is configured once; building an {@link ObjectMapper} and registering the
+     * {@link JaxbAnnotationModule} for every request is far more expensive than the serialization itself.
+     */
+    private static class JsonWriterHolder {
+        private static final ObjectWriter WRITER = new ObjectMapper()
+                .disable(SerializationFeature.WRITE_NULL_MAP_VALUES) // doesn't seem to work...
+                .disable(SerializationFeature.WRITE_EMPTY_JSON_ARRAYS)
+                .registerModule(new JaxbAnnotationModule())
+                .writer();
+    }
+
     public abstract Object entity(final Object jaxbAnnotatedObject);
 
     public abstract MediaType type(final RepresentationType representationType);
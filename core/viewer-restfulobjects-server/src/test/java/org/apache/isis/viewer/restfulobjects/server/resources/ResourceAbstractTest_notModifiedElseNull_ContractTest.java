@@ -0,0 +1,107 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Contract test, run by the JAX-RS implementation plugins (because {@link EntityTag}s require a JAX-RS runtime).
+ */
+public abstract class ResourceAbstractTest_notModifiedElseNull_ContractTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private Request mockRequest;
+    @Mock
+    private Response.ResponseBuilder mockResponseBuilder;
+    @Mock
+    private Response mockResponse;
+
+    private final EntityTag entityTag = new EntityTag("abc", true);
+
+    private ResourceAbstract resource;
+
+    @Before
+    public void setUp() throws Exception {
+        resource = new ResourceAbstract() {};
+        resource.request = mockRequest;
+    }
+
+    @Test
+    public void when_the_client_holds_the_current_representation_then_not_modified() throws Exception {
+        // expect
+        context.checking(new Expectations() {{
+            // as per the JAX-RS runtime, a 304 (for a GET) if the If-None-Match header matches the tag
+            oneOf(mockRequest).evaluatePreconditions(entityTag);
+            will(returnValue(mockResponseBuilder));
+            oneOf(mockResponseBuilder).tag(entityTag);
+            will(returnValue(mockResponseBuilder));
+            oneOf(mockResponseBuilder).build();
+            will(returnValue(mockResponse));
+        }});
+
+        // when
+        final Response response = resource.notModifiedElseNull(entityTag);
+
+        // then
+        assertThat(response, is(sameInstance(mockResponse)));
+    }
+
+    @Test
+    public void when_the_client_does_not_hold_the_current_representation_then_null() throws Exception {
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockRequest).evaluatePreconditions(entityTag);
+            will(returnValue(null));
+        }});
+
+        // when, then
+        assertThat(resource.notModifiedElseNull(entityTag), is(nullValue()));
+    }
+
+    @Test
+    public void when_no_tag_then_null() throws Exception {
+        // expect
+        context.checking(new Expectations() {{
+            never(mockRequest);
+        }});
+
+        // when, then
+        assertThat(resource.notModifiedElseNull(null), is(nullValue()));
+    }
+
+}
@@ -30,6 +30,7 @@
 
 import org.apache.wicket.Application;
 import org.apache.wicket.IPageFactory;
+import org.apache.wicket.MetaDataKey;
 import org.apache.wicket.Page;
 import org.apache.wicket.RestartResponseException;
 import org.apache.wicket.Session;
@@ -53,8 +54,10 @@
 import org.apache.isis.applib.services.exceprecog.ExceptionRecognizerComposite;
 import org.apache.isis.applib.services.exceprecog.ExceptionRecognizerForType;
 import org.apache.isis.applib.services.i18n.TranslationService;
+import org.apache.isis.applib.services.metrics.MetricsService;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.authentication.MessageBroker;
+import org.apache.isis.core.commons.util.PhaseMetrics;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
@@ -80,11 +83,22 @@ public class WebRequestCycleForIsis extends AbstractRequestCycleListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(WebRequestCycleForIsis.class);
 
+    /**
+     * When the request started, if timing {@link MetricsService.Phase phases}.
+     */
+    private static final MetaDataKey<Long> REQUEST_STARTED_AT = new MetaDataKey<Long>() {
+        private static final long serialVersionUID = 1L;
+    };
+
     private PageClassRegistry pageClassRegistry;
 
     @Override
     public synchronized void onBeginRequest(RequestCycle requestCycle) {
-        
+
+        if(PhaseMetrics.isEnabled()) {
+            requestCycle.setMetaData(REQUEST_STARTED_AT, PhaseMetrics.start());
+        }
+
         if (!Session.exists()) {
             return;
         }
@@ -165,12 +179,19 @@ public void onRequestHandlerExecuted(RequestCycle cycle, IRequestHandler handler
      */
     @Override
     public synchronized void onEndRequest(RequestCycle cycle) {
-        if (getIsisSessionFactory().inSession()) {
-            try {
-                // belt and braces
-                getTransactionManager().endTransaction();
-            } finally {
-                getIsisSessionFactory().closeSession();
+        try {
+            if (getIsisSessionFactory().inSession()) {
+                try {
+                    // belt and braces
+                    getTransactionManager().endTransaction();
+                } finally {
+                    getIsisSessionFactory().closeSession();
+                }
+            }
+        } finally {
+            final Long startedAt = cycle.getMetaData(REQUEST_STARTED_AT);
+            if(startedAt != null) {
+                PhaseMetrics.stop(MetricsService.Phase.REQUEST, startedAt);
             }
         }
     }